@@ -2,9 +2,9 @@ package com.fighthub;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
-import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
-@EnableAsync
+@EnableScheduling
 @SpringBootApplication
 public class FightHubApplication {
 
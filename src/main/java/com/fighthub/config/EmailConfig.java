@@ -26,6 +26,9 @@ public class EmailConfig {
     @Value("${mail.tls-enabled}")
     private boolean tlsEnabled;
 
+    @Value("${mail.timeout-ms:10000}")
+    private int timeoutMs;
+
     @Bean
     public JavaMailSender mailSender() {
         JavaMailSenderImpl sender = new JavaMailSenderImpl();
@@ -37,6 +40,10 @@ public class EmailConfig {
         Properties props = sender.getJavaMailProperties();
         props.put("mail.smtp.auth", "true");
         props.put("mail.smtp.starttls.enable", String.valueOf(tlsEnabled));
+        // Sem timeout, um servidor SMTP lento prende o despachante da caixa de saída indefinidamente
+        props.put("mail.smtp.connectiontimeout", String.valueOf(timeoutMs));
+        props.put("mail.smtp.timeout", String.valueOf(timeoutMs));
+        props.put("mail.smtp.writetimeout", String.valueOf(timeoutMs));
 
         return sender;
     }
@@ -6,7 +6,11 @@ import com.fighthub.dto.inscricao.InscricaoResponse;
 import com.fighthub.dto.presenca.PresencaResponse;
 import com.fighthub.exception.dto.ErrorResponse;
 import com.fighthub.service.AlunoService;
+import com.fighthub.service.GraduacaoService;
+import com.fighthub.service.ImportacaoAlunoService;
+import com.fighthub.service.MenoresSemResponsavelService;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.ArraySchema;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.ExampleObject;
@@ -19,11 +23,14 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
 
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 
 @RestController
@@ -33,6 +40,9 @@ import java.util.UUID;
 public class AlunoController {
 
     private final AlunoService alunoService;
+    private final ImportacaoAlunoService importacaoAlunoService;
+    private final GraduacaoService graduacaoService;
+    private final MenoresSemResponsavelService menoresSemResponsavelService;
 
     @Operation(
             summary = "Criação de novo aluno",
@@ -59,16 +69,51 @@ public class AlunoController {
         return ResponseEntity.status(HttpStatus.CREATED).build();
     }
 
+    @Operation(
+            summary = "Importação de alunos via CSV",
+            description = """
+                    Importa alunos a partir de um arquivo CSV (separado por vírgula ou ponto e vírgula).
+                    
+                    - Colunas obrigatórias: nome, email, cpf, dataNascimento (AAAA-MM-DD ou DD/MM/AAAA).
+                    - Coluna opcional: responsaveis, com ids separados por "|".
+                    - Linhas inválidas não interrompem a importação e são listadas no relatório.
+                    - Os e-mails de ativação são enviados depois que cada lote é gravado.
+                    """
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Relatório da importação",
+                    content = @Content(schema = @Schema(implementation = ImportacaoAlunosResponse.class))),
+            @ApiResponse(responseCode = "409", description = "Arquivo vazio ou sem as colunas obrigatórias",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "403", description = "Você não tem permissão para acessar este recurso.",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class),
+                            examples = @ExampleObject(name = "Acesso negado", value = SwaggerExamples.ACESSO_NEGADO)))
+    })
+    @PostMapping(value = "/import", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    @PreAuthorize("hasAnyRole('ADMIN', 'COORDENADOR')")
+    public ResponseEntity<ImportacaoAlunosResponse> importarAlunos(@RequestPart("file") MultipartFile file) {
+        var resultado = importacaoAlunoService.importar(file);
+        return ResponseEntity.status(HttpStatus.OK).body(resultado);
+    }
+
     @Operation(
             summary = "Listagem de alunos",
-            description = "Retorna uma lista paginada de alunos cadastrados."
+            description = "Retorna uma lista paginada de alunos cadastrados. Com `fields`, cada item traz apenas os campos pedidos e só essas colunas são consultadas; turmaIds só é carregado quando pedido."
     )
-    @ApiResponse(responseCode = "200", description = "Lista de alunos retornada com sucesso",
-            content = @Content(schema = @Schema(implementation = AlunoResponse.class)))
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Lista de alunos retornada com sucesso",
+                    content = @Content(schema = @Schema(implementation = AlunoResponse.class))),
+            @ApiResponse(responseCode = "409", description = "Campo não suportado em fields",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
     @GetMapping
     @PreAuthorize("hasAnyRole('ADMIN', 'COORDENADOR', 'PROFESSOR')")
-    public ResponseEntity<Page<AlunoResponse>> obterAlunos(Pageable pageable) {
-        Page<AlunoResponse> alunos = alunoService.obterTodos(pageable);
+    public ResponseEntity<Page<?>> obterAlunos(
+            Pageable pageable,
+            @Parameter(description = "Campos desejados separados por vírgula (ex.: nome,email); o id sempre é retornado") @RequestParam(required = false) Set<String> fields) {
+        Page<?> alunos = fields == null || fields.isEmpty()
+                ? alunoService.obterTodos(pageable)
+                : alunoService.obterTodosComCampos(pageable, fields);
         return ResponseEntity.status(HttpStatus.OK).body(alunos);
     }
 
@@ -230,6 +275,52 @@ public class AlunoController {
         return ResponseEntity.status(HttpStatus.OK).build();
     }
 
+    @Operation(
+            summary = "Graduações em lote",
+            description = """
+                    Aplica várias promoções e rebaixamentos de faixa ou grau em uma única transação,
+                    com as mesmas regras das alterações individuais.
+                    
+                    - Cada item recebe seu próprio resultado; itens rejeitados não impedem os demais.
+                    - Alunos repetidos na mesma requisição têm apenas a primeira ação aplicada.
+                    """
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Graduações processadas",
+                    content = @Content(schema = @Schema(implementation = GraduacaoLoteResponse.class))),
+            @ApiResponse(responseCode = "400", description = "Dados inválidos",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class),
+                            examples = @ExampleObject(name = "Erro de validação", value = SwaggerExamples.ERRO_VALIDACAO))),
+            @ApiResponse(responseCode = "403", description = "Acesso negado",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    @PostMapping("/graduacoes:batch")
+    @PreAuthorize("hasAnyRole('ADMIN', 'PROFESSOR')")
+    public ResponseEntity<GraduacaoLoteResponse> aplicarGraduacoesEmLote(@RequestBody @Valid GraduacaoLoteRequest request) {
+        return ResponseEntity.ok(graduacaoService.aplicarEmLote(request));
+    }
+
+    @Operation(
+            summary = "Alunos elegíveis à graduação",
+            description = """
+                    Lista os alunos com matrícula ativa que já cumpriram o mínimo de aulas desde a última promoção,
+                    ordenados pela quantidade de aulas (mais aulas primeiro).
+                    
+                    - Abaixo do 4º grau: elegível ao próximo grau.
+                    - No 4º grau: elegível à próxima faixa.
+                    """
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Alunos elegíveis retornados com sucesso"),
+            @ApiResponse(responseCode = "403", description = "Acesso negado",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    @GetMapping("/elegiveis-graduacao")
+    @PreAuthorize("hasAnyRole('ADMIN', 'COORDENADOR', 'PROFESSOR')")
+    public ResponseEntity<Page<AlunoElegivelGraduacaoResponse>> obterElegiveisGraduacao(Pageable pageable) {
+        return ResponseEntity.ok(graduacaoService.listarElegiveis(pageable));
+    }
+
     @Operation(
             summary = "Listar Menores sem Responsável",
             description = "Retorna lista de alunos menores de idade que ainda não possuem um responsável vinculado. Apenas ADMIN e COORDENADOR podem acessar este endpoint."
@@ -243,7 +334,24 @@ public class AlunoController {
     @GetMapping("/menores-sem-responsavel")
     @PreAuthorize("hasAnyRole('ADMIN', 'COORDENADOR')")
     public ResponseEntity<List<AlunoMenorPendenteResponse>> obterMenoresSemResponsavel() {
-        return ResponseEntity.ok(alunoService.obterMenoresSemResponsavel());
+        return ResponseEntity.ok(menoresSemResponsavelService.listar());
+    }
+
+    @Operation(
+            summary = "Contagem de menores sem responsável",
+            description = "Retorna quantos alunos menores de idade com matrícula ativa estão sem responsável. " +
+                    "O valor é mantido em cache por alguns segundos e recalculado quando vínculos ou matrículas mudam."
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Contagem retornada com sucesso",
+                    content = @Content(schema = @Schema(implementation = AlunoMenorPendenteContagemResponse.class))),
+            @ApiResponse(responseCode = "403", description = "Acesso negado",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    @GetMapping("/menores-sem-responsavel/contagem")
+    @PreAuthorize("hasAnyRole('ADMIN', 'COORDENADOR')")
+    public ResponseEntity<AlunoMenorPendenteContagemResponse> contarMenoresSemResponsavel() {
+        return ResponseEntity.ok(menoresSemResponsavelService.contar());
     }
 
     @Operation(
@@ -4,8 +4,12 @@ import com.fighthub.dto.aula.AulaRequest;
 import com.fighthub.dto.aula.AulaResponse;
 import com.fighthub.dto.aula.AulaUpdateCompletoRequest;
 import com.fighthub.dto.aula.AulaUpdateStatusRequest;
+import com.fighthub.dto.aula.CalendarioAulasResponse;
+import com.fighthub.dto.aula.ConflitoAulaResponse;
 import com.fighthub.exception.dto.ErrorResponse;
 import com.fighthub.service.AulaService;
+import com.fighthub.service.CalendarioAulaService;
+import com.fighthub.service.ConflitoAgendaService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
@@ -17,11 +21,17 @@ import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
 import java.util.UUID;
 
 @RestController
@@ -31,6 +41,8 @@ import java.util.UUID;
 public class AulaController {
 
     private final AulaService aulaService;
+    private final CalendarioAulaService calendarioAulaService;
+    private final ConflitoAgendaService conflitoAgendaService;
 
     @Operation(
             summary = "Criação de nova aula",
@@ -45,6 +57,8 @@ public class AulaController {
             @ApiResponse(responseCode = "201", description = "Aula criada com sucesso"),
             @ApiResponse(responseCode = "400", description = "Dados inválidos",
                     content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "409", description = "Professor da turma já possui aula no horário",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
             @ApiResponse(responseCode = "403", description = "Acesso negado",
                     content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
     })
@@ -96,6 +110,93 @@ public class AulaController {
         return ResponseEntity.status(HttpStatus.OK).body(aulaService.buscarAulasDisponiveisProfessor(pageable,request));
     }
 
+    @Operation(
+            summary = "Calendário de aulas do usuário (iCalendar)",
+            description = """
+                    Retorna as aulas das turmas do aluno ou professor autenticado no formato iCalendar (RFC 5545).
+                    
+                    - Inclui aulas a partir dos últimos 30 dias; aulas canceladas aparecem com `STATUS:CANCELLED`.
+                    - Responde com `ETag` forte; envie `If-None-Match` para receber **304** quando nada mudou.
+                    """
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Calendário gerado com sucesso"),
+            @ApiResponse(responseCode = "304", description = "Calendário não foi alterado desde a última consulta")
+    })
+    @GetMapping(value = "/me/calendar.ics", produces = "text/calendar")
+    @PreAuthorize("hasAnyRole('ALUNO', 'PROFESSOR')")
+    public ResponseEntity<String> buscarCalendarioIcs(@RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+                                                      HttpServletRequest request) {
+        var escopo = calendarioAulaService.carregarEscopo(request);
+        String etag = calendarioAulaService.etagIcs(escopo);
+
+        if (naoModificado(ifNoneMatch, etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(CacheControl.noCache()).build();
+        }
+
+        return ResponseEntity.status(HttpStatus.OK)
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache())
+                .contentType(new MediaType("text", "calendar", StandardCharsets.UTF_8))
+                .body(calendarioAulaService.gerarIcs(escopo));
+    }
+
+    @Operation(
+            summary = "Alterações no calendário de aulas do usuário",
+            description = """
+                    Sincronização incremental do calendário do aluno ou professor autenticado.
+                    
+                    - Sem `token`, retorna todas as aulas da janela (`completo = true`).
+                    - Com o `token` da resposta anterior, retorna apenas as aulas criadas, alteradas, canceladas ou removidas desde então.
+                    - Se as turmas do usuário mudarem, a resposta volta a ser completa.
+                    - Responde com `ETag` forte; envie `If-None-Match` para receber **304** quando nada mudou.
+                    """
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Alterações retornadas com sucesso"),
+            @ApiResponse(responseCode = "304", description = "Nenhuma alteração desde a última consulta"),
+            @ApiResponse(responseCode = "409", description = "Token de sincronização inválido",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    @GetMapping("/me/calendario")
+    @PreAuthorize("hasAnyRole('ALUNO', 'PROFESSOR')")
+    public ResponseEntity<CalendarioAulasResponse> buscarAlteracoesCalendario(@RequestParam(required = false) String token,
+                                                                             @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+                                                                             HttpServletRequest request) {
+        var escopo = calendarioAulaService.carregarEscopo(request);
+        String etag = calendarioAulaService.etagAlteracoes(escopo, token);
+
+        if (naoModificado(ifNoneMatch, etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(CacheControl.noCache()).build();
+        }
+
+        return ResponseEntity.status(HttpStatus.OK)
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache())
+                .body(calendarioAulaService.buscarAlteracoes(escopo, token));
+    }
+
+    @Operation(
+            summary = "Relatório de conflitos de agenda dos professores",
+            description = """
+                    Lista os pares de aulas de um mesmo professor com horários sobrepostos nas próximas semanas.
+                    
+                    - Aulas canceladas ou inativas são ignoradas.
+                    - Aulas sem duração definida assumem a duração padrão configurada.
+                    - `semanas` deve estar entre 1 e 52 (padrão: 4).
+                    """
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Conflitos retornados com sucesso"),
+            @ApiResponse(responseCode = "409", description = "Quantidade de semanas inválida",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    @GetMapping("/conflitos")
+    @PreAuthorize("hasAnyRole('ADMIN', 'COORDENADOR', 'PROFESSOR')")
+    public ResponseEntity<List<ConflitoAulaResponse>> buscarConflitos(@RequestParam(defaultValue = "4") int semanas) {
+        return ResponseEntity.status(HttpStatus.OK).body(conflitoAgendaService.buscarConflitos(semanas));
+    }
+
     @Operation(
             summary = "Consulta de aula por ID",
             description = "Retorna os dados detalhados de uma aula específica."
@@ -195,4 +296,11 @@ public class AulaController {
         return ResponseEntity.status(HttpStatus.OK).build();
     }
 
-}
\ No newline at end of file
+    private boolean naoModificado(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) return false;
+        return Arrays.stream(ifNoneMatch.split(","))
+                .map(String::trim)
+                .anyMatch(valor -> valor.equals("*") || valor.equals(etag));
+    }
+
+}
@@ -0,0 +1,58 @@
+package com.fighthub.controller;
+
+import com.fighthub.dto.email.MetricasEmailResponse;
+import com.fighthub.dto.email.ReprocessamentoEmailResponse;
+import com.fighthub.exception.dto.ErrorResponse;
+import com.fighthub.service.DespachoEmailService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/admin/emails")
+@RequiredArgsConstructor
+@Tag(name = "E-mails", description = "Acompanhamento da caixa de saída de e-mails")
+public class EmailController {
+
+    private final DespachoEmailService despachoEmailService;
+
+    @Operation(summary = "Métricas da caixa de saída",
+            description = "Retorna pendentes e descartados na caixa de saída e os contadores de envio desde a subida da aplicação.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Métricas retornadas com sucesso",
+                    content = @Content(schema = @Schema(implementation = MetricasEmailResponse.class))),
+            @ApiResponse(responseCode = "403", description = "Acesso negado",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    @GetMapping("/metricas")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<MetricasEmailResponse> obterMetricas() {
+        return ResponseEntity.status(HttpStatus.OK).body(despachoEmailService.metricas());
+    }
+
+    @Operation(summary = "Reprocessar e-mails descartados",
+            description = "Devolve à fila os e-mails que esgotaram as tentativas, zerando o contador de tentativas.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "E-mails devolvidos à fila",
+                    content = @Content(schema = @Schema(implementation = ReprocessamentoEmailResponse.class))),
+            @ApiResponse(responseCode = "403", description = "Acesso negado",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    @PostMapping("/descartados/reprocessar")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ReprocessamentoEmailResponse> reprocessarDescartados() {
+        return ResponseEntity.status(HttpStatus.OK)
+                .body(new ReprocessamentoEmailResponse(despachoEmailService.reprocessarDescartados()));
+    }
+}
@@ -0,0 +1,84 @@
+package com.fighthub.controller;
+
+import com.fighthub.dto.foto.MetricasFotosResponse;
+import com.fighthub.dto.foto.ResultadoColetaResponse;
+import com.fighthub.exception.dto.ErrorResponse;
+import com.fighthub.service.ColetaFotosOrfasService;
+import com.fighthub.service.EntregaFotoService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+
+@RestController
+@RequiredArgsConstructor
+@Tag(name = "Fotos de perfil", description = "Entrega dos arquivos de fotos de perfil e miniaturas")
+public class FotoPerfilController {
+
+    private final EntregaFotoService entregaFotoService;
+    private final ColetaFotosOrfasService coletaFotosOrfasService;
+
+    @Operation(summary = "Arquivo de foto de perfil",
+            description = "Entrega a foto ou miniatura com ETag, suporte a GET condicional (304) e a Range (206). "
+                    + "Chaves derivadas do conteúdo são servidas com Cache-Control immutable.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Arquivo completo"),
+            @ApiResponse(responseCode = "206", description = "Intervalo de bytes solicitado em Range"),
+            @ApiResponse(responseCode = "304", description = "Versão em cache do cliente ainda é válida"),
+            @ApiResponse(responseCode = "404", description = "Arquivo não encontrado"),
+            @ApiResponse(responseCode = "416", description = "Intervalo fora do tamanho do arquivo")
+    })
+    @GetMapping("/files/profiles/{*key}")
+    public void obterFoto(@Parameter(description = "Chave do arquivo, ex.: ab/cd/abcd...ef.jpg") @PathVariable String key,
+                          HttpServletRequest request, HttpServletResponse response) throws IOException {
+        entregaFotoService.entregar(key.startsWith("/") ? key.substring(1) : key, request, response);
+    }
+
+    @Operation(summary = "Métricas das fotos de perfil", description = "Retorna os contadores de entrega e de coleta de órfãos desde a subida da aplicação.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Métricas retornadas com sucesso",
+                    content = @Content(schema = @Schema(implementation = MetricasFotosResponse.class))),
+            @ApiResponse(responseCode = "403", description = "Acesso negado",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    @GetMapping("/admin/fotos/metricas")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<MetricasFotosResponse> obterMetricas() {
+        return ResponseEntity.status(HttpStatus.OK).body(new MetricasFotosResponse(entregaFotoService.metricas(), coletaFotosOrfasService.metricas()));
+    }
+
+    @Operation(summary = "Coletar fotos órfãs",
+            description = "Remove arquivos de fotos sem usuário que os referencie e mais antigos que a carência. "
+                    + "Por padrão roda em simulação, apenas contando o que seria removido.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Coleta executada",
+                    content = @Content(schema = @Schema(implementation = ResultadoColetaResponse.class))),
+            @ApiResponse(responseCode = "403", description = "Acesso negado",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "409", description = "Já existe uma coleta em andamento",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    @PostMapping("/admin/fotos/coleta")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ResultadoColetaResponse> coletarOrfas(
+            @Parameter(description = "Quando verdadeiro, apenas conta os órfãos sem removê-los")
+            @RequestParam(defaultValue = "true") boolean simulacao) {
+        return ResponseEntity.status(HttpStatus.OK).body(coletaFotosOrfasService.coletar(simulacao));
+    }
+}
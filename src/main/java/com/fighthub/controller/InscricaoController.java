@@ -1,6 +1,8 @@
 package com.fighthub.controller;
 
 import com.fighthub.dto.inscricao.InscricaoResponse;
+import com.fighthub.dto.inscricao.InscricaoTurmaResponse;
+import com.fighthub.dto.inscricao.TicketInscricaoResponse;
 import com.fighthub.service.InscricaoService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -44,6 +46,72 @@ public class InscricaoController {
         return ResponseEntity.status(HttpStatus.CREATED).body(inscricao);
     }
 
+    @Operation(summary = "Solicitar inscrição pela fila", description = "Enfileira o pedido de inscrição na fila de admissão da aula. Retorna a decisão imediatamente quando disponível ou um ticket pendente para acompanhamento")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "201", description = "Inscrição confirmada"),
+            @ApiResponse(responseCode = "202", description = "Pedido enfileirado, acompanhar pelo ticket"),
+            @ApiResponse(responseCode = "403", description = "Acesso negado", content = @Content),
+            @ApiResponse(responseCode = "409", description = "Inscrição recusada")
+    })
+    @PostMapping("/aulas/{idAula}/inscricoes/fila")
+    @PreAuthorize("hasAnyRole('ALUNO', 'RESPONSAVEL')")
+    public ResponseEntity<TicketInscricaoResponse> solicitarInscricao(
+            @Parameter(description = "ID da aula", required = true) @PathVariable UUID idAula,
+            @Parameter(description = "ID do aluno (opcional, para responsável inscrever dependente)") @RequestParam(required = false) UUID alunoId,
+            HttpServletRequest request) {
+        var ticket = inscricaoService.solicitarInscricao(idAula, alunoId, request);
+        return ResponseEntity.status(statusTicket(ticket)).body(ticket);
+    }
+
+    @Operation(summary = "Consultar pedido de inscrição", description = "Retorna a situação de um ticket emitido pela fila de admissão da aula. Só o usuário que fez o pedido pode consultá-lo")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Situação do ticket retornada com sucesso"),
+            @ApiResponse(responseCode = "403", description = "Acesso negado", content = @Content),
+            @ApiResponse(responseCode = "404", description = "Ticket não encontrado", content = @Content)
+    })
+    @GetMapping("/aulas/{idAula}/inscricoes/fila/{ticket}")
+    @PreAuthorize("hasAnyRole('ALUNO', 'RESPONSAVEL')")
+    public ResponseEntity<TicketInscricaoResponse> consultarSolicitacao(
+            @Parameter(description = "ID da aula", required = true) @PathVariable UUID idAula,
+            @Parameter(description = "ID do ticket", required = true) @PathVariable UUID ticket,
+            HttpServletRequest request) {
+        return ResponseEntity.ok(inscricaoService.consultarSolicitacao(idAula, ticket, request));
+    }
+
+    @Operation(summary = "Inscrever turma", description = "Inscreve de uma só vez os alunos com matrícula ativa da turma vinculada à aula, respeitando o limite de vagas")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "201", description = "Inscrições em lote processadas",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = InscricaoTurmaResponse.class))),
+            @ApiResponse(responseCode = "403", description = "Acesso negado", content = @Content),
+            @ApiResponse(responseCode = "404", description = "Aula não encontrada", content = @Content),
+            @ApiResponse(responseCode = "409", description = "Aula sem turma ou fechada para inscrições", content = @Content)
+    })
+    @PostMapping("/aulas/{idAula}/inscricoes/turma")
+    @PreAuthorize("hasAnyRole('ADMIN', 'COORDENADOR', 'PROFESSOR')")
+    public ResponseEntity<InscricaoTurmaResponse> inscreverTurma(
+            @Parameter(description = "ID da aula", required = true) @PathVariable UUID idAula) {
+        var resultado = inscricaoService.inscreverTurma(idAula);
+        return ResponseEntity.status(HttpStatus.CREATED).body(resultado);
+    }
+
+    @Operation(summary = "Entrar na lista de espera", description = "Adiciona o usuário autenticado à lista de espera da aula lotada. A vaga é atribuída automaticamente quando uma inscrição for cancelada")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "201", description = "Aluno adicionado à lista de espera"),
+            @ApiResponse(responseCode = "403", description = "Acesso negado", content = @Content),
+            @ApiResponse(responseCode = "404", description = "Aula não encontrada", content = @Content),
+            @ApiResponse(responseCode = "409", description = "Aula com vagas disponíveis ou aluno já inscrito/em espera", content = @Content)
+    })
+    @PostMapping("/aulas/{idAula}/inscricoes/espera")
+    @PreAuthorize("hasAnyRole('ALUNO', 'RESPONSAVEL')")
+    public ResponseEntity<InscricaoResponse> entrarListaEspera(
+            @Parameter(description = "ID da aula", required = true) @PathVariable UUID idAula,
+            @Parameter(description = "ID do aluno (opcional, para responsável incluir dependente)") @RequestParam(required = false) UUID alunoId,
+            HttpServletRequest request) {
+        var inscricao = inscricaoService.entrarListaEspera(idAula, alunoId, request);
+        return ResponseEntity.status(HttpStatus.CREATED).body(inscricao);
+    }
+
     @Operation(summary = "Cancelar inscrição", description = "Cancela a inscrição do usuário autenticado na aula especificada")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "204", description = "Inscrição cancelada com sucesso"),
@@ -92,4 +160,12 @@ public class InscricaoController {
         var inscricoes = inscricaoService.buscarInscricoesProprias(request, pageable);
         return ResponseEntity.status(HttpStatus.OK).body(inscricoes);
     }
+
+    private HttpStatus statusTicket(TicketInscricaoResponse ticket) {
+        return switch (ticket.status()) {
+            case CONFIRMADA -> HttpStatus.CREATED;
+            case PENDENTE -> HttpStatus.ACCEPTED;
+            case RECUSADA -> HttpStatus.CONFLICT;
+        };
+    }
 }
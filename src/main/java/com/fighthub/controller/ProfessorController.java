@@ -7,6 +7,7 @@ import com.fighthub.dto.professor.ProfessorResponse;
 import com.fighthub.exception.dto.ErrorResponse;
 import com.fighthub.service.ProfessorService;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.ExampleObject;
 import io.swagger.v3.oas.annotations.media.Schema;
@@ -22,6 +23,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.Set;
 import java.util.UUID;
 
 @RestController
@@ -58,14 +60,22 @@ public class ProfessorController {
 
     @Operation(
             summary = "Listagem de professores",
-            description = "Retorna uma lista paginada de professores cadastrados."
+            description = "Retorna uma lista paginada de professores cadastrados. Com `fields`, cada item traz apenas os campos pedidos e só essas colunas são consultadas."
     )
-    @ApiResponse(responseCode = "200", description = "Lista de professores retornada com sucesso",
-            content = @Content(schema = @Schema(implementation = ProfessorResponse.class)))
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Lista de professores retornada com sucesso",
+                    content = @Content(schema = @Schema(implementation = ProfessorResponse.class))),
+            @ApiResponse(responseCode = "409", description = "Campo não suportado em fields",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
     @GetMapping
     @PreAuthorize("hasAnyRole('ADMIN', 'COORDENADOR')")
-    public ResponseEntity<Page<ProfessorResponse>> obterProfessores(Pageable pageable) {
-        var professores = professorService.buscarProfessores(pageable);
+    public ResponseEntity<Page<?>> obterProfessores(
+            Pageable pageable,
+            @Parameter(description = "Campos desejados separados por vírgula (ex.: nome,email); o id sempre é retornado") @RequestParam(required = false) Set<String> fields) {
+        Page<?> professores = fields == null || fields.isEmpty()
+                ? professorService.buscarProfessores(pageable)
+                : professorService.buscarProfessoresComCampos(pageable, fields);
         return ResponseEntity.status(HttpStatus.OK).body(professores);
     }
 
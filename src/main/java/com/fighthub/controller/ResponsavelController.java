@@ -1,6 +1,6 @@
 package com.fighthub.controller;
 
-import com.fighthub.dto.inscricao.InscricaoResponse;
+import com.fighthub.dto.inscricao.InscricaoFeedResponse;
 import com.fighthub.docs.SwaggerExamples;
 import com.fighthub.dto.responsavel.CriarResponsavelRequest;
 import com.fighthub.dto.responsavel.ResponsavelDetalhadoResponse;
@@ -8,6 +8,7 @@ import com.fighthub.dto.responsavel.ResponsavelResponse;
 import com.fighthub.exception.dto.ErrorResponse;
 import com.fighthub.service.ResponsavelService;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.ExampleObject;
 import io.swagger.v3.oas.annotations.media.Schema;
@@ -18,12 +19,13 @@ import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
+import java.time.LocalDate;
 import java.util.UUID;
 
 @RestController
@@ -158,14 +160,23 @@ public class ResponsavelController {
 
     @Operation(
             summary = "Inscrições dos dependentes",
-            description = "Retorna todas as aulas em que os dependentes do responsável autenticado estão inscritos."
+            description = "Retorna as inscrições dos dependentes do responsável autenticado, da aula mais recente para a mais antiga, paginadas por cursor."
     )
-    @ApiResponse(responseCode = "200", description = "Lista de inscrições retornada com sucesso",
-            content = @Content(schema = @Schema(implementation = InscricaoResponse.class)))
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Página de inscrições retornada com sucesso",
+                    content = @Content(schema = @Schema(implementation = InscricaoFeedResponse.class))),
+            @ApiResponse(responseCode = "409", description = "Cursor inválido ou aluno não vinculado ao responsável",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
     @GetMapping("/me/inscricoes")
     @PreAuthorize("hasRole('RESPONSAVEL')")
-    public ResponseEntity<List<InscricaoResponse>> obterInscricoesDependentes() {
-        var inscricoes = responsavelService.obterInscricoesDependentes();
+    public ResponseEntity<InscricaoFeedResponse> obterInscricoesDependentes(
+            @Parameter(description = "Filtra pelas inscrições de um dependente") @RequestParam(required = false) UUID alunoId,
+            @Parameter(description = "Data inicial das aulas (inclusive)") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate de,
+            @Parameter(description = "Data final das aulas (inclusive)") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate ate,
+            @Parameter(description = "Cursor retornado na página anterior") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Quantidade de itens por página (máximo 100)") @RequestParam(defaultValue = "20") int tamanho) {
+        var inscricoes = responsavelService.obterInscricoesDependentes(alunoId, de, ate, cursor, tamanho);
         return ResponseEntity.status(HttpStatus.OK).body(inscricoes);
     }
 
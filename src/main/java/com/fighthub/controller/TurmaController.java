@@ -1,11 +1,16 @@
 package com.fighthub.controller;
 
 import com.fighthub.docs.SwaggerExamples;
+import com.fighthub.dto.turma.AlunosTurmaLoteRequest;
+import com.fighthub.dto.turma.AlunosTurmaLoteResponse;
+import com.fighthub.dto.turma.GeracaoAulasResponse;
+import com.fighthub.dto.turma.RecorrenciaTurmaRequest;
 import com.fighthub.dto.turma.TurmaRequest;
 import com.fighthub.dto.turma.TurmaResponse;
 import com.fighthub.dto.turma.TurmaUpdateCompletoRequest;
 import com.fighthub.dto.turma.TurmaUpdateStatusRequest;
 import com.fighthub.exception.dto.ErrorResponse;
+import com.fighthub.service.GeradorAulasService;
 import com.fighthub.service.TurmaService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -32,6 +37,7 @@ import java.util.UUID;
 public class TurmaController {
 
     private final TurmaService turmaService;
+    private final GeradorAulasService geradorAulasService;
 
     @Operation(summary = "Criação de nova turma", description = "Permite criar uma nova turma no sistema.")
     @ApiResponses({
@@ -222,4 +228,66 @@ public class TurmaController {
         return ResponseEntity.status(HttpStatus.OK).build();
     }
 
-}
\ No newline at end of file
+    @Operation(
+            summary = "Definição de recorrência",
+            description = "Define os dias da semana, horário de início, duração e limite de alunos usados para gerar as aulas da turma."
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Recorrência definida com sucesso",
+                    content = @Content(schema = @Schema(implementation = TurmaResponse.class))),
+            @ApiResponse(responseCode = "400", description = "Dados inválidos",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class),
+                            examples = @ExampleObject(name = "Erro de validação", value = SwaggerExamples.ERRO_VALIDACAO))),
+            @ApiResponse(responseCode = "404", description = "Turma não encontrada",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class),
+                            examples = @ExampleObject(name = "Turma não encontrada", value = SwaggerExamples.TURMA_NAO_ENCONTRADA)))
+    })
+    @PutMapping("/{id}/recorrencia")
+    @PreAuthorize("hasAnyRole('ADMIN','COORDENADOR')")
+    public ResponseEntity<TurmaResponse> definirRecorrencia(@PathVariable UUID id, @RequestBody @Valid RecorrenciaTurmaRequest request) {
+        var turma = turmaService.definirRecorrencia(id, request);
+        return ResponseEntity.status(HttpStatus.OK).body(turma);
+    }
+
+    @Operation(
+            summary = "Geração de aulas recorrentes",
+            description = "Cria as aulas das próximas semanas a partir da recorrência da turma. Horários que já possuem aula são ignorados."
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "201", description = "Aulas geradas com sucesso",
+                    content = @Content(schema = @Schema(implementation = GeracaoAulasResponse.class))),
+            @ApiResponse(responseCode = "404", description = "Turma não encontrada",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class),
+                            examples = @ExampleObject(name = "Turma não encontrada", value = SwaggerExamples.TURMA_NAO_ENCONTRADA))),
+            @ApiResponse(responseCode = "409", description = "Turma inativa ou sem recorrência definida",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    @PostMapping("/{id}/aulas/geracao")
+    @PreAuthorize("hasAnyRole('ADMIN','COORDENADOR')")
+    public ResponseEntity<GeracaoAulasResponse> gerarAulas(@PathVariable UUID id, @RequestParam(defaultValue = "4") int semanas) {
+        var resultado = geradorAulasService.gerarAulasDaTurma(id, semanas);
+        return ResponseEntity.status(HttpStatus.CREATED).body(resultado);
+    }
+
+    @Operation(
+            summary = "Vínculo de alunos em lote",
+            description = "Adiciona ou remove vários alunos da turma de uma só vez. Alunos inexistentes, já vinculados (na adição) ou não vinculados (na remoção) são contados como ignorados."
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Alunos processados com sucesso",
+                    content = @Content(schema = @Schema(implementation = AlunosTurmaLoteResponse.class))),
+            @ApiResponse(responseCode = "400", description = "Dados inválidos",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class),
+                            examples = @ExampleObject(name = "Erro de validação", value = SwaggerExamples.ERRO_VALIDACAO))),
+            @ApiResponse(responseCode = "404", description = "Turma não encontrada",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class),
+                            examples = @ExampleObject(name = "Turma não encontrada", value = SwaggerExamples.TURMA_NAO_ENCONTRADA)))
+    })
+    @PostMapping("/{id}/alunos:batch")
+    @PreAuthorize("hasAnyRole('ADMIN','COORDENADOR')")
+    public ResponseEntity<AlunosTurmaLoteResponse> alterarAlunosEmLote(@PathVariable UUID id, @RequestBody @Valid AlunosTurmaLoteRequest request) {
+        var resultado = turmaService.alterarAlunosEmLote(id, request);
+        return ResponseEntity.status(HttpStatus.OK).body(resultado);
+    }
+
+}
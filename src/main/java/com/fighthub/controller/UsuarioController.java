@@ -3,8 +3,10 @@ package com.fighthub.controller;
 import com.fighthub.docs.SwaggerExamples;
 import com.fighthub.dto.usuario.*;
 import com.fighthub.exception.dto.ErrorResponse;
+import com.fighthub.model.enums.Role;
 import com.fighthub.service.UsuarioService;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.ExampleObject;
 import io.swagger.v3.oas.annotations.media.Schema;
@@ -23,6 +25,8 @@ import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 
 @RestController
@@ -33,13 +37,42 @@ public class UsuarioController {
 
     private final UsuarioService usuarioService;
 
-    @Operation(summary = "Listagem de usuários", description = "Retorna uma lista paginada de usuários cadastrados no sistema.")
-    @ApiResponse(responseCode = "200", description = "Lista de usuários retornada com sucesso",
-            content = @Content(schema = @Schema(implementation = UsuarioResponse.class)))
+    @Operation(summary = "Listagem de usuários",
+            description = "Retorna uma lista paginada de usuários cadastrados no sistema. Com `fields`, cada item traz apenas os campos pedidos e só essas colunas são consultadas.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Lista de usuários retornada com sucesso",
+                    content = @Content(schema = @Schema(implementation = UsuarioResponse.class))),
+            @ApiResponse(responseCode = "409", description = "Campo não suportado em fields",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
     @GetMapping
     @PreAuthorize("hasAnyRole('ADMIN','COORDENADOR')")
-    public ResponseEntity<Page<UsuarioResponse>> obterUsuarios(Pageable pageable) {
-        var usuarios = usuarioService.obterTodosUsuarios(pageable);
+    public ResponseEntity<Page<?>> obterUsuarios(
+            Pageable pageable,
+            @Parameter(description = "Campos desejados separados por vírgula (ex.: nome,email); o id sempre é retornado") @RequestParam(required = false) Set<String> fields) {
+        Page<?> usuarios = fields == null || fields.isEmpty()
+                ? usuarioService.obterTodosUsuarios(pageable)
+                : usuarioService.obterUsuariosComCampos(pageable, fields);
+        return ResponseEntity.status(HttpStatus.OK).body(usuarios);
+    }
+
+    @Operation(summary = "Busca de usuários",
+            description = "Busca aproximada por parte do nome, e-mail ou CPF, ordenada por relevância. Retorna no máximo 50 resultados.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Resultados da busca",
+                    content = @Content(schema = @Schema(implementation = UsuarioBuscaResponse.class))),
+            @ApiResponse(responseCode = "403", description = "Você não tem permissão para acessar este recurso.",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class),
+                            examples = @ExampleObject(name = "Acesso negado", value = SwaggerExamples.ACESSO_NEGADO))),
+            @ApiResponse(responseCode = "409", description = "Termo de busca muito curto",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    @GetMapping("/busca")
+    @PreAuthorize("hasAnyRole('ADMIN','COORDENADOR')")
+    public ResponseEntity<List<UsuarioBuscaResponse>> buscarUsuarios(@RequestParam String q,
+                                                                     @RequestParam(required = false) Role role,
+                                                                     @RequestParam(required = false) Integer limite) {
+        var usuarios = usuarioService.buscarUsuarios(q, role, limite);
         return ResponseEntity.status(HttpStatus.OK).body(usuarios);
     }
 
@@ -194,7 +227,7 @@ public class UsuarioController {
         return ResponseEntity.status(HttpStatus.OK).build();
     }
 
-    @Operation(summary = "Atualização da foto do próprio usuário", description = "Faz upload e atualiza a foto de perfil do usuário autenticado.")
+    @Operation(summary = "Atualização da foto do próprio usuário", description = "Faz upload e atualiza a foto de perfil do usuário autenticado. Miniaturas de 64, 128 e 512 px são geradas em segundo plano.")
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "Foto atualizada com sucesso",
                     content = @Content(schema = @Schema(implementation = ProfilePhotoResponse.class))),
@@ -207,8 +240,8 @@ public class UsuarioController {
     @PatchMapping(value = "/me/foto", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
     @PreAuthorize("isAuthenticated()")
     public ResponseEntity<ProfilePhotoResponse> atualizarFotoPropria(HttpServletRequest request, @RequestPart("file") MultipartFile file) {
-        String url = usuarioService.uploadFotoDoUsuarioLogado(request, file);
-        return ResponseEntity.status(HttpStatus.OK).body(new ProfilePhotoResponse(url));
+        var foto = usuarioService.uploadFotoDoUsuarioLogado(request, file);
+        return ResponseEntity.status(HttpStatus.OK).body(foto);
     }
 
     @Operation(summary = "Remoção da foto do próprio usuário", description = "Remove a foto de perfil do usuário autenticado.")
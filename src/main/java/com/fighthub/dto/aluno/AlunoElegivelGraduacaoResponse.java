@@ -0,0 +1,18 @@
+package com.fighthub.dto.aluno;
+
+import com.fighthub.model.enums.BeltGraduation;
+import com.fighthub.model.enums.GraduationLevel;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+public record AlunoElegivelGraduacaoResponse(
+        UUID id,
+        String nome,
+        BeltGraduation faixa,
+        GraduationLevel nivel,
+        int aulasDesdeGraduacao,
+        int aulasNecessarias,
+        boolean promocaoDeFaixa,
+        LocalDateTime dataUltimaGraduacao
+) {}
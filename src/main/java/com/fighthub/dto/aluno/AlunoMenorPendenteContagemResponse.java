@@ -0,0 +1,8 @@
+package com.fighthub.dto.aluno;
+
+import java.time.LocalDateTime;
+
+public record AlunoMenorPendenteContagemResponse(
+        long total,
+        LocalDateTime calculadoEm
+) {}
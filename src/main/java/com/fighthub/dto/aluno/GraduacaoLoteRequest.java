@@ -0,0 +1,30 @@
+package com.fighthub.dto.aluno;
+
+import com.fighthub.model.enums.GraduationAction;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+import java.util.UUID;
+
+public record GraduacaoLoteRequest(
+
+        @NotEmpty(message = "Graduações são obrigatórias.")
+        @Size(max = 500, message = "Máximo de 500 graduações por requisição.")
+        List<@Valid @NotNull Item> graduacoes
+
+) {
+
+    public record Item(
+
+            @NotNull(message = "Aluno é obrigatório.")
+            UUID alunoId,
+
+            @NotNull(message = "Ação é obrigatória.")
+            GraduationAction acao
+
+    ) {
+    }
+}
@@ -0,0 +1,27 @@
+package com.fighthub.dto.aluno;
+
+import com.fighthub.model.enums.BeltGraduation;
+import com.fighthub.model.enums.GraduationAction;
+import com.fighthub.model.enums.GraduationLevel;
+
+import java.util.List;
+import java.util.UUID;
+
+public record GraduacaoLoteResponse(
+
+        int aplicadas,
+        int rejeitadas,
+        List<Resultado> resultados
+
+) {
+
+    public record Resultado(
+            UUID alunoId,
+            GraduationAction acao,
+            boolean aplicada,
+            BeltGraduation faixa,
+            GraduationLevel nivel,
+            String mensagem
+    ) {
+    }
+}
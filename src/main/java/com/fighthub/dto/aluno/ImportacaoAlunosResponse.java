@@ -0,0 +1,14 @@
+package com.fighthub.dto.aluno;
+
+import java.util.List;
+
+public record ImportacaoAlunosResponse(
+        int linhasProcessadas,
+        int importados,
+        List<ImportacaoAlunosResponse.ErroLinha> erros
+) {
+    public record ErroLinha(
+            long linha,
+            String mensagem
+    ) {}
+}
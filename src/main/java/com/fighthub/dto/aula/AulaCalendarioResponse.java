@@ -0,0 +1,17 @@
+package com.fighthub.dto.aula;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+public record AulaCalendarioResponse(
+
+        UUID id,
+        String titulo,
+        String descricao,
+        LocalDateTime inicio,
+        LocalDateTime fim,
+        UUID turmaId,
+        boolean cancelada
+
+) {
+}
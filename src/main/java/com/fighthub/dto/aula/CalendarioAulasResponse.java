@@ -0,0 +1,14 @@
+package com.fighthub.dto.aula;
+
+import java.util.List;
+import java.util.UUID;
+
+public record CalendarioAulasResponse(
+
+        String token,
+        boolean completo,
+        List<AulaCalendarioResponse> alteradas,
+        List<UUID> removidas
+
+) {
+}
@@ -0,0 +1,17 @@
+package com.fighthub.dto.aula;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+public record ConflitoAulaResponse(
+
+        UUID professorId,
+        UUID aulaId,
+        LocalDateTime inicio,
+        LocalDateTime fim,
+        UUID aulaConflitanteId,
+        LocalDateTime inicioConflitante,
+        LocalDateTime fimConflitante
+
+) {
+}
@@ -0,0 +1,14 @@
+package com.fighthub.dto.email;
+
+import java.time.LocalDateTime;
+
+public record MetricasEmailResponse(
+        long pendentes,
+        long descartados,
+        long enviados,
+        long falhas,
+        long lotes,
+        double emailsPorSegundo,
+        LocalDateTime ultimoDespacho
+) {
+}
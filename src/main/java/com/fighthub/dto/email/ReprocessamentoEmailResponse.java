@@ -0,0 +1,6 @@
+package com.fighthub.dto.email;
+
+public record ReprocessamentoEmailResponse(
+        int reprocessados
+) {
+}
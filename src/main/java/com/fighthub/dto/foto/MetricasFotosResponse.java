@@ -0,0 +1,30 @@
+package com.fighthub.dto.foto;
+
+import java.time.LocalDateTime;
+
+public record MetricasFotosResponse(
+        Entrega entrega,
+        Coleta coleta
+) {
+
+    // Contadores desde a subida da aplicação
+    public record Entrega(
+            long bytesServidos,
+            long respostasCompletas,
+            long respostasParciais,
+            long respostasNaoModificadas,
+            long enviosZeroCopia
+    ) {
+    }
+
+    public record Coleta(
+            long execucoes,
+            long arquivosExaminados,
+            long orfaosEncontrados,
+            long orfaosRemovidos,
+            long bytesLiberados,
+            long falhas,
+            LocalDateTime ultimaExecucao
+    ) {
+    }
+}
@@ -0,0 +1,12 @@
+package com.fighthub.dto.foto;
+
+public record ResultadoColetaResponse(
+        boolean simulacao,
+        long arquivosExaminados,
+        long orfaosEncontrados,
+        long orfaosRemovidos,
+        long bytesLiberados,
+        long falhas,
+        long duracaoMs
+) {
+}
@@ -0,0 +1,11 @@
+package com.fighthub.dto.inscricao;
+
+import java.util.List;
+
+public record InscricaoFeedResponse(
+
+        List<InscricaoResponse> inscricoes,
+        String proximoCursor
+
+) {
+}
@@ -0,0 +1,15 @@
+package com.fighthub.dto.inscricao;
+
+import java.util.UUID;
+
+public record InscricaoTurmaResponse(
+
+        UUID aulaId,
+        UUID turmaId,
+        int totalAlunos,
+        int inscritos,
+        int jaPossuiamInscricao,
+        int semVaga
+
+) {
+}
@@ -0,0 +1,18 @@
+package com.fighthub.dto.inscricao;
+
+import com.fighthub.model.enums.AdmissionStatus;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+public record TicketInscricaoResponse(
+
+        UUID ticket,
+        UUID aulaId,
+        UUID alunoId,
+        AdmissionStatus status,
+        String motivo,
+        LocalDateTime solicitadoEm
+
+) {
+}
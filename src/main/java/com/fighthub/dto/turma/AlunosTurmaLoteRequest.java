@@ -0,0 +1,21 @@
+package com.fighthub.dto.turma;
+
+import com.fighthub.model.enums.RosterOperation;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.Set;
+import java.util.UUID;
+
+public record AlunosTurmaLoteRequest(
+
+        @NotNull(message = "Operação é obrigatória.")
+        RosterOperation operacao,
+
+        @NotEmpty(message = "Alunos são obrigatórios.")
+        @Size(max = 1000, message = "Máximo de 1000 alunos por requisição.")
+        Set<UUID> alunoIds
+
+) {
+}
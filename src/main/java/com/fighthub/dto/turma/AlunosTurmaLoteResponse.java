@@ -0,0 +1,15 @@
+package com.fighthub.dto.turma;
+
+import com.fighthub.model.enums.RosterOperation;
+
+import java.util.UUID;
+
+public record AlunosTurmaLoteResponse(
+
+        UUID turmaId,
+        RosterOperation operacao,
+        int alterados,
+        int ignorados
+
+) {
+}
@@ -0,0 +1,12 @@
+package com.fighthub.dto.turma;
+
+import java.util.UUID;
+
+public record GeracaoAulasResponse(
+
+        UUID turmaId,
+        int semanas,
+        int aulasCriadas
+
+) {
+}
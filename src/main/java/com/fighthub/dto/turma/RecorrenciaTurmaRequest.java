@@ -0,0 +1,28 @@
+package com.fighthub.dto.turma;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+import java.util.Set;
+
+public record RecorrenciaTurmaRequest(
+
+        @NotEmpty(message = "Dias da semana são obrigatórios.")
+        Set<DayOfWeek> diasSemana,
+
+        @NotNull(message = "Horário de início é obrigatório.")
+        LocalTime horaInicio,
+
+        @NotNull(message = "Duração é obrigatória.")
+        @Min(1)
+        Integer duracaoMinutos,
+
+        @NotNull(message = "Limite de alunos é obrigatório.")
+        @Min(1)
+        Integer limiteAlunos
+
+) {
+}
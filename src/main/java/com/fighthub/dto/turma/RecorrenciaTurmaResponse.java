@@ -0,0 +1,15 @@
+package com.fighthub.dto.turma;
+
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+import java.util.Set;
+
+public record RecorrenciaTurmaResponse(
+
+        Set<DayOfWeek> diasSemana,
+        LocalTime horaInicio,
+        Integer duracaoMinutos,
+        Integer limiteAlunos
+
+) {
+}
@@ -10,7 +10,8 @@ public record TurmaResponse(
         UUID professorId,
         String professorNome,
         boolean ativo,
-        int quantidadeAlunos
+        int quantidadeAlunos,
+        RecorrenciaTurmaResponse recorrencia
 
 ) {
 }
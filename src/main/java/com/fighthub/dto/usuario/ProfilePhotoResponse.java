@@ -1,8 +1,12 @@
 package com.fighthub.dto.usuario;
 
+import java.util.Map;
+
 public record ProfilePhotoResponse(
 
-        String profileImageUrl
+        String profileImageUrl,
+        // URLs das miniaturas por lado em px; ficam disponíveis assim que o processamento assíncrono termina
+        Map<Integer, String> miniaturas
 
 ) {
 }
@@ -1,9 +0,0 @@
-package com.fighthub.exception;
-
-public class EmailNaoEnviadoException extends BusinessException {
-
-    public EmailNaoEnviadoException() {
-        super("Erro ao enviar e-mail");
-    }
-
-}
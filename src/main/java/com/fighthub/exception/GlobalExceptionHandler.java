@@ -29,6 +29,7 @@ public class GlobalExceptionHandler {
             TurmaNaoEncontradaException.class,
             AulaNaoEncontradaException.class,
             InscricaoNaoEncontradaException.class,
+            TicketInscricaoNaoEncontradoException.class,
             PresencaNaoEncontradaException.class,
             CepNaoEncontradoException.class
     })
@@ -63,14 +64,6 @@ public class GlobalExceptionHandler {
         return ErrorBuilder.build(HttpStatus.UNAUTHORIZED, "E-mail ou senha incorretos.", request.getRequestURI());
     }
 
-    @ExceptionHandler(EmailNaoEnviadoException.class)
-    public ResponseEntity<ErrorResponse> handleEmailNaoEnviadoException(
-            EmailNaoEnviadoException ex,
-            HttpServletRequest request
-    ) {
-        return ErrorBuilder.build(HttpStatus.CONFLICT, ex.getMessage(), request.getRequestURI());
-    }
-
     @ExceptionHandler(MatriculaInvalidaException.class)
     public ResponseEntity<ErrorResponse> handleMatriculaInvalidaException(
             MatriculaInvalidaException ex,
@@ -0,0 +1,9 @@
+package com.fighthub.exception;
+
+public class TicketInscricaoNaoEncontradoException extends BusinessException {
+
+    public TicketInscricaoNaoEncontradoException() {
+        super("Ticket de inscrição não encontrado.");
+    }
+
+}
@@ -5,17 +5,48 @@ import com.fighthub.dto.aluno.AlunoResponse;
 import com.fighthub.dto.aluno.AlunoMenorPendenteResponse;
 import com.fighthub.dto.endereco.EnderecoResponse;
 import com.fighthub.model.Aluno;
+import com.fighthub.model.GraduacaoAluno;
+import com.fighthub.repository.AlunoRepository;
+import com.fighthub.service.StorageService;
 import org.springframework.data.domain.Page;
 
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static com.fighthub.service.UsuarioService.montarUrl;
+
 public class AlunoMapper {
 
+    // Campos de AlunoResponse aceitos em ?fields= e o caminho a partir de Aluno; turmaIds é coleção e vem em consulta própria
+    public static final Map<String, String> CAMPOS_LISTAGEM;
+
+    static {
+        Map<String, String> campos = new LinkedHashMap<>();
+        campos.put("id", "id");
+        campos.put("nome", "usuario.nome");
+        campos.put("email", "usuario.email");
+        campos.put("telefone", "usuario.telefone");
+        campos.put("foto", "usuario.foto");
+        campos.put("dataNascimento", "dataNascimento");
+        campos.put("dataMatricula", "dataMatricula");
+        campos.put("matriculaAtiva", "matriculaAtiva");
+        campos.put("graduacaoAluno", "graduacao");
+        campos.put("turmaIds", "turmas");
+        CAMPOS_LISTAGEM = Collections.unmodifiableMap(campos);
+    }
+
     public static AlunoResponse toDTO(Aluno aluno) {
         return new AlunoResponse(
                 aluno.getId(),
                 aluno.getUsuario().getNome(),
                 aluno.getUsuario().getEmail(),
                 aluno.getUsuario().getTelefone(),
-                aluno.getUsuario().getFoto(),
+                montarUrl(aluno.getUsuario().getFoto(), StorageService.TAMANHO_LISTAGEM),
                 aluno.getDataNascimento(),
                 aluno.getDataMatricula(),
                 aluno.isMatriculaAtiva(),
@@ -48,16 +79,40 @@ public class AlunoMapper {
         );
     }
 
-    public static AlunoMenorPendenteResponse toMenorPendenteDTO(Aluno aluno) {
+    public static AlunoMenorPendenteResponse toMenorPendenteDTO(AlunoRepository.AlunoMenorPendente aluno) {
         return new AlunoMenorPendenteResponse(
                 aluno.getId(),
-                aluno.getUsuario().getNome(),
-                aluno.getUsuario().getEmail(),
+                aluno.getNome(),
+                aluno.getEmail(),
                 aluno.getDataNascimento().toString()
         );
     }
 
-    public static Page<AlunoResponse> toPage(Page<Aluno> page) {
-        return page.map(AlunoMapper::toDTO);
+    public static AlunoResponse toDTO(AlunoRepository.AlunoResumo resumo) {
+        GraduacaoAluno graduacao = resumo.getFaixa() == null && resumo.getNivel() == null
+                ? null
+                : new GraduacaoAluno(resumo.getFaixa(), resumo.getNivel());
+
+        return new AlunoResponse(
+                resumo.getId(),
+                resumo.getNome(),
+                resumo.getEmail(),
+                resumo.getTelefone(),
+                montarUrl(resumo.getFoto(), StorageService.TAMANHO_LISTAGEM),
+                resumo.getDataNascimento(),
+                resumo.getDataMatricula(),
+                resumo.isMatriculaAtiva(),
+                graduacao,
+                resumo.getTurmaIds() == null || resumo.getTurmaIds().isBlank()
+                        ? List.of()
+                        : Arrays.stream(resumo.getTurmaIds().split(",")).map(UUID::fromString).toList()
+        );
+    }
+
+    // Mantém a ordem da página de ids
+    public static Page<AlunoResponse> toPage(Page<UUID> ids, List<AlunoRepository.AlunoResumo> resumos) {
+        Map<UUID, AlunoResponse> porId = resumos.stream()
+                .collect(Collectors.toMap(AlunoRepository.AlunoResumo::getId, AlunoMapper::toDTO));
+        return ids.map(porId::get);
     }
 }
@@ -0,0 +1,89 @@
+package com.fighthub.mapper;
+
+import com.fighthub.dto.aula.AulaCalendarioResponse;
+import com.fighthub.model.Aula;
+import com.fighthub.model.enums.ClassStatus;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+public class CalendarioMapper {
+
+    private static final DateTimeFormatter FORMATO_UTC = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss'Z'");
+    private static final String QUEBRA = "\r\n";
+    private static final int LIMITE_LINHA = 75;
+
+    public static AulaCalendarioResponse toDTO(Aula aula, int duracaoPadraoMinutos) {
+        int duracao = aula.getDuracaoMinutos() != null ? aula.getDuracaoMinutos() : duracaoPadraoMinutos;
+        return new AulaCalendarioResponse(
+                aula.getId(),
+                aula.getTitulo(),
+                aula.getDescricao(),
+                aula.getData(),
+                aula.getData().plusMinutes(duracao),
+                aula.getTurma() != null ? aula.getTurma().getId() : null,
+                aula.getStatus() == ClassStatus.CANCELADA || !aula.isAtivo()
+        );
+    }
+
+    public static String toIcs(List<AulaCalendarioResponse> aulas, LocalDateTime geradoEm) {
+        StringBuilder ics = new StringBuilder();
+        linha(ics, "BEGIN:VCALENDAR");
+        linha(ics, "VERSION:2.0");
+        linha(ics, "PRODID:-//FightHub//Calendario de Aulas//PT");
+        linha(ics, "CALSCALE:GREGORIAN");
+        linha(ics, "METHOD:PUBLISH");
+
+        for (AulaCalendarioResponse aula : aulas) {
+            linha(ics, "BEGIN:VEVENT");
+            linha(ics, "UID:" + aula.id() + "@fighthub");
+            linha(ics, "DTSTAMP:" + utc(geradoEm));
+            linha(ics, "DTSTART:" + utc(aula.inicio()));
+            linha(ics, "DTEND:" + utc(aula.fim()));
+            linha(ics, "SUMMARY:" + escapar(aula.titulo()));
+            if (aula.descricao() != null && !aula.descricao().isBlank()) {
+                linha(ics, "DESCRIPTION:" + escapar(aula.descricao()));
+            }
+            linha(ics, "STATUS:" + (aula.cancelada() ? "CANCELLED" : "CONFIRMED"));
+            linha(ics, "END:VEVENT");
+        }
+
+        linha(ics, "END:VCALENDAR");
+        return ics.toString();
+    }
+
+    private static String utc(LocalDateTime data) {
+        return data.atZone(ZoneId.systemDefault()).withZoneSameInstant(ZoneOffset.UTC).format(FORMATO_UTC);
+    }
+
+    private static String escapar(String texto) {
+        if (texto == null) return "";
+        return texto.replace("\\", "\\\\")
+                .replace(";", "\\;")
+                .replace(",", "\\,")
+                .replace("\r\n", "\\n")
+                .replace("\n", "\\n");
+    }
+
+    // RFC 5545: linhas com mais de 75 octetos continuam na próxima linha iniciada por espaço
+    private static void linha(StringBuilder ics, String conteudo) {
+        int octetos = 0;
+        int i = 0;
+        while (i < conteudo.length()) {
+            int codePoint = conteudo.codePointAt(i);
+            int tamanho = new String(Character.toChars(codePoint)).getBytes(StandardCharsets.UTF_8).length;
+            if (octetos + tamanho > LIMITE_LINHA) {
+                ics.append(QUEBRA).append(' ');
+                octetos = 1;
+            }
+            ics.appendCodePoint(codePoint);
+            octetos += tamanho;
+            i += Character.charCount(codePoint);
+        }
+        ics.append(QUEBRA);
+    }
+}
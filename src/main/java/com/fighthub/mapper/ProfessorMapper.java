@@ -4,10 +4,31 @@ import com.fighthub.dto.endereco.EnderecoResponse;
 import com.fighthub.dto.professor.ProfessorDetalhadoResponse;
 import com.fighthub.dto.professor.ProfessorResponse;
 import com.fighthub.model.Professor;
+import com.fighthub.service.StorageService;
 import org.springframework.data.domain.Page;
 
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static com.fighthub.service.UsuarioService.montarUrl;
+
 public class ProfessorMapper {
 
+    // Campos de ProfessorResponse aceitos em ?fields= e o caminho a partir de Professor
+    public static final Map<String, String> CAMPOS_LISTAGEM;
+
+    static {
+        Map<String, String> campos = new LinkedHashMap<>();
+        campos.put("id", "id");
+        campos.put("nome", "usuario.nome");
+        campos.put("email", "usuario.email");
+        campos.put("telefone", "usuario.telefone");
+        campos.put("cpf", "usuario.cpf");
+        campos.put("foto", "usuario.foto");
+        CAMPOS_LISTAGEM = Collections.unmodifiableMap(campos);
+    }
+
         public static ProfessorResponse toDTO(Professor professor) {
             return new ProfessorResponse(
                     professor.getId(),
@@ -15,7 +36,7 @@ public class ProfessorMapper {
                     professor.getUsuario().getEmail(),
                     professor.getUsuario().getTelefone(),
                     professor.getUsuario().getCpf(),
-                    professor.getUsuario().getFoto()
+                    montarUrl(professor.getUsuario().getFoto(), StorageService.TAMANHO_LISTAGEM)
             );
         }
 
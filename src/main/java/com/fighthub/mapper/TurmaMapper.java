@@ -1,11 +1,16 @@
 package com.fighthub.mapper;
 
+import com.fighthub.dto.turma.RecorrenciaTurmaRequest;
+import com.fighthub.dto.turma.RecorrenciaTurmaResponse;
 import com.fighthub.dto.turma.TurmaRequest;
 import com.fighthub.dto.turma.TurmaResponse;
 import com.fighthub.model.Professor;
+import com.fighthub.model.RecorrenciaTurma;
 import com.fighthub.model.Turma;
 import org.springframework.data.domain.Page;
 
+import java.util.EnumSet;
+
 public class TurmaMapper {
 
     public static TurmaResponse toDTO(Turma turma) {
@@ -16,7 +21,8 @@ public class TurmaMapper {
                 turma.getProfessor() != null ? turma.getProfessor().getId() : null,
                 turma.getProfessor() != null ? turma.getProfessor().getUsuario().getNome() : null,
                 turma.isAtivo(),
-                0
+                0,
+                toRecorrenciaDTO(turma.getRecorrencia())
         );
     }
 
@@ -28,7 +34,28 @@ public class TurmaMapper {
                 turma.getProfessor() != null ? turma.getProfessor().getId() : null,
                 turma.getProfessor() != null ? turma.getProfessor().getUsuario().getNome() : null,
                 turma.isAtivo(),
-                (int) quantidadeAlunos
+                (int) quantidadeAlunos,
+                toRecorrenciaDTO(turma.getRecorrencia())
+        );
+    }
+
+    public static RecorrenciaTurmaResponse toRecorrenciaDTO(RecorrenciaTurma recorrencia) {
+        if (recorrencia == null || !recorrencia.isDefinida()) return null;
+
+        return new RecorrenciaTurmaResponse(
+                recorrencia.getDiasSemana(),
+                recorrencia.getHoraInicio(),
+                recorrencia.getDuracaoMinutos(),
+                recorrencia.getLimiteAlunos()
+        );
+    }
+
+    public static RecorrenciaTurma toRecorrenciaEntity(RecorrenciaTurmaRequest request) {
+        return new RecorrenciaTurma(
+                EnumSet.copyOf(request.diasSemana()),
+                request.horaInicio(),
+                request.duracaoMinutos(),
+                request.limiteAlunos()
         );
     }
 
@@ -1,17 +1,38 @@
 package com.fighthub.mapper;
 
 import com.fighthub.dto.endereco.EnderecoResponse;
+import com.fighthub.dto.usuario.ProfilePhotoResponse;
 import com.fighthub.dto.usuario.UsuarioDetalhadoResponse;
 import com.fighthub.dto.usuario.UsuarioResponse;
 import com.fighthub.model.Usuario;
+import com.fighthub.service.StorageService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
 import static com.fighthub.service.UsuarioService.montarUrl;
 
 @RequiredArgsConstructor
 public class UsuarioMapper {
 
+    // Campos de UsuarioResponse aceitos em ?fields= e o atributo de Usuario de onde cada um vem
+    public static final Map<String, String> CAMPOS_LISTAGEM;
+
+    static {
+        Map<String, String> campos = new LinkedHashMap<>();
+        campos.put("id", "id");
+        campos.put("nome", "nome");
+        campos.put("cpf", "cpf");
+        campos.put("email", "email");
+        campos.put("telefone", "telefone");
+        campos.put("role", "role");
+        campos.put("ativo", "ativo");
+        CAMPOS_LISTAGEM = Collections.unmodifiableMap(campos);
+    }
+
     public static UsuarioResponse toDTO(Usuario usuario) {
         return new UsuarioResponse(
                 usuario.getId(),
@@ -39,6 +60,12 @@ public class UsuarioMapper {
         );
     }
 
+    public static ProfilePhotoResponse toFotoDTO(String key) {
+        Map<Integer, String> miniaturas = new LinkedHashMap<>();
+        if (StorageService.suportaVariantes(key)) StorageService.TAMANHOS_VARIANTES.forEach(tamanho -> miniaturas.put(tamanho, montarUrl(key, tamanho)));
+        return new ProfilePhotoResponse(montarUrl(key), miniaturas);
+    }
+
     public static Page<UsuarioResponse> toPage(Page<Usuario> page) {
         return page.map(UsuarioMapper::toDTO);
     }
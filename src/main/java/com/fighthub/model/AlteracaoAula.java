@@ -0,0 +1,38 @@
+package com.fighthub.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Entity
+@Table(name = "aulas_alteracoes",
+        indexes = @Index(name = "idx_aulas_alteracoes_turma_sequencia", columnList = "turma_id, sequencia"))
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode(of = "sequencia")
+public class AlteracaoAula {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long sequencia;
+
+    // Sem chave estrangeira: aulas excluídas continuam no log para avisar os calendários
+    @Column(name = "aula_id", nullable = false)
+    private UUID aulaId;
+
+    @Column(name = "turma_id")
+    private UUID turmaId;
+
+    @Column(name = "alterado_em", nullable = false)
+    private LocalDateTime alteradoEm;
+
+    public AlteracaoAula(UUID aulaId, UUID turmaId) {
+        this.aulaId = aulaId;
+        this.turmaId = turmaId;
+        this.alteradoEm = LocalDateTime.now();
+    }
+}
@@ -0,0 +1,19 @@
+package com.fighthub.model;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.*;
+
+// Linha única travada por quem grava no log de alterações das aulas; ver AlteracaoAulaRepository
+@Entity
+@Table(name = "aulas_alteracoes_trava")
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode(of = "id")
+public class AlteracaoAulaTrava {
+
+    @Id
+    private Integer id;
+}
@@ -4,6 +4,7 @@ import jakarta.persistence.*;
 import lombok.*;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
@@ -44,4 +45,11 @@ public class Aluno {
     @Embedded
     private GraduacaoAluno graduacao;
 
+    // Mantidos por updates atômicos no repositório; o merge da entidade não sobrescreve o contador
+    @Column(name = "aulas_desde_graduacao", nullable = false, updatable = false)
+    private int aulasDesdeGraduacao;
+
+    @Column(name = "data_ultima_graduacao", updatable = false)
+    private LocalDateTime dataUltimaGraduacao;
+
 }
@@ -4,12 +4,16 @@ import com.fighthub.dto.aula.AulaUpdateCompletoRequest;
 import com.fighthub.model.enums.ClassStatus;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.time.LocalDateTime;
 import java.util.UUID;
 
 @Entity
-@Table(name = "aulas")
+@Table(name = "aulas", indexes = {
+        @Index(name = "idx_aulas_status_data", columnList = "status, data"),
+        @Index(name = "idx_aulas_status_turma_data", columnList = "status, turma_id, data")
+})
 @NoArgsConstructor
 @AllArgsConstructor
 @Getter
@@ -33,6 +37,16 @@ public class Aula {
     @Column(name = "limite_alunos")
     private int limiteAlunos;
 
+    @ColumnDefault("0")
+    @Column(name = "vagas_ocupadas", nullable = false, insertable = false, updatable = false)
+    private int vagasOcupadas;
+
+    @Column(name = "duracao_minutos")
+    private Integer duracaoMinutos;
+
+    @Column(nullable = false)
+    private boolean recorrente;
+
     @Enumerated(EnumType.STRING)
     private ClassStatus status;
 
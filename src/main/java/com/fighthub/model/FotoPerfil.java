@@ -0,0 +1,32 @@
+package com.fighthub.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+// Contador de referências de um arquivo de foto; alterado somente por updates atômicos no repositório
+@Entity
+@Table(name = "fotos_perfil")
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode(of = "chave")
+public class FotoPerfil {
+
+    @Id
+    @Column(name = "chave", length = 100)
+    private String chave;
+
+    @Column(name = "tamanho_bytes", nullable = false, updatable = false)
+    private long tamanhoBytes;
+
+    @Column(name = "referencias", nullable = false, updatable = false)
+    private int referencias;
+
+    @Column(name = "criado_em", nullable = false, updatable = false)
+    private LocalDateTime criadoEm;
+}
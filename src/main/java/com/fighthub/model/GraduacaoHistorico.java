@@ -0,0 +1,51 @@
+package com.fighthub.model;
+
+import com.fighthub.model.enums.BeltGraduation;
+import com.fighthub.model.enums.GraduationLevel;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+// Registro imutável: linhas só são inseridas, nunca atualizadas
+@Entity
+@Table(name = "graduacoes_historico",
+        indexes = @Index(name = "idx_graduacoes_historico_aluno_registro", columnList = "aluno_id, registrado_em"))
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@EqualsAndHashCode(of = "id")
+public class GraduacaoHistorico {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+
+    @Column(name = "aluno_id", nullable = false, updatable = false)
+    private UUID alunoId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "faixa_anterior", updatable = false)
+    private BeltGraduation faixaAnterior;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "nivel_anterior", updatable = false)
+    private GraduationLevel nivelAnterior;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "faixa", nullable = false, updatable = false)
+    private BeltGraduation faixa;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "nivel", nullable = false, updatable = false)
+    private GraduationLevel nivel;
+
+    @Column(name = "aulas_no_periodo", nullable = false, updatable = false)
+    private int aulasNoPeriodo;
+
+    @Column(name = "registrado_em", nullable = false, updatable = false)
+    private LocalDateTime registradoEm;
+
+}
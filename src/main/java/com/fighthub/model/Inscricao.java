@@ -8,7 +8,7 @@ import java.time.LocalDateTime;
 import java.util.UUID;
 
 @Entity
-@Table(name = "inscricoes")
+@Table(name = "inscricoes", uniqueConstraints = @UniqueConstraint(name = "inscricoes_aluno_id_aula_id_key", columnNames = {"aluno_id", "aula_id"}))
 @Getter
 @Setter
 @Builder
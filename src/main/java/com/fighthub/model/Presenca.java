@@ -7,7 +7,7 @@ import java.time.LocalDate;
 import java.util.UUID;
 
 @Entity
-@Table(name = "presencas")
+@Table(name = "presencas", uniqueConstraints = @UniqueConstraint(name = "uk_presencas_inscricao", columnNames = "inscricao_id"))
 @Getter
 @Setter
 @Builder
@@ -0,0 +1,41 @@
+package com.fighthub.model;
+
+import com.fighthub.model.converter.DiasSemanaConverter;
+import jakarta.persistence.Column;
+import jakarta.persistence.Convert;
+import jakarta.persistence.Embeddable;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+import java.util.Set;
+
+@Embeddable
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+public class RecorrenciaTurma {
+
+    @Convert(converter = DiasSemanaConverter.class)
+    @Column(name = "dias_semana", length = 100)
+    private Set<DayOfWeek> diasSemana;
+
+    @Column(name = "hora_inicio")
+    private LocalTime horaInicio;
+
+    @Column(name = "duracao_minutos")
+    private Integer duracaoMinutos;
+
+    @Column(name = "limite_alunos")
+    private Integer limiteAlunos;
+
+    public boolean isDefinida() {
+        return diasSemana != null && !diasSemana.isEmpty()
+                && horaInicio != null && duracaoMinutos != null && limiteAlunos != null;
+    }
+
+}
@@ -4,8 +4,8 @@ import com.fighthub.dto.turma.TurmaUpdateCompletoRequest;
 import jakarta.persistence.*;
 import lombok.*;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.util.HashSet;
+import java.util.Set;
 import java.util.UUID;
 
 @Entity
@@ -41,7 +41,10 @@ public class Turma {
             joinColumns = @JoinColumn(name = "turma_id"),
             inverseJoinColumns = @JoinColumn(name = "aluno_id")
     )
-    private List<Aluno> alunos = new ArrayList<>();
+    private Set<Aluno> alunos = new HashSet<>();
+
+    @Embedded
+    private RecorrenciaTurma recorrencia;
 
     public Turma(String nome, String horario, Professor professor) {
         this.nome = nome;
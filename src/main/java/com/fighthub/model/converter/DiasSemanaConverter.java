@@ -0,0 +1,32 @@
+package com.fighthub.model.converter;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+import java.time.DayOfWeek;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+@Converter
+public class DiasSemanaConverter implements AttributeConverter<Set<DayOfWeek>, String> {
+
+    @Override
+    public String convertToDatabaseColumn(Set<DayOfWeek> dias) {
+        if (dias == null || dias.isEmpty()) return null;
+        return dias.stream()
+                .sorted()
+                .map(DayOfWeek::name)
+                .collect(Collectors.joining(","));
+    }
+
+    @Override
+    public Set<DayOfWeek> convertToEntityAttribute(String valor) {
+        if (valor == null || valor.isBlank()) return EnumSet.noneOf(DayOfWeek.class);
+        return Arrays.stream(valor.split(","))
+                .map(String::trim)
+                .map(DayOfWeek::valueOf)
+                .collect(Collectors.toCollection(() -> EnumSet.noneOf(DayOfWeek.class)));
+    }
+}
@@ -0,0 +1,9 @@
+package com.fighthub.model.enums;
+
+public enum AdmissionStatus {
+
+    PENDENTE,
+    CONFIRMADA,
+    RECUSADA
+
+}
@@ -0,0 +1,9 @@
+package com.fighthub.model.enums;
+
+public enum EmailStatus {
+
+    PENDENTE,
+    ENVIADO,
+    FALHOU
+
+}
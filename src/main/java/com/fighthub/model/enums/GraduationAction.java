@@ -0,0 +1,17 @@
+package com.fighthub.model.enums;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@AllArgsConstructor
+@Getter
+public enum GraduationAction {
+
+    PROMOVER_FAIXA(true),
+    REBAIXAR_FAIXA(false),
+    PROMOVER_GRAU(true),
+    REBAIXAR_GRAU(false);
+
+    private final boolean promocao;
+
+}
@@ -0,0 +1,8 @@
+package com.fighthub.model.enums;
+
+public enum RosterOperation {
+
+    ADICIONAR,
+    REMOVER
+
+}
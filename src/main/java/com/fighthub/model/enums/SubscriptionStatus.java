@@ -4,6 +4,7 @@ public enum SubscriptionStatus {
 
     INSCRITO,
     CANCELADO,
-    DESMARCADO
+    DESMARCADO,
+    EM_ESPERA
 
 }
@@ -0,0 +1,47 @@
+package com.fighthub.repository;
+
+import com.fighthub.model.AlteracaoAula;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+public interface AlteracaoAulaRepository extends JpaRepository<AlteracaoAula, Long> {
+
+    // Escritores do log seguram esta linha até o commit: as sequências são confirmadas em ordem,
+    // então a maior sequência visível nunca deixa para trás uma alteração ainda pendente
+    default void bloquearLog() {
+        if (bloquearTrava().isEmpty()) {
+            criarTrava();
+            bloquearTrava();
+        }
+    }
+
+    @Query(value = "SELECT id FROM aulas_alteracoes_trava WHERE id = 1 FOR UPDATE", nativeQuery = true)
+    Optional<Integer> bloquearTrava();
+
+    @Modifying
+    @Query(value = "INSERT INTO aulas_alteracoes_trava (id) VALUES (1) ON CONFLICT DO NOTHING", nativeQuery = true)
+    void criarTrava();
+
+    @Query("SELECT MAX(c.sequencia) AS sequencia, MAX(c.alteradoEm) AS alteradoEm FROM AlteracaoAula c " +
+            "WHERE c.turmaId IN :turmaIds")
+    VersaoCalendario buscarVersao(@Param("turmaIds") Collection<UUID> turmaIds);
+
+    @Query("SELECT DISTINCT c.aulaId FROM AlteracaoAula c " +
+            "WHERE c.turmaId IN :turmaIds AND c.sequencia > :desde AND c.sequencia <= :ate")
+    List<UUID> findAulaIdsAlteradas(@Param("turmaIds") Collection<UUID> turmaIds,
+                                    @Param("desde") long desde,
+                                    @Param("ate") long ate);
+
+    interface VersaoCalendario {
+        Long getSequencia();
+        LocalDateTime getAlteradoEm();
+    }
+}
@@ -0,0 +1,86 @@
+package com.fighthub.repository;
+
+import com.fighthub.model.enums.BeltGraduation;
+import com.fighthub.model.enums.GraduationLevel;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+@RequiredArgsConstructor
+public class AlunoLoteRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    // Pares (alunoId, responsavelId); a tabela de junção pertence a Responsavel, então é gravada direto
+    public void vincularResponsaveis(List<UUID[]> vinculos) {
+        if (vinculos.isEmpty()) return;
+
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO alunos_responsaveis (aluno_id, responsavel_id) VALUES (?, ?)",
+                vinculos, vinculos.size(),
+                (ps, vinculo) -> {
+                    ps.setObject(1, vinculo[0]);
+                    ps.setObject(2, vinculo[1]);
+                });
+    }
+
+    // Atualiza só quem ainda está na graduação lida: 0 na posição indica alteração concorrente
+    public int[] atualizarGraduacoes(List<AlteracaoGraduacao> alteracoes, LocalDateTime registradoEm) {
+        if (alteracoes.isEmpty()) return new int[0];
+
+        return jdbcTemplate.batchUpdate("""
+                UPDATE alunos
+                SET graduacao_faixa = ?, graduacao_nivel = ?,
+                    aulas_desde_graduacao = CASE WHEN ? THEN 0 ELSE aulas_desde_graduacao END,
+                    data_ultima_graduacao = CASE WHEN ? THEN ? ELSE data_ultima_graduacao END
+                WHERE id = ? AND graduacao_faixa = ? AND graduacao_nivel = ?
+                """,
+                alteracoes, alteracoes.size(),
+                (ps, alteracao) -> {
+                    ps.setString(1, alteracao.faixa().name());
+                    ps.setString(2, alteracao.nivel().name());
+                    ps.setBoolean(3, alteracao.promocao());
+                    ps.setBoolean(4, alteracao.promocao());
+                    ps.setTimestamp(5, Timestamp.valueOf(registradoEm));
+                    ps.setObject(6, alteracao.alunoId());
+                    ps.setString(7, alteracao.faixaAnterior().name());
+                    ps.setString(8, alteracao.nivelAnterior().name());
+                })[0];
+    }
+
+    public void registrarHistoricoGraduacoes(List<AlteracaoGraduacao> alteracoes, LocalDateTime registradoEm) {
+        if (alteracoes.isEmpty()) return;
+
+        jdbcTemplate.batchUpdate("""
+                INSERT INTO graduacoes_historico
+                    (id, aluno_id, faixa_anterior, nivel_anterior, faixa, nivel, aulas_no_periodo, registrado_em)
+                VALUES (?, ?, ?, ?, ?, ?, ?, ?)
+                """,
+                alteracoes, alteracoes.size(),
+                (ps, alteracao) -> {
+                    ps.setObject(1, UUID.randomUUID());
+                    ps.setObject(2, alteracao.alunoId());
+                    ps.setString(3, alteracao.faixaAnterior().name());
+                    ps.setString(4, alteracao.nivelAnterior().name());
+                    ps.setString(5, alteracao.faixa().name());
+                    ps.setString(6, alteracao.nivel().name());
+                    ps.setInt(7, alteracao.aulasNoPeriodo());
+                    ps.setTimestamp(8, Timestamp.valueOf(registradoEm));
+                });
+    }
+
+    public record AlteracaoGraduacao(UUID alunoId,
+                                     BeltGraduation faixaAnterior,
+                                     GraduationLevel nivelAnterior,
+                                     BeltGraduation faixa,
+                                     GraduationLevel nivel,
+                                     boolean promocao,
+                                     int aulasNoPeriodo) {
+    }
+}
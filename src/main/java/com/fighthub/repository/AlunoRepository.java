@@ -1,23 +1,45 @@
 package com.fighthub.repository;
 
 import com.fighthub.model.Aluno;
+import com.fighthub.model.enums.BeltGraduation;
+import com.fighthub.model.enums.GraduationLevel;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 public interface AlunoRepository extends JpaRepository<Aluno, UUID> {
 
-    @Override
-    @EntityGraph(attributePaths = {"usuario", "turmas", "turmas.alunos"})
-    Page<Aluno> findAll(Pageable pageable);
+    // Paginação em duas etapas: primeiro só os ids da página, depois a projeção desses ids
+    @Query(value = "SELECT a.id FROM Aluno a", countQuery = "SELECT COUNT(a) FROM Aluno a")
+    Page<UUID> findPaginaIds(Pageable pageable);
+
+    @Query("""
+            SELECT a.id AS id, u.nome AS nome, u.email AS email, u.telefone AS telefone, u.foto AS foto,
+                   a.dataNascimento AS dataNascimento, a.dataMatricula AS dataMatricula,
+                   a.matriculaAtiva AS matriculaAtiva, a.graduacao.belt AS faixa, a.graduacao.level AS nivel,
+                   listagg(cast(t.id AS String), ',') AS turmaIds
+            FROM Aluno a
+            JOIN a.usuario u
+            LEFT JOIN a.turmas t
+            WHERE a.id IN :ids
+            GROUP BY a.id, u.nome, u.email, u.telefone, u.foto, a.dataNascimento, a.dataMatricula,
+                     a.matriculaAtiva, a.graduacao.belt, a.graduacao.level
+            """)
+    List<AlunoResumo> findResumosByIdIn(@Param("ids") Collection<UUID> ids);
+
+    @Query("SELECT a.id AS alunoId, t.id AS turmaId FROM Aluno a JOIN a.turmas t WHERE a.id IN :ids")
+    List<AlunoTurma> findTurmasByAlunoIdIn(@Param("ids") Collection<UUID> ids);
 
     @Override
     @EntityGraph(attributePaths = {"usuario", "responsaveis", "responsaveis.usuario"})
@@ -38,14 +60,115 @@ public interface AlunoRepository extends JpaRepository<Aluno, UUID> {
             "FROM alunos a WHERE a.matricula_ativa = :status", nativeQuery = true)
     long sumAgesByMatriculaAtiva(@Param("status") boolean status);
 
+    // Anti-junção na tabela de vínculo, sem carregar responsáveis (que seriam sempre vazios)
     @Query("""
-            SELECT a FROM Aluno a
-            WHERE a.dataNascimento > :dateLimite
-            AND (a.responsaveis IS EMPTY OR SIZE(a.responsaveis) = 0)
-            AND a.matriculaAtiva = true
-            ORDER BY a.usuario.nome
+            SELECT a.id AS id, u.nome AS nome, u.email AS email, a.dataNascimento AS dataNascimento
+            FROM Aluno a
+            JOIN a.usuario u
+            WHERE a.matriculaAtiva = true
+            AND a.dataNascimento > :dataLimite
+            AND NOT EXISTS (SELECT r.id FROM a.responsaveis r)
+            ORDER BY u.nome, a.id
             """)
-    @EntityGraph(attributePaths = {"usuario", "responsaveis", "responsaveis.usuario"})
-    List<Aluno> findMenoresSemResponsavel(@Param("dateLimite") LocalDate dateLimite);
+    List<AlunoMenorPendente> findMenoresSemResponsavel(@Param("dataLimite") LocalDate dataLimite);
+
+    @Query("""
+            SELECT COUNT(a) FROM Aluno a
+            WHERE a.matriculaAtiva = true
+            AND a.dataNascimento > :dataLimite
+            AND NOT EXISTS (SELECT r.id FROM a.responsaveis r)
+            """)
+    long countMenoresSemResponsavel(@Param("dataLimite") LocalDate dataLimite);
+
+    // Só aulas posteriores à última graduação entram no período atual; as anteriores ficaram no contador já zerado
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "UPDATE alunos SET aulas_desde_graduacao = GREATEST(aulas_desde_graduacao + :delta, 0) " +
+            "WHERE id = :id AND (data_ultima_graduacao IS NULL OR data_ultima_graduacao < :dataAula)", nativeQuery = true)
+    int ajustarAulasDesdeGraduacao(@Param("id") UUID id, @Param("delta") int delta, @Param("dataAula") LocalDateTime dataAula);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "UPDATE alunos SET aulas_desde_graduacao = 0, data_ultima_graduacao = :data " +
+            "WHERE id = :id", nativeQuery = true)
+    int reiniciarAulasDesdeGraduacao(@Param("id") UUID id, @Param("data") LocalDateTime data);
+
+    // Só o necessário para aplicar as regras de graduação, sem o grafo de responsáveis
+    @Query("""
+            SELECT a.id AS id, a.dataNascimento AS dataNascimento, a.graduacao.belt AS faixa,
+                   a.graduacao.level AS nivel, a.aulasDesdeGraduacao AS aulasDesdeGraduacao
+            FROM Aluno a
+            WHERE a.id IN :ids
+            """)
+    List<AlunoGraduacao> findGraduacoesByIdIn(@Param("ids") Collection<UUID> ids);
+
+    // Elegibilidade lida direto do contador: nenhuma varredura em presencas
+    @Query(value = """
+            SELECT a.id AS id, u.nome AS nome, a.graduacao.belt AS faixa, a.graduacao.level AS nivel,
+                   a.aulasDesdeGraduacao AS aulasDesdeGraduacao, a.dataUltimaGraduacao AS dataUltimaGraduacao
+            FROM Aluno a
+            JOIN a.usuario u
+            WHERE a.matriculaAtiva = true
+            AND a.graduacao.belt IS NOT NULL AND a.graduacao.level IS NOT NULL
+            AND ((a.graduacao.level <> :grauMaximo AND a.aulasDesdeGraduacao >= :minimoGrau)
+                 OR (a.graduacao.level = :grauMaximo AND a.graduacao.belt <> :faixaMaxima
+                     AND a.aulasDesdeGraduacao >= :minimoFaixa))
+            ORDER BY a.aulasDesdeGraduacao DESC, u.nome, a.id
+            """,
+            countQuery = """
+            SELECT COUNT(a) FROM Aluno a
+            WHERE a.matriculaAtiva = true
+            AND a.graduacao.belt IS NOT NULL AND a.graduacao.level IS NOT NULL
+            AND ((a.graduacao.level <> :grauMaximo AND a.aulasDesdeGraduacao >= :minimoGrau)
+                 OR (a.graduacao.level = :grauMaximo AND a.graduacao.belt <> :faixaMaxima
+                     AND a.aulasDesdeGraduacao >= :minimoFaixa))
+            """)
+    Page<AlunoElegivel> findElegiveisGraduacao(@Param("grauMaximo") GraduationLevel grauMaximo,
+                                               @Param("faixaMaxima") BeltGraduation faixaMaxima,
+                                               @Param("minimoGrau") int minimoGrau,
+                                               @Param("minimoFaixa") int minimoFaixa,
+                                               Pageable pageable);
+
+    interface AlunoResumo {
+        UUID getId();
+        String getNome();
+        String getEmail();
+        String getTelefone();
+        String getFoto();
+        LocalDate getDataNascimento();
+        LocalDate getDataMatricula();
+        boolean isMatriculaAtiva();
+        BeltGraduation getFaixa();
+        GraduationLevel getNivel();
+        // Ids das turmas separados por vírgula (agregados no banco)
+        String getTurmaIds();
+    }
+
+    interface AlunoTurma {
+        UUID getAlunoId();
+        UUID getTurmaId();
+    }
+
+    interface AlunoMenorPendente {
+        UUID getId();
+        String getNome();
+        String getEmail();
+        LocalDate getDataNascimento();
+    }
+
+    interface AlunoGraduacao {
+        UUID getId();
+        LocalDate getDataNascimento();
+        BeltGraduation getFaixa();
+        GraduationLevel getNivel();
+        int getAulasDesdeGraduacao();
+    }
+
+    interface AlunoElegivel {
+        UUID getId();
+        String getNome();
+        BeltGraduation getFaixa();
+        GraduationLevel getNivel();
+        int getAulasDesdeGraduacao();
+        LocalDateTime getDataUltimaGraduacao();
+    }
 
 }
@@ -0,0 +1,73 @@
+package com.fighthub.repository;
+
+import com.fighthub.model.Aula;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.IntStream;
+
+@Repository
+@RequiredArgsConstructor
+public class AulaLoteRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    // Os ids chegam preenchidos: o lote é enviado sem depender de geração de chave pelo banco
+    public List<Aula> inserirOcorrencias(List<Aula> aulas) {
+        if (aulas.isEmpty()) return List.of();
+
+        bloquearLog();
+
+        int[][] resultados = jdbcTemplate.batchUpdate(
+                "INSERT INTO aulas (id, titulo, descricao, data, turma_id, limite_alunos, duracao_minutos, status, ativo, recorrente) " +
+                        "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, true) ON CONFLICT DO NOTHING",
+                aulas, aulas.size(),
+                (ps, aula) -> {
+                    ps.setObject(1, aula.getId());
+                    ps.setString(2, aula.getTitulo());
+                    ps.setString(3, aula.getDescricao());
+                    ps.setTimestamp(4, Timestamp.valueOf(aula.getData()));
+                    ps.setObject(5, aula.getTurma().getId());
+                    ps.setInt(6, aula.getLimiteAlunos());
+                    ps.setObject(7, aula.getDuracaoMinutos());
+                    ps.setString(8, aula.getStatus().name());
+                    ps.setBoolean(9, aula.isAtivo());
+                });
+
+        // SUCCESS_NO_INFO (-2) é retornado quando o driver reescreve o lote; conta como inserido
+        List<Aula> inseridas = IntStream.range(0, aulas.size())
+                .filter(i -> resultados[0][i] != 0)
+                .mapToObj(aulas::get)
+                .toList();
+
+        registrarAlteracoes(inseridas);
+        return inseridas;
+    }
+
+    // Mesma trava de AlteracaoAulaRepository.bloquearLog, tomada antes de inserir as aulas
+    private void bloquearLog() {
+        String trava = "SELECT id FROM aulas_alteracoes_trava WHERE id = 1 FOR UPDATE";
+        if (jdbcTemplate.queryForList(trava).isEmpty()) {
+            jdbcTemplate.update("INSERT INTO aulas_alteracoes_trava (id) VALUES (1) ON CONFLICT DO NOTHING");
+            jdbcTemplate.queryForList(trava);
+        }
+    }
+
+    private void registrarAlteracoes(List<Aula> aulas) {
+        if (aulas.isEmpty()) return;
+
+        Timestamp agora = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO aulas_alteracoes (aula_id, turma_id, alterado_em) VALUES (?, ?, ?)",
+                aulas, aulas.size(),
+                (ps, aula) -> {
+                    ps.setObject(1, aula.getId());
+                    ps.setObject(2, aula.getTurma().getId());
+                    ps.setTimestamp(3, agora);
+                });
+    }
+}
@@ -1,21 +1,97 @@
 package com.fighthub.repository;
 
+import com.fighthub.dto.aula.AulaResponse;
 import com.fighthub.model.Aula;
-import com.fighthub.model.Turma;
 import com.fighthub.model.enums.ClassStatus;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
 public interface AulaRepository extends JpaRepository<Aula, UUID> {
 
-    Page<Aula> findByStatusAndTurmaIn(ClassStatus status, List<Turma> turmas, Pageable pageable);
+    @Query(value = "SELECT new com.fighthub.dto.aula.AulaResponse(a.id, a.titulo, a.descricao, a.data, a.turma.id, " +
+            "a.limiteAlunos, a.status, a.ativo) " +
+            "FROM Aula a WHERE a.status = :status AND a.turma.id IN " +
+            "(SELECT t.id FROM Turma t JOIN t.alunos al WHERE al.id = :alunoId)",
+            countQuery = "SELECT COUNT(a) FROM Aula a WHERE a.status = :status AND a.turma.id IN " +
+                    "(SELECT t.id FROM Turma t JOIN t.alunos al WHERE al.id = :alunoId)")
+    Page<AulaResponse> findResumoByStatusAndAlunoId(@Param("status") ClassStatus status,
+                                                    @Param("alunoId") UUID alunoId,
+                                                    Pageable pageable);
+
+    @Query(value = "SELECT new com.fighthub.dto.aula.AulaResponse(a.id, a.titulo, a.descricao, a.data, t.id, " +
+            "a.limiteAlunos, a.status, a.ativo) " +
+            "FROM Aula a JOIN a.turma t WHERE a.status = :status AND t.professor.id = :professorId",
+            countQuery = "SELECT COUNT(a) FROM Aula a JOIN a.turma t WHERE a.status = :status AND t.professor.id = :professorId")
+    Page<AulaResponse> findResumoByStatusAndProfessorId(@Param("status") ClassStatus status,
+                                                        @Param("professorId") UUID professorId,
+                                                        Pageable pageable);
+
+    @Query("SELECT a FROM Aula a WHERE a.turma.id IN :turmaIds AND a.data >= :inicio ORDER BY a.data, a.id")
+    List<Aula> findCalendario(@Param("turmaIds") Collection<UUID> turmaIds, @Param("inicio") LocalDateTime inicio);
+
+    @Query("SELECT a.id AS id, a.data AS data, a.duracaoMinutos AS duracaoMinutos, t.id AS turmaId, t.professor.id AS professorId " +
+            "FROM Aula a JOIN a.turma t " +
+            "WHERE t.professor IS NOT NULL AND a.ativo = true AND a.status <> :cancelada AND a.data >= :inicio")
+    List<AgendaAula> findAgendaAPartirDe(@Param("inicio") LocalDateTime inicio, @Param("cancelada") ClassStatus cancelada);
+
+    @Query("SELECT a.data FROM Aula a WHERE a.turma.id = :turmaId AND a.data >= :inicio AND a.data < :fim")
+    List<LocalDateTime> findDatasByTurmaIdBetween(@Param("turmaId") UUID turmaId,
+                                                  @Param("inicio") LocalDateTime inicio,
+                                                  @Param("fim") LocalDateTime fim);
+
+    @Modifying
+    @Query(value = "UPDATE aulas SET vagas_ocupadas = vagas_ocupadas + 1 " +
+            "WHERE id = :id AND vagas_ocupadas < limite_alunos", nativeQuery = true)
+    int reservarVaga(@Param("id") UUID id);
+
+    @Modifying
+    @Query(value = "UPDATE aulas SET vagas_ocupadas = vagas_ocupadas - 1 " +
+            "WHERE id = :id AND vagas_ocupadas > 0", nativeQuery = true)
+    int liberarVaga(@Param("id") UUID id);
+
+    @Query(value = "SELECT vagas_ocupadas FROM aulas WHERE id = :id FOR UPDATE", nativeQuery = true)
+    int bloquearVagasOcupadas(@Param("id") UUID id);
+
+    @Modifying
+    @Query(value = "UPDATE aulas SET vagas_ocupadas = vagas_ocupadas + :quantidade " +
+            "WHERE id = :id AND vagas_ocupadas + :quantidade <= limite_alunos", nativeQuery = true)
+    int ocuparVagas(@Param("id") UUID id, @Param("quantidade") int quantidade);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = """
+        UPDATE aulas SET status = 'AGENDADA'
+        WHERE status = 'DISPONIVEL' AND id IN (
+            SELECT id FROM aulas
+            WHERE status = 'DISPONIVEL' AND data <= :limite
+            LIMIT :lote
+        )
+    """, nativeQuery = true)
+    int encerrarInscricoesAte(@Param("limite") LocalDateTime limite, @Param("lote") int lote);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = """
+        UPDATE aulas SET status = 'FINALIZADA'
+        WHERE status IN ('DISPONIVEL', 'AGENDADA', 'EM_PROGRESSO') AND id IN (
+            SELECT id FROM aulas
+            WHERE status IN ('DISPONIVEL', 'AGENDADA', 'EM_PROGRESSO')
+              AND data <= :agora
+              AND data + COALESCE(duracao_minutos, :duracaoPadrao) * INTERVAL '1' MINUTE <= :agora
+            LIMIT :lote
+        )
+    """, nativeQuery = true)
+    int finalizarEncerradasAte(@Param("agora") LocalDateTime agora,
+                               @Param("duracaoPadrao") int duracaoPadrao,
+                               @Param("lote") int lote);
 
     @Query(value = """
         SELECT AVG(ocupacao)
@@ -113,4 +189,12 @@ public interface AulaRepository extends JpaRepository<Aula, UUID> {
             "LIMIT 5",
             nativeQuery = true)
     List<Object[]> findTop5AlunosWithMostAbsencesBetween(@Param("start") LocalDate start, @Param("end") LocalDate end);
-}
\ No newline at end of file
+
+    interface AgendaAula {
+        UUID getId();
+        LocalDateTime getData();
+        Integer getDuracaoMinutos();
+        UUID getTurmaId();
+        UUID getProfessorId();
+    }
+}
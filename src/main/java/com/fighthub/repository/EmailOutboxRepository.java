@@ -0,0 +1,36 @@
+package com.fighthub.repository;
+
+import com.fighthub.model.EmailOutbox;
+import com.fighthub.model.enums.EmailStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+public interface EmailOutboxRepository extends JpaRepository<EmailOutbox, UUID> {
+
+    // SKIP LOCKED: instâncias concorrentes do despachante pegam lotes disjuntos sem esperar umas pelas outras
+    @Query(value = """
+        SELECT * FROM email_outbox
+        WHERE status = 'PENDENTE' AND proxima_tentativa <= :agora
+        ORDER BY proxima_tentativa
+        LIMIT :limite
+        FOR UPDATE SKIP LOCKED
+    """, nativeQuery = true)
+    List<EmailOutbox> reservarPendentes(@Param("agora") LocalDateTime agora, @Param("limite") int limite);
+
+    long countByStatus(EmailStatus status);
+
+    @Modifying
+    @Query(value = "UPDATE email_outbox SET status = 'PENDENTE', tentativas = 0, proxima_tentativa = :agora, " +
+            "ultimo_erro = NULL WHERE status = 'FALHOU'", nativeQuery = true)
+    int reprocessarDescartados(@Param("agora") LocalDateTime agora);
+
+    @Modifying
+    @Query(value = "DELETE FROM email_outbox WHERE status = 'ENVIADO' AND enviado_em < :limite", nativeQuery = true)
+    int removerEnviadosAntesDe(@Param("limite") LocalDateTime limite);
+}
@@ -0,0 +1,37 @@
+package com.fighthub.repository;
+
+import com.fighthub.model.FotoPerfil;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+
+public interface FotoPerfilRepository extends JpaRepository<FotoPerfil, String> {
+
+    // Cria já com a referência de quem enviou; 0 indica que a chave já existia
+    @Modifying
+    @Query(value = "INSERT INTO fotos_perfil (chave, tamanho_bytes, referencias, criado_em) " +
+            "VALUES (:chave, :tamanhoBytes, 1, :criadoEm) ON CONFLICT DO NOTHING", nativeQuery = true)
+    int registrar(@Param("chave") String chave, @Param("tamanhoBytes") long tamanhoBytes, @Param("criadoEm") LocalDateTime criadoEm);
+
+    @Modifying
+    @Query(value = "UPDATE fotos_perfil SET referencias = referencias + 1 WHERE chave = :chave", nativeQuery = true)
+    int incrementarReferencias(@Param("chave") String chave);
+
+    @Modifying
+    @Query(value = "UPDATE fotos_perfil SET referencias = referencias - 1 WHERE chave = :chave AND referencias > 0", nativeQuery = true)
+    int decrementarReferencias(@Param("chave") String chave);
+
+    // Só remove quem chegou a zero; 1 indica que a última referência acabou de sair
+    @Modifying
+    @Query(value = "DELETE FROM fotos_perfil WHERE chave = :chave AND referencias = 0", nativeQuery = true)
+    int removerSemReferencias(@Param("chave") String chave);
+
+    // Coleta de órfãos: usuários removidos em cascata nunca decrementaram o contador
+    @Modifying
+    @Query(value = "DELETE FROM fotos_perfil WHERE chave = :chave " +
+            "AND NOT EXISTS (SELECT 1 FROM usuarios u WHERE u.foto = :chave)", nativeQuery = true)
+    int removerOrfa(@Param("chave") String chave);
+}
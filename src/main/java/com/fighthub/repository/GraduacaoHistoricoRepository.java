@@ -0,0 +1,9 @@
+package com.fighthub.repository;
+
+import com.fighthub.model.GraduacaoHistorico;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.UUID;
+
+public interface GraduacaoHistoricoRepository extends JpaRepository<GraduacaoHistorico, UUID> {
+}
@@ -0,0 +1,42 @@
+package com.fighthub.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+@RequiredArgsConstructor
+public class InscricaoLoteRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public int[] inserirInscritos(UUID aulaId, List<UUID> alunoIds, LocalDateTime inscritoEm) {
+        return jdbcTemplate.batchUpdate(
+                "INSERT INTO inscricoes (id, aluno_id, aula_id, status, inscrito_em) " +
+                        "VALUES (?, ?, ?, 'INSCRITO', ?) ON CONFLICT DO NOTHING",
+                alunoIds, alunoIds.size(),
+                (ps, alunoId) -> {
+                    ps.setObject(1, UUID.randomUUID());
+                    ps.setObject(2, alunoId);
+                    ps.setObject(3, aulaId);
+                    ps.setTimestamp(4, Timestamp.valueOf(inscritoEm));
+                })[0];
+    }
+
+    public int[] reativarInscricoes(UUID aulaId, List<UUID> alunoIds, LocalDateTime inscritoEm) {
+        return jdbcTemplate.batchUpdate(
+                "UPDATE inscricoes SET status = 'INSCRITO', inscrito_em = ? " +
+                        "WHERE aula_id = ? AND aluno_id = ? AND status <> 'INSCRITO'",
+                alunoIds, alunoIds.size(),
+                (ps, alunoId) -> {
+                    ps.setTimestamp(1, Timestamp.valueOf(inscritoEm));
+                    ps.setObject(2, aulaId);
+                    ps.setObject(3, alunoId);
+                })[0];
+    }
+}
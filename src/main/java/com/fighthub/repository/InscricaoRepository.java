@@ -1,5 +1,6 @@
 package com.fighthub.repository;
 
+import com.fighthub.dto.inscricao.InscricaoResponse;
 import com.fighthub.model.Aluno;
 import com.fighthub.model.Aula;
 import com.fighthub.model.Inscricao;
@@ -8,7 +9,11 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -30,5 +35,85 @@ public interface InscricaoRepository extends JpaRepository<Inscricao, UUID> {
 
     List<Inscricao> findAllByAulaAndStatus(Aula aula, SubscriptionStatus status);
 
-    List<Inscricao> findByAlunoIdIn(List<UUID> alunoIds);
+    @Query("""
+        SELECT new com.fighthub.dto.inscricao.InscricaoResponse(
+            i.id, al.id, a.id, a.titulo, a.descricao, a.data, t.nome, a.limiteAlunos, i.status, i.inscritoEm)
+        FROM Inscricao i
+        JOIN i.aluno al
+        JOIN i.aula a
+        LEFT JOIN a.turma t
+        WHERE al.id IN :alunoIds
+          AND (:de IS NULL OR a.data >= :de)
+          AND (:ate IS NULL OR a.data < :ate)
+          AND (:cursorData IS NULL OR a.data < :cursorData OR (a.data = :cursorData AND i.id < :cursorId))
+        ORDER BY a.data DESC, i.id DESC
+    """)
+    List<InscricaoResponse> findFeedByAlunoIdIn(@Param("alunoIds") List<UUID> alunoIds,
+                                                @Param("de") LocalDateTime de,
+                                                @Param("ate") LocalDateTime ate,
+                                                @Param("cursorData") LocalDateTime cursorData,
+                                                @Param("cursorId") UUID cursorId,
+                                                Pageable pageable);
+
+    @Query(value = """
+        SELECT * FROM inscricoes
+        WHERE aula_id = :aulaId AND status = 'EM_ESPERA'
+        ORDER BY inscrito_em, id
+        LIMIT 1
+        FOR UPDATE SKIP LOCKED
+    """, nativeQuery = true)
+    Optional<Inscricao> findProximaEmEspera(@Param("aulaId") UUID aulaId);
+
+    @Query(value = """
+        SELECT COUNT(*) AS total, COUNT(i.id) AS inscritos
+        FROM alunos_turmas mt
+        JOIN alunos a ON a.id = mt.aluno_id
+        LEFT JOIN inscricoes i ON i.aluno_id = mt.aluno_id AND i.aula_id = :aulaId AND i.status = 'INSCRITO'
+        WHERE mt.turma_id = :turmaId AND a.matricula_ativa = true
+    """, nativeQuery = true)
+    MembrosTurma contarMembrosTurma(@Param("aulaId") UUID aulaId, @Param("turmaId") UUID turmaId);
+
+    // Membros que já tiveram inscrição na aula (cancelada ou em espera) voltam a INSCRITO; o INSERT em lote só cobre quem nunca teve
+    @Modifying
+    @Query(value = """
+        UPDATE inscricoes SET status = 'INSCRITO', inscrito_em = :inscritoEm
+        WHERE id IN (
+            SELECT i.id
+            FROM inscricoes i
+            JOIN alunos_turmas mt ON mt.aluno_id = i.aluno_id AND mt.turma_id = :turmaId
+            JOIN alunos a ON a.id = i.aluno_id
+            WHERE i.aula_id = :aulaId
+              AND i.status <> 'INSCRITO'
+              AND a.matricula_ativa = true
+            ORDER BY a.data_matricula, a.id
+            LIMIT :limite
+        )
+    """, nativeQuery = true)
+    int reativarAlunosDaTurma(@Param("aulaId") UUID aulaId,
+                              @Param("turmaId") UUID turmaId,
+                              @Param("limite") int limite,
+                              @Param("inscritoEm") LocalDateTime inscritoEm);
+
+    @Modifying
+    @Query(value = """
+        INSERT INTO inscricoes (id, aluno_id, aula_id, status, inscrito_em)
+        SELECT gen_random_uuid(), a.id, :aulaId, 'INSCRITO', :inscritoEm
+        FROM alunos_turmas mt
+        JOIN alunos a ON a.id = mt.aluno_id
+        WHERE mt.turma_id = :turmaId
+          AND a.matricula_ativa = true
+          AND NOT EXISTS (SELECT 1 FROM inscricoes i WHERE i.aula_id = :aulaId AND i.aluno_id = a.id)
+        ORDER BY a.data_matricula, a.id
+        LIMIT :limite
+        ON CONFLICT DO NOTHING
+    """, nativeQuery = true)
+    int inscreverAlunosDaTurma(@Param("aulaId") UUID aulaId,
+                               @Param("turmaId") UUID turmaId,
+                               @Param("limite") int limite,
+                               @Param("inscritoEm") LocalDateTime inscritoEm);
+
+    interface MembrosTurma {
+        long getTotal();
+        long getInscritos();
+    }
 }
@@ -0,0 +1,100 @@
+package com.fighthub.repository;
+
+import com.fighthub.exception.ValidacaoException;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.*;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.stereotype.Repository;
+
+import java.util.*;
+
+@Repository
+public class ListagemCamposRepository {
+
+    private final EntityManager entityManager;
+
+    public ListagemCamposRepository(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    // Filtra o catálogo (campo -> caminho) pelos nomes pedidos em ?fields=; o id sempre acompanha a resposta
+    public static Map<String, String> resolverCampos(Set<String> pedidos, Map<String, String> catalogo) {
+        Set<String> normalizados = new HashSet<>();
+        for (String campo : pedidos) {
+            if (campo != null && !campo.isBlank()) normalizados.add(campo.trim());
+        }
+
+        List<String> desconhecidos = normalizados.stream()
+                .filter(campo -> !catalogo.containsKey(campo))
+                .sorted()
+                .toList();
+        if (!desconhecidos.isEmpty()) {
+            throw new ValidacaoException("Campos não suportados em fields: " + String.join(", ", desconhecidos)
+                    + ". Disponíveis: " + String.join(", ", catalogo.keySet()) + ".");
+        }
+
+        Map<String, String> campos = new LinkedHashMap<>();
+        catalogo.forEach((campo, caminho) -> {
+            if (campo.equals("id") || normalizados.contains(campo)) campos.put(campo, caminho);
+        });
+        return campos;
+    }
+
+    // Seleciona apenas as colunas dos campos pedidos (caminho JPA relativo à entidade, ex.: "usuario.nome")
+    public Page<Map<String, Object>> listar(Class<?> entidade, Map<String, String> caminhos, Pageable pageable) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+
+        CriteriaQuery<Tuple> consulta = cb.createTupleQuery();
+        Root<?> root = consulta.from(entidade);
+        Map<String, Join<?, ?>> joins = new HashMap<>();
+
+        List<Selection<?>> selecoes = new ArrayList<>();
+        caminhos.forEach((campo, caminho) -> selecoes.add(resolver(root, joins, caminho).alias(campo)));
+        consulta.multiselect(selecoes);
+        if (pageable.getSort().isSorted()) {
+            consulta.orderBy(QueryUtils.toOrders(pageable.getSort(), root, cb));
+        }
+
+        var query = entityManager.createQuery(consulta);
+        if (pageable.isPaged()) {
+            query.setFirstResult((int) pageable.getOffset());
+            query.setMaxResults(pageable.getPageSize());
+        }
+
+        List<Map<String, Object>> linhas = query.getResultList().stream()
+                .map(tupla -> {
+                    Map<String, Object> linha = new LinkedHashMap<>();
+                    caminhos.keySet().forEach(campo -> linha.put(campo, tupla.get(campo)));
+                    return linha;
+                })
+                .toList();
+
+        return PageableExecutionUtils.getPage(linhas, pageable, () -> contar(entidade));
+    }
+
+    private long contar(Class<?> entidade) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> consulta = cb.createQuery(Long.class);
+        consulta.select(cb.count(consulta.from(entidade)));
+        return entityManager.createQuery(consulta).getSingleResult();
+    }
+
+    // Cada associação do caminho vira um único INNER JOIN reaproveitado entre os campos
+    private Path<?> resolver(Root<?> root, Map<String, Join<?, ?>> joins, String caminho) {
+        String[] partes = caminho.split("\\.");
+        From<?, ?> origem = root;
+        String prefixo = "";
+
+        for (int i = 0; i < partes.length - 1; i++) {
+            prefixo = prefixo.isEmpty() ? partes[i] : prefixo + "." + partes[i];
+            From<?, ?> base = origem;
+            String parte = partes[i];
+            origem = joins.computeIfAbsent(prefixo, p -> base.join(parte, JoinType.INNER));
+        }
+        return origem.get(partes[partes.length - 1]);
+    }
+}
@@ -6,7 +6,11 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -22,4 +26,20 @@ public interface PresencaRepository extends JpaRepository<Presenca, UUID> {
             "inscricao.aula"
     })
     Page<Presenca> findAllByInscricaoIn(List<Inscricao> inscricoes, Pageable pageable);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = """
+        INSERT INTO presencas (id, inscricao_id, presente, data_registro)
+        VALUES (:id, :inscricaoId, :presente, :dataRegistro)
+        ON CONFLICT DO NOTHING
+    """, nativeQuery = true)
+    int inserirSeAusente(@Param("id") UUID id,
+                         @Param("inscricaoId") UUID inscricaoId,
+                         @Param("presente") boolean presente,
+                         @Param("dataRegistro") LocalDate dataRegistro);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "UPDATE presencas SET presente = :presente " +
+            "WHERE inscricao_id = :inscricaoId AND presente <> :presente", nativeQuery = true)
+    int atualizarStatusSeDiferente(@Param("inscricaoId") UUID inscricaoId, @Param("presente") boolean presente);
 }
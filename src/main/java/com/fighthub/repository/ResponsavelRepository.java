@@ -6,7 +6,11 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -29,4 +33,10 @@ public interface ResponsavelRepository extends JpaRepository<Responsavel, UUID>
 
     boolean existsByUsuarioId(UUID id);
 
+    @Query("SELECT a.id FROM Responsavel r JOIN r.alunos a WHERE r.usuario.id = :usuarioId")
+    List<UUID> findAlunosIdsByUsuarioId(@Param("usuarioId") UUID usuarioId);
+
+    @Query("SELECT r.id FROM Responsavel r WHERE r.id IN :ids")
+    List<UUID> findIdsExistentes(@Param("ids") Collection<UUID> ids);
+
 }
@@ -1,30 +1,66 @@
 package com.fighthub.repository;
 
-import com.fighthub.model.Aluno;
 import com.fighthub.model.Professor;
 import com.fighthub.model.Turma;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
-import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
 public interface TurmaRepository extends JpaRepository<Turma, UUID> {
 
-    List<Turma> findAllByAlunos(Aluno aluno);
-
     List<Turma> findAllByProfessor(Professor professor);
 
     long countByAtivo(boolean ativo);
 
-    @EntityGraph(attributePaths = {"professor", "professor.usuario"})
-    Page<Turma> findAll(Pageable pageable);
+    @Query("SELECT t.id FROM Turma t JOIN t.alunos a WHERE a.usuario.id = :usuarioId")
+    List<UUID> findIdsByAlunoUsuarioId(@Param("usuarioId") UUID usuarioId);
+
+    @Query("SELECT t.id FROM Turma t WHERE t.professor.usuario.id = :usuarioId")
+    List<UUID> findIdsByProfessorUsuarioId(@Param("usuarioId") UUID usuarioId);
+
+    List<Turma> findAllByAtivoTrueAndRecorrenciaHoraInicioIsNotNull();
+
+    // Página e quantidade de alunos numa única consulta (subconsulta correlacionada por turma)
+    @Query(value = "SELECT t AS turma, SIZE(t.alunos) AS quantidadeAlunos FROM Turma t " +
+            "LEFT JOIN FETCH t.professor p LEFT JOIN FETCH p.usuario",
+            countQuery = "SELECT COUNT(t) FROM Turma t")
+    Page<TurmaComQuantidadeAlunos> findAllComQuantidadeAlunos(Pageable pageable);
+
+    interface TurmaComQuantidadeAlunos {
+        Turma getTurma();
+        int getQuantidadeAlunos();
+    }
+
+    // Operações diretas na tabela de junção: não carregam nem regravam a coleção inteira da turma
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "INSERT INTO alunos_turmas (aluno_id, turma_id) VALUES (:alunoId, :turmaId) ON CONFLICT DO NOTHING",
+            nativeQuery = true)
+    int adicionarAluno(@Param("turmaId") UUID turmaId, @Param("alunoId") UUID alunoId);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "DELETE FROM alunos_turmas WHERE turma_id = :turmaId AND aluno_id = :alunoId", nativeQuery = true)
+    int removerAluno(@Param("turmaId") UUID turmaId, @Param("alunoId") UUID alunoId);
+
+    // Ignora ids de alunos inexistentes e vínculos já existentes
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = """
+        INSERT INTO alunos_turmas (aluno_id, turma_id)
+        SELECT a.id, :turmaId FROM alunos a
+        WHERE a.id IN (:alunoIds)
+          AND NOT EXISTS (SELECT 1 FROM alunos_turmas atu WHERE atu.turma_id = :turmaId AND atu.aluno_id = a.id)
+        ON CONFLICT DO NOTHING
+    """, nativeQuery = true)
+    int adicionarAlunos(@Param("turmaId") UUID turmaId, @Param("alunoIds") Collection<UUID> alunoIds);
 
-    @Query("SELECT COUNT(a.id) FROM Turma t LEFT JOIN t.alunos a WHERE t.id = :turmaId")
-    long countAlunosByTurmaId(@Param("turmaId") UUID turmaId);
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "DELETE FROM alunos_turmas WHERE turma_id = :turmaId AND aluno_id IN (:alunoIds)", nativeQuery = true)
+    int removerAlunos(@Param("turmaId") UUID turmaId, @Param("alunoIds") Collection<UUID> alunoIds);
 
 }
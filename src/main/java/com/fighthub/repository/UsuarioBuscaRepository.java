@@ -0,0 +1,85 @@
+package com.fighthub.repository;
+
+import com.fighthub.dto.usuario.UsuarioBuscaResponse;
+import com.fighthub.model.enums.Role;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public class UsuarioBuscaRepository {
+
+    private static final String CPF_DIGITOS = "replace(replace(u.cpf, '.', ''), '-', '')";
+
+    private static final RowMapper<UsuarioBuscaResponse> MAPPER = (rs, i) -> new UsuarioBuscaResponse(
+            rs.getObject("id", UUID.class),
+            rs.getString("nome"),
+            rs.getString("cpf"),
+            rs.getString("email"),
+            rs.getString("telefone"),
+            Role.valueOf(rs.getString("role")),
+            rs.getBoolean("ativo"),
+            rs.getDouble("relevancia")
+    );
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final boolean postgres;
+
+    public UsuarioBuscaRepository(NamedParameterJdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.postgres = jdbcTemplate.getJdbcTemplate().execute((ConnectionCallback<Boolean>) conexao ->
+                "PostgreSQL".equalsIgnoreCase(conexao.getMetaData().getDatabaseProductName()));
+    }
+
+    // No PostgreSQL usa os índices GIN de trigramas (V24); em outros bancos (H2 nos testes) cai para LIKE
+    public List<UsuarioBuscaResponse> buscar(String termo, String digitos, Role role, int limite) {
+        var params = new MapSqlParameterSource()
+                .addValue("termo", termo)
+                .addValue("prefixo", escaparLike(termo) + "%")
+                .addValue("padrao", "%" + escaparLike(termo) + "%")
+                .addValue("limite", limite);
+
+        StringBuilder filtro = new StringBuilder("(lower(u.nome) LIKE :padrao OR lower(u.email) LIKE :padrao");
+        if (postgres) filtro.append(" OR lower(u.nome) % :termo");
+        if (!digitos.isEmpty()) {
+            filtro.append(" OR ").append(CPF_DIGITOS).append(" LIKE :padraoDigitos");
+            params.addValue("digitos", digitos).addValue("padraoDigitos", "%" + digitos + "%");
+        }
+        filtro.append(")");
+
+        if (role != null) {
+            filtro.append(" AND u.role = :role");
+            params.addValue("role", role.name());
+        }
+
+        String sql = "SELECT u.id, u.nome, u.cpf, u.email, u.telefone, u.role, u.ativo, "
+                + relevancia(!digitos.isEmpty()) + " AS relevancia "
+                + "FROM usuarios u WHERE " + filtro
+                + " ORDER BY relevancia DESC, u.nome LIMIT :limite";
+
+        return jdbcTemplate.query(sql, params, MAPPER);
+    }
+
+    private String relevancia(boolean comDigitos) {
+        if (postgres) {
+            return "GREATEST(similarity(lower(u.nome), :termo), similarity(lower(u.email), :termo)"
+                    + (comDigitos ? ", similarity(" + CPF_DIGITOS + ", :digitos)" : "")
+                    + ", CASE WHEN lower(u.nome) LIKE :prefixo THEN 1.0 ELSE 0 END)";
+        }
+
+        return "CASE WHEN lower(u.nome) = :termo THEN 1.0 "
+                + "WHEN lower(u.nome) LIKE :prefixo THEN 0.9 "
+                + "WHEN lower(u.email) LIKE :prefixo THEN 0.8 "
+                + "WHEN lower(u.nome) LIKE :padrao THEN 0.6 "
+                + "ELSE 0.4 END";
+    }
+
+    private static String escaparLike(String valor) {
+        return valor.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
@@ -4,7 +4,10 @@ import com.fighthub.model.Usuario;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -12,7 +15,24 @@ public interface UsuarioRepository extends JpaRepository<Usuario, UUID> {
 
     Optional<Usuario> findByEmail(String email);
 
+    // Trocas de foto concorrentes do mesmo usuário leem a foto anterior uma de cada vez
+    @Query(value = "SELECT * FROM usuarios WHERE email = :email FOR UPDATE", nativeQuery = true)
+    Optional<Usuario> bloquearPorEmail(@Param("email") String email);
+
     boolean existsByEmail(String email);
 
     Optional<Usuario> findByCpf(String cpf);
+
+    @Query("SELECT u.email FROM Usuario u")
+    List<String> findAllEmails();
+
+    @Query("SELECT u.cpf FROM Usuario u")
+    List<String> findAllCpfs();
+
+    // Paginação por chave (keyset): cada página continua da última foto da anterior
+    @Query(value = "SELECT DISTINCT foto FROM usuarios WHERE foto IS NOT NULL AND foto > :apos ORDER BY foto LIMIT :limite",
+            nativeQuery = true)
+    List<String> findFotosApos(@Param("apos") String apos, @Param("limite") int limite);
+
+    boolean existsByFotoStartingWith(String prefixo);
 }
@@ -14,20 +14,22 @@ import com.fighthub.model.Aluno;
 import com.fighthub.model.GraduacaoAluno;
 import com.fighthub.model.Usuario;
 import com.fighthub.model.enums.BeltGraduation;
+import com.fighthub.model.enums.GraduationAction;
 import com.fighthub.model.enums.GraduationLevel;
 import com.fighthub.model.enums.Role;
 import com.fighthub.repository.*;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.time.Period;
-import java.util.ArrayList;
-import java.util.List;
-import java.util.UUID;
+import java.util.*;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -40,7 +42,11 @@ public class AlunoService {
     private final InscricaoRepository inscricaoRepository;
     private final TokenService tokenService;
     private final EmailService emailService;
+    private final GraduacaoService graduacaoService;
+    private final MenoresSemResponsavelService menoresSemResponsavelService;
+    private final ListagemCamposRepository listagemCamposRepository;
 
+    @Transactional
     public void criarAluno(CriarAlunoRequest request) {
         var menorDeIdade = isMenorDeIdade(request.dataNascimento(), request.idsResponsaveis());
 
@@ -85,7 +91,33 @@ public class AlunoService {
     }
 
     public Page<AlunoResponse> obterTodos(Pageable pageable) {
-        return AlunoMapper.toPage(alunoRepository.findAll(pageable));
+        Page<UUID> ids = alunoRepository.findPaginaIds(ordenacaoEstavel(pageable));
+        var resumos = ids.hasContent() ? alunoRepository.findResumosByIdIn(ids.getContent()) : List.<AlunoRepository.AlunoResumo>of();
+        return AlunoMapper.toPage(ids, resumos);
+    }
+
+    @Transactional(readOnly = true)
+    public Page<Map<String, Object>> obterTodosComCampos(Pageable pageable, Set<String> fields) {
+        var campos = new LinkedHashMap<>(ListagemCamposRepository.resolverCampos(fields, AlunoMapper.CAMPOS_LISTAGEM));
+        boolean comTurmas = campos.remove("turmaIds") != null;
+
+        Page<Map<String, Object>> pagina = listagemCamposRepository.listar(Aluno.class, campos, ordenacaoEstavel(pageable));
+        if (campos.containsKey("foto"))
+            pagina.forEach(linha -> linha.computeIfPresent("foto", (campo, key) -> UsuarioService.montarUrl((String) key, StorageService.TAMANHO_LISTAGEM)));
+        if (comTurmas && pagina.hasContent()) {
+            List<UUID> ids = pagina.getContent().stream().map(linha -> (UUID) linha.get("id")).toList();
+            Map<UUID, List<UUID>> turmasPorAluno = alunoRepository.findTurmasByAlunoIdIn(ids).stream()
+                    .collect(Collectors.groupingBy(AlunoRepository.AlunoTurma::getAlunoId,
+                            Collectors.mapping(AlunoRepository.AlunoTurma::getTurmaId, Collectors.toList())));
+            pagina.forEach(linha -> linha.put("turmaIds", turmasPorAluno.getOrDefault((UUID) linha.get("id"), List.of())));
+        }
+        return pagina;
+    }
+
+    // Ordenação estável: sem desempate a paginação pode repetir ou pular alunos entre páginas
+    private Pageable ordenacaoEstavel(Pageable pageable) {
+        Sort ordem = pageable.getSort().isSorted() ? pageable.getSort().and(Sort.by("id")) : Sort.by("usuario.nome", "id");
+        return PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), ordem);
     }
 
     public AlunoDetalhadoResponse obterAluno(UUID id) {
@@ -101,18 +133,6 @@ public class AlunoService {
         return AlunoMapper.toDetailedDTO(aluno);
     }
 
-    public List<AlunoMenorPendenteResponse> obterMenoresSemResponsavel() {
-        // Calcula a data limite (18 anos atrás)
-        LocalDate dataLimite = LocalDate.now().minusYears(18);
-        
-        // Busca alunos menores de idade sem responsável vinculado
-        List<Aluno> menores = alunoRepository.findMenoresSemResponsavel(dataLimite);
-        
-        return menores.stream()
-                .map(AlunoMapper::toMenorPendenteDTO)
-                .toList();
-    }
-
     public void atualizarStatusMatricula(UUID id, AlunoUpdateMatriculaRequest request) {
         var aluno = buscarAlunoPorId(id);
 
@@ -122,6 +142,7 @@ public class AlunoService {
 
         aluno.setMatriculaAtiva(request.matriculaAtiva());
         alunoRepository.save(aluno);
+        menoresSemResponsavelService.invalidar();
     }
 
     public void atualizarDataNascimento(UUID id, AlunoUpdateDataNascimentoRequest request) {
@@ -129,6 +150,7 @@ public class AlunoService {
 
         aluno.setDataNascimento(request.dataNascimento());
         alunoRepository.save(aluno);
+        menoresSemResponsavelService.invalidar();
     }
 
     public void atualizarDataMatricula(UUID id, AlunoUpdateDataMatriculaRequest request) {
@@ -140,86 +162,35 @@ public class AlunoService {
 
     @Transactional
     public void promoverFaixa(UUID idAluno) {
-        var aluno = buscarAlunoPorId(idAluno);
-
-        if (aluno.getGraduacao() == null || aluno.getGraduacao().getLevel() == null || aluno.getGraduacao().getBelt() == null)
-            throw new ValidacaoException("Graduação do aluno não está inicializada");
-
-        if (aluno.getGraduacao().getBelt() == BeltGraduation.PRETA)
-            throw new ValidacaoException("Aluno já está na faixa preta.");
-
-        if (aluno.getGraduacao().getLevel() != GraduationLevel.IV)
-            throw new ValidacaoException("Não é possível promover faixa com menos de 4 graus.");
-
-        boolean isAdult16OrOlder = Period.between(aluno.getDataNascimento(), LocalDate.now()).getYears() >= 16;
-
-        if (aluno.getGraduacao().getBelt() == BeltGraduation.BRANCA && isAdult16OrOlder) {
-            aluno.getGraduacao().setBelt(BeltGraduation.AZUL);
-            aluno.getGraduacao().setLevel(GraduationLevel.ZERO);
-            alunoRepository.save(aluno);
-            return;
-        }
-
-        aluno.getGraduacao().promoteBelt();
-        aluno.getGraduacao().setLevel(GraduationLevel.ZERO);
-        alunoRepository.save(aluno);
+        alterarGraduacao(idAluno, GraduationAction.PROMOVER_FAIXA);
     }
 
     @Transactional
     public void rebaixarFaixa(UUID idAluno) {
-        var aluno = buscarAlunoPorId(idAluno);
-
-        if (aluno.getGraduacao() == null || aluno.getGraduacao().getLevel() == null || aluno.getGraduacao().getBelt() == null)
-            throw new ValidacaoException("Graduação do aluno não está inicializada");
-
-        if (aluno.getGraduacao().getLevel() != GraduationLevel.ZERO)
-            throw new ValidacaoException("Não é possível rebaixar faixa com mais de zero graus.");
-
-        if (aluno.getGraduacao().getBelt() == BeltGraduation.BRANCA)
-            throw new ValidacaoException("Aluno já está na faixa branca.");
-
-        boolean isAdult16OrOlder = Period.between(aluno.getDataNascimento(), LocalDate.now()).getYears() >= 16;
-
-        if (aluno.getGraduacao().getBelt() == BeltGraduation.AZUL && isAdult16OrOlder) {
-            aluno.getGraduacao().setBelt(BeltGraduation.BRANCA);
-            aluno.getGraduacao().setLevel(GraduationLevel.IV);
-            alunoRepository.save(aluno);
-            return;
-        }
-
-        aluno.getGraduacao().demoteBelt();
-        aluno.getGraduacao().setLevel(GraduationLevel.IV);
-        alunoRepository.save(aluno);
+        alterarGraduacao(idAluno, GraduationAction.REBAIXAR_FAIXA);
     }
 
     @Transactional
     public void promoverGrau(UUID id) {
-        var aluno = buscarAlunoPorId(id);
-
-        if (aluno.getGraduacao() == null || aluno.getGraduacao().getLevel() == null)
-            throw new ValidacaoException("Graduação do aluno não está inicializada");
-
-        if (aluno.getGraduacao().getLevel() == GraduationLevel.IV)
-            throw new ValidacaoException("Aluno já está no grau máximo.");
-
-        aluno.getGraduacao().promoteLevel();
-        alunoRepository.save(aluno);
+        alterarGraduacao(id, GraduationAction.PROMOVER_GRAU);
     }
 
     @Transactional
     public void rebaixarGrau(UUID id) {
-        var aluno = buscarAlunoPorId(id);
+        alterarGraduacao(id, GraduationAction.REBAIXAR_GRAU);
+    }
 
-        if (aluno.getGraduacao() == null || aluno.getGraduacao().getLevel() == null)
-            throw new ValidacaoException("Graduação do aluno não está inicializada");
+    private void alterarGraduacao(UUID idAluno, GraduationAction acao) {
+        var aluno = buscarAlunoPorId(idAluno);
+        var faixaAnterior = aluno.getGraduacao() != null ? aluno.getGraduacao().getBelt() : null;
+        var nivelAnterior = aluno.getGraduacao() != null ? aluno.getGraduacao().getLevel() : null;
 
-        if (aluno.getGraduacao().getLevel() == GraduationLevel.ZERO)
-            throw new ValidacaoException("Aluno já está no grau mínimo.");
+        RegrasGraduacao.aplicar(acao, aluno.getGraduacao(), aluno.getDataNascimento());
 
-        aluno.getGraduacao().demoteLevel();
         alunoRepository.save(aluno);
+        graduacaoService.registrarAlteracao(aluno, faixaAnterior, nivelAnterior, acao.isPromocao());
     }
-    
+
     private Aluno buscarAlunoPorId(UUID id) {
         return alunoRepository.findById(id)
                 .orElseThrow(AlunoNaoEncontradoException::new);
@@ -0,0 +1,171 @@
+package com.fighthub.service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+
+// Árvore AVL ordenada pelo início, aumentada com o maior fim de cada subárvore:
+// inserção e remoção em O(log n), consulta de sobreposição em O(log n + k)
+class ArvoreIntervalos {
+
+    record Intervalo(UUID aulaId, LocalDateTime inicio, LocalDateTime fim) {
+
+        boolean sobrepoe(LocalDateTime outroInicio, LocalDateTime outroFim) {
+            return inicio.isBefore(outroFim) && outroInicio.isBefore(fim);
+        }
+    }
+
+    private static final Comparator<Intervalo> ORDEM = Comparator
+            .comparing(Intervalo::inicio)
+            .thenComparing(Intervalo::aulaId);
+
+    private No raiz;
+    private int tamanho;
+
+    void inserir(Intervalo intervalo) {
+        raiz = inserir(raiz, intervalo);
+    }
+
+    void remover(Intervalo intervalo) {
+        raiz = remover(raiz, intervalo);
+    }
+
+    int tamanho() {
+        return tamanho;
+    }
+
+    List<Intervalo> sobrepostos(LocalDateTime inicio, LocalDateTime fim) {
+        List<Intervalo> resultado = new ArrayList<>();
+        buscar(raiz, inicio, fim, resultado);
+        return resultado;
+    }
+
+    // Em ordem de início, limitado aos intervalos que começam antes de "ate"
+    List<Intervalo> emOrdem(LocalDateTime desde, LocalDateTime ate) {
+        List<Intervalo> resultado = new ArrayList<>();
+        percorrer(raiz, desde, ate, resultado);
+        return resultado;
+    }
+
+    private void buscar(No no, LocalDateTime inicio, LocalDateTime fim, List<Intervalo> resultado) {
+        if (no == null || !no.maiorFim.isAfter(inicio)) return;
+
+        buscar(no.esquerda, inicio, fim, resultado);
+        if (!no.intervalo.inicio().isBefore(fim)) return;
+
+        if (no.intervalo.sobrepoe(inicio, fim)) resultado.add(no.intervalo);
+        buscar(no.direita, inicio, fim, resultado);
+    }
+
+    private void percorrer(No no, LocalDateTime desde, LocalDateTime ate, List<Intervalo> resultado) {
+        if (no == null || !no.maiorFim.isAfter(desde)) return;
+
+        percorrer(no.esquerda, desde, ate, resultado);
+        if (!no.intervalo.inicio().isBefore(ate)) return;
+
+        if (no.intervalo.fim().isAfter(desde)) resultado.add(no.intervalo);
+        percorrer(no.direita, desde, ate, resultado);
+    }
+
+    private No inserir(No no, Intervalo intervalo) {
+        if (no == null) {
+            tamanho++;
+            return new No(intervalo);
+        }
+
+        int comparacao = ORDEM.compare(intervalo, no.intervalo);
+        if (comparacao < 0) no.esquerda = inserir(no.esquerda, intervalo);
+        else if (comparacao > 0) no.direita = inserir(no.direita, intervalo);
+        else return no;
+
+        return balancear(no);
+    }
+
+    private No remover(No no, Intervalo intervalo) {
+        if (no == null) return null;
+
+        int comparacao = ORDEM.compare(intervalo, no.intervalo);
+        if (comparacao < 0) {
+            no.esquerda = remover(no.esquerda, intervalo);
+        } else if (comparacao > 0) {
+            no.direita = remover(no.direita, intervalo);
+        } else {
+            tamanho--;
+            if (no.esquerda == null) return no.direita;
+            if (no.direita == null) return no.esquerda;
+
+            No sucessor = no.direita;
+            while (sucessor.esquerda != null) sucessor = sucessor.esquerda;
+
+            no.intervalo = sucessor.intervalo;
+            tamanho++;
+            no.direita = remover(no.direita, sucessor.intervalo);
+        }
+
+        return balancear(no);
+    }
+
+    private No balancear(No no) {
+        atualizar(no);
+        int fator = altura(no.esquerda) - altura(no.direita);
+
+        if (fator > 1) {
+            if (altura(no.esquerda.esquerda) < altura(no.esquerda.direita)) no.esquerda = rotacionarEsquerda(no.esquerda);
+            return rotacionarDireita(no);
+        }
+
+        if (fator < -1) {
+            if (altura(no.direita.direita) < altura(no.direita.esquerda)) no.direita = rotacionarDireita(no.direita);
+            return rotacionarEsquerda(no);
+        }
+
+        return no;
+    }
+
+    private No rotacionarDireita(No no) {
+        No pivo = no.esquerda;
+        no.esquerda = pivo.direita;
+        pivo.direita = no;
+        atualizar(no);
+        atualizar(pivo);
+        return pivo;
+    }
+
+    private No rotacionarEsquerda(No no) {
+        No pivo = no.direita;
+        no.direita = pivo.esquerda;
+        pivo.esquerda = no;
+        atualizar(no);
+        atualizar(pivo);
+        return pivo;
+    }
+
+    private void atualizar(No no) {
+        no.altura = 1 + Math.max(altura(no.esquerda), altura(no.direita));
+
+        LocalDateTime maiorFim = no.intervalo.fim();
+        if (no.esquerda != null && no.esquerda.maiorFim.isAfter(maiorFim)) maiorFim = no.esquerda.maiorFim;
+        if (no.direita != null && no.direita.maiorFim.isAfter(maiorFim)) maiorFim = no.direita.maiorFim;
+        no.maiorFim = maiorFim;
+    }
+
+    private static int altura(No no) {
+        return no == null ? 0 : no.altura;
+    }
+
+    private static class No {
+
+        private Intervalo intervalo;
+        private LocalDateTime maiorFim;
+        private int altura = 1;
+        private No esquerda;
+        private No direita;
+
+        private No(Intervalo intervalo) {
+            this.intervalo = intervalo;
+            this.maiorFim = intervalo.fim();
+        }
+    }
+}
@@ -17,7 +17,6 @@ import org.springframework.http.HttpHeaders;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.List;
 import java.util.UUID;
 
 @Service
@@ -29,15 +28,22 @@ public class AulaService {
     private final UsuarioRepository usuarioRepository;
     private final AlunoRepository alunoRepository;
     private final ProfessorRepository professorRepository;
+    private final AlteracaoAulaRepository alteracaoAulaRepository;
+    private final ConflitoAgendaService conflitoAgendaService;
+    private final InscricaoService inscricaoService;
     private final JwtService jwtService;
 
     @Transactional
     public void criarAula(AulaRequest request) {
+        alteracaoAulaRepository.bloquearLog();
         Turma turma = null;
         if (request.turmaId() != null) turma = buscarTurmaOuLancar(request.turmaId());
         Aula aula = AulaMapper.toEntity(request, turma);
         aula.setStatus(ClassStatus.DISPONIVEL);
+        conflitoAgendaService.verificarConflito(aula);
         aulaRepository.save(aula);
+        registrarAlteracao(aula, turma);
+        conflitoAgendaService.registrar(aula);
     }
 
     public Page<AulaResponse> buscarAulas(Pageable pageable) {
@@ -45,33 +51,49 @@ public class AulaService {
     }
 
     public Page<AulaResponse> buscarAulasDisponiveisAluno(Pageable pageable, HttpServletRequest request) {
-        List<Turma> turmasMatriculadas = buscarTurmasMatriculadasPorAluno(request);
+        String email = extrairEmailDoRequest(request);
+        Usuario usuario = buscarUsuarioPorEmailOuLancar(email);
+        Aluno aluno = buscarAlunoPorUsuarioOuLancar(usuario);
 
-        return aulaRepository.findByStatusAndTurmaIn(ClassStatus.DISPONIVEL, turmasMatriculadas, pageable)
-                .map(AulaMapper::toDTO);
+        // Turmas resolvidas no próprio SQL (alunos_turmas), sem carregar as entidades
+        return aulaRepository.findResumoByStatusAndAlunoId(ClassStatus.DISPONIVEL, aluno.getId(), pageable);
     }
 
     public Page<AulaResponse> buscarAulasDisponiveisProfessor(Pageable pageable, HttpServletRequest request) {
-        List<Turma> turmasMinistradas = buscarTurmasMinistradasPorProfessor(request);
+        String email = extrairEmailDoRequest(request);
+        Usuario usuario = buscarUsuarioPorEmailOuLancar(email);
+        Professor professor = buscarProfessorPorUsuarioOuLancar(usuario);
 
-        return aulaRepository.findByStatusAndTurmaIn(ClassStatus.DISPONIVEL, turmasMinistradas, pageable)
-                .map(AulaMapper::toDTO);
+        return aulaRepository.findResumoByStatusAndProfessorId(ClassStatus.DISPONIVEL, professor.getId(), pageable);
     }
 
     public AulaResponse buscarAulaPorId(UUID idAula) {
         return AulaMapper.toDTO(buscarAulaOuLancar(idAula));
     }
 
+    @Transactional
     public AulaResponse atualizarAula(AulaUpdateCompletoRequest request, UUID id) {
+        alteracaoAulaRepository.bloquearLog();
         Aula aula = buscarAulaOuLancar(id);
+        Turma turmaAnterior = aula.getTurma();
         Turma turma = buscarTurmaOuLancar(request.turmaId());
         aula.putUpdate(request, turma);
-        return AulaMapper.toDTO(aulaRepository.save(aula));
+        conflitoAgendaService.verificarConflito(aula);
+        AulaResponse response = AulaMapper.toDTO(aulaRepository.save(aula));
+
+        registrarAlteracao(aula, turma);
+        if (turmaAnterior != null && !turmaAnterior.equals(turma)) registrarAlteracao(aula, turmaAnterior);
+        conflitoAgendaService.registrar(aula);
+        // Limite aumentado: a lista de espera ocupa as novas vagas
+        inscricaoService.promoverListaEspera(aula);
+        return response;
     }
 
     @Transactional
     public AulaResponse atualizarStatus(UUID id, AulaUpdateStatusRequest request) {
+        alteracaoAulaRepository.bloquearLog();
         Aula aula = buscarAulaOuLancar(id);
+        boolean estavaNaAgenda = aula.isAtivo() && aula.getStatus() != ClassStatus.CANCELADA;
         aula.setStatus(request.status());
 
         if (request.status() == ClassStatus.CANCELADA) {
@@ -80,23 +102,37 @@ public class AulaService {
             aula.setAtivo(true);
         }
 
-        return AulaMapper.toDTO(aulaRepository.save(aula));
+        // Aula reaberta volta a ocupar a agenda do professor: o horário pode ter sido tomado enquanto cancelada
+        if (!estavaNaAgenda) conflitoAgendaService.verificarConflito(aula);
+
+        AulaResponse response = AulaMapper.toDTO(aulaRepository.save(aula));
+        registrarAlteracao(aula, aula.getTurma());
+        conflitoAgendaService.registrar(aula);
+        return response;
     }
 
     @Transactional
     public void vincularTurma(UUID idAula, UUID idTurma) {
+        alteracaoAulaRepository.bloquearLog();
         Aula aula = buscarAulaOuLancar(idAula);
         Turma turma = buscarTurmaOuLancar(idTurma);
 
         if (aula.getTurma() != null && aula.getTurma().getId().equals(turma.getId()))
             throw new ValidacaoException("Turma já está vinculada à aula.");
 
+        Turma turmaAnterior = aula.getTurma();
         aula.setTurma(turma);
+        conflitoAgendaService.verificarConflito(aula);
         aulaRepository.save(aula);
+
+        registrarAlteracao(aula, turma);
+        if (turmaAnterior != null) registrarAlteracao(aula, turmaAnterior);
+        conflitoAgendaService.registrar(aula);
     }
 
     @Transactional
     public void desvincularTurma(UUID idAula, UUID idTurma) {
+        alteracaoAulaRepository.bloquearLog();
         Aula aula = buscarAulaOuLancar(idAula);
         Turma turma = buscarTurmaOuLancar(idTurma);
 
@@ -105,11 +141,23 @@ public class AulaService {
 
         aula.setTurma(null);
         aulaRepository.save(aula);
+        registrarAlteracao(aula, turma);
+        conflitoAgendaService.registrar(aula);
     }
 
+    @Transactional
     public void excluirAula(UUID id) {
-        buscarAulaOuLancar(id);
+        alteracaoAulaRepository.bloquearLog();
+        Aula aula = buscarAulaOuLancar(id);
         aulaRepository.deleteById(id);
+        registrarAlteracao(aula, aula.getTurma());
+        conflitoAgendaService.remover(id);
+    }
+
+    // Registrada na turma afetada para que os calendários dos seus membros recebam a alteração.
+    // A trava do log é tomada no início de cada operação, antes das demais travas, e vale até o commit
+    private void registrarAlteracao(Aula aula, Turma turma) {
+        alteracaoAulaRepository.save(new AlteracaoAula(aula.getId(), turma != null ? turma.getId() : null));
     }
 
     private Turma buscarTurmaOuLancar(UUID idTurma) {
@@ -141,20 +189,4 @@ public class AulaService {
         String authHeader = request.getHeader(HttpHeaders.AUTHORIZATION);
         return jwtService.extrairEmail(authHeader.substring(7));
     }
-
-    private List<Turma> buscarTurmasMinistradasPorProfessor(HttpServletRequest request) {
-        String email = extrairEmailDoRequest(request);
-        Usuario usuario = buscarUsuarioPorEmailOuLancar(email);
-        Professor professor = buscarProfessorPorUsuarioOuLancar(usuario);
-
-        return turmaRepository.findAllByProfessor(professor);
-    }
-
-    private List<Turma> buscarTurmasMatriculadasPorAluno(HttpServletRequest request) {
-        String email = extrairEmailDoRequest(request);
-        Usuario usuario = buscarUsuarioPorEmailOuLancar(email);
-        Aluno aluno = buscarAlunoPorUsuarioOuLancar(usuario);
-
-        return turmaRepository.findAllByAlunos(aluno);
-    }
-}
\ No newline at end of file
+}
@@ -0,0 +1,167 @@
+package com.fighthub.service;
+
+import com.fighthub.dto.aula.AulaCalendarioResponse;
+import com.fighthub.dto.aula.CalendarioAulasResponse;
+import com.fighthub.exception.UsuarioNaoEncontradoException;
+import com.fighthub.exception.ValidacaoException;
+import com.fighthub.mapper.CalendarioMapper;
+import com.fighthub.model.Aula;
+import com.fighthub.model.Usuario;
+import com.fighthub.model.enums.Role;
+import com.fighthub.repository.AlteracaoAulaRepository;
+import com.fighthub.repository.AulaRepository;
+import com.fighthub.repository.TurmaRepository;
+import com.fighthub.repository.UsuarioRepository;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+
+@Service
+@Transactional(readOnly = true)
+public class CalendarioAulaService {
+
+    private static final long DIAS_HISTORICO = 30;
+
+    private final AulaRepository aulaRepository;
+    private final TurmaRepository turmaRepository;
+    private final UsuarioRepository usuarioRepository;
+    private final AlteracaoAulaRepository alteracaoAulaRepository;
+    private final JwtService jwtService;
+    private final int duracaoPadraoMinutos;
+
+    public CalendarioAulaService(AulaRepository aulaRepository,
+                                 TurmaRepository turmaRepository,
+                                 UsuarioRepository usuarioRepository,
+                                 AlteracaoAulaRepository alteracaoAulaRepository,
+                                 JwtService jwtService,
+                                 @Value("${aulas.duracao-padrao-min:60}") int duracaoPadraoMinutos) {
+        this.aulaRepository = aulaRepository;
+        this.turmaRepository = turmaRepository;
+        this.usuarioRepository = usuarioRepository;
+        this.alteracaoAulaRepository = alteracaoAulaRepository;
+        this.jwtService = jwtService;
+        this.duracaoPadraoMinutos = duracaoPadraoMinutos;
+    }
+
+    public EscopoCalendario carregarEscopo(HttpServletRequest request) {
+        Usuario usuario = buscarUsuarioDoRequest(request);
+
+        List<UUID> turmaIds = new ArrayList<>(usuario.getRole() == Role.PROFESSOR
+                ? turmaRepository.findIdsByProfessorUsuarioId(usuario.getId())
+                : turmaRepository.findIdsByAlunoUsuarioId(usuario.getId()));
+        turmaIds.sort(Comparator.naturalOrder());
+
+        String assinatura = DigestUtils.md5DigestAsHex(
+                turmaIds.toString().getBytes(StandardCharsets.UTF_8)).substring(0, 12);
+
+        if (turmaIds.isEmpty()) {
+            return new EscopoCalendario(turmaIds, assinatura, 0L, null);
+        }
+
+        // O log é gravado sob trava até o commit, então não há sequência menor ainda pendente
+        var versao = alteracaoAulaRepository.buscarVersao(turmaIds);
+        long sequencia = versao.getSequencia() != null ? versao.getSequencia() : 0L;
+
+        return new EscopoCalendario(turmaIds, assinatura, sequencia, versao.getAlteradoEm());
+    }
+
+    public String etagIcs(EscopoCalendario escopo) {
+        return "\"ics-" + escopo.sequencia() + "-" + escopo.assinatura() + "-" + inicioJanela() + "\"";
+    }
+
+    public String gerarIcs(EscopoCalendario escopo) {
+        LocalDateTime geradoEm = escopo.alteradoEm() != null ? escopo.alteradoEm() : inicioJanela().atStartOfDay();
+        return CalendarioMapper.toIcs(buscarJanela(escopo), geradoEm);
+    }
+
+    public String etagAlteracoes(EscopoCalendario escopo, String token) {
+        TokenSincronizacao anterior = lerToken(token);
+        String desde = anterior != null ? anterior.toString() : "inicial";
+        return "\"delta-" + escopo.sequencia() + "-" + escopo.assinatura() + "-" + desde + "-" + inicioJanela() + "\"";
+    }
+
+    public CalendarioAulasResponse buscarAlteracoes(EscopoCalendario escopo, String token) {
+        TokenSincronizacao anterior = lerToken(token);
+        String novoToken = new TokenSincronizacao(escopo.sequencia(), escopo.assinatura()).toString();
+
+        // Sem token, com turmas diferentes ou com sequência desconhecida o cliente recebe a janela completa
+        if (anterior == null || !anterior.assinatura().equals(escopo.assinatura())
+                || anterior.sequencia() > escopo.sequencia()) {
+            return new CalendarioAulasResponse(novoToken, true, buscarJanela(escopo), List.of());
+        }
+
+        if (anterior.sequencia() == escopo.sequencia()) {
+            return new CalendarioAulasResponse(novoToken, false, List.of(), List.of());
+        }
+
+        List<UUID> alteradasIds = alteracaoAulaRepository.findAulaIdsAlteradas(
+                escopo.turmaIds(), anterior.sequencia(), escopo.sequencia());
+
+        Set<UUID> turmas = new HashSet<>(escopo.turmaIds());
+        Set<UUID> removidas = new LinkedHashSet<>(alteradasIds);
+        List<AulaCalendarioResponse> alteradas = new ArrayList<>();
+
+        for (Aula aula : aulaRepository.findAllById(alteradasIds)) {
+            // Aula excluída ou movida para outra turma sai do calendário
+            if (aula.getTurma() != null && turmas.contains(aula.getTurma().getId())) {
+                alteradas.add(CalendarioMapper.toDTO(aula, duracaoPadraoMinutos));
+                removidas.remove(aula.getId());
+            }
+        }
+
+        alteradas.sort(Comparator.comparing(AulaCalendarioResponse::inicio).thenComparing(AulaCalendarioResponse::id));
+        return new CalendarioAulasResponse(novoToken, false, alteradas, new ArrayList<>(removidas));
+    }
+
+    private List<AulaCalendarioResponse> buscarJanela(EscopoCalendario escopo) {
+        if (escopo.turmaIds().isEmpty()) return List.of();
+
+        return aulaRepository.findCalendario(escopo.turmaIds(), inicioJanela().atStartOfDay()).stream()
+                .map(aula -> CalendarioMapper.toDTO(aula, duracaoPadraoMinutos))
+                .toList();
+    }
+
+    private LocalDate inicioJanela() {
+        return LocalDate.now().minusDays(DIAS_HISTORICO);
+    }
+
+    private TokenSincronizacao lerToken(String token) {
+        if (token == null || token.isBlank()) return null;
+
+        String[] partes = token.split("\\.");
+        try {
+            if (partes.length != 2 || !partes[1].matches("[0-9a-f]{12}")) throw new NumberFormatException();
+            long sequencia = Long.parseLong(partes[0]);
+            if (sequencia < 0) throw new NumberFormatException();
+            return new TokenSincronizacao(sequencia, partes[1]);
+        } catch (NumberFormatException e) {
+            throw new ValidacaoException("Token de sincronização inválido.");
+        }
+    }
+
+    private Usuario buscarUsuarioDoRequest(HttpServletRequest request) {
+        String authHeader = request.getHeader(HttpHeaders.AUTHORIZATION);
+        String email = jwtService.extrairEmail(authHeader.substring(7));
+        return usuarioRepository.findByEmail(email)
+                .orElseThrow(UsuarioNaoEncontradoException::new);
+    }
+
+    public record EscopoCalendario(List<UUID> turmaIds, String assinatura, long sequencia, LocalDateTime alteradoEm) {
+    }
+
+    private record TokenSincronizacao(long sequencia, String assinatura) {
+
+        @Override
+        public String toString() {
+            return sequencia + "." + assinatura;
+        }
+    }
+}
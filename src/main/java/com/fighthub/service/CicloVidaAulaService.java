@@ -0,0 +1,61 @@
+package com.fighthub.service;
+
+import com.fighthub.repository.AulaRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.function.IntSupplier;
+
+@Slf4j
+@Service
+public class CicloVidaAulaService {
+
+    // Mesma antecedência usada na validação de inscrições
+    private static final long HORAS_ENCERRAMENTO_INSCRICOES = 1;
+
+    private final AulaRepository aulaRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int tamanhoLote;
+    private final int duracaoPadraoMinutos;
+
+    public CicloVidaAulaService(AulaRepository aulaRepository,
+                                PlatformTransactionManager transactionManager,
+                                @Value("${aulas.ciclo-vida.tamanho-lote:500}") int tamanhoLote,
+                                @Value("${aulas.duracao-padrao-min:60}") int duracaoPadraoMinutos) {
+        this.aulaRepository = aulaRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.tamanhoLote = tamanhoLote;
+        this.duracaoPadraoMinutos = duracaoPadraoMinutos;
+    }
+
+    @Scheduled(fixedDelayString = "${aulas.ciclo-vida.intervalo-ms:60000}")
+    public void atualizarStatusAulas() {
+        LocalDateTime agora = LocalDateTime.now();
+
+        int finalizadas = executarEmLotes(() ->
+                aulaRepository.finalizarEncerradasAte(agora, duracaoPadraoMinutos, tamanhoLote));
+        int encerradas = executarEmLotes(() ->
+                aulaRepository.encerrarInscricoesAte(agora.plusHours(HORAS_ENCERRAMENTO_INSCRICOES), tamanhoLote));
+
+        if (finalizadas > 0 || encerradas > 0) {
+            log.info("Ciclo de vida das aulas: {} finalizadas, {} com inscrições encerradas", finalizadas, encerradas);
+        }
+    }
+
+    // Cada lote em sua própria transação: locks curtos e progresso preservado em caso de falha
+    private int executarEmLotes(IntSupplier lote) {
+        int total = 0;
+        int atualizadas;
+        do {
+            Integer resultado = transactionTemplate.execute(status -> lote.getAsInt());
+            atualizadas = resultado == null ? 0 : resultado;
+            total += atualizadas;
+        } while (atualizadas >= tamanhoLote);
+        return total;
+    }
+}
@@ -0,0 +1,206 @@
+package com.fighthub.service;
+
+import com.fighthub.dto.foto.MetricasFotosResponse;
+import com.fighthub.dto.foto.ResultadoColetaResponse;
+import com.fighthub.exception.ValidacaoException;
+import com.fighthub.repository.FotoPerfilRepository;
+import com.fighthub.repository.UsuarioRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+@Slf4j
+@Service
+public class ColetaFotosOrfasService {
+
+    private final StorageService storageService;
+    private final UsuarioRepository usuarioRepository;
+    private final FotoPerfilRepository fotoPerfilRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration carencia;
+    private final boolean simulacaoAgendada;
+    private final int tamanhoPagina;
+
+    private final AtomicBoolean emExecucao = new AtomicBoolean();
+
+    private final LongAdder execucoes = new LongAdder();
+    private final LongAdder arquivosExaminados = new LongAdder();
+    private final LongAdder orfaosEncontrados = new LongAdder();
+    private final LongAdder orfaosRemovidos = new LongAdder();
+    private final LongAdder bytesLiberados = new LongAdder();
+    private final LongAdder falhas = new LongAdder();
+    private volatile LocalDateTime ultimaExecucao;
+
+    public ColetaFotosOrfasService(StorageService storageService,
+                                   UsuarioRepository usuarioRepository,
+                                   FotoPerfilRepository fotoPerfilRepository,
+                                   PlatformTransactionManager transactionManager,
+                                   @Value("${uploads.coleta.carencia-horas:24}") long carenciaHoras,
+                                   @Value("${uploads.coleta.simulacao:false}") boolean simulacaoAgendada,
+                                   @Value("${uploads.coleta.tamanho-pagina:1000}") int tamanhoPagina) {
+        this.storageService = storageService;
+        this.usuarioRepository = usuarioRepository;
+        this.fotoPerfilRepository = fotoPerfilRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.carencia = Duration.ofHours(carenciaHoras);
+        this.simulacaoAgendada = simulacaoAgendada;
+        this.tamanhoPagina = tamanhoPagina;
+    }
+
+    @Scheduled(cron = "${uploads.coleta.cron:0 0 4 * * *}")
+    public void coletarAgendado() {
+        try {
+            coletar(simulacaoAgendada);
+        } catch (ValidacaoException e) {
+            log.info("Coleta de fotos órfãs ignorada: execução anterior ainda em andamento");
+        }
+    }
+
+    public ResultadoColetaResponse coletar(boolean simulacao) {
+        if (!emExecucao.compareAndSet(false, true)) {
+            throw new ValidacaoException("Já existe uma coleta de fotos órfãs em andamento.");
+        }
+
+        try {
+            long inicio = System.nanoTime();
+            // Chaves carregadas antes da varredura; arquivos mais novos que a carência nunca são candidatos
+            Instant limite = Instant.now().minus(carencia);
+            Set<String> referenciadas = carregarBasesReferenciadas();
+
+            Contagem contagem = new Contagem(simulacao, referenciadas, limite);
+            Path raiz = storageService.raiz();
+            if (Files.isDirectory(raiz)) varrer(raiz, raiz, false, contagem);
+
+            ResultadoColetaResponse resultado = new ResultadoColetaResponse(simulacao, contagem.examinados,
+                    contagem.orfaos, contagem.removidos, contagem.bytes, contagem.falhas,
+                    Duration.ofNanos(System.nanoTime() - inicio).toMillis());
+            registrarMetricas(resultado);
+
+            log.info("Coleta de fotos órfãs{}: {} arquivos examinados, {} órfãos, {} removidos, {} bytes liberados, {} falhas",
+                    simulacao ? " (simulação)" : "", resultado.arquivosExaminados(), resultado.orfaosEncontrados(),
+                    resultado.orfaosRemovidos(), resultado.bytesLiberados(), resultado.falhas());
+            return resultado;
+        } finally {
+            emExecucao.set(false);
+        }
+    }
+
+    public MetricasFotosResponse.Coleta metricas() {
+        return new MetricasFotosResponse.Coleta(
+                execucoes.sum(),
+                arquivosExaminados.sum(),
+                orfaosEncontrados.sum(),
+                orfaosRemovidos.sum(),
+                bytesLiberados.sum(),
+                falhas.sum(),
+                ultimaExecucao
+        );
+    }
+
+    // Só guarda a base de cada chave (original e miniaturas compartilham a mesma), em páginas por keyset
+    private Set<String> carregarBasesReferenciadas() {
+        Set<String> bases = new HashSet<>();
+        String ultima = "";
+        List<String> pagina;
+        do {
+            pagina = usuarioRepository.findFotosApos(ultima, tamanhoPagina);
+            for (String key : pagina) bases.add(StorageService.chaveBase(key));
+            if (!pagina.isEmpty()) ultima = pagina.get(pagina.size() - 1);
+        } while (pagina.size() >= tamanhoPagina);
+        return bases;
+    }
+
+    // DirectoryStream percorre as entradas sob demanda: nenhum diretório é listado inteiro em memória
+    private void varrer(Path raiz, Path diretorio, boolean trabalho, Contagem contagem) {
+        try (DirectoryStream<Path> entradas = Files.newDirectoryStream(diretorio)) {
+            for (Path entrada : entradas) {
+                try {
+                    BasicFileAttributes atributos = Files.readAttributes(entrada, BasicFileAttributes.class, LinkOption.NOFOLLOW_LINKS);
+                    // Entradas com "." são de trabalho (uploads e miniaturas em andamento): nunca têm referência
+                    boolean deTrabalho = trabalho || entrada.getFileName().toString().startsWith(".");
+                    if (atributos.isDirectory()) {
+                        varrer(raiz, entrada, deTrabalho, contagem);
+                    } else if (atributos.isRegularFile()) {
+                        examinar(raiz.relativize(entrada), deTrabalho, atributos, contagem);
+                    }
+                } catch (IOException | RuntimeException e) {
+                    contagem.falhas++;
+                    log.warn("Falha ao examinar {} na coleta de fotos órfãs", entrada, e);
+                }
+            }
+        } catch (IOException e) {
+            contagem.falhas++;
+            log.warn("Falha ao percorrer {} na coleta de fotos órfãs", diretorio, e);
+        }
+    }
+
+    private void examinar(Path relativo, boolean trabalho, BasicFileAttributes atributos, Contagem contagem) throws IOException {
+        contagem.examinados++;
+        if (atributos.lastModifiedTime().toInstant().isAfter(contagem.limite)) return;
+
+        String key = relativo.toString().replace('\\', '/');
+        String base = StorageService.chaveBase(key);
+        if (!trabalho && contagem.referenciadas.contains(base)) return;
+
+        contagem.orfaos++;
+        if (contagem.simulacao) {
+            contagem.bytes += atributos.size();
+            return;
+        }
+
+        // Rechecagem no banco: o mesmo conteúdo pode ter sido reenviado depois que as chaves foram carregadas
+        boolean removido = storageService.apagarOrfao(key, () -> !trabalho && usuarioRepository.existsByFotoStartingWith(base + "."));
+        if (!removido) return;
+
+        contagem.removidos++;
+        contagem.bytes += atributos.size();
+        if (StorageService.isEnderecadoPorConteudo(key)) {
+            transactionTemplate.executeWithoutResult(status -> fotoPerfilRepository.removerOrfa(key));
+        }
+    }
+
+    private void registrarMetricas(ResultadoColetaResponse resultado) {
+        execucoes.increment();
+        arquivosExaminados.add(resultado.arquivosExaminados());
+        orfaosEncontrados.add(resultado.orfaosEncontrados());
+        orfaosRemovidos.add(resultado.orfaosRemovidos());
+        if (!resultado.simulacao()) bytesLiberados.add(resultado.bytesLiberados());
+        falhas.add(resultado.falhas());
+        ultimaExecucao = LocalDateTime.now();
+    }
+
+    private static final class Contagem {
+        private final boolean simulacao;
+        private final Set<String> referenciadas;
+        private final Instant limite;
+        private long examinados;
+        private long orfaos;
+        private long removidos;
+        private long bytes;
+        private long falhas;
+
+        private Contagem(boolean simulacao, Set<String> referenciadas, Instant limite) {
+            this.simulacao = simulacao;
+            this.referenciadas = referenciadas;
+            this.limite = limite;
+        }
+    }
+}
@@ -0,0 +1,275 @@
+package com.fighthub.service;
+
+import com.fighthub.dto.aula.ConflitoAulaResponse;
+import com.fighthub.exception.ValidacaoException;
+import com.fighthub.model.Aula;
+import com.fighthub.model.enums.ClassStatus;
+import com.fighthub.repository.AulaRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.*;
+
+@Slf4j
+@Service
+public class ConflitoAgendaService {
+
+    private static final int SEMANAS_MAXIMO = 52;
+
+    // Aulas que começaram há menos que isso ainda podem estar em andamento
+    private static final long HORAS_RETROATIVAS = 24;
+
+    private final AulaRepository aulaRepository;
+    private final int duracaoPadraoMinutos;
+
+    // Uma árvore por professor; o índice por aula permite mover/remover sem consultar o banco
+    private Map<UUID, ArvoreIntervalos> arvores = new HashMap<>();
+    private Map<UUID, Entrada> entradas = new HashMap<>();
+
+    // Horários já aprovados em transações ainda abertas: ocupam a agenda até o commit (ou rollback) de quem os verificou
+    private final Map<UUID, List<ArvoreIntervalos.Intervalo>> provisorios = new HashMap<>();
+
+    // Alterações confirmadas durante uma recarga: a consulta pode não enxergá-las, então são reaplicadas na agenda nova
+    private List<Runnable> pendentes;
+    private final Object recarga = new Object();
+
+    public ConflitoAgendaService(AulaRepository aulaRepository,
+                                 @Value("${aulas.duracao-padrao-min:60}") int duracaoPadraoMinutos) {
+        this.aulaRepository = aulaRepository;
+        this.duracaoPadraoMinutos = duracaoPadraoMinutos;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${aulas.conflitos.recarga-cron:0 30 3 * * *}")
+    public void reconstruir() {
+        synchronized (recarga) {
+            synchronized (this) {
+                pendentes = new ArrayList<>();
+            }
+
+            try {
+                Map<UUID, ArvoreIntervalos> novasArvores = new HashMap<>();
+                Map<UUID, Entrada> novasEntradas = new HashMap<>();
+
+                LocalDateTime inicio = LocalDateTime.now().minusHours(HORAS_RETROATIVAS);
+                for (var agenda : aulaRepository.findAgendaAPartirDe(inicio, ClassStatus.CANCELADA)) {
+                    Entrada entrada = new Entrada(agenda.getProfessorId(), agenda.getTurmaId(),
+                            intervalo(agenda.getId(), agenda.getData(), agenda.getDuracaoMinutos()));
+                    novasEntradas.put(agenda.getId(), entrada);
+                    novasArvores.computeIfAbsent(entrada.professorId(), id -> new ArvoreIntervalos()).inserir(entrada.intervalo());
+                }
+
+                // Reservas provisórias não são trocadas: continuam valendo até o fim das suas transações
+                synchronized (this) {
+                    arvores = novasArvores;
+                    entradas = novasEntradas;
+                    pendentes.forEach(Runnable::run);
+                    log.info("Agenda de professores carregada com {} aulas", entradas.size());
+                }
+            } finally {
+                synchronized (this) {
+                    pendentes = null;
+                }
+            }
+        }
+    }
+
+    public void verificarConflito(Aula aula) {
+        UUID professorId = professorDaAula(aula);
+        if (professorId == null || !agendavel(aula)) return;
+
+        var intervalo = intervalo(aula.getId(), aula.getData(), aula.getDuracaoMinutos());
+        Set<UUID> ignorar = aula.getId() == null ? Set.of() : Set.of(aula.getId());
+
+        // Verificação e reserva no mesmo bloco: duas transações concorrentes não aprovam o mesmo horário
+        synchronized (this) {
+            if (conflita(professorId, intervalo, ignorar)) {
+                throw new ValidacaoException("Professor já possui aula neste horário.");
+            }
+            reservarProvisorio(professorId, List.of(intervalo));
+        }
+    }
+
+    // Troca de professor da turma: as aulas da turma passam a ocupar a agenda do novo professor
+    public void verificarConflitoProfessorDaTurma(UUID turmaId, UUID professorId) {
+        if (professorId == null) return;
+
+        synchronized (this) {
+            Map<UUID, ArvoreIntervalos.Intervalo> daTurma = new HashMap<>();
+            entradas.forEach((aulaId, entrada) -> {
+                if (turmaId.equals(entrada.turmaId())) daTurma.put(aulaId, entrada.intervalo());
+            });
+
+            for (var intervalo : daTurma.values()) {
+                if (conflita(professorId, intervalo, daTurma.keySet())) {
+                    throw new ValidacaoException("Professor já possui aula no horário de uma aula desta turma.");
+                }
+            }
+            reservarProvisorio(professorId, List.copyOf(daTurma.values()));
+        }
+    }
+
+    public void registrar(Aula aula) {
+        registrar(List.of(aula));
+    }
+
+    // A árvore só muda após o commit: transações desfeitas não deixam aulas fantasmas
+    public void registrar(Collection<Aula> aulas) {
+        Map<UUID, Entrada> alteracoes = new HashMap<>();
+        for (Aula aula : aulas) {
+            UUID professorId = professorDaAula(aula);
+            alteracoes.put(aula.getId(), professorId != null && agendavel(aula)
+                    ? new Entrada(professorId, aula.getTurma().getId(), intervalo(aula.getId(), aula.getData(), aula.getDuracaoMinutos()))
+                    : null);
+        }
+
+        aposCommit(() -> aplicar(() -> alteracoes.forEach(this::substituir)));
+    }
+
+    public void remover(UUID aulaId) {
+        aposCommit(() -> aplicar(() -> substituir(aulaId, null)));
+    }
+
+    public void atualizarProfessorDaTurma(UUID turmaId, UUID professorId) {
+        aposCommit(() -> aplicar(() -> {
+            List<Map.Entry<UUID, Entrada>> afetadas = entradas.entrySet().stream()
+                    .filter(e -> turmaId.equals(e.getValue().turmaId()))
+                    .toList();
+
+            for (var afetada : afetadas) {
+                Entrada atual = afetada.getValue();
+                substituir(afetada.getKey(), professorId == null ? null
+                        : new Entrada(professorId, turmaId, atual.intervalo()));
+            }
+        }));
+    }
+
+    public List<ConflitoAulaResponse> buscarConflitos(int semanas) {
+        if (semanas < 1 || semanas > SEMANAS_MAXIMO) {
+            throw new ValidacaoException("Quantidade de semanas deve estar entre 1 e " + SEMANAS_MAXIMO + ".");
+        }
+
+        LocalDateTime inicio = LocalDateTime.now();
+        LocalDateTime fim = inicio.plusWeeks(semanas);
+        List<ConflitoAulaResponse> conflitos = new ArrayList<>();
+
+        synchronized (this) {
+            arvores.forEach((professorId, arvore) -> {
+                // Ordenados pelo início: cada aula só pode conflitar com as seguintes que começam antes do seu fim
+                List<ArvoreIntervalos.Intervalo> ordenados = arvore.emOrdem(inicio, fim);
+                for (int i = 0; i < ordenados.size(); i++) {
+                    var atual = ordenados.get(i);
+                    for (int j = i + 1; j < ordenados.size() && ordenados.get(j).inicio().isBefore(atual.fim()); j++) {
+                        var outro = ordenados.get(j);
+                        conflitos.add(new ConflitoAulaResponse(professorId,
+                                atual.aulaId(), atual.inicio(), atual.fim(),
+                                outro.aulaId(), outro.inicio(), outro.fim()));
+                    }
+                }
+            });
+        }
+
+        conflitos.sort(Comparator.comparing(ConflitoAulaResponse::inicio).thenComparing(ConflitoAulaResponse::aulaId));
+        return conflitos;
+    }
+
+    private boolean conflita(UUID professorId, ArvoreIntervalos.Intervalo intervalo, Set<UUID> ignorar) {
+        ArvoreIntervalos arvore = arvores.get(professorId);
+        if (arvore != null && arvore.sobrepostos(intervalo.inicio(), intervalo.fim()).stream()
+                .anyMatch(outro -> !ignorar.contains(outro.aulaId()))) {
+            return true;
+        }
+
+        return provisorios.getOrDefault(professorId, List.of()).stream()
+                .anyMatch(outro -> (outro.aulaId() == null || !ignorar.contains(outro.aulaId()))
+                        && outro.sobrepoe(intervalo.inicio(), intervalo.fim()));
+    }
+
+    // Chamado sob o lock da instância; sem transação não há janela entre verificar e registrar
+    private void reservarProvisorio(UUID professorId, List<ArvoreIntervalos.Intervalo> intervalos) {
+        if (intervalos.isEmpty() || !TransactionSynchronizationManager.isSynchronizationActive()) return;
+
+        List<ArvoreIntervalos.Intervalo> reservados = provisorios.computeIfAbsent(professorId, id -> new ArrayList<>());
+        reservados.addAll(intervalos);
+
+        // afterCompletion roda depois de todos os afterCommit: o horário definitivo já está na árvore quando a reserva sai
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                synchronized (ConflitoAgendaService.this) {
+                    List<ArvoreIntervalos.Intervalo> atuais = provisorios.get(professorId);
+                    if (atuais == null) return;
+                    intervalos.forEach(intervalo -> removerPorIdentidade(atuais, intervalo));
+                    if (atuais.isEmpty()) provisorios.remove(professorId);
+                }
+            }
+        });
+    }
+
+    private static void removerPorIdentidade(List<ArvoreIntervalos.Intervalo> lista, ArvoreIntervalos.Intervalo intervalo) {
+        for (Iterator<ArvoreIntervalos.Intervalo> it = lista.iterator(); it.hasNext(); ) {
+            if (it.next() == intervalo) {
+                it.remove();
+                return;
+            }
+        }
+    }
+
+    // Alterações são idempotentes sobre o estado final: reaplicá-las na agenda recarregada é seguro
+    private synchronized void aplicar(Runnable alteracao) {
+        alteracao.run();
+        if (pendentes != null) pendentes.add(alteracao);
+    }
+
+    private void substituir(UUID aulaId, Entrada nova) {
+        Entrada anterior = nova == null ? entradas.remove(aulaId) : entradas.put(aulaId, nova);
+
+        if (anterior != null) {
+            ArvoreIntervalos arvore = arvores.get(anterior.professorId());
+            arvore.remover(anterior.intervalo());
+            if (arvore.tamanho() == 0) arvores.remove(anterior.professorId());
+        }
+
+        if (nova != null) {
+            arvores.computeIfAbsent(nova.professorId(), id -> new ArvoreIntervalos()).inserir(nova.intervalo());
+        }
+    }
+
+    private ArvoreIntervalos.Intervalo intervalo(UUID aulaId, LocalDateTime inicio, Integer duracaoMinutos) {
+        int duracao = duracaoMinutos != null ? duracaoMinutos : duracaoPadraoMinutos;
+        return new ArvoreIntervalos.Intervalo(aulaId, inicio, inicio.plusMinutes(duracao));
+    }
+
+    private UUID professorDaAula(Aula aula) {
+        if (aula.getTurma() == null || aula.getTurma().getProfessor() == null) return null;
+        return aula.getTurma().getProfessor().getId();
+    }
+
+    private boolean agendavel(Aula aula) {
+        return aula.isAtivo() && aula.getStatus() != ClassStatus.CANCELADA && aula.getData() != null;
+    }
+
+    private void aposCommit(Runnable acao) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            acao.run();
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                acao.run();
+            }
+        });
+    }
+
+    private record Entrada(UUID professorId, UUID turmaId, ArvoreIntervalos.Intervalo intervalo) {
+    }
+}
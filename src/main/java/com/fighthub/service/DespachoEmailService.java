@@ -0,0 +1,258 @@
+package com.fighthub.service;
+
+import com.fighthub.dto.email.MetricasEmailResponse;
+import com.fighthub.model.EmailOutbox;
+import com.fighthub.model.enums.EmailStatus;
+import com.fighthub.repository.EmailOutboxRepository;
+import jakarta.annotation.PreDestroy;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.MimeMessageHelper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+@Slf4j
+@Service
+public class DespachoEmailService {
+
+    private static final int TAMANHO_MAXIMO_ERRO = 500;
+
+    private final EmailOutboxRepository emailOutboxRepository;
+    private final JavaMailSender mailSender;
+    private final TransactionTemplate transactionTemplate;
+    private final ThreadPoolExecutor executor;
+
+    private final boolean ativo;
+    private final int tamanhoLote;
+    private final int maximoTentativas;
+    private final Duration esperaInicial;
+    private final Duration esperaMaxima;
+    private final Duration reserva;
+    private final Duration retencaoEnviados;
+
+    private final AtomicBoolean emExecucao = new AtomicBoolean();
+
+    private final LongAdder enviados = new LongAdder();
+    private final LongAdder falhas = new LongAdder();
+    private final LongAdder lotes = new LongAdder();
+    private final LongAdder nanosEnviando = new LongAdder();
+    private volatile LocalDateTime ultimoDespacho;
+
+    public DespachoEmailService(EmailOutboxRepository emailOutboxRepository,
+                                JavaMailSender mailSender,
+                                PlatformTransactionManager transactionManager,
+                                @Value("${email.outbox.ativo:true}") boolean ativo,
+                                @Value("${email.outbox.tamanho-lote:50}") int tamanhoLote,
+                                @Value("${email.outbox.maximo-tentativas:8}") int maximoTentativas,
+                                @Value("${email.outbox.espera-inicial-s:30}") long esperaInicialSegundos,
+                                @Value("${email.outbox.espera-maxima-s:3600}") long esperaMaximaSegundos,
+                                @Value("${email.outbox.reserva-s:300}") long reservaSegundos,
+                                @Value("${email.outbox.retencao-enviados-dias:7}") long retencaoEnviadosDias) {
+        this.emailOutboxRepository = emailOutboxRepository;
+        this.mailSender = mailSender;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        // Uma thread e fila de um: pedidos de despacho que chegam com outro já na fila são redundantes
+        this.executor = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(1), new ThreadPoolExecutor.DiscardPolicy());
+        this.ativo = ativo;
+        this.tamanhoLote = tamanhoLote;
+        this.maximoTentativas = maximoTentativas;
+        this.esperaInicial = Duration.ofSeconds(esperaInicialSegundos);
+        this.esperaMaxima = Duration.ofSeconds(esperaMaximaSegundos);
+        this.reserva = Duration.ofSeconds(reservaSegundos);
+        this.retencaoEnviados = Duration.ofDays(retencaoEnviadosDias);
+    }
+
+    // Antecipa o despacho para logo após o commit de quem enfileirou, sem esperar o próximo ciclo
+    public void acordarAposCommit() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            executor.execute(this::despachar);
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                executor.execute(DespachoEmailService.this::despachar);
+            }
+        });
+    }
+
+    // Só agenda: o envio roda na thread própria e um SMTP lento não segura o agendador compartilhado com os outros jobs
+    @Scheduled(fixedDelayString = "${email.outbox.intervalo-ms:10000}", initialDelayString = "${email.outbox.intervalo-ms:10000}")
+    public void despacharAgendado() {
+        executor.execute(this::despachar);
+    }
+
+    @Scheduled(cron = "${email.outbox.limpeza-cron:0 15 4 * * *}")
+    public void removerEnviadosAntigos() {
+        Integer removidos = transactionTemplate.execute(status ->
+                emailOutboxRepository.removerEnviadosAntesDe(LocalDateTime.now().minus(retencaoEnviados)));
+        if (removidos != null && removidos > 0) log.info("Caixa de saída: {} e-mails enviados removidos", removidos);
+    }
+
+    public int despachar() {
+        if (!ativo || !emExecucao.compareAndSet(false, true)) return 0;
+
+        try {
+            int total = 0;
+            int processados;
+            do {
+                processados = despacharLote();
+                total += processados;
+            } while (processados >= tamanhoLote);
+            return total;
+        } catch (RuntimeException e) {
+            log.error("Falha ao despachar a caixa de saída de e-mails", e);
+            return 0;
+        } finally {
+            emExecucao.set(false);
+        }
+    }
+
+    public int reprocessarDescartados() {
+        Integer reprocessados = transactionTemplate.execute(status ->
+                emailOutboxRepository.reprocessarDescartados(LocalDateTime.now()));
+        acordarAposCommit();
+        return reprocessados == null ? 0 : reprocessados;
+    }
+
+    public MetricasEmailResponse metricas() {
+        long nanos = nanosEnviando.sum();
+        long totalEnviados = enviados.sum();
+        return new MetricasEmailResponse(
+                emailOutboxRepository.countByStatus(EmailStatus.PENDENTE),
+                emailOutboxRepository.countByStatus(EmailStatus.FALHOU),
+                totalEnviados,
+                falhas.sum(),
+                lotes.sum(),
+                nanos == 0 ? 0 : totalEnviados / (nanos / 1_000_000_000.0),
+                ultimoDespacho
+        );
+    }
+
+    private int despacharLote() {
+        LocalDateTime agora = LocalDateTime.now();
+
+        // Reserva o lote adiando a próxima tentativa: se o processo cair no meio do envio, o lote volta após a reserva
+        List<EmailOutbox> lote = transactionTemplate.execute(status -> {
+            List<EmailOutbox> pendentes = emailOutboxRepository.reservarPendentes(agora, tamanhoLote);
+            pendentes.forEach(email -> email.setProximaTentativa(agora.plus(reserva)));
+            return pendentes;
+        });
+        if (lote == null || lote.isEmpty()) return 0;
+
+        Map<UUID, String> erros = new HashMap<>();
+        Map<MimeMessage, UUID> mensagens = new LinkedHashMap<>();
+        for (EmailOutbox email : lote) {
+            try {
+                mensagens.put(montarMensagem(email), email.getId());
+            } catch (MessagingException e) {
+                erros.put(email.getId(), e.getMessage());
+            }
+        }
+
+        long inicio = System.nanoTime();
+        enviar(mensagens, erros);
+        nanosEnviando.add(System.nanoTime() - inicio);
+
+        transactionTemplate.executeWithoutResult(status -> registrarResultado(lote, erros));
+        lotes.increment();
+        ultimoDespacho = LocalDateTime.now();
+
+        if (!erros.isEmpty()) {
+            log.warn("Caixa de saída: {} de {} e-mails do lote falharam", erros.size(), lote.size());
+        }
+        return lote.size();
+    }
+
+    // Envio em lote do JavaMailSender: uma única conexão SMTP para todas as mensagens do lote
+    private void enviar(Map<MimeMessage, UUID> mensagens, Map<UUID, String> erros) {
+        if (mensagens.isEmpty()) return;
+
+        try {
+            mailSender.send(mensagens.keySet().toArray(new MimeMessage[0]));
+        } catch (MailSendException e) {
+            if (e.getFailedMessages().isEmpty()) {
+                mensagens.values().forEach(id -> erros.put(id, e.getMessage()));
+                return;
+            }
+            e.getFailedMessages().forEach((mensagem, erro) -> {
+                UUID id = mensagens.get(mensagem);
+                if (id != null) erros.put(id, erro.getMessage());
+            });
+        } catch (MailException e) {
+            // Falha de conexão ou autenticação: nenhuma mensagem do lote saiu
+            mensagens.values().forEach(id -> erros.put(id, e.getMessage()));
+        }
+    }
+
+    private void registrarResultado(List<EmailOutbox> lote, Map<UUID, String> erros) {
+        LocalDateTime agora = LocalDateTime.now();
+        for (EmailOutbox email : emailOutboxRepository.findAllById(lote.stream().map(EmailOutbox::getId).toList())) {
+            if (!erros.containsKey(email.getId())) {
+                email.setStatus(EmailStatus.ENVIADO);
+                email.setEnviadoEm(agora);
+                email.setUltimoErro(null);
+                enviados.increment();
+                continue;
+            }
+
+            falhas.increment();
+            email.setTentativas(email.getTentativas() + 1);
+            email.setUltimoErro(truncar(erros.get(email.getId())));
+            if (email.getTentativas() >= maximoTentativas) {
+                email.setStatus(EmailStatus.FALHOU);
+                log.error("E-mail {} para {} descartado após {} tentativas: {}",
+                        email.getId(), email.getDestinatario(), email.getTentativas(), email.getUltimoErro());
+            } else {
+                email.setProximaTentativa(agora.plus(espera(email.getTentativas())));
+            }
+        }
+    }
+
+    // Espera exponencial: inicial, 2x, 4x, ... limitada à espera máxima
+    Duration espera(int tentativas) {
+        int expoente = Math.min(tentativas - 1, 30);
+        Duration espera = esperaInicial.multipliedBy(1L << expoente);
+        return espera.compareTo(esperaMaxima) > 0 ? esperaMaxima : espera;
+    }
+
+    private MimeMessage montarMensagem(EmailOutbox email) throws MessagingException {
+        MimeMessage message = mailSender.createMimeMessage();
+        MimeMessageHelper helper = new MimeMessageHelper(message, "UTF-8");
+
+        helper.setTo(email.getDestinatario());
+        helper.setSubject(email.getAssunto());
+        helper.setText(email.getCorpoHtml(), true);
+        return message;
+    }
+
+    private static String truncar(String erro) {
+        if (erro == null) return null;
+        return erro.length() <= TAMANHO_MAXIMO_ERRO ? erro : erro.substring(0, TAMANHO_MAXIMO_ERRO);
+    }
+
+    @PreDestroy
+    public void encerrar() {
+        executor.shutdown();
+    }
+}
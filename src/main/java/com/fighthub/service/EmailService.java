@@ -1,26 +1,26 @@
 package com.fighthub.service;
 
-import com.fighthub.exception.EmailNaoEnviadoException;
+import com.fighthub.model.Aula;
+import com.fighthub.model.EmailOutbox;
 import com.fighthub.model.Usuario;
-import jakarta.mail.MessagingException;
-import jakarta.mail.internet.MimeMessage;
+import com.fighthub.model.enums.EmailStatus;
+import com.fighthub.repository.EmailOutboxRepository;
 import lombok.RequiredArgsConstructor;
-import org.springframework.mail.MailException;
-import org.springframework.mail.javamail.JavaMailSender;
-import org.springframework.mail.javamail.MimeMessageHelper;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 import org.thymeleaf.context.Context;
 import org.thymeleaf.spring6.SpringTemplateEngine;
 
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
 @Service
 @RequiredArgsConstructor
 public class EmailService {
 
-    private final JavaMailSender mailSender;
     private final SpringTemplateEngine templateEngine;
+    private final EmailOutboxRepository emailOutboxRepository;
+    private final DespachoEmailService despachoEmailService;
 
-    @Async
     public void enviarEmailAtivacao(Usuario usuario, String token) {
         String link = "http://localhost:3000/ativar?token=" + token;
 
@@ -30,42 +30,18 @@ public class EmailService {
 
         String htmlContent = templateEngine.process("email-ativacao", context);
 
-        try {
-            MimeMessage message = mailSender.createMimeMessage();
-            MimeMessageHelper helper = new MimeMessageHelper(message, "UTF-8");
-
-            helper.setTo(usuario.getEmail());
-            helper.setSubject("Finalize seu cadastro no FightHub!");
-            helper.setText(htmlContent, true);
-
-            mailSender.send(message);
-        } catch (MessagingException | MailException e) {
-            throw new EmailNaoEnviadoException();
-        }
+        enfileirar(usuario.getEmail(), "Finalize seu cadastro no FightHub!", htmlContent);
     }
 
-    @Async
     public void enviarEmailConfirmacao(Usuario usuario) {
         Context context = new Context();
         context.setVariable("nome", usuario.getNome());
 
         String htmlContent = templateEngine.process("email-confirmacao-cadastro", context);
 
-        try {
-            MimeMessage message = mailSender.createMimeMessage();
-            MimeMessageHelper helper = new MimeMessageHelper(message, "UTF-8");
-
-            helper.setTo(usuario.getEmail());
-            helper.setSubject("Boas vindas ao FightHub!");
-            helper.setText(htmlContent, true);
-
-            mailSender.send(message);
-        } catch (MessagingException | MailException e) {
-            throw new EmailNaoEnviadoException();
-        }
+        enfileirar(usuario.getEmail(), "Boas vindas ao FightHub!", htmlContent);
     }
 
-    @Async
     public void enviarEmailRecuperacaoSenha(Usuario usuario, String codigoRecuperacao) {
         Context context = new Context();
         context.setVariable("nome", usuario.getNome());
@@ -73,17 +49,32 @@ public class EmailService {
 
         String htmlContent = templateEngine.process("email-recuperacao-senha", context);
 
-        try {
-            MimeMessage message = mailSender.createMimeMessage();
-            MimeMessageHelper helper = new MimeMessageHelper(message, "UTF-8");
+        enfileirar(usuario.getEmail(), "Recuperação de senha solicitada!", htmlContent);
+    }
 
-            helper.setTo(usuario.getEmail());
-            helper.setSubject("Recuperação de senha solicitada!");
-            helper.setText(htmlContent, true);
+    public void enviarEmailPromocaoListaEspera(Usuario usuario, Aula aula) {
+        Context context = new Context();
+        context.setVariable("nome", usuario.getNome());
+        context.setVariable("aula", aula.getTitulo());
+        context.setVariable("data", aula.getData().format(DateTimeFormatter.ofPattern("dd/MM/yyyy 'às' HH:mm")));
+
+        String htmlContent = templateEngine.process("email-promocao-lista-espera", context);
+
+        enfileirar(usuario.getEmail(), "Sua vaga foi confirmada!", htmlContent);
+    }
 
-            mailSender.send(message);
-        } catch (MessagingException | MailException e) {
-            throw new EmailNaoEnviadoException();
-        }
+    // Grava na caixa de saída dentro da transação de quem chamou: o e-mail só existe se a operação for confirmada
+    private void enfileirar(String destinatario, String assunto, String htmlContent) {
+        LocalDateTime agora = LocalDateTime.now();
+        emailOutboxRepository.save(EmailOutbox.builder()
+                .destinatario(destinatario)
+                .assunto(assunto)
+                .corpoHtml(htmlContent)
+                .status(EmailStatus.PENDENTE)
+                .tentativas(0)
+                .proximaTentativa(agora)
+                .criadoEm(agora)
+                .build());
+        despachoEmailService.acordarAposCommit();
     }
-}
\ No newline at end of file
+}
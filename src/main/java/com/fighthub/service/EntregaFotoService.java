@@ -0,0 +1,197 @@
+package com.fighthub.service;
+
+import com.fighthub.dto.foto.MetricasFotosResponse;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+@Service
+@RequiredArgsConstructor
+public class EntregaFotoService {
+
+    // Atributos do Tomcat para sendfile: o conector copia o arquivo direto para o socket, sem passar pela JVM
+    private static final String SENDFILE_SUPORTE = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_ARQUIVO = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_INICIO = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_FIM = "org.apache.tomcat.sendfile.end";
+    // Abaixo disso o custo de preparar o sendfile não compensa (mesmo limite do DefaultServlet)
+    private static final long SENDFILE_MINIMO = 48 * 1024;
+
+    private static final String CACHE_IMUTAVEL = "public, max-age=31536000, immutable";
+    private static final String CACHE_REVALIDAR = "public, no-cache";
+
+    private static final Pattern INTERVALO = Pattern.compile("bytes=(\\d*)-(\\d*)");
+
+    private final StorageService storageService;
+
+    private final LongAdder bytesServidos = new LongAdder();
+    private final LongAdder respostasCompletas = new LongAdder();
+    private final LongAdder respostasParciais = new LongAdder();
+    private final LongAdder respostasNaoModificadas = new LongAdder();
+    private final LongAdder enviosZeroCopia = new LongAdder();
+
+    public void entregar(String key, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        String servida = localizar(key);
+        if (servida == null) {
+            response.setStatus(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+
+        Path arquivo = storageService.caminho(servida);
+        long tamanho = Files.size(arquivo);
+        String etag = etag(servida);
+        // Original no lugar da miniatura: sem cache imutável, para a miniatura ser buscada quando existir
+        boolean imutavel = servida.equals(key) && StorageService.isImutavel(key);
+        response.setHeader(HttpHeaders.ETAG, etag);
+        response.setHeader(HttpHeaders.CACHE_CONTROL, imutavel ? CACHE_IMUTAVEL : CACHE_REVALIDAR);
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+
+        if (correspondeAlgumEtag(request.getHeader(HttpHeaders.IF_NONE_MATCH), etag)) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            respostasNaoModificadas.increment();
+            return;
+        }
+
+        response.setContentType(MediaTypeFactory.getMediaType(servida).orElse(MediaType.APPLICATION_OCTET_STREAM).toString());
+
+        long inicio = 0;
+        long quantidade = tamanho;
+        String range = request.getHeader(HttpHeaders.RANGE);
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        // If-Range com outro ETag: o cliente tem uma versão diferente, então recebe o arquivo inteiro
+        if (range != null && (ifRange == null || ifRange.trim().equals(etag))) {
+            long[] intervalo = intervalo(range, tamanho);
+            if (intervalo == null) {
+                response.setStatus(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + tamanho);
+                return;
+            }
+            if (intervalo.length == 2) {
+                inicio = intervalo[0];
+                quantidade = intervalo[1] - intervalo[0] + 1;
+                response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + intervalo[0] + "-" + intervalo[1] + "/" + tamanho);
+            }
+        }
+
+        response.setContentLengthLong(quantidade);
+        if (response.getStatus() == HttpServletResponse.SC_PARTIAL_CONTENT) respostasParciais.increment();
+        else respostasCompletas.increment();
+
+        if ("HEAD".equalsIgnoreCase(request.getMethod())) return;
+
+        enviar(arquivo, inicio, quantidade, request, response);
+        bytesServidos.add(quantidade);
+    }
+
+    public MetricasFotosResponse.Entrega metricas() {
+        return new MetricasFotosResponse.Entrega(
+                bytesServidos.sum(),
+                respostasCompletas.sum(),
+                respostasParciais.sum(),
+                respostasNaoModificadas.sum(),
+                enviosZeroCopia.sum()
+        );
+    }
+
+    private void enviar(Path arquivo, long inicio, long quantidade,
+                        HttpServletRequest request, HttpServletResponse response) throws IOException {
+        if (quantidade >= SENDFILE_MINIMO && Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPORTE))) {
+            request.setAttribute(SENDFILE_ARQUIVO, arquivo.toAbsolutePath().toString());
+            request.setAttribute(SENDFILE_INICIO, inicio);
+            request.setAttribute(SENDFILE_FIM, inicio + quantidade);
+            enviosZeroCopia.increment();
+            return;
+        }
+
+        // Sem sendfile (conector sem suporte ou arquivo pequeno): transferTo direto do canal do arquivo
+        try (FileChannel canal = FileChannel.open(arquivo, StandardOpenOption.READ)) {
+            WritableByteChannel saida = Channels.newChannel(response.getOutputStream());
+            long enviados = 0;
+            while (enviados < quantidade) {
+                long n = canal.transferTo(inicio + enviados, quantidade - enviados, saida);
+                if (n <= 0) break;
+                enviados += n;
+            }
+        }
+    }
+
+    // Chave do arquivo a servir: a própria ou, para miniatura ainda não gerada (fotos antigas), a do original
+    private String localizar(String key) {
+        // Diretórios de trabalho (".tmp") e partes vazias nunca são servidos
+        if (key == null || key.isBlank()) return null;
+        if (Arrays.stream(key.split("/")).anyMatch(parte -> parte.isEmpty() || parte.startsWith("."))) return null;
+
+        if (existe(key)) return key;
+        return StorageService.chavesOriginais(key).stream()
+                .filter(this::existe)
+                .findFirst()
+                .orElse(null);
+    }
+
+    private boolean existe(String key) {
+        try {
+            return Files.isRegularFile(storageService.caminho(key));
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    // ETag forte derivado da chave: chaves nunca são reaproveitadas para outro conteúdo
+    private String etag(String key) {
+        String nome = key.substring(key.lastIndexOf('/') + 1);
+        return "\"" + nome.replace("\"", "") + "\"";
+    }
+
+    private boolean correspondeAlgumEtag(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) return false;
+        return Arrays.stream(ifNoneMatch.split(","))
+                .map(String::trim)
+                .map(tag -> tag.startsWith("W/") ? tag.substring(2) : tag)
+                .anyMatch(tag -> tag.equals("*") || tag.equals(etag));
+    }
+
+    // Intervalo único [inicio, fim]; vazio quando o cabeçalho é ignorado (inválido ou múltiplo); null quando insatisfazível
+    private long[] intervalo(String range, long tamanho) {
+        Matcher matcher = INTERVALO.matcher(range.trim());
+        if (!matcher.matches() || (matcher.group(1).isEmpty() && matcher.group(2).isEmpty())) return new long[0];
+
+        try {
+            long inicio;
+            long fim;
+            if (matcher.group(1).isEmpty()) {
+                long sufixo = Long.parseLong(matcher.group(2));
+                if (sufixo == 0) return null;
+                inicio = Math.max(0, tamanho - sufixo);
+                fim = tamanho - 1;
+            } else {
+                inicio = Long.parseLong(matcher.group(1));
+                fim = tamanho - 1;
+                if (!matcher.group(2).isEmpty()) {
+                    long ultimo = Long.parseLong(matcher.group(2));
+                    if (ultimo < inicio) return new long[0];
+                    fim = Math.min(ultimo, fim);
+                }
+            }
+            return inicio >= tamanho ? null : new long[]{inicio, fim};
+        } catch (NumberFormatException e) {
+            return new long[0];
+        }
+    }
+}
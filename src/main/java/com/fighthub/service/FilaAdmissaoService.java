@@ -0,0 +1,269 @@
+package com.fighthub.service;
+
+import com.fighthub.dto.inscricao.TicketInscricaoResponse;
+import com.fighthub.exception.TicketInscricaoNaoEncontradoException;
+import com.fighthub.model.Aula;
+import com.fighthub.model.enums.AdmissionStatus;
+import com.fighthub.model.enums.ClassStatus;
+import com.fighthub.repository.AulaRepository;
+import com.fighthub.repository.InscricaoLoteRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+@Slf4j
+@Service
+public class FilaAdmissaoService {
+
+    private final AulaRepository aulaRepository;
+    private final InscricaoLoteRepository inscricaoLoteRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ExecutorService executor;
+
+    private final int tamanhoLote;
+    private final long esperaMs;
+    private final Duration retencaoTickets;
+
+    private final Map<UUID, FilaAula> filas = new ConcurrentHashMap<>();
+    private final Map<UUID, Ticket> tickets = new ConcurrentHashMap<>();
+
+    public FilaAdmissaoService(AulaRepository aulaRepository,
+                               InscricaoLoteRepository inscricaoLoteRepository,
+                               PlatformTransactionManager transactionManager,
+                               @Value("${inscricoes.fila.threads:4}") int threads,
+                               @Value("${inscricoes.fila.tamanho-lote:50}") int tamanhoLote,
+                               @Value("${inscricoes.fila.espera-ms:500}") long esperaMs,
+                               @Value("${inscricoes.fila.retencao-tickets-min:10}") long retencaoTicketsMin) {
+        this.aulaRepository = aulaRepository;
+        this.inscricaoLoteRepository = inscricaoLoteRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.executor = Executors.newFixedThreadPool(threads);
+        this.tamanhoLote = tamanhoLote;
+        this.esperaMs = esperaMs;
+        this.retencaoTickets = Duration.ofMinutes(retencaoTicketsMin);
+    }
+
+    public TicketInscricaoResponse enfileirar(UUID aulaId, UUID alunoId, UUID solicitanteId) {
+        Ticket ticket = new Ticket(UUID.randomUUID(), aulaId, alunoId, solicitanteId, LocalDateTime.now());
+        tickets.put(ticket.id, ticket);
+
+        // Entra na fila sob o lock da chave: a fila não é descartada entre ser obtida e receber o pedido
+        FilaAula fila = filas.compute(aulaId, (id, atual) -> {
+            FilaAula destino = atual == null ? new FilaAula(id) : atual;
+            destino.pedidos.add(ticket);
+            return destino;
+        });
+        agendar(fila);
+
+        // Responde com a decisão se ela sair rápido; caso contrário o cliente acompanha pelo ticket
+        try {
+            ticket.decisao.get(esperaMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            // segue como PENDENTE
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(e.getCause());
+        }
+
+        return ticket.toResponse();
+    }
+
+    // Só quem fez o pedido consulta o ticket; para os demais ele não existe
+    public TicketInscricaoResponse consultar(UUID aulaId, UUID ticketId, UUID solicitanteId) {
+        Ticket ticket = tickets.get(ticketId);
+        if (ticket == null || !ticket.aulaId.equals(aulaId) || !ticket.solicitanteId.equals(solicitanteId)) {
+            throw new TicketInscricaoNaoEncontradoException();
+        }
+        return ticket.toResponse();
+    }
+
+    int filasEmMemoria() {
+        return filas.size();
+    }
+
+    @PreDestroy
+    public void encerrar() {
+        executor.shutdown();
+    }
+
+    private void agendar(FilaAula fila) {
+        // Um único escritor por aula: só agenda se não houver outro drenando a fila
+        if (fila.emExecucao.compareAndSet(false, true)) {
+            executor.execute(() -> drenar(fila));
+        }
+    }
+
+    private void drenar(FilaAula fila) {
+        try {
+            List<Ticket> lote;
+            while (!(lote = fila.retirarLote(tamanhoLote)).isEmpty()) {
+                processarLote(fila.aulaId, lote);
+            }
+            descartarTicketsExpirados();
+        } finally {
+            fila.emExecucao.set(false);
+            if (!fila.pedidos.isEmpty()) {
+                agendar(fila);
+            } else {
+                // Fila vazia e sem escritor sai do mapa; quem chegar depois cria outra
+                filas.computeIfPresent(fila.aulaId, (id, atual) ->
+                        atual == fila && atual.pedidos.isEmpty() && !atual.emExecucao.get() ? null : atual);
+            }
+        }
+    }
+
+    private void processarLote(UUID aulaId, List<Ticket> lote) {
+        Map<Ticket, String> recusas = new HashMap<>();
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> decidirLote(aulaId, lote, recusas));
+        } catch (RuntimeException e) {
+            log.error("Falha ao processar lote de inscrições da aula {}", aulaId, e);
+            recusas.clear();
+            lote.forEach(ticket -> recusas.put(ticket, "Não foi possível processar a inscrição."));
+        }
+
+        lote.forEach(ticket -> {
+            String motivo = recusas.get(ticket);
+            if (motivo == null) ticket.confirmar();
+            else ticket.recusar(motivo);
+        });
+    }
+
+    private void decidirLote(UUID aulaId, List<Ticket> lote, Map<Ticket, String> recusas) {
+        recusas.clear();
+
+        Aula aula = aulaRepository.findById(aulaId).orElse(null);
+        String motivoAula = validarAula(aula);
+        if (motivoAula != null) {
+            lote.forEach(ticket -> recusas.put(ticket, motivoAula));
+            return;
+        }
+
+        int vagas = Math.max(aula.getLimiteAlunos() - aulaRepository.bloquearVagasOcupadas(aulaId), 0);
+
+        List<Ticket> admitidos = new ArrayList<>();
+        Set<UUID> alunosNoLote = new HashSet<>();
+        for (Ticket ticket : lote) {
+            if (!alunosNoLote.add(ticket.alunoId)) {
+                recusas.put(ticket, "Pedido de inscrição duplicado.");
+            } else if (admitidos.size() >= vagas) {
+                recusas.put(ticket, "Aula sem vagas disponíveis.");
+            } else {
+                admitidos.add(ticket);
+            }
+        }
+
+        if (admitidos.isEmpty()) return;
+
+        LocalDateTime agora = LocalDateTime.now();
+        List<UUID> alunoIds = admitidos.stream().map(ticket -> ticket.alunoId).toList();
+        int[] inseridos = inscricaoLoteRepository.inserirInscritos(aulaId, alunoIds, agora);
+
+        // Quem já tinha inscrição (cancelada ou em espera) é reativado; quem já está inscrito é recusado
+        List<Ticket> existentes = new ArrayList<>();
+        for (int i = 0; i < admitidos.size(); i++) {
+            if (inseridos[i] == 0) existentes.add(admitidos.get(i));
+        }
+
+        if (!existentes.isEmpty()) {
+            int[] reativados = inscricaoLoteRepository.reativarInscricoes(
+                    aulaId, existentes.stream().map(ticket -> ticket.alunoId).toList(), agora);
+            for (int i = 0; i < existentes.size(); i++) {
+                if (reativados[i] == 0) recusas.put(existentes.get(i), "Aluno já inscrito na aula.");
+            }
+        }
+
+        int confirmados = admitidos.size() - (int) admitidos.stream().filter(recusas::containsKey).count();
+        if (confirmados > 0 && aulaRepository.ocuparVagas(aulaId, confirmados) == 0) {
+            throw new IllegalStateException("Contador de vagas divergente na aula " + aulaId);
+        }
+    }
+
+    private String validarAula(Aula aula) {
+        if (aula == null) {
+            return "Aula não encontrada.";
+        }
+
+        if (LocalDateTime.now().isAfter(aula.getData().minusHours(1))) {
+            return "Inscrições para esta aula estão encerradas.";
+        }
+
+        if (aula.getStatus() != ClassStatus.DISPONIVEL) {
+            return "Aula não está disponível para inscrições.";
+        }
+
+        return null;
+    }
+
+    private void descartarTicketsExpirados() {
+        LocalDateTime limite = LocalDateTime.now().minus(retencaoTickets);
+        tickets.values().removeIf(ticket -> ticket.status != AdmissionStatus.PENDENTE && ticket.solicitadoEm.isBefore(limite));
+    }
+
+    private static class FilaAula {
+
+        private final UUID aulaId;
+        private final Queue<Ticket> pedidos = new ConcurrentLinkedQueue<>();
+        private final AtomicBoolean emExecucao = new AtomicBoolean();
+
+        private FilaAula(UUID aulaId) {
+            this.aulaId = aulaId;
+        }
+
+        private List<Ticket> retirarLote(int tamanho) {
+            List<Ticket> lote = new ArrayList<>(tamanho);
+            Ticket ticket;
+            while (lote.size() < tamanho && (ticket = pedidos.poll()) != null) {
+                lote.add(ticket);
+            }
+            return lote;
+        }
+    }
+
+    private static class Ticket {
+
+        private final UUID id;
+        private final UUID aulaId;
+        private final UUID alunoId;
+        private final UUID solicitanteId;
+        private final LocalDateTime solicitadoEm;
+        private final CompletableFuture<Void> decisao = new CompletableFuture<>();
+
+        private volatile AdmissionStatus status = AdmissionStatus.PENDENTE;
+        private volatile String motivo;
+
+        private Ticket(UUID id, UUID aulaId, UUID alunoId, UUID solicitanteId, LocalDateTime solicitadoEm) {
+            this.id = id;
+            this.aulaId = aulaId;
+            this.alunoId = alunoId;
+            this.solicitanteId = solicitanteId;
+            this.solicitadoEm = solicitadoEm;
+        }
+
+        private void confirmar() {
+            status = AdmissionStatus.CONFIRMADA;
+            decisao.complete(null);
+        }
+
+        private void recusar(String motivo) {
+            this.motivo = motivo;
+            status = AdmissionStatus.RECUSADA;
+            decisao.complete(null);
+        }
+
+        private TicketInscricaoResponse toResponse() {
+            return new TicketInscricaoResponse(id, aulaId, alunoId, status, motivo, solicitadoEm);
+        }
+    }
+}
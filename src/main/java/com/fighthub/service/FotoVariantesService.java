@@ -0,0 +1,175 @@
+package com.fighthub.service;
+
+import com.fighthub.repository.UsuarioRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+@Slf4j
+@Service
+public class FotoVariantesService {
+
+    private static final int TAMANHO_PAGINA = 1000;
+
+    private final StorageService storageService;
+    private final UsuarioRepository usuarioRepository;
+    private final ThreadPoolExecutor executor;
+    private final float qualidadeJpeg;
+
+    public FotoVariantesService(StorageService storageService,
+                                UsuarioRepository usuarioRepository,
+                                @Value("${uploads.variantes.threads:2}") int threads,
+                                @Value("${uploads.variantes.fila:100}") int fila,
+                                @Value("${uploads.variantes.qualidade-jpeg:0.82}") float qualidadeJpeg) {
+        this.storageService = storageService;
+        this.usuarioRepository = usuarioRepository;
+        // Fila limitada: se encher, quem fez o upload gera as próprias miniaturas em vez de acumular tarefas
+        this.executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(fila), new ThreadPoolExecutor.CallerRunsPolicy());
+        this.qualidadeJpeg = qualidadeJpeg;
+    }
+
+    // Só enfileira depois do commit, quando a nova chave já está gravada no usuário
+    public void agendar(String key) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            executor.execute(() -> gerar(key));
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                executor.execute(() -> gerar(key));
+            }
+        });
+    }
+
+    // Fotos enviadas antes das miniaturas existirem: as listagens já apontam para "<base>-128.jpg"
+    @EventListener(ApplicationReadyEvent.class)
+    public void gerarFaltantes() {
+        int agendadas = 0;
+        String ultima = "";
+        List<String> pagina;
+        do {
+            pagina = usuarioRepository.findFotosApos(ultima, TAMANHO_PAGINA);
+            for (String key : pagina) {
+                if (!StorageService.suportaVariantes(key) || !storageService.existe(key) || variantesProntas(key)) continue;
+                executor.execute(() -> gerar(key));
+                agendadas++;
+            }
+            if (!pagina.isEmpty()) ultima = pagina.get(pagina.size() - 1);
+        } while (pagina.size() >= TAMANHO_PAGINA);
+
+        if (agendadas > 0) log.info("Miniaturas agendadas para {} fotos existentes", agendadas);
+    }
+
+    @PreDestroy
+    public void encerrar() {
+        executor.shutdown();
+    }
+
+    void gerar(String key) {
+        if (!StorageService.suportaVariantes(key)) return;
+
+        // Conteúdo repetido reaproveita o mesmo arquivo e, portanto, as miniaturas já geradas
+        if (variantesProntas(key)) return;
+
+        try {
+            BufferedImage original;
+            try (InputStream in = storageService.abrir(key)) {
+                original = ImageIO.read(in);
+            }
+            if (original == null) {
+                log.warn("Formato de imagem não suportado para miniaturas: {}", key);
+                return;
+            }
+
+            // Decodifica uma vez e reduz em cascata (512 -> 128 -> 64): cada etapa parte da anterior, já menor
+            BufferedImage atual = recortarQuadrado(original);
+            for (int tamanho : StorageService.TAMANHOS_VARIANTES.stream().sorted(Comparator.reverseOrder()).toList()) {
+                atual = reduzir(atual, tamanho);
+                storageService.gravarVariante(key, tamanho, codificarJpeg(atual));
+            }
+        } catch (IOException | RuntimeException e) {
+            log.error("Falha ao gerar miniaturas da foto {}", key, e);
+        }
+    }
+
+    private boolean variantesProntas(String key) {
+        return StorageService.TAMANHOS_VARIANTES.stream()
+                .allMatch(tamanho -> storageService.existe(StorageService.chaveVariante(key, tamanho)));
+    }
+
+    // Avatares são quadrados: recorta o centro e achata transparência sobre fundo branco (JPEG não tem alfa)
+    private BufferedImage recortarQuadrado(BufferedImage imagem) {
+        int lado = Math.min(imagem.getWidth(), imagem.getHeight());
+        int x = (imagem.getWidth() - lado) / 2;
+        int y = (imagem.getHeight() - lado) / 2;
+
+        BufferedImage quadrado = new BufferedImage(lado, lado, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = quadrado.createGraphics();
+        try {
+            g.setColor(Color.WHITE);
+            g.fillRect(0, 0, lado, lado);
+            g.drawImage(imagem, 0, 0, lado, lado, x, y, x + lado, y + lado, null);
+        } finally {
+            g.dispose();
+        }
+        return quadrado;
+    }
+
+    // Reduções de no máximo metade por passo evitam o serrilhado de um único redimensionamento grande
+    private BufferedImage reduzir(BufferedImage imagem, int tamanho) {
+        BufferedImage atual = imagem;
+        while (atual.getWidth() > tamanho) {
+            int proximo = Math.max(tamanho, atual.getWidth() / 2);
+            BufferedImage reduzida = new BufferedImage(proximo, proximo, BufferedImage.TYPE_INT_RGB);
+            Graphics2D g = reduzida.createGraphics();
+            try {
+                g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+                g.drawImage(atual, 0, 0, proximo, proximo, null);
+            } finally {
+                g.dispose();
+            }
+            atual = reduzida;
+        }
+        return atual;
+    }
+
+    private byte[] codificarJpeg(BufferedImage imagem) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        ByteArrayOutputStream saida = new ByteArrayOutputStream();
+        try (ImageOutputStream out = ImageIO.createImageOutputStream(saida)) {
+            ImageWriteParam parametros = writer.getDefaultWriteParam();
+            parametros.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            parametros.setCompressionQuality(qualidadeJpeg);
+            writer.setOutput(out);
+            writer.write(null, new IIOImage(imagem, null, null), parametros);
+        } finally {
+            writer.dispose();
+        }
+        return saida.toByteArray();
+    }
+}
@@ -0,0 +1,127 @@
+package com.fighthub.service;
+
+import com.fighthub.dto.turma.GeracaoAulasResponse;
+import com.fighthub.exception.TurmaNaoEncontradaException;
+import com.fighthub.exception.ValidacaoException;
+import com.fighthub.model.Aula;
+import com.fighthub.model.RecorrenciaTurma;
+import com.fighthub.model.Turma;
+import com.fighthub.model.enums.ClassStatus;
+import com.fighthub.repository.AulaLoteRepository;
+import com.fighthub.repository.AulaRepository;
+import com.fighthub.repository.TurmaRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+@Slf4j
+@Service
+public class GeradorAulasService {
+
+    private static final int SEMANAS_MAXIMO = 52;
+
+    private final TurmaRepository turmaRepository;
+    private final AulaRepository aulaRepository;
+    private final AulaLoteRepository aulaLoteRepository;
+    private final ConflitoAgendaService conflitoAgendaService;
+    private final TransactionTemplate transactionTemplate;
+    private final int semanasPadrao;
+
+    public GeradorAulasService(TurmaRepository turmaRepository,
+                               AulaRepository aulaRepository,
+                               AulaLoteRepository aulaLoteRepository,
+                               ConflitoAgendaService conflitoAgendaService,
+                               PlatformTransactionManager transactionManager,
+                               @Value("${aulas.recorrencia.semanas:4}") int semanasPadrao) {
+        this.turmaRepository = turmaRepository;
+        this.aulaRepository = aulaRepository;
+        this.aulaLoteRepository = aulaLoteRepository;
+        this.conflitoAgendaService = conflitoAgendaService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.semanasPadrao = semanasPadrao;
+    }
+
+    @Scheduled(cron = "${aulas.recorrencia.cron:0 0 3 * * *}")
+    public void gerarAulasRecorrentes() {
+        for (Turma turma : turmaRepository.findAllByAtivoTrueAndRecorrenciaHoraInicioIsNotNull()) {
+            try {
+                Integer criadas = transactionTemplate.execute(status -> materializar(turma, semanasPadrao));
+                if (criadas != null && criadas > 0) {
+                    log.info("{} aulas geradas para a turma {}", criadas, turma.getId());
+                }
+            } catch (RuntimeException e) {
+                log.error("Falha ao gerar aulas da turma {}", turma.getId(), e);
+            }
+        }
+    }
+
+    @Transactional
+    public GeracaoAulasResponse gerarAulasDaTurma(UUID turmaId, int semanas) {
+        if (semanas < 1 || semanas > SEMANAS_MAXIMO) {
+            throw new ValidacaoException("Quantidade de semanas deve estar entre 1 e " + SEMANAS_MAXIMO + ".");
+        }
+
+        Turma turma = turmaRepository.findById(turmaId)
+                .orElseThrow(TurmaNaoEncontradaException::new);
+
+        if (!turma.isAtivo()) {
+            throw new ValidacaoException("Turma está inativa.");
+        }
+
+        if (turma.getRecorrencia() == null || !turma.getRecorrencia().isDefinida()) {
+            throw new ValidacaoException("Turma não possui recorrência definida.");
+        }
+
+        return new GeracaoAulasResponse(turmaId, semanas, materializar(turma, semanas));
+    }
+
+    private int materializar(Turma turma, int semanas) {
+        RecorrenciaTurma recorrencia = turma.getRecorrencia();
+        if (recorrencia == null || !recorrencia.isDefinida()) return 0;
+
+        LocalDateTime agora = LocalDateTime.now();
+        LocalDate inicio = agora.toLocalDate();
+        LocalDate fim = inicio.plusWeeks(semanas);
+
+        // Só cria o que falta: horários já ocupados pela turma (gerados ou avulsos) são ignorados
+        Set<LocalDateTime> existentes = new HashSet<>(
+                aulaRepository.findDatasByTurmaIdBetween(turma.getId(), inicio.atStartOfDay(), fim.atStartOfDay()));
+
+        List<Aula> novas = inicio.datesUntil(fim)
+                .filter(dia -> recorrencia.getDiasSemana().contains(dia.getDayOfWeek()))
+                .map(dia -> dia.atTime(recorrencia.getHoraInicio()))
+                .filter(data -> data.isAfter(agora) && !existentes.contains(data))
+                .map(data -> novaOcorrencia(turma, recorrencia, data))
+                .toList();
+
+        // Conflitos de agenda das ocorrências geradas são apenas sinalizados no relatório
+        List<Aula> inseridas = aulaLoteRepository.inserirOcorrencias(novas);
+        if (!inseridas.isEmpty()) conflitoAgendaService.registrar(inseridas);
+        return inseridas.size();
+    }
+
+    private Aula novaOcorrencia(Turma turma, RecorrenciaTurma recorrencia, LocalDateTime data) {
+        return Aula.builder()
+                .id(UUID.randomUUID())
+                .titulo(turma.getNome())
+                .data(data)
+                .turma(turma)
+                .limiteAlunos(recorrencia.getLimiteAlunos())
+                .duracaoMinutos(recorrencia.getDuracaoMinutos())
+                .status(ClassStatus.DISPONIVEL)
+                .ativo(true)
+                .recorrente(true)
+                .build();
+    }
+}
@@ -0,0 +1,155 @@
+package com.fighthub.service;
+
+import com.fighthub.dto.aluno.AlunoElegivelGraduacaoResponse;
+import com.fighthub.dto.aluno.GraduacaoLoteRequest;
+import com.fighthub.dto.aluno.GraduacaoLoteResponse;
+import com.fighthub.dto.aluno.GraduacaoLoteResponse.Resultado;
+import com.fighthub.exception.ValidacaoException;
+import com.fighthub.model.Aluno;
+import com.fighthub.model.GraduacaoAluno;
+import com.fighthub.model.GraduacaoHistorico;
+import com.fighthub.model.enums.BeltGraduation;
+import com.fighthub.model.enums.GraduationLevel;
+import com.fighthub.repository.AlunoLoteRepository;
+import com.fighthub.repository.AlunoLoteRepository.AlteracaoGraduacao;
+import com.fighthub.repository.AlunoRepository;
+import com.fighthub.repository.GraduacaoHistoricoRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Service
+public class GraduacaoService {
+
+    private final AlunoRepository alunoRepository;
+    private final GraduacaoHistoricoRepository graduacaoHistoricoRepository;
+    private final AlunoLoteRepository alunoLoteRepository;
+    private final int aulasMinimasGrau;
+    private final int aulasMinimasFaixa;
+
+    public GraduacaoService(AlunoRepository alunoRepository,
+                            GraduacaoHistoricoRepository graduacaoHistoricoRepository,
+                            AlunoLoteRepository alunoLoteRepository,
+                            @Value("${graduacao.aulas-minimas-grau:30}") int aulasMinimasGrau,
+                            @Value("${graduacao.aulas-minimas-faixa:60}") int aulasMinimasFaixa) {
+        this.alunoRepository = alunoRepository;
+        this.graduacaoHistoricoRepository = graduacaoHistoricoRepository;
+        this.alunoLoteRepository = alunoLoteRepository;
+        this.aulasMinimasGrau = aulasMinimasGrau;
+        this.aulasMinimasFaixa = aulasMinimasFaixa;
+    }
+
+    @Transactional(readOnly = true)
+    public Page<AlunoElegivelGraduacaoResponse> listarElegiveis(Pageable pageable) {
+        // A ordenação é o próprio ranking (mais aulas primeiro); ordenação do cliente é ignorada
+        Pageable pagina = PageRequest.of(pageable.getPageNumber(), pageable.getPageSize());
+        return alunoRepository.findElegiveisGraduacao(
+                GraduationLevel.IV, BeltGraduation.PRETA, aulasMinimasGrau, aulasMinimasFaixa, pagina
+        ).map(aluno -> {
+            boolean promocaoDeFaixa = aluno.getNivel() == GraduationLevel.IV;
+            return new AlunoElegivelGraduacaoResponse(
+                    aluno.getId(),
+                    aluno.getNome(),
+                    aluno.getFaixa(),
+                    aluno.getNivel(),
+                    aluno.getAulasDesdeGraduacao(),
+                    promocaoDeFaixa ? aulasMinimasFaixa : aulasMinimasGrau,
+                    promocaoDeFaixa,
+                    aluno.getDataUltimaGraduacao()
+            );
+        });
+    }
+
+    // Uma consulta para carregar os alunos, um lote JDBC para atualizar e outro para o histórico
+    @Transactional
+    public GraduacaoLoteResponse aplicarEmLote(GraduacaoLoteRequest request) {
+        List<GraduacaoLoteRequest.Item> itens = request.graduacoes();
+        Set<UUID> ids = itens.stream().map(GraduacaoLoteRequest.Item::alunoId).collect(Collectors.toSet());
+        Map<UUID, AlunoRepository.AlunoGraduacao> alunos = alunoRepository.findGraduacoesByIdIn(ids).stream()
+                .collect(Collectors.toMap(AlunoRepository.AlunoGraduacao::getId, Function.identity()));
+
+        Resultado[] resultados = new Resultado[itens.size()];
+        List<AlteracaoGraduacao> alteracoes = new ArrayList<>();
+        List<Integer> posicoes = new ArrayList<>();
+        Set<UUID> vistos = new HashSet<>();
+
+        for (int i = 0; i < itens.size(); i++) {
+            var item = itens.get(i);
+            var aluno = alunos.get(item.alunoId());
+
+            if (!vistos.add(item.alunoId())) {
+                resultados[i] = rejeitada(item, "Aluno repetido no lote.");
+                continue;
+            }
+            if (aluno == null) {
+                resultados[i] = rejeitada(item, "Aluno não encontrado.");
+                continue;
+            }
+
+            var graduacao = new GraduacaoAluno(aluno.getFaixa(), aluno.getNivel());
+            try {
+                RegrasGraduacao.aplicar(item.acao(), graduacao, aluno.getDataNascimento());
+            } catch (ValidacaoException e) {
+                resultados[i] = rejeitada(item, e.getMessage());
+                continue;
+            }
+
+            alteracoes.add(new AlteracaoGraduacao(aluno.getId(), aluno.getFaixa(), aluno.getNivel(),
+                    graduacao.getBelt(), graduacao.getLevel(), item.acao().isPromocao(), aluno.getAulasDesdeGraduacao()));
+            posicoes.add(i);
+        }
+
+        LocalDateTime agora = LocalDateTime.now();
+        int[] atualizados = alunoLoteRepository.atualizarGraduacoes(alteracoes, agora);
+
+        List<AlteracaoGraduacao> aplicadas = new ArrayList<>();
+        for (int k = 0; k < alteracoes.size(); k++) {
+            var alteracao = alteracoes.get(k);
+            var item = itens.get(posicoes.get(k));
+            if (atualizados[k] == 0) {
+                resultados[posicoes.get(k)] = rejeitada(item, "Graduação do aluno foi alterada por outra operação.");
+                continue;
+            }
+            aplicadas.add(alteracao);
+            resultados[posicoes.get(k)] = new Resultado(item.alunoId(), item.acao(), true,
+                    alteracao.faixa(), alteracao.nivel(), null);
+        }
+        alunoLoteRepository.registrarHistoricoGraduacoes(aplicadas, agora);
+
+        return new GraduacaoLoteResponse(aplicadas.size(), itens.size() - aplicadas.size(), List.of(resultados));
+    }
+
+    // Chamado depois que a graduação do aluno já foi alterada; promoções zeram o contador de aulas
+    @Transactional
+    public void registrarAlteracao(Aluno aluno, BeltGraduation faixaAnterior, GraduationLevel nivelAnterior, boolean promocao) {
+        LocalDateTime agora = LocalDateTime.now();
+        graduacaoHistoricoRepository.save(GraduacaoHistorico.builder()
+                .alunoId(aluno.getId())
+                .faixaAnterior(faixaAnterior)
+                .nivelAnterior(nivelAnterior)
+                .faixa(aluno.getGraduacao().getBelt())
+                .nivel(aluno.getGraduacao().getLevel())
+                .aulasNoPeriodo(aluno.getAulasDesdeGraduacao())
+                .registradoEm(agora)
+                .build());
+
+        if (promocao) alunoRepository.reiniciarAulasDesdeGraduacao(aluno.getId(), agora);
+    }
+
+    @Transactional
+    public void registrarPresenca(UUID alunoId, int delta, LocalDateTime dataAula) {
+        if (delta != 0) alunoRepository.ajustarAulasDesdeGraduacao(alunoId, delta, dataAula);
+    }
+
+    private static Resultado rejeitada(GraduacaoLoteRequest.Item item, String mensagem) {
+        return new Resultado(item.alunoId(), item.acao(), false, null, null, mensagem);
+    }
+}
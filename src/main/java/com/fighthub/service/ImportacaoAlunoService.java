@@ -0,0 +1,345 @@
+package com.fighthub.service;
+
+import com.fighthub.dto.aluno.CriarAlunoRequest;
+import com.fighthub.dto.aluno.ImportacaoAlunosResponse;
+import com.fighthub.dto.aluno.ImportacaoAlunosResponse.ErroLinha;
+import com.fighthub.exception.ValidacaoException;
+import com.fighthub.model.Aluno;
+import com.fighthub.model.GraduacaoAluno;
+import com.fighthub.model.Token;
+import com.fighthub.model.Usuario;
+import com.fighthub.model.enums.BeltGraduation;
+import com.fighthub.model.enums.GraduationLevel;
+import com.fighthub.model.enums.Role;
+import com.fighthub.model.enums.TokenType;
+import com.fighthub.repository.AlunoLoteRepository;
+import com.fighthub.repository.ResponsavelRepository;
+import com.fighthub.repository.UsuarioRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Session;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.Period;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.*;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Service
+public class ImportacaoAlunoService {
+
+    private static final List<String> COLUNAS_OBRIGATORIAS = List.of("nome", "email", "cpf", "datanascimento");
+    private static final String COLUNA_RESPONSAVEIS = "responsaveis";
+    private static final DateTimeFormatter DATA_BR = DateTimeFormatter.ofPattern("dd/MM/yyyy");
+
+    private final UsuarioRepository usuarioRepository;
+    private final ResponsavelRepository responsavelRepository;
+    private final AlunoLoteRepository alunoLoteRepository;
+    private final JwtService jwtService;
+    private final EmailService emailService;
+    private final Validator validator;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final int tamanhoLote;
+
+    public ImportacaoAlunoService(UsuarioRepository usuarioRepository,
+                                  ResponsavelRepository responsavelRepository,
+                                  AlunoLoteRepository alunoLoteRepository,
+                                  JwtService jwtService,
+                                  EmailService emailService,
+                                  Validator validator,
+                                  EntityManager entityManager,
+                                  PlatformTransactionManager transactionManager,
+                                  @Value("${alunos.importacao.tamanho-lote:500}") int tamanhoLote) {
+        this.usuarioRepository = usuarioRepository;
+        this.responsavelRepository = responsavelRepository;
+        this.alunoLoteRepository = alunoLoteRepository;
+        this.jwtService = jwtService;
+        this.emailService = emailService;
+        this.validator = validator;
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.tamanhoLote = tamanhoLote;
+    }
+
+    public ImportacaoAlunosResponse importar(MultipartFile arquivo) {
+        if (arquivo == null || arquivo.isEmpty()) throw new ValidacaoException("Arquivo CSV vazio.");
+
+        // Unicidade conferida em memória: uma consulta para cada coluna em vez de duas por linha
+        Set<String> emails = usuarioRepository.findAllEmails().stream()
+                .map(email -> email.toLowerCase(Locale.ROOT))
+                .collect(Collectors.toCollection(HashSet::new));
+        Set<String> cpfs = usuarioRepository.findAllCpfs().stream()
+                .map(ImportacaoAlunoService::somenteDigitos)
+                .collect(Collectors.toCollection(HashSet::new));
+
+        List<ErroLinha> erros = new ArrayList<>();
+        List<LinhaAluno> lote = new ArrayList<>(tamanhoLote);
+        int processadas = 0;
+        int importados = 0;
+
+        try (BufferedReader leitor = new BufferedReader(new InputStreamReader(arquivo.getInputStream(), StandardCharsets.UTF_8))) {
+            String cabecalho = leitor.readLine();
+            if (cabecalho == null) throw new ValidacaoException("Arquivo CSV vazio.");
+
+            cabecalho = cabecalho.replace("\uFEFF", "");
+            char separador = cabecalho.indexOf(';') >= 0 && cabecalho.indexOf(',') < 0 ? ';' : ',';
+            Map<String, Integer> colunas = mapearColunas(dividir(cabecalho, separador));
+
+            String linha;
+            long numero = 1;
+            while ((linha = leitor.readLine()) != null) {
+                numero++;
+                if (linha.isBlank()) continue;
+                processadas++;
+
+                try {
+                    lote.add(validarLinha(numero, dividir(linha, separador), colunas, emails, cpfs));
+                } catch (ValidacaoException e) {
+                    erros.add(new ErroLinha(numero, e.getMessage()));
+                }
+
+                if (lote.size() >= tamanhoLote) {
+                    importados += gravarLote(lote, erros, emails, cpfs);
+                    lote.clear();
+                }
+            }
+            importados += gravarLote(lote, erros, emails, cpfs);
+        } catch (IOException e) {
+            throw new ValidacaoException("Não foi possível ler o arquivo CSV.");
+        }
+
+        erros.sort(Comparator.comparingLong(ErroLinha::linha));
+        return new ImportacaoAlunosResponse(processadas, importados, erros);
+    }
+
+    private LinhaAluno validarLinha(long numero, List<String> campos, Map<String, Integer> colunas,
+                                    Set<String> emails, Set<String> cpfs) {
+        var request = new CriarAlunoRequest(
+                campo(campos, colunas, "nome"),
+                campo(campos, colunas, "email"),
+                campo(campos, colunas, "cpf"),
+                lerData(campo(campos, colunas, "datanascimento")),
+                lerResponsaveis(campo(campos, colunas, COLUNA_RESPONSAVEIS))
+        );
+
+        Set<ConstraintViolation<CriarAlunoRequest>> violacoes = validator.validate(request);
+        if (!violacoes.isEmpty()) {
+            throw new ValidacaoException(violacoes.stream()
+                    .map(ConstraintViolation::getMessage)
+                    .sorted()
+                    .collect(Collectors.joining("; ")));
+        }
+
+        boolean menorDeIdade = Period.between(request.dataNascimento(), LocalDate.now()).getYears() < 18;
+        if (menorDeIdade && request.idsResponsaveis().isEmpty()) {
+            throw new ValidacaoException("Aluno menor de idade deve ter ao menos um responsável");
+        }
+
+        String email = request.email().toLowerCase(Locale.ROOT);
+        String cpf = somenteDigitos(request.cpf());
+        if (emails.contains(email)) throw new ValidacaoException("E-mail já cadastrado");
+        if (cpfs.contains(cpf)) throw new ValidacaoException("Usuário já existente com este CPF");
+
+        // Reserva já na leitura para barrar repetições dentro do próprio arquivo; liberada se a linha for recusada
+        emails.add(email);
+        cpfs.add(cpf);
+
+        // Como em AlunoService.criarAluno, responsáveis só são vinculados a menores de idade
+        return new LinhaAluno(numero, request, email, cpf, menorDeIdade ? request.idsResponsaveis() : List.of());
+    }
+
+    private int gravarLote(List<LinhaAluno> lote, List<ErroLinha> erros, Set<String> emails, Set<String> cpfs) {
+        if (lote.isEmpty()) return 0;
+
+        Set<UUID> idsResponsaveis = lote.stream()
+                .flatMap(linha -> linha.idsResponsaveis().stream())
+                .collect(Collectors.toSet());
+        Set<UUID> existentes = idsResponsaveis.isEmpty()
+                ? Set.of()
+                : new HashSet<>(responsavelRepository.findIdsExistentes(idsResponsaveis));
+
+        List<LinhaAluno> validas = new ArrayList<>(lote.size());
+        for (LinhaAluno linha : lote) {
+            if (existentes.containsAll(linha.idsResponsaveis())) {
+                validas.add(linha);
+            } else {
+                erros.add(new ErroLinha(linha.numero(), "Responsável não encontrado."));
+                liberar(linha, emails, cpfs);
+            }
+        }
+        if (validas.isEmpty()) return 0;
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> persistir(validas));
+        } catch (RuntimeException e) {
+            log.error("Falha ao gravar lote de importação de alunos (linhas {} a {})",
+                    validas.get(0).numero(), validas.get(validas.size() - 1).numero(), e);
+            validas.forEach(linha -> {
+                erros.add(new ErroLinha(linha.numero(), "Não foi possível gravar esta linha."));
+                liberar(linha, emails, cpfs);
+            });
+            return 0;
+        }
+
+        return validas.size();
+    }
+
+    // Linha recusada não ocupa o e-mail nem o CPF: uma linha posterior com os mesmos dados ainda pode ser importada
+    private static void liberar(LinhaAluno linha, Set<String> emails, Set<String> cpfs) {
+        emails.remove(linha.email());
+        cpfs.remove(linha.cpf());
+    }
+
+    // Persiste por tipo (usuários, alunos, tokens) para que cada tipo saia em lotes JDBC contínuos no flush
+    private void persistir(List<LinhaAluno> linhas) {
+        entityManager.unwrap(Session.class).setJdbcBatchSize(tamanhoLote);
+        LocalDateTime agora = LocalDateTime.now();
+
+        List<Usuario> usuarios = new ArrayList<>(linhas.size());
+        for (LinhaAluno linha : linhas) {
+            Usuario usuario = Usuario.builder()
+                    .nome(linha.request().nome())
+                    .email(linha.request().email())
+                    .cpf(linha.request().cpf())
+                    .role(Role.ALUNO)
+                    .ativo(false)
+                    .loginSocial(false)
+                    .build();
+            entityManager.persist(usuario);
+            usuarios.add(usuario);
+        }
+
+        List<UUID[]> vinculos = new ArrayList<>();
+        for (int i = 0; i < linhas.size(); i++) {
+            Aluno aluno = Aluno.builder()
+                    .usuario(usuarios.get(i))
+                    .dataMatricula(agora.toLocalDate())
+                    .dataNascimento(linhas.get(i).request().dataNascimento())
+                    .responsaveis(new ArrayList<>())
+                    .graduacao(new GraduacaoAluno(BeltGraduation.BRANCA, GraduationLevel.ZERO))
+                    .build();
+            entityManager.persist(aluno);
+            linhas.get(i).idsResponsaveis().forEach(id -> vinculos.add(new UUID[]{aluno.getId(), id}));
+        }
+
+        List<Ativacao> ativacoes = new ArrayList<>(usuarios.size());
+        for (Usuario usuario : usuarios) {
+            String tokenJwt = jwtService.gerarTokenAtivacao(usuario);
+            entityManager.persist(Token.builder()
+                    .usuario(usuario)
+                    .token(tokenJwt)
+                    .tokenType(TokenType.ATIVACAO)
+                    .expired(false)
+                    .revoked(false)
+                    .criadoEm(agora)
+                    .expiraEm(agora.plusDays(1))
+                    .build());
+            ativacoes.add(new Ativacao(usuario, tokenJwt));
+        }
+
+        entityManager.flush();
+        alunoLoteRepository.vincularResponsaveis(vinculos);
+
+        // E-mails de ativação entram na caixa de saída na mesma transação do lote: só saem se ele for gravado
+        ativacoes.forEach(ativacao -> emailService.enviarEmailAtivacao(ativacao.usuario(), ativacao.token()));
+    }
+
+    private static Map<String, Integer> mapearColunas(List<String> cabecalho) {
+        Map<String, Integer> colunas = new HashMap<>();
+        for (int i = 0; i < cabecalho.size(); i++) {
+            colunas.put(cabecalho.get(i).trim().toLowerCase(Locale.ROOT), i);
+        }
+
+        List<String> ausentes = COLUNAS_OBRIGATORIAS.stream().filter(c -> !colunas.containsKey(c)).toList();
+        if (!ausentes.isEmpty()) {
+            throw new ValidacaoException("Colunas obrigatórias ausentes no CSV: " + String.join(", ", ausentes));
+        }
+        return colunas;
+    }
+
+    private static String campo(List<String> campos, Map<String, Integer> colunas, String nome) {
+        Integer indice = colunas.get(nome);
+        if (indice == null || indice >= campos.size()) return null;
+        String valor = campos.get(indice).trim();
+        return valor.isEmpty() ? null : valor;
+    }
+
+    private static LocalDate lerData(String valor) {
+        if (valor == null) return null;
+        try {
+            return valor.contains("/") ? LocalDate.parse(valor, DATA_BR) : LocalDate.parse(valor);
+        } catch (DateTimeParseException e) {
+            throw new ValidacaoException("Data de nascimento inválida: " + valor);
+        }
+    }
+
+    // Ids separados por "|"
+    private static List<UUID> lerResponsaveis(String valor) {
+        if (valor == null) return List.of();
+        try {
+            return Arrays.stream(valor.split("\\|"))
+                    .map(String::trim)
+                    .filter(id -> !id.isEmpty())
+                    .map(UUID::fromString)
+                    .distinct()
+                    .toList();
+        } catch (IllegalArgumentException e) {
+            throw new ValidacaoException("Id de responsável inválido: " + valor);
+        }
+    }
+
+    // Separa uma linha CSV respeitando campos entre aspas e aspas duplicadas ("")
+    static List<String> dividir(String linha, char separador) {
+        List<String> campos = new ArrayList<>();
+        StringBuilder atual = new StringBuilder();
+        boolean entreAspas = false;
+
+        for (int i = 0; i < linha.length(); i++) {
+            char c = linha.charAt(i);
+            if (entreAspas) {
+                if (c == '"' && i + 1 < linha.length() && linha.charAt(i + 1) == '"') {
+                    atual.append('"');
+                    i++;
+                } else if (c == '"') {
+                    entreAspas = false;
+                } else {
+                    atual.append(c);
+                }
+            } else if (c == '"') {
+                entreAspas = true;
+            } else if (c == separador) {
+                campos.add(atual.toString());
+                atual.setLength(0);
+            } else {
+                atual.append(c);
+            }
+        }
+        campos.add(atual.toString());
+        return campos;
+    }
+
+    private static String somenteDigitos(String cpf) {
+        return cpf.replaceAll("\\D", "");
+    }
+
+    private record LinhaAluno(long numero, CriarAlunoRequest request, String email, String cpf, List<UUID> idsResponsaveis) {
+    }
+
+    private record Ativacao(Usuario usuario, String token) {
+    }
+}
@@ -1,6 +1,8 @@
 package com.fighthub.service;
 
 import com.fighthub.dto.inscricao.InscricaoResponse;
+import com.fighthub.dto.inscricao.InscricaoTurmaResponse;
+import com.fighthub.dto.inscricao.TicketInscricaoResponse;
 import com.fighthub.exception.AlunoNaoEncontradoException;
 import com.fighthub.exception.AulaNaoEncontradaException;
 import com.fighthub.exception.UsuarioNaoEncontradoException;
@@ -18,6 +20,7 @@ import com.fighthub.repository.InscricaoRepository;
 import com.fighthub.repository.UsuarioRepository;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
+import org.hibernate.Hibernate;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpHeaders;
@@ -25,6 +28,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.Optional;
 import java.util.UUID;
 
 @Service
@@ -36,18 +40,14 @@ public class InscricaoService {
     private final UsuarioRepository usuarioRepository;
     private final AulaRepository aulaRepository;
     private final JwtService jwtService;
+    private final ReservaVagaService reservaVagaService;
+    private final EmailService emailService;
+    private final FilaAdmissaoService filaAdmissaoService;
 
     @Transactional
     public InscricaoResponse inscreverAluno(UUID idAula, UUID alunoId, HttpServletRequest request) {
         Aula aula = buscarAulaPorId(idAula);
-        Aluno aluno;
-
-        if (alunoId != null) {
-            aluno = alunoRepository.findById(alunoId)
-                    .orElseThrow(AlunoNaoEncontradoException::new);
-        } else {
-            aluno = obterAlunoLogado(request);
-        }
+        Aluno aluno = buscarAluno(alunoId, request);
 
         var optional = inscricaoRepository.findByAulaAndAluno(aula, aluno);
         if (optional.isPresent()) {
@@ -58,6 +58,7 @@ public class InscricaoService {
             }
 
             verificaDisponibilidadeInscricao(aula);
+            reservaVagaService.reservarVaga(aula);
 
             inscricao.setStatus(SubscriptionStatus.INSCRITO);
             inscricao.setInscritoEm(LocalDateTime.now());
@@ -66,22 +67,92 @@ public class InscricaoService {
         }
 
         verificaDisponibilidadeInscricao(aula);
+        reservaVagaService.reservarVaga(aula);
         Inscricao novaInscricao = inscricaoRepository.save(new Inscricao(aluno, aula, SubscriptionStatus.INSCRITO, LocalDateTime.now()));
         return InscricaoMapper.toDTO(novaInscricao);
     }
 
+    public TicketInscricaoResponse solicitarInscricao(UUID idAula, UUID alunoId, HttpServletRequest request) {
+        Aluno aluno = buscarAluno(alunoId, request);
+        return filaAdmissaoService.enfileirar(idAula, aluno.getId(), obterUsuarioLogado(request).getId());
+    }
+
+    public TicketInscricaoResponse consultarSolicitacao(UUID idAula, UUID ticket, HttpServletRequest request) {
+        return filaAdmissaoService.consultar(idAula, ticket, obterUsuarioLogado(request).getId());
+    }
+
     @Transactional
-    public void cancelarInscricao(UUID idAula, UUID alunoId, HttpServletRequest request) {
+    public InscricaoTurmaResponse inscreverTurma(UUID idAula) {
         Aula aula = buscarAulaPorId(idAula);
-        Aluno aluno;
+        verificaDisponibilidadeInscricao(aula);
 
-        if (alunoId != null) {
-            aluno = alunoRepository.findById(alunoId)
-                    .orElseThrow(AlunoNaoEncontradoException::new);
-        } else {
-            aluno = obterAlunoLogado(request);
+        if (aula.getTurma() == null) {
+            throw new ValidacaoException("Aula não está vinculada a uma turma.");
+        }
+
+        UUID turmaId = aula.getTurma().getId();
+
+        // Bloqueia a linha da aula: reservas individuais aguardam até o fim da inscrição em lote
+        int vagasDisponiveis = Math.max(aula.getLimiteAlunos() - aulaRepository.bloquearVagasOcupadas(idAula), 0);
+
+        var membros = inscricaoRepository.contarMembrosTurma(idAula, turmaId);
+        int total = (int) membros.getTotal();
+        int jaPossuiamInscricao = (int) membros.getInscritos();
+        int pendentes = total - jaPossuiamInscricao;
+
+        int inscritos = 0;
+        if (pendentes > 0 && vagasDisponiveis > 0) {
+            LocalDateTime agora = LocalDateTime.now();
+            inscritos = inscricaoRepository.reativarAlunosDaTurma(idAula, turmaId, vagasDisponiveis, agora);
+            if (inscritos < Math.min(pendentes, vagasDisponiveis)) {
+                inscritos += inscricaoRepository.inscreverAlunosDaTurma(idAula, turmaId, vagasDisponiveis - inscritos, agora);
+            }
+        }
+
+        if (inscritos > 0 && aulaRepository.ocuparVagas(idAula, inscritos) == 0) {
+            throw new ValidacaoException("Aula sem vagas disponíveis.");
+        }
+
+        return new InscricaoTurmaResponse(idAula, turmaId, total, inscritos, jaPossuiamInscricao, pendentes - inscritos);
+    }
+
+    @Transactional
+    public InscricaoResponse entrarListaEspera(UUID idAula, UUID alunoId, HttpServletRequest request) {
+        Aula aula = buscarAulaPorId(idAula);
+        Aluno aluno = buscarAluno(alunoId, request);
+
+        verificaDisponibilidadeInscricao(aula);
+
+        // Lê a ocupação sob o mesmo lock do cancelamento: ou a vaga liberada é vista aqui, ou o cancelamento promove este aluno
+        if (aulaRepository.bloquearVagasOcupadas(idAula) < aula.getLimiteAlunos()) {
+            throw new ValidacaoException("Aula possui vagas disponíveis.");
         }
 
+        Inscricao inscricao = inscricaoRepository.findByAulaAndAluno(aula, aluno)
+                .orElseGet(() -> new Inscricao(aluno, aula, null, null));
+
+        if (inscricao.getStatus() == SubscriptionStatus.INSCRITO) {
+            throw new ValidacaoException("Aluno já inscrito na aula.");
+        }
+
+        if (inscricao.getStatus() == SubscriptionStatus.EM_ESPERA) {
+            throw new ValidacaoException("Aluno já está na lista de espera.");
+        }
+
+        inscricao.setStatus(SubscriptionStatus.EM_ESPERA);
+        inscricao.setInscritoEm(LocalDateTime.now());
+        return InscricaoMapper.toDTO(inscricaoRepository.save(inscricao));
+    }
+
+    @Transactional
+    public void cancelarInscricao(UUID idAula, UUID alunoId, HttpServletRequest request) {
+        Aula aula = buscarAulaPorId(idAula);
+        Aluno aluno = buscarAluno(alunoId, request);
+
+        // Trava a aula antes de ler o status: cancelamentos concorrentes da mesma inscrição e a entrada na lista
+        // de espera passam um de cada vez, e a leitura abaixo já vê o que o anterior gravou
+        aulaRepository.bloquearVagasOcupadas(idAula);
+
         Inscricao inscricao = inscricaoRepository.findByAulaAndAluno(aula, aluno)
                 .orElseThrow(() -> new ValidacaoException("Aluno não está inscrito na aula."));
 
@@ -89,8 +160,32 @@ public class InscricaoService {
             throw new ValidacaoException("Inscrição já está cancelada.");
         }
 
+        SubscriptionStatus statusAnterior = inscricao.getStatus();
         inscricao.setStatus(SubscriptionStatus.CANCELADO);
         inscricaoRepository.save(inscricao);
+
+        if (statusAnterior == SubscriptionStatus.INSCRITO)
+            transferirVagaParaListaEspera(aula);
+    }
+
+    // Ocupa as vagas livres (ex.: após aumento do limite da aula) com os próximos da lista de espera
+    @Transactional
+    public int promoverListaEspera(Aula aula) {
+        if (!inscricoesAbertas(aula)) return 0;
+
+        int vagasLivres = aula.getLimiteAlunos() - aulaRepository.bloquearVagasOcupadas(aula.getId());
+        int promovidos = 0;
+        while (promovidos < vagasLivres) {
+            Optional<Inscricao> proxima = inscricaoRepository.findProximaEmEspera(aula.getId());
+            if (proxima.isEmpty()) break;
+            promover(proxima.get(), aula);
+            promovidos++;
+        }
+
+        if (promovidos > 0 && aulaRepository.ocuparVagas(aula.getId(), promovidos) == 0) {
+            throw new ValidacaoException("Aula sem vagas disponíveis.");
+        }
+        return promovidos;
     }
 
     public Page<InscricaoResponse> buscarInscricoesPorAula(UUID idAula, Pageable pageable) {
@@ -103,15 +198,49 @@ public class InscricaoService {
         return InscricaoMapper.toPageDTO(inscricaoRepository.findAllByAlunoAndStatus(aluno, SubscriptionStatus.INSCRITO, pageable));
     }
 
+    private void transferirVagaParaListaEspera(Aula aula) {
+        Optional<Inscricao> proxima = inscricoesAbertas(aula)
+                ? inscricaoRepository.findProximaEmEspera(aula.getId())
+                : Optional.empty();
+
+        proxima.ifPresentOrElse(
+                inscricao -> promover(inscricao, aula),
+                () -> reservaVagaService.liberarVaga(aula)
+        );
+    }
+
+    // O e-mail vai para a caixa de saída na mesma transação: promoção desfeita não notifica o aluno
+    private void promover(Inscricao inscricao, Aula aula) {
+        inscricao.setStatus(SubscriptionStatus.INSCRITO);
+        inscricao.setInscritoEm(LocalDateTime.now());
+        inscricaoRepository.save(inscricao);
+
+        Usuario usuario = (Usuario) Hibernate.unproxy(inscricao.getAluno().getUsuario());
+        emailService.enviarEmailPromocaoListaEspera(usuario, aula);
+    }
+
+    private Aluno buscarAluno(UUID alunoId, HttpServletRequest request) {
+        if (alunoId != null) {
+            return alunoRepository.findById(alunoId)
+                    .orElseThrow(AlunoNaoEncontradoException::new);
+        }
+
+        return obterAlunoLogado(request);
+    }
+
     private Aluno obterAlunoLogado(HttpServletRequest request) {
+        Usuario usuario = obterUsuarioLogado(request);
+
+        return alunoRepository.findByUsuarioId(usuario.getId())
+                .orElseThrow(AlunoNaoEncontradoException::new);
+    }
+
+    private Usuario obterUsuarioLogado(HttpServletRequest request) {
         String authHeader = request.getHeader(HttpHeaders.AUTHORIZATION);
         String email = jwtService.extrairEmail(authHeader.substring(7));
 
-        Usuario usuario = usuarioRepository.findByEmail(email)
+        return usuarioRepository.findByEmail(email)
                 .orElseThrow(UsuarioNaoEncontradoException::new);
-
-        return alunoRepository.findByUsuarioId(usuario.getId())
-                .orElseThrow(AlunoNaoEncontradoException::new);
     }
 
     private Aula buscarAulaPorId(UUID idAula) {
@@ -119,6 +248,11 @@ public class InscricaoService {
                 .orElseThrow(AulaNaoEncontradaException::new);
     }
 
+    private boolean inscricoesAbertas(Aula aula) {
+        return aula.getStatus() == ClassStatus.DISPONIVEL
+                && !LocalDateTime.now().isAfter(aula.getData().minusHours(1));
+    }
+
     private void verificaDisponibilidadeInscricao(Aula aula) {
         if (aula == null) {
             throw new ValidacaoException("Aula não encontrada.");
@@ -0,0 +1,81 @@
+package com.fighthub.service;
+
+import com.fighthub.dto.aluno.AlunoMenorPendenteContagemResponse;
+import com.fighthub.dto.aluno.AlunoMenorPendenteResponse;
+import com.fighthub.mapper.AlunoMapper;
+import com.fighthub.repository.AlunoRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Service
+public class MenoresSemResponsavelService {
+
+    private final AlunoRepository alunoRepository;
+    private final long ttlNanos;
+
+    // A versão impede que uma contagem iniciada antes de uma invalidação volte para o cache
+    private final AtomicLong versao = new AtomicLong();
+    private volatile Contagem contagem;
+
+    public MenoresSemResponsavelService(AlunoRepository alunoRepository,
+                                        @Value("${alunos.menores-sem-responsavel.cache-ttl-segundos:60}") long ttlSegundos) {
+        this.alunoRepository = alunoRepository;
+        this.ttlNanos = Duration.ofSeconds(ttlSegundos).toNanos();
+    }
+
+    @Transactional(readOnly = true)
+    public List<AlunoMenorPendenteResponse> listar() {
+        return alunoRepository.findMenoresSemResponsavel(dataLimite()).stream()
+                .map(AlunoMapper::toMenorPendenteDTO)
+                .toList();
+    }
+
+    // Badge do painel consultado com frequência: a contagem fica em memória até expirar ou ser invalidada
+    public AlunoMenorPendenteContagemResponse contar() {
+        Contagem atual = contagem;
+        if (atual == null || System.nanoTime() - atual.calculadaEmNanos() >= ttlNanos) {
+            long versaoLida = versao.get();
+            atual = new Contagem(alunoRepository.countMenoresSemResponsavel(dataLimite()),
+                    LocalDateTime.now(), System.nanoTime());
+            if (versao.get() == versaoLida) contagem = atual;
+        }
+        return new AlunoMenorPendenteContagemResponse(atual.total(), atual.calculadaEm());
+    }
+
+    public void invalidar() {
+        aposCommit(() -> {
+            versao.incrementAndGet();
+            contagem = null;
+        });
+    }
+
+    private static LocalDate dataLimite() {
+        return LocalDate.now().minusYears(18);
+    }
+
+    private void aposCommit(Runnable acao) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            acao.run();
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                acao.run();
+            }
+        });
+    }
+
+    private record Contagem(long total, LocalDateTime calculadaEm, long calculadaEmNanos) {
+    }
+}
@@ -17,8 +17,8 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
-import java.util.Optional;
 import java.util.UUID;
 
 @Service
@@ -33,6 +33,7 @@ public class PresencaService {
     private final TurmaRepository turmaRepository;
     private final AlunoRepository alunoRepository;
     private final JwtService jwtService;
+    private final GraduacaoService graduacaoService;
 
     @Transactional
     public void atualizarStatusPresencaPorInscricao(UUID idAula, 
@@ -42,25 +43,27 @@ public class PresencaService {
         
         Usuario usuarioLogado = obterUsuarioLogado(httpServletRequest);
         Inscricao inscricao = buscarInscricaoPorId(idInscricao);
-        Optional<Presenca> presenca = validarPresencaOperacao(idAula, inscricao, usuarioLogado);
-
-        presenca.ifPresentOrElse(
-                presencaExistente -> {
-                    if (presencaExistente.isPresente() == request.presente())
-                        throw new ValidacaoException("Presença já registrada com o mesmo status.");
-
-                    presencaExistente.setPresente(request.presente());
-                    presencaRepository.save(presencaExistente);
-                },
-                () -> {
-                    Presenca novaPresenca = Presenca.builder()
-                            .inscricao(inscricao)
-                            .presente(request.presente())
-                            .dataRegistro(LocalDate.now())
-                            .build();
-                    presencaRepository.save(novaPresenca);
-                }
+        validarPresencaOperacao(idAula, inscricao, usuarioLogado);
+
+        UUID alunoId = inscricao.getAluno().getId();
+        LocalDateTime dataAula = inscricao.getAula().getData();
+        int inseridas = presencaRepository.inserirSeAusente(
+                UUID.randomUUID(),
+                inscricao.getId(),
+                request.presente(),
+                LocalDate.now()
         );
+
+        if (inseridas == 1) {
+            if (request.presente()) graduacaoService.registrarPresenca(alunoId, 1, dataAula);
+            return;
+        }
+
+        if (presencaRepository.atualizarStatusSeDiferente(inscricao.getId(), request.presente()) == 0)
+            throw new ValidacaoException("Presença já registrada com o mesmo status.");
+
+        // O status mudou: conta a presença confirmada ou desfaz a que tinha sido contada, se a aula for do período atual
+        graduacaoService.registrarPresenca(alunoId, request.presente() ? 1 : -1, dataAula);
     }
 
     @Transactional(readOnly = true)
@@ -99,7 +102,7 @@ public class PresencaService {
         return PresencaMapper.toPageDTO(presencas);
     }
 
-    private Optional<Presenca> validarPresencaOperacao(UUID idAula, Inscricao inscricao, Usuario usuarioLogado) {
+    private void validarPresencaOperacao(UUID idAula, Inscricao inscricao, Usuario usuarioLogado) {
         Aula aula = buscarAulaPorId(idAula);
         Role role = usuarioLogado.getRole();
 
@@ -108,8 +111,6 @@ public class PresencaService {
 
         if (!inscricao.getAula().equals(aula))
             throw new ValidacaoException("Inscrição não pertence a esta aula.");
-
-        return buscarPresencaPorInscricao(inscricao);
     }
 
     private boolean verificarSeProfessorDaAula(Usuario usuario, Aula aula) {
@@ -123,10 +124,6 @@ public class PresencaService {
                 .orElseThrow(AlunoNaoEncontradoException::new);
     }
 
-    private Optional<Presenca> buscarPresencaPorInscricao(Inscricao inscricao) {
-        return presencaRepository.findByInscricao(inscricao);
-    }
-
     private List<Turma> buscarTurmasDoProfessor(Professor professor) {
         return turmaRepository.findAllByProfessor(professor);
     }
@@ -10,6 +10,7 @@ import com.fighthub.mapper.ProfessorMapper;
 import com.fighthub.model.Professor;
 import com.fighthub.model.Usuario;
 import com.fighthub.model.enums.Role;
+import com.fighthub.repository.ListagemCamposRepository;
 import com.fighthub.repository.ProfessorRepository;
 import com.fighthub.repository.UsuarioRepository;
 import lombok.RequiredArgsConstructor;
@@ -18,6 +19,8 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 
 @Service
@@ -28,6 +31,7 @@ public class ProfessorService {
     private final UsuarioRepository usuarioRepository;
     private final TokenService tokenService;
     private final EmailService emailService;
+    private final ListagemCamposRepository listagemCamposRepository;
 
     @Transactional
     public void criacaoProfessor(CriarProfessorRequest request) {
@@ -60,6 +64,15 @@ public class ProfessorService {
         return ProfessorMapper.toPageDTO(professorRepository.findAll(pageable));
     }
 
+    @Transactional(readOnly = true)
+    public Page<Map<String, Object>> buscarProfessoresComCampos(Pageable pageable, Set<String> fields) {
+        var campos = ListagemCamposRepository.resolverCampos(fields, ProfessorMapper.CAMPOS_LISTAGEM);
+        Page<Map<String, Object>> pagina = listagemCamposRepository.listar(Professor.class, campos, pageable);
+        if (campos.containsKey("foto"))
+            pagina.forEach(linha -> linha.computeIfPresent("foto", (campo, key) -> UsuarioService.montarUrl((String) key, StorageService.TAMANHO_LISTAGEM)));
+        return pagina;
+    }
+
     public ProfessorDetalhadoResponse buscarProfessorPorId(UUID id) {
         return ProfessorMapper.toDetailedDTO(professorRepository.findById(id)
                 .orElseThrow(ProfessorNaoEncontradoException::new));
@@ -0,0 +1,88 @@
+package com.fighthub.service;
+
+import com.fighthub.exception.ValidacaoException;
+import com.fighthub.model.GraduacaoAluno;
+import com.fighthub.model.enums.BeltGraduation;
+import com.fighthub.model.enums.GraduationAction;
+import com.fighthub.model.enums.GraduationLevel;
+
+import java.time.LocalDate;
+import java.time.Period;
+
+// Regras de faixa e grau compartilhadas pelas alterações individuais e em lote; alteram a graduação recebida
+final class RegrasGraduacao {
+
+    private RegrasGraduacao() {
+    }
+
+    static void aplicar(GraduationAction acao, GraduacaoAluno graduacao, LocalDate dataNascimento) {
+        switch (acao) {
+            case PROMOVER_FAIXA -> promoverFaixa(graduacao, dataNascimento);
+            case REBAIXAR_FAIXA -> rebaixarFaixa(graduacao, dataNascimento);
+            case PROMOVER_GRAU -> promoverGrau(graduacao);
+            case REBAIXAR_GRAU -> rebaixarGrau(graduacao);
+        }
+    }
+
+    private static void promoverFaixa(GraduacaoAluno graduacao, LocalDate dataNascimento) {
+        validarInicializada(graduacao);
+
+        if (graduacao.getBelt() == BeltGraduation.PRETA)
+            throw new ValidacaoException("Aluno já está na faixa preta.");
+
+        if (graduacao.getLevel() != GraduationLevel.IV)
+            throw new ValidacaoException("Não é possível promover faixa com menos de 4 graus.");
+
+        if (graduacao.getBelt() == BeltGraduation.BRANCA && isAdult16OrOlder(dataNascimento)) {
+            graduacao.setBelt(BeltGraduation.AZUL);
+        } else {
+            graduacao.promoteBelt();
+        }
+        graduacao.setLevel(GraduationLevel.ZERO);
+    }
+
+    private static void rebaixarFaixa(GraduacaoAluno graduacao, LocalDate dataNascimento) {
+        validarInicializada(graduacao);
+
+        if (graduacao.getLevel() != GraduationLevel.ZERO)
+            throw new ValidacaoException("Não é possível rebaixar faixa com mais de zero graus.");
+
+        if (graduacao.getBelt() == BeltGraduation.BRANCA)
+            throw new ValidacaoException("Aluno já está na faixa branca.");
+
+        if (graduacao.getBelt() == BeltGraduation.AZUL && isAdult16OrOlder(dataNascimento)) {
+            graduacao.setBelt(BeltGraduation.BRANCA);
+        } else {
+            graduacao.demoteBelt();
+        }
+        graduacao.setLevel(GraduationLevel.IV);
+    }
+
+    private static void promoverGrau(GraduacaoAluno graduacao) {
+        validarInicializada(graduacao);
+
+        if (graduacao.getLevel() == GraduationLevel.IV)
+            throw new ValidacaoException("Aluno já está no grau máximo.");
+
+        graduacao.promoteLevel();
+    }
+
+    private static void rebaixarGrau(GraduacaoAluno graduacao) {
+        validarInicializada(graduacao);
+
+        if (graduacao.getLevel() == GraduationLevel.ZERO)
+            throw new ValidacaoException("Aluno já está no grau mínimo.");
+
+        graduacao.demoteLevel();
+    }
+
+    // Faixa e grau são exigidos também nas alterações de grau: o histórico registra os dois
+    private static void validarInicializada(GraduacaoAluno graduacao) {
+        if (graduacao == null || graduacao.getLevel() == null || graduacao.getBelt() == null)
+            throw new ValidacaoException("Graduação do aluno não está inicializada");
+    }
+
+    private static boolean isAdult16OrOlder(LocalDate dataNascimento) {
+        return Period.between(dataNascimento, LocalDate.now()).getYears() >= 16;
+    }
+}
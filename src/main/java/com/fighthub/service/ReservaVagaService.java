@@ -0,0 +1,24 @@
+package com.fighthub.service;
+
+import com.fighthub.exception.ValidacaoException;
+import com.fighthub.model.Aula;
+import com.fighthub.repository.AulaRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+@Service
+@RequiredArgsConstructor
+public class ReservaVagaService {
+
+    private final AulaRepository aulaRepository;
+
+    // O UPDATE condicional decide sozinho: vagasOcupadas da entidade carregada pode estar defasado
+    public void reservarVaga(Aula aula) {
+        if (aulaRepository.reservarVaga(aula.getId()) == 0)
+            throw new ValidacaoException("Aula sem vagas disponíveis.");
+    }
+
+    public void liberarVaga(Aula aula) {
+        aulaRepository.liberarVaga(aula.getId());
+    }
+}
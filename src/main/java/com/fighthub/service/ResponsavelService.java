@@ -3,13 +3,12 @@ package com.fighthub.service;
 import com.fighthub.dto.responsavel.CriarResponsavelRequest;
 import com.fighthub.dto.responsavel.ResponsavelDetalhadoResponse;
 import com.fighthub.dto.responsavel.ResponsavelResponse;
-import com.fighthub.dto.inscricao.InscricaoResponse;
+import com.fighthub.dto.inscricao.InscricaoFeedResponse;
 import com.fighthub.exception.AlunoNaoEncontradoException;
 import com.fighthub.exception.CpfExistenteException;
 import com.fighthub.exception.ResponsavelNaoEncontradoException;
 import com.fighthub.exception.ValidacaoException;
 import com.fighthub.mapper.ResponsavelMapper;
-import com.fighthub.mapper.InscricaoMapper;
 import com.fighthub.model.Responsavel;
 import com.fighthub.model.Usuario;
 import com.fighthub.model.enums.Role;
@@ -19,12 +18,18 @@ import com.fighthub.repository.UsuarioRepository;
 import com.fighthub.repository.InscricaoRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
 import java.util.List;
 import java.util.UUID;
 
@@ -32,12 +37,18 @@ import java.util.UUID;
 @RequiredArgsConstructor
 public class ResponsavelService {
 
+    private static final int TAMANHO_MAXIMO_FEED = 100;
+
+    // Sempre enviado preenchido: UUID nulo não tem tipo inferível no PostgreSQL em "IS NULL"
+    private static final UUID CURSOR_VAZIO = new UUID(0L, 0L);
+
     private final ResponsavelRepository responsavelRepository;
     private final UsuarioRepository usuarioRepository;
     private final AlunoRepository alunoRepository;
     private final InscricaoRepository inscricaoRepository;
     private final TokenService tokenService;
     private final EmailService emailService;
+    private final MenoresSemResponsavelService menoresSemResponsavelService;
 
     @Transactional
     public void criacaoResponsavel(CriarResponsavelRequest request) {
@@ -87,6 +98,7 @@ public class ResponsavelService {
 
         responsavel.getAlunos().add(aluno);
         responsavelRepository.save(responsavel);
+        menoresSemResponsavelService.invalidar();
     }
 
     @Transactional
@@ -101,6 +113,7 @@ public class ResponsavelService {
 
         responsavel.getAlunos().remove(aluno);
         responsavelRepository.save(responsavel);
+        menoresSemResponsavelService.invalidar();
     }
 
     @Transactional(readOnly = true)
@@ -125,7 +138,7 @@ public class ResponsavelService {
     }
 
     @Transactional(readOnly = true)
-    public List<InscricaoResponse> obterInscricoesDependentes() {
+    public InscricaoFeedResponse obterInscricoesDependentes(UUID alunoId, LocalDate de, LocalDate ate, String cursor, int tamanho) {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         if (authentication == null || !authentication.isAuthenticated()) {
             throw new ValidacaoException("Usuário não autenticado");
@@ -139,18 +152,61 @@ public class ResponsavelService {
             throw new ValidacaoException("Apenas responsáveis podem acessar este endpoint");
         }
 
-        var responsavel = responsavelRepository.findByUsuarioId(usuario.getId())
-                .orElseThrow(ResponsavelNaoEncontradoException::new);
+        if (!responsavelRepository.existsByUsuarioId(usuario.getId())) {
+            throw new ResponsavelNaoEncontradoException();
+        }
+
+        var alunosIds = responsavelRepository.findAlunosIdsByUsuarioId(usuario.getId());
 
-        var alunosIds = responsavel.getAlunos().stream()
-                .map(aluno -> aluno.getId())
-                .toList();
+        if (alunoId != null) {
+            if (!alunosIds.contains(alunoId)) throw new ValidacaoException("Responsável não vinculado ao aluno.");
+            alunosIds = List.of(alunoId);
+        }
 
         if (alunosIds.isEmpty()) {
-            return List.of();
+            return new InscricaoFeedResponse(List.of(), null);
+        }
+
+        int limite = Math.min(Math.max(tamanho, 1), TAMANHO_MAXIMO_FEED);
+        LocalDateTime cursorData = null;
+        UUID cursorId = CURSOR_VAZIO;
+        if (cursor != null && !cursor.isBlank()) {
+            String[] partes = decodificarCursor(cursor);
+            cursorData = LocalDateTime.parse(partes[0]);
+            cursorId = UUID.fromString(partes[1]);
+        }
+
+        // Busca um item a mais para saber se existe próxima página sem precisar de COUNT
+        var inscricoes = inscricaoRepository.findFeedByAlunoIdIn(
+                alunosIds,
+                de != null ? de.atStartOfDay() : null,
+                ate != null ? ate.plusDays(1).atStartOfDay() : null,
+                cursorData,
+                cursorId,
+                PageRequest.ofSize(limite + 1));
+
+        if (inscricoes.size() <= limite) {
+            return new InscricaoFeedResponse(inscricoes, null);
         }
 
-        var inscricoes = inscricaoRepository.findByAlunoIdIn(alunosIds);
-        return InscricaoMapper.toListDTO(inscricoes);
+        var pagina = inscricoes.subList(0, limite);
+        var ultima = pagina.get(limite - 1);
+        return new InscricaoFeedResponse(List.copyOf(pagina), codificarCursor(ultima.aulaData(), ultima.id()));
+    }
+
+    private String codificarCursor(LocalDateTime data, UUID id) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((data + "|" + id).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private String[] decodificarCursor(String cursor) {
+        try {
+            String[] partes = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\\|");
+            LocalDateTime.parse(partes[0]);
+            UUID.fromString(partes[1]);
+            return partes;
+        } catch (IllegalArgumentException | DateTimeParseException | ArrayIndexOutOfBoundsException e) {
+            throw new ValidacaoException("Cursor inválido.");
+        }
     }
 }
@@ -1,7 +1,11 @@
 package com.fighthub.service;
 
+import com.fighthub.repository.FotoPerfilRepository;
+import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
@@ -9,48 +13,255 @@ import java.io.InputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.StandardCopyOption;
-import java.util.UUID;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BooleanSupplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 @Service
+@RequiredArgsConstructor
 public class StorageService {
 
+    // Lados (px) das miniaturas geradas para cada foto de perfil
+    public static final List<Integer> TAMANHOS_VARIANTES = List.of(64, 128, 512);
+
+    // Lado da miniatura entregue nas listagens (alunos, professores)
+    public static final int TAMANHO_LISTAGEM = 128;
+
+    // Formatos que o ImageIO decodifica; os demais (WebP) ficam só com o original
+    private static final Set<String> EXTENSOES_COM_VARIANTES = Set.of(".jpg", ".jpeg", ".png");
+
+    // Diretório de trabalho dos uploads em andamento, dentro da raiz para que o rename seja atômico
+    public static final String DIRETORIO_TEMPORARIO = ".tmp";
+
+    private static final Pattern CHAVE_CONTEUDO = Pattern.compile("[0-9a-f]{2}/[0-9a-f]{2}/[0-9a-f]{64}\\.[a-z]+");
+    private static final Pattern CHAVE_CONTEUDO_OU_VARIANTE = Pattern.compile("[0-9a-f]{2}/[0-9a-f]{2}/[0-9a-f]{64}(-\\d+)?\\.[a-z]+");
+    private static final Pattern SUFIXO_VARIANTE = Pattern.compile("-(\\d+)\\.jpg$");
+
+    private static final Map<String, String> EXTENSOES = Map.of(
+            "image/jpeg", ".jpg",
+            "image/png", ".png",
+            "image/webp", ".webp"
+    );
+
+    private final FotoPerfilRepository fotoPerfilRepository;
+
+    // Serializa a colocação e a remoção do mesmo arquivo entre uploads e exclusões concorrentes
+    private final Object[] travas = criarTravas(64);
+
     @Value("${uploads.profile-dir}")
     private String profileDir;
 
-    public String save(MultipartFile file, UUID userId) {
+    // Chave = SHA-256 dos bytes (calculado enquanto copia) em dois níveis de diretório: "ab/cd/abcd...ef.jpg"
+    public String save(MultipartFile file) {
         try {
-            Files.createDirectories(Path.of(profileDir));
+            Path temporarios = resolver(DIRETORIO_TEMPORARIO);
+            Files.createDirectories(temporarios);
+            Path temporario = Files.createTempFile(temporarios, "upload-", ".tmp");
 
-            String ext = extension(file.getOriginalFilename());
-            String key = userId + "-" + UUID.randomUUID() + ext;
+            try {
+                MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+                long tamanho;
+                try (InputStream in = new DigestInputStream(file.getInputStream(), sha256)) {
+                    tamanho = Files.copy(in, temporario, StandardCopyOption.REPLACE_EXISTING);
+                }
 
-            Path target = Path.of(profileDir).resolve(key).normalize();
+                String hash = HexFormat.of().formatHex(sha256.digest());
+                String key = hash.substring(0, 2) + "/" + hash.substring(2, 4) + "/" + hash
+                        + EXTENSOES.getOrDefault(file.getContentType(), ".bin");
 
-            try (InputStream in = file.getInputStream()) {
-                Files.copy(in, target, StandardCopyOption.REPLACE_EXISTING);
+                adicionarReferencia(key, tamanho);
+                aoFinalizarTransacao(() -> colocar(key, temporario), () -> apagarTemporario(temporario));
+                return key;
+            } catch (IOException | NoSuchAlgorithmException | RuntimeException e) {
+                apagarTemporario(temporario);
+                throw e;
             }
-
-            return key;
-        } catch (IOException e) {
+        } catch (IOException | NoSuchAlgorithmException e) {
             throw new RuntimeException("Falha ao salvar foto de perfil.", e);
         }
     }
 
+    // Upsert em dois passos atômicos (o H2 dos testes não aceita ON CONFLICT DO UPDATE): se a linha
+    // for removida por uma exclusão concorrente entre eles, tenta de novo em vez de perder a referência
+    private void adicionarReferencia(String key, long tamanho) {
+        while (fotoPerfilRepository.incrementarReferencias(key) == 0) {
+            if (fotoPerfilRepository.registrar(key, tamanho, LocalDateTime.now()) == 1) return;
+        }
+    }
+
+    // Arquivos endereçados por conteúdo podem ser compartilhados: só somem quando a última referência sai
     public void deleteIfExists(String key) {
         if (key == null || key.isBlank()) return;
 
+        if (!isEnderecadoPorConteudo(key)) {
+            apagarArquivos(key);
+            return;
+        }
+
+        fotoPerfilRepository.decrementarReferencias(key);
+        if (fotoPerfilRepository.removerSemReferencias(key) == 0) return;
+
+        aoFinalizarTransacao(() -> {
+            synchronized (trava(key)) {
+                // Um upload do mesmo conteúdo pode ter voltado a referenciá-lo depois deste commit
+                if (!fotoPerfilRepository.existsById(key)) apagarArquivos(key);
+            }
+        }, () -> {});
+    }
+
+    // Remove um arquivo sem referência; a checagem roda sob a mesma trava da colocação pós-commit
+    public boolean apagarOrfao(String key, BooleanSupplier referenciado) throws IOException {
+        synchronized (trava(key)) {
+            if (referenciado.getAsBoolean()) return false;
+            return Files.deleteIfExists(resolver(key));
+        }
+    }
+
+    public Path raiz() {
+        return Path.of(profileDir).toAbsolutePath().normalize();
+    }
+
+    public Path caminho(String key) {
+        return resolver(key);
+    }
+
+    public boolean existe(String key) {
+        return Files.exists(resolver(key));
+    }
+
+    public InputStream abrir(String key) throws IOException {
+        return Files.newInputStream(resolver(key));
+    }
+
+    // Grava em arquivo temporário e renomeia: quem lê nunca enxerga uma variante pela metade
+    public void gravarVariante(String key, int tamanho, byte[] conteudo) throws IOException {
+        Path destino = resolver(chaveVariante(key, tamanho));
+        Files.createDirectories(destino.getParent());
+        Path temporario = Files.createTempFile(destino.getParent(), ".variante-", ".tmp");
         try {
-            Path target = Path.of(profileDir).resolve(key).normalize();
-            Files.deleteIfExists(target);
+            Files.write(temporario, conteudo);
+            Files.move(temporario, destino, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temporario);
+        }
+    }
+
+    // Chave determinística da miniatura: "<chave sem extensão>-<lado>.jpg"
+    public static String chaveVariante(String key, int tamanho) {
+        int ponto = key.lastIndexOf('.');
+        String base = ponto > key.lastIndexOf('/') ? key.substring(0, ponto) : key;
+        return base + "-" + tamanho + ".jpg";
+    }
+
+    // Original e miniaturas compartilham a mesma base: "ab/cd/abcd...ef.png" e "ab/cd/abcd...ef-64.jpg" -> "ab/cd/abcd...ef"
+    public static String chaveBase(String key) {
+        Matcher variante = SUFIXO_VARIANTE.matcher(key);
+        if (variante.find() && TAMANHOS_VARIANTES.contains(Integer.parseInt(variante.group(1)))) {
+            return key.substring(0, variante.start());
+        }
+        int ponto = key.lastIndexOf('.');
+        return ponto > key.lastIndexOf('/') ? key.substring(0, ponto) : key;
+    }
+
+    // Chaves candidatas ao original de uma miniatura (a extensão dele não está na chave); vazio se não for miniatura
+    public static List<String> chavesOriginais(String varianteKey) {
+        Matcher variante = SUFIXO_VARIANTE.matcher(varianteKey);
+        if (!variante.find() || !TAMANHOS_VARIANTES.contains(Integer.parseInt(variante.group(1)))) return List.of();
+        String base = varianteKey.substring(0, variante.start());
+        return EXTENSOES_COM_VARIANTES.stream().sorted().map(extensao -> base + extensao).toList();
+    }
+
+    public static boolean suportaVariantes(String key) {
+        int ponto = key.lastIndexOf('.');
+        return ponto > key.lastIndexOf('/') && EXTENSOES_COM_VARIANTES.contains(key.substring(ponto).toLowerCase());
+    }
+
+    public static boolean isEnderecadoPorConteudo(String key) {
+        return key != null && CHAVE_CONTEUDO.matcher(key).matches();
+    }
+
+    // O conteúdo de uma chave derivada do hash (original ou miniatura) nunca muda
+    public static boolean isImutavel(String key) {
+        return key != null && CHAVE_CONTEUDO_OU_VARIANTE.matcher(key).matches();
+    }
+
+    private void colocar(String key, Path temporario) {
+        synchronized (trava(key)) {
+            try {
+                Path destino = resolver(key);
+                if (Files.exists(destino)) {
+                    Files.deleteIfExists(temporario);
+                    return;
+                }
+                Files.createDirectories(destino.getParent());
+                Files.move(temporario, destino, StandardCopyOption.ATOMIC_MOVE);
+            } catch (IOException e) {
+                throw new RuntimeException("Falha ao salvar foto de perfil.", e);
+            }
+        }
+    }
+
+    private void apagarArquivos(String key) {
+        try {
+            Files.deleteIfExists(resolver(key));
+            for (int tamanho : TAMANHOS_VARIANTES) {
+                Files.deleteIfExists(resolver(chaveVariante(key, tamanho)));
+            }
         } catch (IOException e) {
             throw new RuntimeException("Falha ao remover foto de perfil.", e);
         }
     }
 
-    private String extension(String filename) {
-        if (filename == null) return "";
-        int i = filename.lastIndexOf('.');
-        return (i >= 0) ? filename.substring(i).toLowerCase() : "";
+    private void apagarTemporario(Path temporario) {
+        try {
+            Files.deleteIfExists(temporario);
+        } catch (IOException e) {
+            // melhor esforço: o temporário não é referenciado por ninguém
+        }
+    }
+
+    // O arquivo só entra (ou sai) do diretório depois que o contador de referências foi gravado
+    private void aoFinalizarTransacao(Runnable aposCommit, Runnable aposRollback) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            aposCommit.run();
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                aposCommit.run();
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) aposRollback.run();
+            }
+        });
+    }
+
+    private Path resolver(String key) {
+        Path raiz = raiz();
+        Path target = raiz.resolve(key).normalize();
+        if (!target.startsWith(raiz)) throw new IllegalArgumentException("Chave de arquivo inválida.");
+        return target;
+    }
+
+    private Object trava(String key) {
+        return travas[Math.floorMod(key.hashCode(), travas.length)];
     }
 
+    private static Object[] criarTravas(int quantidade) {
+        Object[] travas = new Object[quantidade];
+        for (int i = 0; i < quantidade; i++) travas[i] = new Object();
+        return travas;
+    }
 }
@@ -1,14 +1,17 @@
 package com.fighthub.service;
 
+import com.fighthub.dto.turma.AlunosTurmaLoteRequest;
+import com.fighthub.dto.turma.AlunosTurmaLoteResponse;
+import com.fighthub.dto.turma.RecorrenciaTurmaRequest;
 import com.fighthub.dto.turma.TurmaRequest;
 import com.fighthub.dto.turma.TurmaResponse;
 import com.fighthub.dto.turma.TurmaUpdateCompletoRequest;
 import com.fighthub.dto.turma.TurmaUpdateStatusRequest;
 import com.fighthub.exception.*;
 import com.fighthub.mapper.TurmaMapper;
-import com.fighthub.model.Aluno;
 import com.fighthub.model.Professor;
 import com.fighthub.model.Turma;
+import com.fighthub.model.enums.RosterOperation;
 import com.fighthub.repository.AlunoRepository;
 import com.fighthub.repository.ProfessorRepository;
 import com.fighthub.repository.TurmaRepository;
@@ -27,6 +30,7 @@ public class TurmaService {
     private final TurmaRepository turmaRepository;
     private final ProfessorRepository professorRepository;
     private final AlunoRepository alunoRepository;
+    private final ConflitoAgendaService conflitoAgendaService;
 
     @Transactional
     public void criarTurma(TurmaRequest request) {
@@ -41,11 +45,8 @@ public class TurmaService {
 
     @Transactional(readOnly = true)
     public Page<TurmaResponse> buscarTurmas(Pageable pageable) {
-        Page<Turma> turmas = turmaRepository.findAll(pageable);
-        return turmas.map(turma -> {
-            long qtdAlunos = turmaRepository.countAlunosByTurmaId(turma.getId());
-            return TurmaMapper.toDTO(turma, qtdAlunos);
-        });
+        return turmaRepository.findAllComQuantidadeAlunos(pageable)
+                .map(item -> TurmaMapper.toDTO(item.getTurma(), item.getQuantidadeAlunos()));
     }
 
     @Transactional(readOnly = true)
@@ -58,7 +59,11 @@ public class TurmaService {
     public TurmaResponse atualizarTurma(UUID id, TurmaUpdateCompletoRequest request) {
         Turma turma = buscarTurmaOuLancar(id);
         Professor professor = buscarProfessorOuLancar(request.professorId());
+        if (turma.getProfessor() == null || !turma.getProfessor().getId().equals(professor.getId())) {
+            conflitoAgendaService.verificarConflitoProfessorDaTurma(turma.getId(), professor.getId());
+        }
         turma.putUpdate(request, professor);
+        conflitoAgendaService.atualizarProfessorDaTurma(turma.getId(), professor.getId());
         return TurmaMapper.toDTO(turmaRepository.save(turma));
     }
 
@@ -69,10 +74,18 @@ public class TurmaService {
         return TurmaMapper.toDTO(turmaRepository.save(turma));
     }
 
+    @Transactional
+    public TurmaResponse definirRecorrencia(UUID id, RecorrenciaTurmaRequest request) {
+        Turma turma = buscarTurmaOuLancar(id);
+        turma.setRecorrencia(TurmaMapper.toRecorrenciaEntity(request));
+        return TurmaMapper.toDTO(turmaRepository.save(turma));
+    }
+
     @Transactional
     public void excluirTurma(UUID id) {
         Turma turma = buscarTurmaOuLancar(id);
         turmaRepository.delete(turma);
+        conflitoAgendaService.atualizarProfessorDaTurma(id, null);
     }
 
     @Transactional
@@ -84,8 +97,10 @@ public class TurmaService {
             throw new ValidacaoException("Professor já está vinculado à turma.");
         }
 
+        conflitoAgendaService.verificarConflitoProfessorDaTurma(idTurma, professor.getId());
         turma.setProfessor(professor);
         turmaRepository.save(turma);
+        conflitoAgendaService.atualizarProfessorDaTurma(idTurma, professor.getId());
     }
 
     @Transactional
@@ -98,32 +113,36 @@ public class TurmaService {
 
         turma.setProfessor(null);
         turmaRepository.save(turma);
+        conflitoAgendaService.atualizarProfessorDaTurma(idTurma, null);
     }
 
     @Transactional
     public void vincularAluno(UUID idTurma, UUID idAluno) {
-        Turma turma = buscarTurmaOuLancar(idTurma);
-        Aluno aluno = buscarAlunoOuLancar(idAluno);
+        validarTurmaEAluno(idTurma, idAluno);
 
-        if (turma.getAlunos().contains(aluno)) {
+        if (turmaRepository.adicionarAluno(idTurma, idAluno) == 0) {
             throw new ValidacaoException("Aluno já está vinculado à turma.");
         }
-
-        turma.getAlunos().add(aluno);
-        turmaRepository.save(turma);
     }
 
     @Transactional
     public void desvincularAluno(UUID idTurma, UUID idAluno) {
-        Turma turma = buscarTurmaOuLancar(idTurma);
-        Aluno aluno = buscarAlunoOuLancar(idAluno);
+        validarTurmaEAluno(idTurma, idAluno);
 
-        if (!turma.getAlunos().contains(aluno)) {
+        if (turmaRepository.removerAluno(idTurma, idAluno) == 0) {
             throw new ValidacaoException("Aluno não está vinculado à turma.");
         }
+    }
 
-        turma.getAlunos().remove(aluno);
-        turmaRepository.save(turma);
+    @Transactional
+    public AlunosTurmaLoteResponse alterarAlunosEmLote(UUID idTurma, AlunosTurmaLoteRequest request) {
+        if (!turmaRepository.existsById(idTurma)) throw new TurmaNaoEncontradaException();
+
+        int alterados = request.operacao() == RosterOperation.ADICIONAR
+                ? turmaRepository.adicionarAlunos(idTurma, request.alunoIds())
+                : turmaRepository.removerAlunos(idTurma, request.alunoIds());
+
+        return new AlunosTurmaLoteResponse(idTurma, request.operacao(), alterados, request.alunoIds().size() - alterados);
     }
 
     private Turma buscarTurmaOuLancar(UUID idTurma) {
@@ -136,8 +155,8 @@ public class TurmaService {
                 .orElseThrow(ProfessorNaoEncontradoException::new);
     }
 
-    private Aluno buscarAlunoOuLancar(UUID idAluno) {
-        return alunoRepository.findById(idAluno)
-                .orElseThrow(AlunoNaoEncontradoException::new);
+    private void validarTurmaEAluno(UUID idTurma, UUID idAluno) {
+        if (!turmaRepository.existsById(idTurma)) throw new TurmaNaoEncontradaException();
+        if (!alunoRepository.existsById(idAluno)) throw new AlunoNaoEncontradoException();
     }
 }
\ No newline at end of file
@@ -6,6 +6,8 @@ import com.fighthub.exception.ValidacaoException;
 import com.fighthub.mapper.UsuarioMapper;
 import com.fighthub.model.Usuario;
 import com.fighthub.model.enums.Role;
+import com.fighthub.repository.ListagemCamposRepository;
+import com.fighthub.repository.UsuarioBuscaRepository;
 import com.fighthub.repository.UsuarioRepository;
 import com.fighthub.utils.role.RoleEnterHandler;
 import com.fighthub.utils.role.RoleExitHandler;
@@ -22,6 +24,7 @@ import org.springframework.web.multipart.MultipartFile;
 
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
@@ -29,10 +32,16 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class UsuarioService {
 
+    private static final int LIMITE_PADRAO_BUSCA = 20;
+    private static final int LIMITE_MAXIMO_BUSCA = 50;
+
     private final UsuarioRepository usuarioRepository;
+    private final UsuarioBuscaRepository usuarioBuscaRepository;
+    private final ListagemCamposRepository listagemCamposRepository;
     private final JwtService jwtService;
     private final PasswordEncoder passwordEncoder;
     private final StorageService storageService;
+    private final FotoVariantesService fotoVariantesService;
 
     private final List<RoleEnterHandler> enterHandlers;
     private final List<RoleExitHandler> exitHandlers;
@@ -52,6 +61,24 @@ public class UsuarioService {
         return UsuarioMapper.toPage(usuarioRepository.findAll(pageable));
     }
 
+    @Transactional(readOnly = true)
+    public Page<Map<String, Object>> obterUsuariosComCampos(Pageable pageable, Set<String> fields) {
+        var campos = ListagemCamposRepository.resolverCampos(fields, UsuarioMapper.CAMPOS_LISTAGEM);
+        return listagemCamposRepository.listar(Usuario.class, campos, pageable);
+    }
+
+    @Transactional(readOnly = true)
+    public List<UsuarioBuscaResponse> buscarUsuarios(String q, Role role, Integer limite) {
+        String termo = q == null ? "" : q.trim().toLowerCase();
+        if (termo.length() < 2) throw new ValidacaoException("Informe ao menos 2 caracteres para a busca.");
+
+        // Só compara com o CPF quando o termo parece um CPF (dígitos, pontos e traço)
+        String digitos = termo.matches("[\\d.\\-\\s]+") ? termo.replaceAll("\\D", "") : "";
+        int limiteEfetivo = limite == null ? LIMITE_PADRAO_BUSCA : Math.max(1, Math.min(limite, LIMITE_MAXIMO_BUSCA));
+
+        return usuarioBuscaRepository.buscar(termo, digitos, role, limiteEfetivo);
+    }
+
     public UsuarioDetalhadoResponse obterUsuario(UUID id) {
         return UsuarioMapper.toDetailedDTO(usuarioRepository.findById(id)
                 .orElseThrow(UsuarioNaoEncontradoException::new));
@@ -149,21 +176,24 @@ public class UsuarioService {
         usuarioRepository.save(usuario);
     }
 
-    public String uploadFotoDoUsuarioLogado(HttpServletRequest request, MultipartFile file) {
+    @Transactional
+    public ProfilePhotoResponse uploadFotoDoUsuarioLogado(HttpServletRequest request, MultipartFile file) {
         validarImagem(file);
 
-        Usuario usuario = obterUsuarioPorEmail(request);
+        Usuario usuario = bloquearUsuarioPorEmail(request);
         storageService.deleteIfExists(usuario.getFoto());
 
-        String key = storageService.save(file, usuario.getId());
+        String key = storageService.save(file);
         usuario.setFoto(key);
         usuarioRepository.save(usuario);
+        fotoVariantesService.agendar(key);
 
-        return montarUrl(key);
+        return UsuarioMapper.toFotoDTO(key);
     }
 
+    @Transactional
     public void removerFotoDoUsuarioLogado(HttpServletRequest request) {
-        Usuario usuario = obterUsuarioPorEmail(request);
+        Usuario usuario = bloquearUsuarioPorEmail(request);
         storageService.deleteIfExists(usuario.getFoto());
 
         usuario.setFoto(null);
@@ -171,18 +201,32 @@ public class UsuarioService {
     }
 
     private Usuario obterUsuarioPorEmail(HttpServletRequest request) {
-        final String authHeader = request.getHeader(HttpHeaders.AUTHORIZATION);
-        final String jwt = authHeader.substring(7);
-        final String emailUsuario = jwtService.extrairEmail(jwt);
+        return usuarioRepository.findByEmail(extrairEmail(request))
+                .orElseThrow(UsuarioNaoEncontradoException::new);
+    }
 
-        return usuarioRepository.findByEmail(emailUsuario)
+    // A foto anterior é lida sob trava da linha: sem ela, duas trocas simultâneas decrementam a mesma chave duas vezes
+    private Usuario bloquearUsuarioPorEmail(HttpServletRequest request) {
+        return usuarioRepository.bloquearPorEmail(extrairEmail(request))
                 .orElseThrow(UsuarioNaoEncontradoException::new);
     }
 
+    private String extrairEmail(HttpServletRequest request) {
+        final String authHeader = request.getHeader(HttpHeaders.AUTHORIZATION);
+        final String jwt = authHeader.substring(7);
+        return jwtService.extrairEmail(jwt);
+    }
+
     public static String montarUrl(String key) {
         return (key == null || key.isBlank()) ? null : "/files/profiles/" + key;
     }
 
+    // Formato sem miniaturas cai no original, para a listagem sempre ter uma imagem
+    public static String montarUrl(String key, int tamanho) {
+        if (key == null || key.isBlank()) return null;
+        return StorageService.suportaVariantes(key) ? montarUrl(StorageService.chaveVariante(key, tamanho)) : montarUrl(key);
+    }
+
     private void validarImagem(MultipartFile file) {
         if (file == null || file.isEmpty())
             throw new IllegalArgumentException("Arquivo obrigatório.");
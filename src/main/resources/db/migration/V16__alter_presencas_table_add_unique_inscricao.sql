@@ -0,0 +1,17 @@
+-- Removing duplicated presences (keeps the most recent record per inscricao; rows without data_registro lose to dated ones)
+DELETE FROM presencas
+WHERE id IN (
+    SELECT id
+    FROM (
+        SELECT id,
+               ROW_NUMBER() OVER (PARTITION BY inscricao_id ORDER BY data_registro DESC NULLS LAST, id DESC) AS posicao
+        FROM presencas
+    ) ordenadas
+    WHERE posicao > 1
+);
+
+-- Adding unique constraint backed by an index
+CREATE UNIQUE INDEX ux_presencas_inscricao_id ON presencas (inscricao_id);
+
+ALTER TABLE presencas
+ADD CONSTRAINT uk_presencas_inscricao UNIQUE USING INDEX ux_presencas_inscricao_id;
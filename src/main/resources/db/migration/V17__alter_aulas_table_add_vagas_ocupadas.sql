@@ -0,0 +1,12 @@
+ALTER TABLE aulas
+ADD COLUMN vagas_ocupadas INT NOT NULL DEFAULT 0;
+
+UPDATE aulas a
+SET vagas_ocupadas = (
+    SELECT COUNT(*)
+    FROM inscricoes i
+    WHERE i.aula_id = a.id AND i.status = 'INSCRITO'
+);
+
+ALTER TABLE aulas
+ADD CONSTRAINT ck_aulas_vagas_ocupadas CHECK (vagas_ocupadas >= 0);
@@ -0,0 +1,4 @@
+-- Fila de espera ordenada por aula (inscrito_em define a posição)
+CREATE INDEX idx_inscricoes_espera_aula_posicao
+    ON inscricoes (aula_id, inscrito_em, id)
+    WHERE status = 'EM_ESPERA';
@@ -0,0 +1,14 @@
+-- Recorrência estruturada da turma
+ALTER TABLE turmas
+ADD COLUMN dias_semana VARCHAR(100),
+ADD COLUMN hora_inicio TIME,
+ADD COLUMN duracao_minutos INT,
+ADD COLUMN limite_alunos INT;
+
+-- Aulas geradas a partir da recorrência
+ALTER TABLE aulas
+ADD COLUMN duracao_minutos INT,
+ADD COLUMN recorrente BOOLEAN NOT NULL DEFAULT false;
+
+-- Chave de idempotência do gerador (aulas avulsas antigas podem repetir horário)
+CREATE UNIQUE INDEX ux_aulas_turma_data_recorrente ON aulas (turma_id, data) WHERE recorrente;
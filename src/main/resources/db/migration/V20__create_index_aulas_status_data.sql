@@ -0,0 +1,2 @@
+-- Varredura das transições de ciclo de vida (e das listagens por status) ordenada pela data da aula
+CREATE INDEX idx_aulas_status_data ON aulas (status, data);
@@ -0,0 +1,13 @@
+-- Log de alterações das aulas: a sequência é o token de sincronização dos calendários
+CREATE TABLE aulas_alteracoes (
+    sequencia BIGSERIAL PRIMARY KEY,
+    aula_id UUID NOT NULL,
+    turma_id UUID,
+    alterado_em TIMESTAMP NOT NULL
+);
+
+CREATE INDEX idx_aulas_alteracoes_turma_sequencia ON aulas_alteracoes (turma_id, sequencia);
+
+-- Aulas existentes entram no log para que o primeiro token já as cubra
+INSERT INTO aulas_alteracoes (aula_id, turma_id, alterado_em)
+SELECT id, turma_id, now() FROM aulas;
@@ -0,0 +1,2 @@
+-- Aulas disponíveis por turma do aluno/professor, já ordenáveis pela data
+CREATE INDEX idx_aulas_status_turma_data ON aulas (status, turma_id, data);
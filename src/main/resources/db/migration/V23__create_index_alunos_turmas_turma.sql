@@ -0,0 +1,2 @@
+-- A chave primária começa por aluno_id; listagens e contagens por turma usam este índice
+CREATE INDEX idx_alunos_turmas_turma_aluno ON alunos_turmas (turma_id, aluno_id);
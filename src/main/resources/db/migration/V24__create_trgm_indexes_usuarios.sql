@@ -0,0 +1,6 @@
+-- Busca aproximada de usuários por nome, e-mail ou CPF (apenas dígitos)
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX idx_usuarios_nome_trgm ON usuarios USING gin (lower(nome) gin_trgm_ops);
+CREATE INDEX idx_usuarios_email_trgm ON usuarios USING gin (lower(email) gin_trgm_ops);
+CREATE INDEX idx_usuarios_cpf_trgm ON usuarios USING gin (replace(replace(cpf, '.', ''), '-', '') gin_trgm_ops);
@@ -0,0 +1,28 @@
+-- Contador de presenças desde a última promoção, mantido a cada registro de presença
+ALTER TABLE alunos ADD COLUMN aulas_desde_graduacao INT NOT NULL DEFAULT 0;
+ALTER TABLE alunos ADD COLUMN data_ultima_graduacao TIMESTAMP;
+
+UPDATE alunos a SET aulas_desde_graduacao = (
+    SELECT COUNT(*)
+    FROM presencas p
+    JOIN inscricoes i ON i.id = p.inscricao_id
+    WHERE i.aluno_id = a.id AND p.presente = true
+);
+
+CREATE INDEX idx_alunos_aulas_desde_graduacao ON alunos (aulas_desde_graduacao DESC)
+    WHERE matricula_ativa = true;
+
+-- Histórico somente de inserção: cada alteração de faixa ou grau gera uma linha
+CREATE TABLE graduacoes_historico (
+    id UUID PRIMARY KEY,
+    aluno_id UUID NOT NULL,
+    faixa_anterior VARCHAR(32),
+    nivel_anterior VARCHAR(16),
+    faixa VARCHAR(32) NOT NULL,
+    nivel VARCHAR(16) NOT NULL,
+    aulas_no_periodo INT NOT NULL,
+    registrado_em TIMESTAMP NOT NULL,
+    FOREIGN KEY (aluno_id) REFERENCES alunos(id) ON DELETE CASCADE ON UPDATE CASCADE
+);
+
+CREATE INDEX idx_graduacoes_historico_aluno_registro ON graduacoes_historico (aluno_id, registrado_em DESC);
@@ -0,0 +1,4 @@
+-- Menores sem responsável: filtra por data de nascimento só entre matrículas ativas;
+-- a anti-junção em alunos_responsaveis usa a chave primária (aluno_id, responsavel_id)
+CREATE INDEX idx_alunos_ativos_data_nascimento ON alunos (data_nascimento)
+    WHERE matricula_ativa = true;
@@ -0,0 +1,8 @@
+-- Fotos de perfil endereçadas por conteúdo (chave = SHA-256 dos bytes): um arquivo por conteúdo,
+-- com a quantidade de usuários que o referenciam
+CREATE TABLE fotos_perfil (
+    chave VARCHAR(100) PRIMARY KEY,
+    tamanho_bytes BIGINT NOT NULL,
+    referencias INT NOT NULL DEFAULT 0,
+    criado_em TIMESTAMP NOT NULL
+);
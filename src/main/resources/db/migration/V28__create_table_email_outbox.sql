@@ -0,0 +1,16 @@
+-- Caixa de saída de e-mails: gravada na mesma transação da operação que originou o envio
+-- e drenada em lotes pelo despachante, com novas tentativas e descarte após o limite
+CREATE TABLE email_outbox (
+    id UUID PRIMARY KEY,
+    destinatario VARCHAR(255) NOT NULL,
+    assunto VARCHAR(255) NOT NULL,
+    corpo_html TEXT NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    tentativas INT NOT NULL DEFAULT 0,
+    proxima_tentativa TIMESTAMP NOT NULL,
+    ultimo_erro VARCHAR(500),
+    criado_em TIMESTAMP NOT NULL,
+    enviado_em TIMESTAMP
+);
+
+CREATE INDEX idx_email_outbox_pendentes ON email_outbox (proxima_tentativa) WHERE status = 'PENDENTE';
@@ -0,0 +1,6 @@
+-- Trava dos escritores do log de alterações: a ordem das sequências passa a ser a ordem de commit
+CREATE TABLE aulas_alteracoes_trava (
+    id INTEGER PRIMARY KEY
+);
+
+INSERT INTO aulas_alteracoes_trava (id) VALUES (1);
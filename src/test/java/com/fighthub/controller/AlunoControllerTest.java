@@ -5,6 +5,9 @@ import com.fighthub.dto.endereco.EnderecoResponse;
 import com.fighthub.exception.AlunoNaoEncontradoException;
 import com.fighthub.exception.MatriculaInvalidaException;
 import com.fighthub.service.AlunoService;
+import com.fighthub.service.GraduacaoService;
+import com.fighthub.service.ImportacaoAlunoService;
+import com.fighthub.service.MenoresSemResponsavelService;
 import com.fighthub.utils.ControllerTestBase;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
@@ -25,6 +28,9 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 class AlunoControllerTest extends ControllerTestBase {
 
     @MockBean private AlunoService alunoService;
+    @MockBean private ImportacaoAlunoService importacaoAlunoService;
+    @MockBean private GraduacaoService graduacaoService;
+    @MockBean private MenoresSemResponsavelService menoresSemResponsavelService;
 
     @Test
     @WithMockUser(roles = {"ADMIN"})
@@ -4,27 +4,43 @@ import com.fighthub.dto.aluno.AlunoUpdateDataMatriculaRequest;
 import com.fighthub.dto.aluno.AlunoUpdateDataNascimentoRequest;
 import com.fighthub.dto.aluno.AlunoUpdateMatriculaRequest;
 import com.fighthub.dto.aluno.CriarAlunoRequest;
+import com.fighthub.dto.aluno.GraduacaoLoteRequest;
 import com.fighthub.model.Aluno;
 import com.fighthub.model.Endereco;
 import com.fighthub.model.GraduacaoAluno;
+import com.fighthub.model.Responsavel;
+import com.fighthub.model.Turma;
 import com.fighthub.model.Usuario;
 import com.fighthub.model.enums.BeltGraduation;
+import com.fighthub.model.enums.EmailStatus;
+import com.fighthub.model.enums.GraduationAction;
 import com.fighthub.model.enums.GraduationLevel;
 import com.fighthub.model.enums.Role;
+import com.fighthub.repository.EmailOutboxRepository;
+import com.fighthub.repository.GraduacaoHistoricoRepository;
 import com.fighthub.service.EmailService;
 import com.fighthub.service.JwtService;
 import com.fighthub.service.TokenService;
 import com.fighthub.utils.IntegrationTestBase;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.mock.mockito.SpyBean;
 import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockMultipartFile;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 
+import static org.hamcrest.Matchers.containsInAnyOrder;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
@@ -38,6 +54,10 @@ public class AlunoIntegrationTest extends IntegrationTestBase {
     @SpyBean private TokenService tokenService;
     @SpyBean private EmailService emailService;
     @Autowired private JwtService jwtService;
+    @Autowired private JdbcTemplate jdbcTemplate;
+    @Autowired private EmailOutboxRepository emailOutboxRepository;
+    @Autowired private GraduacaoHistoricoRepository graduacaoHistoricoRepository;
+    @PersistenceContext private EntityManager entityManager;
 
     private Usuario usuario;
     private String accessToken;
@@ -96,6 +116,14 @@ public class AlunoIntegrationTest extends IntegrationTestBase {
 
         verify(tokenService).salvarTokenAtivacao(usuarioSalvo.get());
         verify(emailService).enviarEmailAtivacao(eq(usuarioSalvo.get()), anyString());
+
+        // O e-mail entra na caixa de saída na mesma transação do cadastro
+        var emails = emailOutboxRepository.findAll().stream()
+                .filter(email -> email.getDestinatario().equals("joao@email.com"))
+                .toList();
+        assertEquals(1, emails.size());
+        assertEquals(EmailStatus.PENDENTE, emails.get(0).getStatus());
+        assertEquals("Finalize seu cadastro no FightHub!", emails.get(0).getAssunto());
     }
 
     @Test
@@ -214,6 +242,203 @@ public class AlunoIntegrationTest extends IntegrationTestBase {
                 .andExpect(status().isConflict());
     }
 
+    @Test
+    void deveImportarAlunosDeCsv_ReportandoLinhasInvalidas() throws Exception {
+        var usuarioResponsavel = usuarioRepository.save(Usuario.builder()
+                .nome("Responsável")
+                .email("responsavel@email.com")
+                .cpf("302.514.990-10")
+                .role(Role.RESPONSAVEL)
+                .ativo(true)
+                .build());
+        var responsavel = responsavelRepository.save(new Responsavel(null, usuarioResponsavel, new ArrayList<>()));
+
+        String csv = """
+                nome;email;cpf;dataNascimento;responsaveis
+                João;joao@email.com;107.031.010-72;10/01/2000;
+                Maria;maria@email.com;390.533.447-05;%s;%s
+                Repetido;usuario@email.com;529.982.247-25;2000-01-10;
+                Inválido;invalido;111.111.111-22;2000-01-10;
+                """.formatted(LocalDate.now().minusYears(12), responsavel.getId());
+        var arquivo = new MockMultipartFile("file", "alunos.csv", "text/csv", csv.getBytes(StandardCharsets.UTF_8));
+
+        mockMvc.perform(multipart("/alunos/import")
+                        .file(arquivo)
+                        .header("Authorization", "Bearer " + accessToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.linhasProcessadas").value(4))
+                .andExpect(jsonPath("$.importados").value(2))
+                .andExpect(jsonPath("$.erros.length()").value(2))
+                .andExpect(jsonPath("$.erros[0].linha").value(4))
+                .andExpect(jsonPath("$.erros[0].mensagem").value("E-mail já cadastrado"))
+                .andExpect(jsonPath("$.erros[1].linha").value(5));
+
+        var joao = usuarioRepository.findByEmail("joao@email.com").orElseThrow();
+        var maria = usuarioRepository.findByEmail("maria@email.com").orElseThrow();
+        assertFalse(joao.isAtivo());
+        assertTrue(alunoRepository.findByUsuarioId(joao.getId()).isPresent());
+
+        var alunoMaria = alunoRepository.findByUsuarioId(maria.getId()).orElseThrow();
+        assertEquals(1, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM alunos_responsaveis WHERE aluno_id = ? AND responsavel_id = ?",
+                Integer.class, alunoMaria.getId(), responsavel.getId()));
+
+        verify(emailService).enviarEmailAtivacao(eq(joao), anyString());
+        verify(emailService).enviarEmailAtivacao(eq(maria), anyString());
+    }
+
+    @Test
+    void deveRetornar403_AoImportarAlunos_QuandoUsuarioSemPermissao() throws Exception {
+        var usuarioAluno = usuarioRepository.save(Usuario.builder()
+                .nome("Aluno")
+                .email("aluno@email.com")
+                .cpf("302.514.990-10")
+                .role(Role.ALUNO)
+                .ativo(true)
+                .build());
+
+        var tokenAluno = jwtService.gerarToken(usuarioAluno);
+        tokenService.salvarAccessToken(usuarioAluno, tokenAluno);
+
+        var arquivo = new MockMultipartFile("file", "alunos.csv", "text/csv",
+                "nome,email,cpf,dataNascimento\n".getBytes(StandardCharsets.UTF_8));
+
+        mockMvc.perform(multipart("/alunos/import")
+                        .file(arquivo)
+                        .header("Authorization", "Bearer " + tokenAluno))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void deveListarElegiveisGraduacao_OrdenadosPorAulasDesdeGraduacao() throws Exception {
+        var elegivelGrau = salvarAlunoComAulas("Elegível Grau", "grau@email.com", "107.031.010-72",
+                GraduationLevel.II, 35, true);
+        salvarAlunoComAulas("Sem Aulas", "poucas@email.com", "390.533.447-05", GraduationLevel.IV, 40, true);
+        var elegivelFaixa = salvarAlunoComAulas("Elegível Faixa", "faixa@email.com", "529.982.247-25",
+                GraduationLevel.IV, 70, true);
+        salvarAlunoComAulas("Inativo", "inativo@email.com", "111.444.777-35", GraduationLevel.I, 100, false);
+
+        mockMvc.perform(get("/alunos/elegiveis-graduacao")
+                        .header("Authorization", "Bearer " + accessToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalElements").value(2))
+                .andExpect(jsonPath("$.content[0].id").value(elegivelFaixa.getId().toString()))
+                .andExpect(jsonPath("$.content[0].promocaoDeFaixa").value(true))
+                .andExpect(jsonPath("$.content[0].aulasNecessarias").value(60))
+                .andExpect(jsonPath("$.content[1].id").value(elegivelGrau.getId().toString()))
+                .andExpect(jsonPath("$.content[1].aulasDesdeGraduacao").value(35));
+    }
+
+    @Test
+    void deveRegistrarHistoricoEZerarContador_AoPromoverGrau() throws Exception {
+        var aluno = salvarAlunoComAulas("Aluno", "aluno.grau@email.com", "107.031.010-72",
+                GraduationLevel.II, 35, true);
+
+        mockMvc.perform(patch("/alunos/{id}/promover/grau", aluno.getId())
+                        .header("Authorization", "Bearer " + accessToken))
+                .andExpect(status().isOk());
+
+        var atualizado = alunoRepository.findById(aluno.getId()).orElseThrow();
+        assertEquals(GraduationLevel.III, atualizado.getGraduacao().getLevel());
+        assertEquals(0, atualizado.getAulasDesdeGraduacao());
+        assertNotNull(atualizado.getDataUltimaGraduacao());
+
+        var historico = graduacaoHistoricoRepository.findAll();
+        assertEquals(1, historico.size());
+        assertEquals(GraduationLevel.II, historico.get(0).getNivelAnterior());
+        assertEquals(GraduationLevel.III, historico.get(0).getNivel());
+        assertEquals(35, historico.get(0).getAulasNoPeriodo());
+    }
+
+    @Test
+    void deveAplicarGraduacoesEmLote() throws Exception {
+        var paraFaixa = salvarAlunoComAulas("Faixa", "faixa@email.com", "107.031.010-72", GraduationLevel.IV, 70, true);
+        var paraGrau = salvarAlunoComAulas("Grau", "grau@email.com", "390.533.447-05", GraduationLevel.I, 31, true);
+        var semGraus = salvarAlunoComAulas("Sem Graus", "sem.graus@email.com", "529.982.247-25", GraduationLevel.II, 5, true);
+
+        var request = new GraduacaoLoteRequest(List.of(
+                new GraduacaoLoteRequest.Item(paraFaixa.getId(), GraduationAction.PROMOVER_FAIXA),
+                new GraduacaoLoteRequest.Item(paraGrau.getId(), GraduationAction.PROMOVER_GRAU),
+                new GraduacaoLoteRequest.Item(semGraus.getId(), GraduationAction.PROMOVER_FAIXA)
+        ));
+
+        mockMvc.perform(post("/alunos/graduacoes:batch")
+                        .header("Authorization", "Bearer " + accessToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.aplicadas").value(2))
+                .andExpect(jsonPath("$.rejeitadas").value(1))
+                .andExpect(jsonPath("$.resultados[0].faixa").value("ROXA"))
+                .andExpect(jsonPath("$.resultados[1].nivel").value("II"))
+                .andExpect(jsonPath("$.resultados[2].aplicada").value(false));
+
+        entityManager.clear();
+
+        var faixa = alunoRepository.findById(paraFaixa.getId()).orElseThrow();
+        assertEquals(BeltGraduation.ROXA, faixa.getGraduacao().getBelt());
+        assertEquals(GraduationLevel.ZERO, faixa.getGraduacao().getLevel());
+        assertEquals(0, faixa.getAulasDesdeGraduacao());
+        assertNotNull(faixa.getDataUltimaGraduacao());
+
+        var grau = alunoRepository.findById(paraGrau.getId()).orElseThrow();
+        assertEquals(GraduationLevel.II, grau.getGraduacao().getLevel());
+
+        var inalterado = alunoRepository.findById(semGraus.getId()).orElseThrow();
+        assertEquals(GraduationLevel.II, inalterado.getGraduacao().getLevel());
+        assertEquals(5, inalterado.getAulasDesdeGraduacao());
+
+        var historico = graduacaoHistoricoRepository.findAll();
+        assertEquals(2, historico.size());
+        assertTrue(historico.stream().anyMatch(h -> h.getAlunoId().equals(paraFaixa.getId())
+                && h.getFaixaAnterior() == BeltGraduation.AZUL && h.getAulasNoPeriodo() == 70));
+    }
+
+    @Test
+    void deveRetornar400_AoAplicarGraduacoesEmLote_QuandoListaVazia() throws Exception {
+        mockMvc.perform(post("/alunos/graduacoes:batch")
+                        .header("Authorization", "Bearer " + accessToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new GraduacaoLoteRequest(List.of()))))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void deveListarEContarMenoresSemResponsavel() throws Exception {
+        var menorSemResponsavel = salvarAlunoComAulas("Menor Sem", "menor.sem@email.com", "107.031.010-72",
+                GraduationLevel.ZERO, 0, true);
+        menorSemResponsavel.setDataNascimento(LocalDate.now().minusYears(12));
+        var menorComResponsavel = salvarAlunoComAulas("Menor Com", "menor.com@email.com", "390.533.447-05",
+                GraduationLevel.ZERO, 0, true);
+        menorComResponsavel.setDataNascimento(LocalDate.now().minusYears(12));
+        var menorInativo = salvarAlunoComAulas("Menor Inativo", "menor.inativo@email.com", "529.982.247-25",
+                GraduationLevel.ZERO, 0, false);
+        menorInativo.setDataNascimento(LocalDate.now().minusYears(12));
+        salvarAlunoComAulas("Adulto", "adulto@email.com", "111.444.777-35", GraduationLevel.ZERO, 0, true);
+
+        var usuarioResponsavel = usuarioRepository.save(Usuario.builder()
+                .nome("Responsável")
+                .email("responsavel@email.com")
+                .cpf("302.514.990-10")
+                .role(Role.RESPONSAVEL)
+                .ativo(true)
+                .build());
+        responsavelRepository.save(new Responsavel(null, usuarioResponsavel, new ArrayList<>(List.of(menorComResponsavel))));
+
+        mockMvc.perform(get("/alunos/menores-sem-responsavel")
+                        .header("Authorization", "Bearer " + accessToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].id").value(menorSemResponsavel.getId().toString()))
+                .andExpect(jsonPath("$[0].email").value("menor.sem@email.com"))
+                .andExpect(jsonPath("$[0].dataNascimento").value(LocalDate.now().minusYears(12).toString()));
+
+        mockMvc.perform(get("/alunos/menores-sem-responsavel/contagem")
+                        .header("Authorization", "Bearer " + accessToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total").value(1));
+    }
+
     @Test
     void deveRetornarPageDeAlunosComConteudoCorreto() throws Exception {
         // Arrange
@@ -239,7 +464,9 @@ public class AlunoIntegrationTest extends IntegrationTestBase {
                 new GraduacaoAluno(
                         BeltGraduation.BRANCA,
                         GraduationLevel.ZERO
-                )
+                ),
+                0,
+                null
         ));
 
         Usuario u2 = usuarioRepository.save(Usuario.builder()
@@ -264,7 +491,9 @@ public class AlunoIntegrationTest extends IntegrationTestBase {
                 new GraduacaoAluno(
                         BeltGraduation.BRANCA,
                         GraduationLevel.ZERO
-                )
+                ),
+                0,
+                null
         ));
 
         // Act + Assert
@@ -274,16 +503,126 @@ public class AlunoIntegrationTest extends IntegrationTestBase {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.content").isArray())
                 .andExpect(jsonPath("$.content.length()").value(2))
-                .andExpect(jsonPath("$.content[0].nome").value("Aluno Um"))
-                .andExpect(jsonPath("$.content[0].email").value("um@email.com"))
-                .andExpect(jsonPath("$.content[1].nome").value("Aluno Dois"))
-                .andExpect(jsonPath("$.content[1].email").value("dois@email.com"))
+                .andExpect(jsonPath("$.content[0].nome").value("Aluno Dois"))
+                .andExpect(jsonPath("$.content[0].email").value("dois@email.com"))
+                .andExpect(jsonPath("$.content[1].nome").value("Aluno Um"))
+                .andExpect(jsonPath("$.content[1].email").value("um@email.com"))
                 .andExpect(jsonPath("$.totalElements").value(2))
                 .andExpect(jsonPath("$.totalPages").value(1))
                 .andExpect(jsonPath("$.size").value(20))
                 .andExpect(jsonPath("$.number").value(0));
     }
 
+    @Test
+    void deveRetornarPaginaDeAlunosComTurmasAgregadas() throws Exception {
+        Aluno comTurmas = null;
+        for (int i = 0; i < 3; i++) {
+            Usuario u = usuarioRepository.save(Usuario.builder()
+                    .nome("Aluno Pagina " + i)
+                    .email("pagina" + i + "@email.com")
+                    .cpf(String.format("%011d", 500 + i))
+                    .role(Role.ALUNO)
+                    .ativo(true)
+                    .loginSocial(false)
+                    .senha("123456")
+                    .build());
+            Aluno aluno = alunoRepository.save(Aluno.builder()
+                    .usuario(u)
+                    .dataNascimento(LocalDate.now().minusYears(20))
+                    .dataMatricula(LocalDate.now())
+                    .matriculaAtiva(true)
+                    .graduacao(new GraduacaoAluno(BeltGraduation.AZUL, GraduationLevel.ZERO))
+                    .build());
+            if (i == 1) comTurmas = aluno;
+        }
+
+        var turmaA = turmaRepository.save(Turma.builder().nome("A").horario("18:00").ativo(true)
+                .alunos(new HashSet<>(Set.of(comTurmas))).build());
+        var turmaB = turmaRepository.save(Turma.builder().nome("B").horario("19:00").ativo(true)
+                .alunos(new HashSet<>(Set.of(comTurmas))).build());
+        turmaRepository.flush();
+
+        mockMvc.perform(get("/alunos")
+                        .param("page", "1")
+                        .param("size", "1")
+                        .param("sort", "usuario.nome")
+                        .header("Authorization", "Bearer " + accessToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(1))
+                .andExpect(jsonPath("$.content[0].nome").value("Aluno Pagina 1"))
+                .andExpect(jsonPath("$.content[0].graduacaoAluno.belt").value("AZUL"))
+                .andExpect(jsonPath("$.content[0].turmaIds", containsInAnyOrder(
+                        turmaA.getId().toString(), turmaB.getId().toString())))
+                .andExpect(jsonPath("$.totalElements").value(3));
+
+        mockMvc.perform(get("/alunos")
+                        .param("page", "0")
+                        .param("size", "1")
+                        .param("sort", "usuario.nome")
+                        .header("Authorization", "Bearer " + accessToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].nome").value("Aluno Pagina 0"))
+                .andExpect(jsonPath("$.content[0].turmaIds.length()").value(0));
+    }
+
+    @Test
+    void deveRetornarSomenteCamposPedidos_QuandoListarAlunosComFields() throws Exception {
+        Aluno comTurma = null;
+        for (int i = 0; i < 2; i++) {
+            Usuario u = usuarioRepository.save(Usuario.builder()
+                    .nome("Aluno Campos " + i)
+                    .email("campos" + i + "@email.com")
+                    .cpf(String.format("%011d", 700 + i))
+                    .role(Role.ALUNO)
+                    .ativo(true)
+                    .loginSocial(false)
+                    .senha("123456")
+                    .build());
+            Aluno aluno = alunoRepository.save(Aluno.builder()
+                    .usuario(u)
+                    .dataNascimento(LocalDate.now().minusYears(20))
+                    .dataMatricula(LocalDate.now())
+                    .matriculaAtiva(true)
+                    .graduacao(new GraduacaoAluno(BeltGraduation.ROXA, GraduationLevel.II))
+                    .build());
+            if (i == 0) comTurma = aluno;
+        }
+
+        var turma = turmaRepository.save(Turma.builder().nome("A").horario("18:00").ativo(true)
+                .alunos(new HashSet<>(Set.of(comTurma))).build());
+        turmaRepository.flush();
+
+        mockMvc.perform(get("/alunos")
+                        .param("fields", "nome,graduacaoAluno,turmaIds")
+                        .header("Authorization", "Bearer " + accessToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(2))
+                .andExpect(jsonPath("$.content[0].id").value(comTurma.getId().toString()))
+                .andExpect(jsonPath("$.content[0].nome").value("Aluno Campos 0"))
+                .andExpect(jsonPath("$.content[0].graduacaoAluno.belt").value("ROXA"))
+                .andExpect(jsonPath("$.content[0].turmaIds[0]").value(turma.getId().toString()))
+                .andExpect(jsonPath("$.content[0].email").doesNotExist())
+                .andExpect(jsonPath("$.content[0].dataNascimento").doesNotExist())
+                .andExpect(jsonPath("$.content[1].turmaIds.length()").value(0))
+                .andExpect(jsonPath("$.totalElements").value(2));
+
+        mockMvc.perform(get("/alunos")
+                        .param("fields", "email")
+                        .param("sort", "usuario.nome,desc")
+                        .header("Authorization", "Bearer " + accessToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].email").value("campos1@email.com"))
+                .andExpect(jsonPath("$.content[0].turmaIds").doesNotExist());
+    }
+
+    @Test
+    void deveRetornar409_QuandoFieldsTemCampoNaoSuportado() throws Exception {
+        mockMvc.perform(get("/alunos")
+                        .param("fields", "nome,senha")
+                        .header("Authorization", "Bearer " + accessToken))
+                .andExpect(status().isConflict());
+    }
+
     @Test
     void deveRetornarPageVaziaDeAlunosComConteudoCorreto() throws Exception {
         mockMvc.perform(get("/alunos")
@@ -307,7 +646,9 @@ public class AlunoIntegrationTest extends IntegrationTestBase {
                 new GraduacaoAluno(
                         BeltGraduation.BRANCA,
                         GraduationLevel.ZERO
-                )
+                ),
+                0,
+                null
         ));
         mockMvc.perform(get("/alunos/{id}", aluno.getId())
                         .contentType(MediaType.APPLICATION_JSON)
@@ -342,7 +683,9 @@ public class AlunoIntegrationTest extends IntegrationTestBase {
                 new GraduacaoAluno(
                         BeltGraduation.BRANCA,
                         GraduationLevel.ZERO
-                )
+                ),
+                0,
+                null
         );
 
         mockMvc.perform(get("/alunos/{id}", aluno.getId())
@@ -364,7 +707,9 @@ public class AlunoIntegrationTest extends IntegrationTestBase {
                 new GraduacaoAluno(
                         BeltGraduation.BRANCA,
                         GraduationLevel.ZERO
-                )
+                ),
+                0,
+                null
         ));
         var request = new AlunoUpdateMatriculaRequest(false);
 
@@ -391,7 +736,9 @@ public class AlunoIntegrationTest extends IntegrationTestBase {
                 new GraduacaoAluno(
                         BeltGraduation.BRANCA,
                         GraduationLevel.ZERO
-                )
+                ),
+                0,
+                null
         );
         var request = new AlunoUpdateMatriculaRequest(false);
 
@@ -415,7 +762,9 @@ public class AlunoIntegrationTest extends IntegrationTestBase {
                 new GraduacaoAluno(
                         BeltGraduation.BRANCA,
                         GraduationLevel.ZERO
-                )
+                ),
+                0,
+                null
         ));
         var request = new AlunoUpdateMatriculaRequest(true);
 
@@ -439,7 +788,9 @@ public class AlunoIntegrationTest extends IntegrationTestBase {
                 new GraduacaoAluno(
                         BeltGraduation.BRANCA,
                         GraduationLevel.ZERO
-                )
+                ),
+                0,
+                null
         ));
         var request = new AlunoUpdateDataMatriculaRequest(LocalDate.now().minusDays(1));
 
@@ -466,7 +817,9 @@ public class AlunoIntegrationTest extends IntegrationTestBase {
                 new GraduacaoAluno(
                         BeltGraduation.BRANCA,
                         GraduationLevel.ZERO
-                )
+                ),
+                0,
+                null
         );
         var request = new AlunoUpdateDataMatriculaRequest(LocalDate.now().minusDays(1));
 
@@ -490,7 +843,9 @@ public class AlunoIntegrationTest extends IntegrationTestBase {
                 new GraduacaoAluno(
                         BeltGraduation.BRANCA,
                         GraduationLevel.ZERO
-                )
+                ),
+                0,
+                null
         ));
         var request = new AlunoUpdateDataNascimentoRequest(LocalDate.now().minusYears(18));
 
@@ -517,7 +872,9 @@ public class AlunoIntegrationTest extends IntegrationTestBase {
                 new GraduacaoAluno(
                         BeltGraduation.BRANCA,
                         GraduationLevel.ZERO
-                )
+                ),
+                0,
+                null
         );
         var request = new AlunoUpdateDataNascimentoRequest(LocalDate.now().minusYears(18));
 
@@ -541,7 +898,9 @@ public class AlunoIntegrationTest extends IntegrationTestBase {
                 new GraduacaoAluno(
                         BeltGraduation.BRANCA,
                         GraduationLevel.IV
-                )
+                ),
+                0,
+                null
         ));
 
         mockMvc.perform(patch("/alunos/{id}/promover/faixa", aluno.getId())
@@ -567,7 +926,9 @@ public class AlunoIntegrationTest extends IntegrationTestBase {
                 new GraduacaoAluno(
                         BeltGraduation.BRANCA,
                         GraduationLevel.IV
-                )
+                ),
+                0,
+                null
         ));
 
         mockMvc.perform(patch("/alunos/{id}/promover/faixa", aluno.getId())
@@ -593,7 +954,9 @@ public class AlunoIntegrationTest extends IntegrationTestBase {
                 new GraduacaoAluno(
                         BeltGraduation.BRANCA,
                         GraduationLevel.IV
-                )
+                ),
+                0,
+                null
         );
 
         mockMvc.perform(patch("/alunos/{id}/promover/faixa", aluno.getId())
@@ -612,6 +975,8 @@ public class AlunoIntegrationTest extends IntegrationTestBase {
                 true,
                 List.of(),
                 List.of(),
+                null,
+                0,
                 null
         ));
 
@@ -634,7 +999,9 @@ public class AlunoIntegrationTest extends IntegrationTestBase {
                 new GraduacaoAluno(
                         BeltGraduation.PRETA,
                         GraduationLevel.IV
-                )
+                ),
+                0,
+                null
         ));
 
         mockMvc.perform(patch("/alunos/{id}/promover/faixa", aluno.getId())
@@ -656,7 +1023,9 @@ public class AlunoIntegrationTest extends IntegrationTestBase {
                 new GraduacaoAluno(
                         BeltGraduation.BRANCA,
                         GraduationLevel.III
-                )
+                ),
+                0,
+                null
         ));
 
         mockMvc.perform(patch("/alunos/{id}/promover/faixa", aluno.getId())
@@ -678,7 +1047,9 @@ public class AlunoIntegrationTest extends IntegrationTestBase {
                 new GraduacaoAluno(
                         BeltGraduation.CINZA,
                         GraduationLevel.ZERO
-                )
+                ),
+                0,
+                null
         ));
 
         mockMvc.perform(patch("/alunos/{id}/rebaixar/faixa", aluno.getId())
@@ -704,7 +1075,9 @@ public class AlunoIntegrationTest extends IntegrationTestBase {
                 new GraduacaoAluno(
                         BeltGraduation.AZUL,
                         GraduationLevel.ZERO
-                )
+                ),
+                0,
+                null
         ));
 
         mockMvc.perform(patch("/alunos/{id}/rebaixar/faixa", aluno.getId())
@@ -730,7 +1103,9 @@ public class AlunoIntegrationTest extends IntegrationTestBase {
                 new GraduacaoAluno(
                         BeltGraduation.CINZA,
                         GraduationLevel.ZERO
-                )
+                ),
+                0,
+                null
         );
 
         mockMvc.perform(patch("/alunos/{id}/rebaixar/faixa", aluno.getId())
@@ -749,6 +1124,8 @@ public class AlunoIntegrationTest extends IntegrationTestBase {
                 true,
                 List.of(),
                 List.of(),
+                null,
+                0,
                 null
         ));
 
@@ -771,7 +1148,9 @@ public class AlunoIntegrationTest extends IntegrationTestBase {
                 new GraduacaoAluno(
                         BeltGraduation.CINZA,
                         GraduationLevel.II
-                )
+                ),
+                0,
+                null
         ));
 
         mockMvc.perform(patch("/alunos/{id}/rebaixar/faixa", aluno.getId())
@@ -793,7 +1172,9 @@ public class AlunoIntegrationTest extends IntegrationTestBase {
                 new GraduacaoAluno(
                         BeltGraduation.BRANCA,
                         GraduationLevel.ZERO
-                )
+                ),
+                0,
+                null
         ));
 
         mockMvc.perform(patch("/alunos/{id}/rebaixar/faixa", aluno.getId())
@@ -815,7 +1196,9 @@ public class AlunoIntegrationTest extends IntegrationTestBase {
                 new GraduacaoAluno(
                         BeltGraduation.BRANCA,
                         GraduationLevel.II
-                )
+                ),
+                0,
+                null
         ));
 
         mockMvc.perform(patch("/alunos/{id}/promover/grau", aluno.getId())
@@ -840,7 +1223,9 @@ public class AlunoIntegrationTest extends IntegrationTestBase {
                 new GraduacaoAluno(
                         BeltGraduation.BRANCA,
                         GraduationLevel.II
-                )
+                ),
+                0,
+                null
         );
 
         mockMvc.perform(patch("/alunos/{id}/promover/grau", aluno.getId())
@@ -859,6 +1244,8 @@ public class AlunoIntegrationTest extends IntegrationTestBase {
                 true,
                 List.of(),
                 List.of(),
+                null,
+                0,
                 null
         ));
 
@@ -881,7 +1268,9 @@ public class AlunoIntegrationTest extends IntegrationTestBase {
                 new GraduacaoAluno(
                         BeltGraduation.BRANCA,
                         GraduationLevel.IV
-                )
+                ),
+                0,
+                null
         ));
 
         mockMvc.perform(patch("/alunos/{id}/promover/grau", aluno.getId())
@@ -903,7 +1292,9 @@ public class AlunoIntegrationTest extends IntegrationTestBase {
                 new GraduacaoAluno(
                         BeltGraduation.BRANCA,
                         GraduationLevel.III
-                )
+                ),
+                0,
+                null
         ));
 
         mockMvc.perform(patch("/alunos/{id}/rebaixar/grau", aluno.getId())
@@ -928,7 +1319,9 @@ public class AlunoIntegrationTest extends IntegrationTestBase {
                 new GraduacaoAluno(
                         BeltGraduation.BRANCA,
                         GraduationLevel.III
-                )
+                ),
+                0,
+                null
         );
 
         mockMvc.perform(patch("/alunos/{id}/rebaixar/grau", aluno.getId())
@@ -947,6 +1340,8 @@ public class AlunoIntegrationTest extends IntegrationTestBase {
                 true,
                 List.of(),
                 List.of(),
+                null,
+                0,
                 null
         ));
 
@@ -969,7 +1364,9 @@ public class AlunoIntegrationTest extends IntegrationTestBase {
                 new GraduacaoAluno(
                         BeltGraduation.BRANCA,
                         GraduationLevel.ZERO
-                )
+                ),
+                0,
+                null
         ));
 
         mockMvc.perform(patch("/alunos/{id}/rebaixar/grau", aluno.getId())
@@ -977,4 +1374,24 @@ public class AlunoIntegrationTest extends IntegrationTestBase {
                         .header("Authorization", "Bearer " + accessToken))
                 .andExpect(status().isConflict());
     }
+
+    private Aluno salvarAlunoComAulas(String nome, String email, String cpf, GraduationLevel nivel,
+                                      int aulas, boolean matriculaAtiva) {
+        var usuarioAluno = usuarioRepository.save(Usuario.builder()
+                .nome(nome)
+                .email(email)
+                .cpf(cpf)
+                .role(Role.ALUNO)
+                .ativo(true)
+                .build());
+
+        return alunoRepository.save(Aluno.builder()
+                .usuario(usuarioAluno)
+                .dataNascimento(LocalDate.of(1990, 1, 1))
+                .dataMatricula(LocalDate.now())
+                .matriculaAtiva(matriculaAtiva)
+                .graduacao(new GraduacaoAluno(BeltGraduation.AZUL, nivel))
+                .aulasDesdeGraduacao(aulas)
+                .build());
+    }
 }
@@ -3,12 +3,16 @@ package com.fighthub.integration;
 import com.fighthub.dto.aula.AulaRequest;
 import com.fighthub.dto.aula.AulaUpdateCompletoRequest;
 import com.fighthub.dto.aula.AulaUpdateStatusRequest;
+import com.fighthub.model.Aluno;
 import com.fighthub.model.Aula;
 import com.fighthub.model.Endereco;
+import com.fighthub.model.Professor;
 import com.fighthub.model.Turma;
 import com.fighthub.model.Usuario;
 import com.fighthub.model.enums.ClassStatus;
 import com.fighthub.model.enums.Role;
+import com.fighthub.service.CicloVidaAulaService;
+import com.fighthub.service.ConflitoAgendaService;
 import com.fighthub.service.JwtService;
 import com.fighthub.service.TokenService;
 import com.fighthub.utils.IntegrationTestBase;
@@ -18,16 +22,25 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.mock.mockito.SpyBean;
 import org.springframework.http.MediaType;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 
+import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.hasItem;
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -35,6 +48,8 @@ public class AulaIntegrationTest extends IntegrationTestBase {
 
     @SpyBean private TokenService tokenService;
     @Autowired private JwtService jwtService;
+    @Autowired private CicloVidaAulaService cicloVidaAulaService;
+    @Autowired private ConflitoAgendaService conflitoAgendaService;
 
     private Usuario usuario;
     private Turma turma;
@@ -70,7 +85,7 @@ public class AulaIntegrationTest extends IntegrationTestBase {
                 .nome("Turma de Teste")
                 .horario("Segunda 19:00")
                 .ativo(true)
-                .alunos(new ArrayList<>())
+                .alunos(new HashSet<>())
                 .build());
 
         aula = aulaRepository.save(Aula.builder()
@@ -519,4 +534,258 @@ public class AulaIntegrationTest extends IntegrationTestBase {
                 .andExpect(jsonPath("$.totalPages", is(2)))
                 .andExpect(jsonPath("$.content[*].titulo", hasItem("PgAula0")));
     }
+
+    @Test
+    void deveAtualizarStatusDasAulasVencidas() {
+        Aula proxima = aulaRepository.save(novaAula(LocalDateTime.now().plusMinutes(30), null, ClassStatus.DISPONIVEL));
+        Aula encerrada = aulaRepository.save(novaAula(LocalDateTime.now().minusHours(2), null, ClassStatus.DISPONIVEL));
+        Aula emAndamento = aulaRepository.save(novaAula(LocalDateTime.now().minusMinutes(30), 90, ClassStatus.AGENDADA));
+        Aula longaEncerrada = aulaRepository.save(novaAula(LocalDateTime.now().minusHours(3), 120, ClassStatus.EM_PROGRESSO));
+        Aula cancelada = aulaRepository.save(novaAula(LocalDateTime.now().minusHours(2), null, ClassStatus.CANCELADA));
+
+        cicloVidaAulaService.atualizarStatusAulas();
+
+        assertEquals(ClassStatus.DISPONIVEL, aulaRepository.findById(aula.getId()).orElseThrow().getStatus());
+        assertEquals(ClassStatus.AGENDADA, aulaRepository.findById(proxima.getId()).orElseThrow().getStatus());
+        assertEquals(ClassStatus.FINALIZADA, aulaRepository.findById(encerrada.getId()).orElseThrow().getStatus());
+        assertEquals(ClassStatus.AGENDADA, aulaRepository.findById(emAndamento.getId()).orElseThrow().getStatus());
+        assertEquals(ClassStatus.FINALIZADA, aulaRepository.findById(longaEncerrada.getId()).orElseThrow().getStatus());
+        assertEquals(ClassStatus.CANCELADA, aulaRepository.findById(cancelada.getId()).orElseThrow().getStatus());
+    }
+
+    private Aula novaAula(LocalDateTime data, Integer duracaoMinutos, ClassStatus status) {
+        return Aula.builder()
+                .titulo("Aula " + status)
+                .data(data)
+                .duracaoMinutos(duracaoMinutos)
+                .status(status)
+                .limiteAlunos(20)
+                .ativo(status != ClassStatus.CANCELADA)
+                .turma(turma)
+                .build();
+    }
+
+    @Test
+    void deveSincronizarCalendarioDoAlunoIncrementalmente() throws Exception {
+        String tokenAluno = criarAlunoMatriculadoNaTurma();
+
+        String primeira = mockMvc.perform(get("/aulas/me/calendario")
+                        .header("Authorization", "Bearer " + tokenAluno))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.completo").value(true))
+                .andExpect(jsonPath("$.alteradas", hasSize(1)))
+                .andExpect(jsonPath("$.alteradas[0].id").value(aula.getId().toString()))
+                .andReturn().getResponse().getContentAsString();
+        String token = objectMapper.readTree(primeira).get("token").asText();
+
+        AulaRequest request = new AulaRequest("Aula Nova", "Conteúdo", LocalDateTime.now().plusDays(3), turma.getId(), 15);
+        mockMvc.perform(post("/aulas")
+                        .header("Authorization", "Bearer " + accessToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isCreated());
+
+        var resultado = mockMvc.perform(get("/aulas/me/calendario")
+                        .param("token", token)
+                        .header("Authorization", "Bearer " + tokenAluno))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.completo").value(false))
+                .andExpect(jsonPath("$.alteradas", hasSize(1)))
+                .andExpect(jsonPath("$.alteradas[0].titulo").value("Aula Nova"))
+                .andExpect(jsonPath("$.removidas", hasSize(0)))
+                .andReturn().getResponse();
+        String novoToken = objectMapper.readTree(resultado.getContentAsString()).get("token").asText();
+        UUID novaAulaId = UUID.fromString(objectMapper.readTree(resultado.getContentAsString()).get("alteradas").get(0).get("id").asText());
+
+        mockMvc.perform(get("/aulas/me/calendario")
+                        .param("token", token)
+                        .header("Authorization", "Bearer " + tokenAluno)
+                        .header("If-None-Match", resultado.getHeader("ETag")))
+                .andExpect(status().isNotModified());
+
+        mockMvc.perform(delete("/aulas/{idAula}/turmas/{idTurma}", novaAulaId, turma.getId())
+                        .header("Authorization", "Bearer " + accessToken))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/aulas/me/calendario")
+                        .param("token", novoToken)
+                        .header("Authorization", "Bearer " + tokenAluno))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.alteradas", hasSize(0)))
+                .andExpect(jsonPath("$.removidas", hasSize(1)))
+                .andExpect(jsonPath("$.removidas[0]").value(novaAulaId.toString()));
+    }
+
+    @Test
+    void deveRetornarCalendarioIcsComEtag() throws Exception {
+        String tokenAluno = criarAlunoMatriculadoNaTurma();
+
+        var resposta = mockMvc.perform(get("/aulas/me/calendar.ics")
+                        .header("Authorization", "Bearer " + tokenAluno))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith("text/calendar"))
+                .andExpect(content().string(containsString("UID:" + aula.getId() + "@fighthub")))
+                .andExpect(content().string(containsString("STATUS:CONFIRMED")))
+                .andReturn().getResponse();
+        String etag = resposta.getHeader("ETag");
+
+        mockMvc.perform(get("/aulas/me/calendar.ics")
+                        .header("Authorization", "Bearer " + tokenAluno)
+                        .header("If-None-Match", etag))
+                .andExpect(status().isNotModified());
+
+        AulaUpdateStatusRequest cancelamento = new AulaUpdateStatusRequest(ClassStatus.CANCELADA);
+        mockMvc.perform(patch("/aulas/{id}/status", aula.getId())
+                        .header("Authorization", "Bearer " + accessToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(cancelamento)))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/aulas/me/calendar.ics")
+                        .header("Authorization", "Bearer " + tokenAluno)
+                        .header("If-None-Match", etag))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", not(etag)))
+                .andExpect(content().string(containsString("STATUS:CANCELLED")));
+    }
+
+    @Test
+    void deveRetornar409_QuandoTokenDeSincronizacaoInvalido() throws Exception {
+        String tokenAluno = criarAlunoMatriculadoNaTurma();
+
+        mockMvc.perform(get("/aulas/me/calendario")
+                        .param("token", "invalido")
+                        .header("Authorization", "Bearer " + tokenAluno))
+                .andExpect(status().isConflict());
+    }
+
+    @Test
+    void deveListarSomenteAulasDisponiveisDasTurmasDoAluno_OrdenadasPorData() throws Exception {
+        String tokenAluno = criarAlunoMatriculadoNaTurma();
+        Aluno aluno = turma.getAlunos().iterator().next();
+
+        Turma segundaTurma = turmaRepository.save(Turma.builder()
+                .nome("Segunda Turma")
+                .horario("Quarta 19:00")
+                .ativo(true)
+                .alunos(new HashSet<>(Set.of(aluno)))
+                .build());
+        Turma outraTurma = turmaRepository.save(Turma.builder()
+                .nome("Turma Alheia")
+                .horario("Sexta 19:00")
+                .ativo(true)
+                .alunos(new HashSet<>())
+                .build());
+
+        Aula daSegundaTurma = aulaRepository.save(novaAula(LocalDateTime.now().plusHours(6), null, ClassStatus.DISPONIVEL));
+        daSegundaTurma.setTurma(segundaTurma);
+        Aula alheia = novaAula(LocalDateTime.now().plusDays(2), null, ClassStatus.DISPONIVEL);
+        alheia.setTurma(outraTurma);
+        aulaRepository.save(alheia);
+        aulaRepository.save(novaAula(LocalDateTime.now().plusDays(2), null, ClassStatus.CANCELADA));
+
+        mockMvc.perform(get("/aulas/alunos")
+                        .header("Authorization", "Bearer " + tokenAluno)
+                        .param("sort", "data"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalElements").value(2))
+                .andExpect(jsonPath("$.content[0].id").value(daSegundaTurma.getId().toString()))
+                .andExpect(jsonPath("$.content[0].turmaId").value(segundaTurma.getId().toString()))
+                .andExpect(jsonPath("$.content[1].id").value(aula.getId().toString()));
+    }
+
+    @Test
+    void deveRejeitarAulaComConflitoDeHorarioDoProfessor() throws Exception {
+        Turma turmaProfessor = criarTurmaComProfessor("conflito.professor@email.com", "761.452.340-08");
+        LocalDateTime inicio = LocalDateTime.now().plusDays(200).withHour(19).withMinute(0).withSecond(0).withNano(0);
+
+        Aula existente = novaAula(inicio, 90, ClassStatus.DISPONIVEL);
+        existente.setTurma(turmaProfessor);
+        aulaRepository.save(existente);
+        conflitoAgendaService.reconstruir();
+
+        AulaRequest sobreposta = new AulaRequest("Aula Sobreposta", "Conflito", inicio.plusMinutes(60), turmaProfessor.getId(), 10);
+        mockMvc.perform(post("/aulas")
+                        .header("Authorization", "Bearer " + accessToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(sobreposta)))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.message").value("Professor já possui aula neste horário."));
+
+        AulaRequest seguinte = new AulaRequest("Aula Seguinte", "Sem conflito", inicio.plusMinutes(90), turmaProfessor.getId(), 10);
+        mockMvc.perform(post("/aulas")
+                        .header("Authorization", "Bearer " + accessToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(seguinte)))
+                .andExpect(status().isCreated());
+    }
+
+    @Test
+    void deveListarConflitosDeAgendaDosProfessores() throws Exception {
+        Turma turmaProfessor = criarTurmaComProfessor("relatorio.professor@email.com", "184.326.770-90");
+        LocalDateTime inicio = LocalDateTime.now().plusDays(10).withHour(7).withMinute(0).withSecond(0).withNano(0);
+
+        Aula primeira = novaAula(inicio, 60, ClassStatus.DISPONIVEL);
+        primeira.setTurma(turmaProfessor);
+        Aula segunda = novaAula(inicio.plusMinutes(30), 60, ClassStatus.DISPONIVEL);
+        segunda.setTurma(turmaProfessor);
+        Aula cancelada = novaAula(inicio.plusMinutes(15), 60, ClassStatus.CANCELADA);
+        cancelada.setTurma(turmaProfessor);
+        aulaRepository.saveAll(List.of(primeira, segunda, cancelada));
+        conflitoAgendaService.reconstruir();
+
+        String professorId = turmaProfessor.getProfessor().getId().toString();
+        mockMvc.perform(get("/aulas/conflitos")
+                        .param("semanas", "2")
+                        .header("Authorization", "Bearer " + accessToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[?(@.professorId == '" + professorId + "')]", hasSize(1)))
+                .andExpect(jsonPath("$[?(@.professorId == '" + professorId + "')].aulaId").value(primeira.getId().toString()))
+                .andExpect(jsonPath("$[?(@.professorId == '" + professorId + "')].aulaConflitanteId").value(segunda.getId().toString()));
+    }
+
+    private Turma criarTurmaComProfessor(String email, String cpf) {
+        Usuario usuarioProfessor = usuarioRepository.save(Usuario.builder()
+                .nome("Professor Agenda")
+                .email(email)
+                .cpf(cpf)
+                .role(Role.PROFESSOR)
+                .ativo(true)
+                .loginSocial(false)
+                .build());
+        Professor professor = professorRepository.save(Professor.builder().usuario(usuarioProfessor).build());
+
+        return turmaRepository.save(Turma.builder()
+                .nome("Turma Agenda")
+                .horario("Segunda 19:00")
+                .ativo(true)
+                .professor(professor)
+                .alunos(new HashSet<>())
+                .build());
+    }
+
+    private String criarAlunoMatriculadoNaTurma() {
+        Usuario usuarioAluno = usuarioRepository.save(Usuario.builder()
+                .nome("Aluno Calendário")
+                .email("aluno.calendario@email.com")
+                .cpf("529.982.247-25")
+                .role(Role.ALUNO)
+                .ativo(true)
+                .loginSocial(false)
+                .build());
+
+        Aluno aluno = alunoRepository.save(Aluno.builder()
+                .usuario(usuarioAluno)
+                .dataNascimento(LocalDate.of(2000, 1, 1))
+                .dataMatricula(LocalDate.now())
+                .matriculaAtiva(true)
+                .build());
+
+        turma.getAlunos().add(aluno);
+        turmaRepository.save(turma);
+
+        String token = jwtService.gerarToken(usuarioAluno);
+        tokenService.salvarAccessToken(usuarioAluno, token);
+        return token;
+    }
 }
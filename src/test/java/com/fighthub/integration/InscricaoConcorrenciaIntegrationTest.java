@@ -0,0 +1,225 @@
+package com.fighthub.integration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fighthub.dto.inscricao.TicketInscricaoResponse;
+import com.fighthub.model.*;
+import com.fighthub.model.enums.AdmissionStatus;
+import com.fighthub.model.enums.ClassStatus;
+import com.fighthub.model.enums.Role;
+import com.fighthub.model.enums.SubscriptionStatus;
+import com.fighthub.repository.*;
+import com.fighthub.service.JwtService;
+import com.fighthub.service.TokenService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.MOCK)
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+public class InscricaoConcorrenciaIntegrationTest {
+
+    private static final int ALUNOS = 200;
+    private static final int THREADS = 32;
+    private static final int LIMITE_ALUNOS = 25;
+
+    @Autowired private MockMvc mockMvc;
+    @Autowired private ObjectMapper objectMapper;
+    @Autowired private JwtService jwtService;
+    @Autowired private TokenService tokenService;
+
+    @Autowired private UsuarioRepository usuarioRepository;
+    @Autowired private TokenRepository tokenRepository;
+    @Autowired private AlunoRepository alunoRepository;
+    @Autowired private AulaRepository aulaRepository;
+    @Autowired private InscricaoRepository inscricaoRepository;
+
+    private Aula aula;
+    private final List<String> tokensAlunos = new ArrayList<>();
+
+    @BeforeEach
+    void setup() {
+        limparBaseDeDados();
+
+        for (int i = 0; i < ALUNOS; i++) {
+            Usuario usuario = usuarioRepository.save(Usuario.builder()
+                    .nome("Aluno " + i)
+                    .email("aluno.lotacao" + i + "@example.com")
+                    .cpf(String.format("%011d", i))
+                    .role(Role.ALUNO)
+                    .ativo(true)
+                    .senha("senha")
+                    .build());
+
+            alunoRepository.save(Aluno.builder()
+                    .usuario(usuario)
+                    .dataNascimento(LocalDate.of(2000, 1, 1))
+                    .dataMatricula(LocalDate.now())
+                    .matriculaAtiva(true)
+                    .build());
+
+            String token = jwtService.gerarToken(usuario);
+            tokenService.salvarAccessToken(usuario, token);
+            tokensAlunos.add(token);
+        }
+
+        aula = aulaRepository.save(Aula.builder()
+                .titulo("Open Mat")
+                .data(LocalDateTime.now().plusDays(1))
+                .limiteAlunos(LIMITE_ALUNOS)
+                .status(ClassStatus.DISPONIVEL)
+                .ativo(true)
+                .build());
+    }
+
+    @AfterEach
+    void limparBaseDeDados() {
+        tokensAlunos.clear();
+        inscricaoRepository.deleteAllInBatch();
+        aulaRepository.deleteAllInBatch();
+        alunoRepository.deleteAllInBatch();
+        tokenRepository.deleteAllInBatch();
+        usuarioRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void deveRespeitarLimiteDeAlunos_QuandoInscricoesConcorrentes() throws Exception {
+        CountDownLatch largada = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+
+        List<Future<Integer>> resultados = new ArrayList<>();
+        for (String token : tokensAlunos) {
+            resultados.add(executor.submit(() -> {
+                largada.await();
+                return mockMvc.perform(post("/aulas/{idAula}/inscricoes", aula.getId())
+                                .header("Authorization", "Bearer " + token))
+                        .andReturn().getResponse().getStatus();
+            }));
+        }
+
+        largada.countDown();
+        List<Integer> status = new ArrayList<>();
+        for (Future<Integer> resultado : resultados) {
+            status.add(resultado.get());
+        }
+        executor.shutdown();
+
+        long inscritos = inscricaoRepository.findAll().stream()
+                .filter(i -> i.getStatus() == SubscriptionStatus.INSCRITO)
+                .count();
+
+        assertEquals(LIMITE_ALUNOS, status.stream().filter(s -> s == 201).count());
+        assertEquals(ALUNOS - LIMITE_ALUNOS, status.stream().filter(s -> s == 409).count());
+        assertEquals(LIMITE_ALUNOS, inscritos);
+        assertEquals(LIMITE_ALUNOS, aulaRepository.findById(aula.getId()).orElseThrow().getVagasOcupadas());
+    }
+
+    @Test
+    void deveRespeitarLimiteDeAlunos_QuandoPedidosConcorrentesPelaFila() throws Exception {
+        CountDownLatch largada = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+
+        List<Future<TicketInscricaoResponse>> resultados = new ArrayList<>();
+        for (String token : tokensAlunos) {
+            resultados.add(executor.submit(() -> {
+                largada.await();
+                String body = mockMvc.perform(post("/aulas/{idAula}/inscricoes/fila", aula.getId())
+                                .header("Authorization", "Bearer " + token))
+                        .andReturn().getResponse().getContentAsString();
+                TicketInscricaoResponse ticket = objectMapper.readValue(body, TicketInscricaoResponse.class);
+
+                while (ticket.status() == AdmissionStatus.PENDENTE) {
+                    Thread.sleep(50);
+                    body = mockMvc.perform(get("/aulas/{idAula}/inscricoes/fila/{ticket}", aula.getId(), ticket.ticket())
+                                    .header("Authorization", "Bearer " + token))
+                            .andReturn().getResponse().getContentAsString();
+                    ticket = objectMapper.readValue(body, TicketInscricaoResponse.class);
+                }
+                return ticket;
+            }));
+        }
+
+        largada.countDown();
+        List<AdmissionStatus> status = new ArrayList<>();
+        for (Future<TicketInscricaoResponse> resultado : resultados) {
+            status.add(resultado.get().status());
+        }
+        executor.shutdown();
+
+        long inscritos = inscricaoRepository.findAll().stream()
+                .filter(i -> i.getStatus() == SubscriptionStatus.INSCRITO)
+                .count();
+
+        assertEquals(LIMITE_ALUNOS, status.stream().filter(s -> s == AdmissionStatus.CONFIRMADA).count());
+        assertEquals(ALUNOS - LIMITE_ALUNOS, status.stream().filter(s -> s == AdmissionStatus.RECUSADA).count());
+        assertEquals(LIMITE_ALUNOS, inscritos);
+        assertEquals(LIMITE_ALUNOS, aulaRepository.findById(aula.getId()).orElseThrow().getVagasOcupadas());
+    }
+
+    @Test
+    void devePromoverUmUnicoAlunoDaEspera_QuandoCancelamentosConcorrentesDaMesmaInscricao() throws Exception {
+        Aula lotada = aulaRepository.save(Aula.builder()
+                .titulo("Aula de uma vaga")
+                .data(LocalDateTime.now().plusDays(1))
+                .limiteAlunos(1)
+                .status(ClassStatus.DISPONIVEL)
+                .ativo(true)
+                .build());
+
+        String inscrito = tokensAlunos.get(0);
+        assertEquals(201, mockMvc.perform(post("/aulas/{idAula}/inscricoes", lotada.getId())
+                .header("Authorization", "Bearer " + inscrito)).andReturn().getResponse().getStatus());
+        for (String token : tokensAlunos.subList(1, 4)) {
+            assertEquals(201, mockMvc.perform(post("/aulas/{idAula}/inscricoes/espera", lotada.getId())
+                    .header("Authorization", "Bearer " + token)).andReturn().getResponse().getStatus());
+        }
+
+        CountDownLatch largada = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        List<Future<Integer>> resultados = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            resultados.add(executor.submit(() -> {
+                largada.await();
+                return mockMvc.perform(delete("/aulas/{idAula}/inscricoes", lotada.getId())
+                                .header("Authorization", "Bearer " + inscrito))
+                        .andReturn().getResponse().getStatus();
+            }));
+        }
+
+        largada.countDown();
+        List<Integer> status = new ArrayList<>();
+        for (Future<Integer> resultado : resultados) {
+            status.add(resultado.get());
+        }
+        executor.shutdown();
+
+        List<Inscricao> inscricoes = inscricaoRepository.findAll().stream()
+                .filter(i -> i.getAula().getId().equals(lotada.getId()))
+                .toList();
+
+        assertEquals(1, status.stream().filter(s -> s == 204).count());
+        assertEquals(THREADS - 1, status.stream().filter(s -> s == 409).count());
+        assertEquals(1, inscricoes.stream().filter(i -> i.getStatus() == SubscriptionStatus.INSCRITO).count());
+        assertEquals(2, inscricoes.stream().filter(i -> i.getStatus() == SubscriptionStatus.EM_ESPERA).count());
+        assertEquals(1, aulaRepository.findById(lotada.getId()).orElseThrow().getVagasOcupadas());
+    }
+}
@@ -16,6 +16,9 @@ import org.springframework.http.MediaType;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -90,6 +93,7 @@ public class InscricoesIntegrationTest extends IntegrationTestBase {
                 .id(UUID.randomUUID())
                 .titulo("Aula Teste")
                 .data(LocalDateTime.now().plusHours(2))
+                .limiteAlunos(20)
                 .status(ClassStatus.DISPONIVEL)
                 .build());
 
@@ -313,6 +317,7 @@ public class InscricoesIntegrationTest extends IntegrationTestBase {
                 .id(UUID.randomUUID())
                 .titulo("Aula Soon")
                 .data(LocalDateTime.now().plusMinutes(30))
+                .limiteAlunos(20)
                 .status(ClassStatus.DISPONIVEL)
                 .build());
 
@@ -330,6 +335,7 @@ public class InscricoesIntegrationTest extends IntegrationTestBase {
                 .id(UUID.randomUUID())
                 .titulo("Indisponivel")
                 .data(LocalDateTime.now().plusHours(2))
+                .limiteAlunos(20)
                 .status(ClassStatus.CANCELADA)
                 .build());
 
@@ -338,4 +344,174 @@ public class InscricoesIntegrationTest extends IntegrationTestBase {
                         .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isConflict());
     }
-}
\ No newline at end of file
+
+    @Test
+    void deveRetornar409_AoInscrever_QuandoAulaLotada() throws Exception {
+        Aula aulaLotada = aulaRepository.save(Aula.builder()
+                .id(UUID.randomUUID())
+                .titulo("Lotada")
+                .data(LocalDateTime.now().plusHours(2))
+                .limiteAlunos(1)
+                .status(ClassStatus.DISPONIVEL)
+                .build());
+        aulaRepository.reservarVaga(aulaLotada.getId());
+
+        mockMvc.perform(post("/aulas/{idAula}/inscricoes", aulaLotada.getId())
+                        .header("Authorization", "Bearer " + tokenAluno)
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isConflict());
+
+        assertTrue(inscricaoRepository.findByAulaAndAluno(aulaLotada, aluno).isEmpty());
+    }
+
+    @Test
+    void devePromoverAlunoDaListaEspera_QuandoInscricaoForCancelada() throws Exception {
+        Usuario outroUsuario = usuarioRepository.save(Usuario.builder()
+                .id(UUID.randomUUID())
+                .nome("Outro Aluno")
+                .email("outro.aluno@email.com")
+                .cpf("333.333.333-33")
+                .role(Role.ALUNO)
+                .ativo(true)
+                .senha("123456")
+                .build());
+        alunoRepository.save(Aluno.builder()
+                .id(UUID.randomUUID())
+                .usuario(outroUsuario)
+                .dataNascimento(LocalDate.of(2000, 1, 1))
+                .dataMatricula(LocalDate.now())
+                .matriculaAtiva(true)
+                .build());
+        String tokenOutroAluno = jwtService.gerarToken(outroUsuario);
+        tokenService.salvarAccessToken(outroUsuario, tokenOutroAluno);
+
+        Aula aulaUnicaVaga = aulaRepository.save(Aula.builder()
+                .id(UUID.randomUUID())
+                .titulo("Unica Vaga")
+                .data(LocalDateTime.now().plusHours(2))
+                .limiteAlunos(1)
+                .status(ClassStatus.DISPONIVEL)
+                .build());
+
+        mockMvc.perform(post("/aulas/{idAula}/inscricoes", aulaUnicaVaga.getId())
+                        .header("Authorization", "Bearer " + tokenOutroAluno))
+                .andExpect(status().isCreated());
+        // sincroniza a entidade gerenciada com o contador atualizado pelo UPDATE nativo
+        aulaUnicaVaga.setVagasOcupadas(1);
+
+        mockMvc.perform(post("/aulas/{idAula}/inscricoes/espera", aulaUnicaVaga.getId())
+                        .header("Authorization", "Bearer " + tokenAluno))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.status").value("EM_ESPERA"));
+
+        mockMvc.perform(delete("/aulas/{idAula}/inscricoes", aulaUnicaVaga.getId())
+                        .header("Authorization", "Bearer " + tokenOutroAluno))
+                .andExpect(status().isNoContent());
+
+        var promovida = inscricaoRepository.findByAulaAndAluno(aulaUnicaVaga, aluno);
+        assertTrue(promovida.isPresent());
+        assertEquals(SubscriptionStatus.INSCRITO, promovida.get().getStatus());
+    }
+
+    @Test
+    void deveRetornar409_AoEntrarListaEspera_QuandoAulaPossuiVagas() throws Exception {
+        mockMvc.perform(post("/aulas/{idAula}/inscricoes/espera", aula.getId())
+                        .header("Authorization", "Bearer " + tokenAluno))
+                .andExpect(status().isConflict());
+    }
+
+    @Test
+    void deveInscreverTurmaRespeitandoLimiteDeVagas() throws Exception {
+        List<Aluno> membros = new ArrayList<>(List.of(aluno));
+        for (int i = 0; i < 2; i++) {
+            Usuario usuario = usuarioRepository.save(Usuario.builder()
+                    .nome("Membro " + i)
+                    .email("membro" + i + "@email.com")
+                    .cpf("55" + i + ".555.555-55")
+                    .role(Role.ALUNO)
+                    .ativo(true)
+                    .senha("123456")
+                    .build());
+            membros.add(alunoRepository.save(Aluno.builder()
+                    .usuario(usuario)
+                    .dataNascimento(LocalDate.of(2000, 1, 1))
+                    .dataMatricula(LocalDate.now())
+                    .matriculaAtiva(true)
+                    .build()));
+        }
+
+        Turma turma = turmaRepository.save(Turma.builder()
+                .nome("Turma Lote")
+                .horario("19:00")
+                .ativo(true)
+                .alunos(new HashSet<>(membros))
+                .build());
+
+        Aula aulaTurma = aulaRepository.save(Aula.builder()
+                .titulo("Aula Turma")
+                .data(LocalDateTime.now().plusDays(1))
+                .turma(turma)
+                .limiteAlunos(2)
+                .status(ClassStatus.DISPONIVEL)
+                .build());
+
+        inscricaoRepository.save(new Inscricao(aluno, aulaTurma, SubscriptionStatus.INSCRITO, LocalDateTime.now()));
+        aulaRepository.reservarVaga(aulaTurma.getId());
+
+        mockMvc.perform(post("/aulas/{idAula}/inscricoes/turma", aulaTurma.getId())
+                        .header("Authorization", "Bearer " + tokenAdmin))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.totalAlunos").value(3))
+                .andExpect(jsonPath("$.inscritos").value(1))
+                .andExpect(jsonPath("$.jaPossuiamInscricao").value(1))
+                .andExpect(jsonPath("$.semVaga").value(1));
+
+        assertEquals(2, inscricaoRepository.findAllByAulaAndStatus(aulaTurma, SubscriptionStatus.INSCRITO).size());
+        assertEquals(2, aulaRepository.bloquearVagasOcupadas(aulaTurma.getId()));
+    }
+
+    @Test
+    void deveReinscreverMembroQueHaviaCancelado_AoInscreverTurma() throws Exception {
+        Turma turma = turmaRepository.save(Turma.builder()
+                .nome("Turma Retorno")
+                .horario("19:00")
+                .ativo(true)
+                .alunos(new HashSet<>(List.of(aluno)))
+                .build());
+
+        Aula aulaTurma = aulaRepository.save(Aula.builder()
+                .titulo("Aula Turma")
+                .data(LocalDateTime.now().plusDays(1))
+                .turma(turma)
+                .limiteAlunos(2)
+                .status(ClassStatus.DISPONIVEL)
+                .build());
+
+        inscricaoRepository.save(new Inscricao(aluno, aulaTurma, SubscriptionStatus.CANCELADO, LocalDateTime.now()));
+
+        mockMvc.perform(post("/aulas/{idAula}/inscricoes/turma", aulaTurma.getId())
+                        .header("Authorization", "Bearer " + tokenAdmin))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.totalAlunos").value(1))
+                .andExpect(jsonPath("$.inscritos").value(1))
+                .andExpect(jsonPath("$.jaPossuiamInscricao").value(0))
+                .andExpect(jsonPath("$.semVaga").value(0));
+
+        assertEquals(1, inscricaoRepository.findAllByAulaAndStatus(aulaTurma, SubscriptionStatus.INSCRITO).size());
+        assertEquals(1, aulaRepository.bloquearVagasOcupadas(aulaTurma.getId()));
+    }
+
+    @Test
+    void deveRetornar409_AoInscreverTurma_QuandoAulaSemTurma() throws Exception {
+        mockMvc.perform(post("/aulas/{idAula}/inscricoes/turma", aula.getId())
+                        .header("Authorization", "Bearer " + tokenAdmin))
+                .andExpect(status().isConflict());
+    }
+
+    @Test
+    void deveRetornar403_AoInscreverTurma_QuandoUsuarioForAluno() throws Exception {
+        mockMvc.perform(post("/aulas/{idAula}/inscricoes/turma", aula.getId())
+                        .header("Authorization", "Bearer " + tokenAluno))
+                .andExpect(status().isForbidden());
+    }
+}
@@ -0,0 +1,169 @@
+package com.fighthub.integration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fighthub.dto.presenca.PresencaRequest;
+import com.fighthub.model.*;
+import com.fighthub.model.enums.ClassStatus;
+import com.fighthub.model.enums.Role;
+import com.fighthub.model.enums.SubscriptionStatus;
+import com.fighthub.repository.*;
+import com.fighthub.service.JwtService;
+import com.fighthub.service.TokenService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.MOCK)
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+public class PresencaConcorrenciaIntegrationTest {
+
+    private static final int THREADS = 16;
+
+    @Autowired private MockMvc mockMvc;
+    @Autowired private ObjectMapper objectMapper;
+    @Autowired private JwtService jwtService;
+    @Autowired private TokenService tokenService;
+
+    @Autowired private UsuarioRepository usuarioRepository;
+    @Autowired private TokenRepository tokenRepository;
+    @Autowired private AlunoRepository alunoRepository;
+    @Autowired private ProfessorRepository professorRepository;
+    @Autowired private TurmaRepository turmaRepository;
+    @Autowired private AulaRepository aulaRepository;
+    @Autowired private InscricaoRepository inscricaoRepository;
+    @Autowired private PresencaRepository presencaRepository;
+
+    private Aula aula;
+    private Inscricao inscricao;
+    private String tokenProfessor;
+
+    @BeforeEach
+    void setup() {
+        limparBaseDeDados();
+
+        Endereco endereco = Endereco.builder()
+                .cep("01000-000")
+                .logradouro("Rua Teste")
+                .numero("123")
+                .bairro("Centro")
+                .cidade("São Paulo")
+                .estado("SP")
+                .build();
+
+        Usuario professorUsuario = usuarioRepository.save(Usuario.builder()
+                .nome("Professor Concorrencia")
+                .email("prof.concorrencia@example.com")
+                .cpf("777.777.777-77")
+                .role(Role.PROFESSOR)
+                .ativo(true)
+                .senha("senha")
+                .endereco(endereco)
+                .build());
+        Professor professor = professorRepository.save(Professor.builder().usuario(professorUsuario).build());
+
+        Usuario alunoUsuario = usuarioRepository.save(Usuario.builder()
+                .nome("Aluno Concorrencia")
+                .email("aluno.concorrencia@example.com")
+                .cpf("888.888.888-88")
+                .role(Role.ALUNO)
+                .ativo(true)
+                .senha("senha")
+                .endereco(endereco)
+                .build());
+        Aluno aluno = alunoRepository.save(Aluno.builder()
+                .usuario(alunoUsuario)
+                .dataNascimento(LocalDate.of(2000, 1, 1))
+                .dataMatricula(LocalDate.now())
+                .matriculaAtiva(true)
+                .build());
+
+        tokenProfessor = jwtService.gerarToken(professorUsuario);
+        tokenService.salvarAccessToken(professorUsuario, tokenProfessor);
+
+        Turma turma = turmaRepository.save(Turma.builder()
+                .nome("Turma Concorrencia")
+                .horario("19:00")
+                .ativo(true)
+                .professor(professor)
+                .build());
+
+        aula = aulaRepository.save(Aula.builder()
+                .titulo("Aula Concorrencia")
+                .data(LocalDateTime.now().plusDays(1))
+                .turma(turma)
+                .limiteAlunos(10)
+                .status(ClassStatus.DISPONIVEL)
+                .ativo(true)
+                .build());
+
+        inscricao = inscricaoRepository.save(Inscricao.builder()
+                .aula(aula)
+                .aluno(aluno)
+                .status(SubscriptionStatus.INSCRITO)
+                .inscritoEm(LocalDateTime.now())
+                .build());
+    }
+
+    @AfterEach
+    void limparBaseDeDados() {
+        presencaRepository.deleteAllInBatch();
+        inscricaoRepository.deleteAllInBatch();
+        aulaRepository.deleteAllInBatch();
+        turmaRepository.deleteAllInBatch();
+        alunoRepository.deleteAllInBatch();
+        professorRepository.deleteAllInBatch();
+        tokenRepository.deleteAllInBatch();
+        usuarioRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void deveRegistrarUmaUnicaPresenca_QuandoMarcacoesConcorrentes() throws Exception {
+        String body = objectMapper.writeValueAsString(new PresencaRequest(true));
+        CountDownLatch largada = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+
+        List<Future<Integer>> resultados = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            resultados.add(executor.submit(() -> {
+                largada.await();
+                return mockMvc.perform(patch("/aulas/{idAula}/presencas/inscricao/{idInscricao}", aula.getId(), inscricao.getId())
+                                .header("Authorization", "Bearer " + tokenProfessor)
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(body))
+                        .andReturn().getResponse().getStatus();
+            }));
+        }
+
+        largada.countDown();
+        List<Integer> status = new ArrayList<>();
+        for (Future<Integer> resultado : resultados) {
+            status.add(resultado.get());
+        }
+        executor.shutdown();
+
+        assertEquals(1, presencaRepository.count());
+        assertEquals(1, status.stream().filter(s -> s == 200).count());
+        assertEquals(THREADS - 1, status.stream().filter(s -> s == 409).count());
+        assertTrue(presencaRepository.findAll().get(0).isPresente());
+    }
+}
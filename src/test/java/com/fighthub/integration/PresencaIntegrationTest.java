@@ -152,6 +152,46 @@ public class PresencaIntegrationTest extends IntegrationTestBase {
         assertTrue(saved.get(0).isPresente());
     }
 
+    @Test
+    void deveAtualizarContadorDeAulasDoAluno_AoMarcarEDesmarcarPresenca() throws Exception {
+        mockMvc.perform(patch("/aulas/{idAula}/presencas/inscricao/{idInscricao}", aula.getId(), inscricao.getId())
+                        .header("Authorization", "Bearer " + tokenProfessor)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new PresencaRequest(true))))
+                .andExpect(status().isOk());
+
+        assertEquals(1, alunoRepository.findById(aluno.getId()).orElseThrow().getAulasDesdeGraduacao());
+
+        mockMvc.perform(patch("/aulas/{idAula}/presencas/inscricao/{idInscricao}", aula.getId(), inscricao.getId())
+                        .header("Authorization", "Bearer " + tokenProfessor)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new PresencaRequest(false))))
+                .andExpect(status().isOk());
+
+        assertEquals(0, alunoRepository.findById(aluno.getId()).orElseThrow().getAulasDesdeGraduacao());
+    }
+
+    @Test
+    void naoDeveAlterarContadorDoNovoPeriodo_QuandoAulaForAnteriorAGraduacao() throws Exception {
+        mockMvc.perform(patch("/aulas/{idAula}/presencas/inscricao/{idInscricao}", aula.getId(), inscricao.getId())
+                        .header("Authorization", "Bearer " + tokenProfessor)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new PresencaRequest(true))))
+                .andExpect(status().isOk());
+
+        // Graduado depois da aula: o contador recomeça e a presença antiga não é mais dele
+        alunoRepository.reiniciarAulasDesdeGraduacao(aluno.getId(), aula.getData().plusHours(2));
+        alunoRepository.ajustarAulasDesdeGraduacao(aluno.getId(), 1, aula.getData().plusDays(1));
+
+        mockMvc.perform(patch("/aulas/{idAula}/presencas/inscricao/{idInscricao}", aula.getId(), inscricao.getId())
+                        .header("Authorization", "Bearer " + tokenProfessor)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new PresencaRequest(false))))
+                .andExpect(status().isOk());
+
+        assertEquals(1, alunoRepository.findById(aluno.getId()).orElseThrow().getAulasDesdeGraduacao());
+    }
+
     @Test
     void deveRetornar403_AoAtualizarPresenca_QuandoUsuarioNaoForProfessor() throws Exception {
         var request = new PresencaRequest(true);
@@ -2,10 +2,14 @@ package com.fighthub.integration;
 
 import com.fighthub.dto.responsavel.CriarResponsavelRequest;
 import com.fighthub.model.Aluno;
+import com.fighthub.model.Aula;
 import com.fighthub.model.Endereco;
+import com.fighthub.model.Inscricao;
 import com.fighthub.model.Responsavel;
 import com.fighthub.model.Usuario;
+import com.fighthub.model.enums.ClassStatus;
 import com.fighthub.model.enums.Role;
+import com.fighthub.model.enums.SubscriptionStatus;
 import com.fighthub.service.EmailService;
 import com.fighthub.service.JwtService;
 import com.fighthub.service.TokenService;
@@ -17,6 +21,7 @@ import org.springframework.boot.test.mock.mockito.SpyBean;
 import org.springframework.http.MediaType;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
@@ -673,4 +678,96 @@ public class ResponsavelIntegrationTest extends IntegrationTestBase {
                 .andExpect(status().isConflict());
     }
 
+    @Test
+    void deveRetornarInscricoesDosDependentesPaginadasPorCursor() throws Exception {
+        Usuario usuarioResponsavel = usuarioRepository.save(Usuario.builder()
+                .nome("Responsável Feed")
+                .email("responsavel.feed@email.com")
+                .cpf("321.654.987-00")
+                .role(Role.RESPONSAVEL)
+                .ativo(true)
+                .loginSocial(false)
+                .senha("123456")
+                .build());
+        String tokenResponsavel = jwtService.gerarToken(usuarioResponsavel);
+        tokenService.salvarAccessToken(usuarioResponsavel, tokenResponsavel);
+
+        List<Aluno> dependentes = new ArrayList<>();
+        for (int i = 0; i < 2; i++) {
+            Usuario usuarioAluno = usuarioRepository.save(Usuario.builder()
+                    .nome("Dependente " + i)
+                    .email("dependente" + i + "@email.com")
+                    .cpf("44" + i + ".444.444-44")
+                    .role(Role.ALUNO)
+                    .ativo(true)
+                    .loginSocial(false)
+                    .senha("123456")
+                    .build());
+            dependentes.add(alunoRepository.save(Aluno.builder()
+                    .usuario(usuarioAluno)
+                    .dataMatricula(LocalDate.now())
+                    .dataNascimento(LocalDate.now().minusYears(10))
+                    .matriculaAtiva(true)
+                    .build()));
+        }
+        responsavelRepository.save(new Responsavel(null, usuarioResponsavel, new ArrayList<>(dependentes)));
+
+        LocalDateTime base = LocalDateTime.of(2030, 3, 10, 19, 0);
+        Aula aulaAntiga = aulaRepository.save(Aula.builder().titulo("Aula 1").data(base).status(ClassStatus.DISPONIVEL).build());
+        Aula aulaMedia = aulaRepository.save(Aula.builder().titulo("Aula 2").data(base.plusDays(1)).status(ClassStatus.DISPONIVEL).build());
+        Aula aulaRecente = aulaRepository.save(Aula.builder().titulo("Aula 3").data(base.plusDays(2)).status(ClassStatus.DISPONIVEL).build());
+
+        inscricaoRepository.save(new Inscricao(dependentes.get(0), aulaAntiga, SubscriptionStatus.INSCRITO, LocalDateTime.now()));
+        inscricaoRepository.save(new Inscricao(dependentes.get(0), aulaMedia, SubscriptionStatus.INSCRITO, LocalDateTime.now()));
+        inscricaoRepository.save(new Inscricao(dependentes.get(1), aulaRecente, SubscriptionStatus.INSCRITO, LocalDateTime.now()));
+
+        String primeiraPagina = mockMvc.perform(get("/responsaveis/me/inscricoes")
+                        .param("tamanho", "2")
+                        .header("Authorization", "Bearer " + tokenResponsavel))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.inscricoes.length()").value(2))
+                .andExpect(jsonPath("$.inscricoes[0].aulaTitulo").value("Aula 3"))
+                .andExpect(jsonPath("$.inscricoes[1].aulaTitulo").value("Aula 2"))
+                .andReturn().getResponse().getContentAsString();
+
+        String cursor = objectMapper.readTree(primeiraPagina).get("proximoCursor").asText();
+
+        mockMvc.perform(get("/responsaveis/me/inscricoes")
+                        .param("tamanho", "2")
+                        .param("cursor", cursor)
+                        .header("Authorization", "Bearer " + tokenResponsavel))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.inscricoes.length()").value(1))
+                .andExpect(jsonPath("$.inscricoes[0].aulaTitulo").value("Aula 1"))
+                .andExpect(jsonPath("$.proximoCursor").doesNotExist());
+
+        mockMvc.perform(get("/responsaveis/me/inscricoes")
+                        .param("alunoId", dependentes.get(0).getId().toString())
+                        .param("ate", base.toLocalDate().toString())
+                        .header("Authorization", "Bearer " + tokenResponsavel))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.inscricoes.length()").value(1))
+                .andExpect(jsonPath("$.inscricoes[0].aulaTitulo").value("Aula 1"));
+    }
+
+    @Test
+    void deveRetornar409_AoBuscarInscricoesDeAlunoNaoVinculado() throws Exception {
+        Usuario usuarioResponsavel = usuarioRepository.save(Usuario.builder()
+                .nome("Responsável Sem Vínculo")
+                .email("responsavel.sem.vinculo@email.com")
+                .cpf("321.654.987-01")
+                .role(Role.RESPONSAVEL)
+                .ativo(true)
+                .loginSocial(false)
+                .senha("123456")
+                .build());
+        responsavelRepository.save(new Responsavel(null, usuarioResponsavel, new ArrayList<>()));
+        String tokenResponsavel = jwtService.gerarToken(usuarioResponsavel);
+        tokenService.salvarAccessToken(usuarioResponsavel, tokenResponsavel);
+
+        mockMvc.perform(get("/responsaveis/me/inscricoes")
+                        .param("alunoId", UUID.randomUUID().toString())
+                        .header("Authorization", "Bearer " + tokenResponsavel))
+                .andExpect(status().isConflict());
+    }
 }
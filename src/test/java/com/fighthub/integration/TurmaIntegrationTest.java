@@ -1,21 +1,39 @@
 package com.fighthub.integration;
 
+import com.fighthub.dto.turma.AlunosTurmaLoteRequest;
+import com.fighthub.dto.turma.RecorrenciaTurmaRequest;
 import com.fighthub.dto.turma.TurmaRequest;
+import com.fighthub.dto.turma.TurmaResponse;
 import com.fighthub.dto.turma.TurmaUpdateCompletoRequest;
 import com.fighthub.dto.turma.TurmaUpdateStatusRequest;
 import com.fighthub.model.*;
 import com.fighthub.model.enums.Role;
+import com.fighthub.model.enums.RosterOperation;
 import com.fighthub.service.JwtService;
 import com.fighthub.service.TokenService;
+import com.fighthub.service.TurmaService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import com.fighthub.utils.IntegrationTestBase;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.http.MediaType;
 
+import java.time.DayOfWeek;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
 import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.Set;
 import java.util.UUID;
 
 import static org.hamcrest.Matchers.*;
@@ -28,6 +46,10 @@ public class TurmaIntegrationTest extends IntegrationTestBase {
 
     @SpyBean private TokenService tokenService;
     @Autowired private JwtService jwtService;
+    @Autowired private TurmaService turmaService;
+
+    @PersistenceContext
+    private EntityManager entityManager;
 
     private Usuario usuario;
     private Professor professor;
@@ -68,7 +90,7 @@ public class TurmaIntegrationTest extends IntegrationTestBase {
                 .horario("Segunda 19:00")
                 .professor(professor)
                 .ativo(true)
-                .alunos(new ArrayList<>())
+                .alunos(new HashSet<>())
                 .build());
     }
 
@@ -298,6 +320,87 @@ public class TurmaIntegrationTest extends IntegrationTestBase {
                 .andExpect(status().isNotFound());
     }
 
+    @Test
+    void deveRetornar409_AoVincularAlunoJaVinculado() throws Exception {
+        var aluno = buildAlunoValido(usuario.getEndereco());
+        turma.getAlunos().add(aluno);
+        turmaRepository.saveAndFlush(turma);
+
+        mockMvc.perform(patch("/turmas/{idTurma}/alunos/{idAluno}", turma.getId(), aluno.getId())
+                        .header("Authorization", "Bearer " + accessToken))
+                .andExpect(status().isConflict());
+    }
+
+    @Test
+    void deveAdicionarERemoverAlunosEmLote() throws Exception {
+        var alunos = new ArrayList<Aluno>();
+        for (int i = 0; i < 3; i++) {
+            alunos.add(buildAluno("aluno.lote" + i + "@email.com", String.format("%011d", 100 + i)));
+        }
+        turma.getAlunos().add(alunos.get(0));
+        turmaRepository.saveAndFlush(turma);
+
+        var ids = Set.of(alunos.get(0).getId(), alunos.get(1).getId(), alunos.get(2).getId(), UUID.randomUUID());
+        mockMvc.perform(post("/turmas/{id}/alunos:batch", turma.getId())
+                        .header("Authorization", "Bearer " + accessToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new AlunosTurmaLoteRequest(RosterOperation.ADICIONAR, ids))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.alterados").value(2))
+                .andExpect(jsonPath("$.ignorados").value(2));
+
+        assertEquals(3, turmaRepository.findById(turma.getId()).orElseThrow().getAlunos().size());
+
+        var remover = Set.of(alunos.get(0).getId(), alunos.get(1).getId());
+        mockMvc.perform(post("/turmas/{id}/alunos:batch", turma.getId())
+                        .header("Authorization", "Bearer " + accessToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new AlunosTurmaLoteRequest(RosterOperation.REMOVER, remover))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.alterados").value(2))
+                .andExpect(jsonPath("$.ignorados").value(0));
+
+        var restantes = turmaRepository.findById(turma.getId()).orElseThrow().getAlunos();
+        assertEquals(Set.of(alunos.get(2)), restantes);
+    }
+
+    @Test
+    void deveRetornar404_AoAlterarAlunosEmLote_QuandoTurmaInexistente() throws Exception {
+        mockMvc.perform(post("/turmas/{id}/alunos:batch", UUID.randomUUID())
+                        .header("Authorization", "Bearer " + accessToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(
+                                new AlunosTurmaLoteRequest(RosterOperation.ADICIONAR, Set.of(UUID.randomUUID())))))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void deveRetornar400_AoAlterarAlunosEmLote_SemAlunos() throws Exception {
+        mockMvc.perform(post("/turmas/{id}/alunos:batch", turma.getId())
+                        .header("Authorization", "Bearer " + accessToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new AlunosTurmaLoteRequest(RosterOperation.REMOVER, Set.of()))))
+                .andExpect(status().isBadRequest());
+    }
+
+    private Aluno buildAluno(String email, String cpf) {
+        Usuario user = usuarioRepository.save(Usuario.builder()
+                .nome("Aluno Lote")
+                .email(email)
+                .cpf(cpf)
+                .role(Role.ALUNO)
+                .ativo(true)
+                .loginSocial(false)
+                .build());
+
+        return alunoRepository.save(Aluno.builder()
+                .usuario(user)
+                .dataNascimento(LocalDate.of(2000, 1, 1))
+                .dataMatricula(LocalDate.now())
+                .matriculaAtiva(true)
+                .build());
+    }
+
     private Aluno buildAlunoValido(Endereco endereco) {
         Usuario user = usuarioRepository.save(
                 Usuario.builder()
@@ -320,4 +423,100 @@ public class TurmaIntegrationTest extends IntegrationTestBase {
                 .build()
         );
     }
-}
\ No newline at end of file
+
+    @Test
+    void deveGerarAulasRecorrentesSemDuplicar() throws Exception {
+        turmaRepository.flush();
+        LocalTime horaInicio = LocalTime.of(23, 0);
+        var request = new RecorrenciaTurmaRequest(EnumSet.allOf(DayOfWeek.class), horaInicio, 60, 15);
+
+        mockMvc.perform(put("/turmas/{id}/recorrencia", turma.getId())
+                        .header("Authorization", "Bearer " + accessToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.recorrencia.diasSemana", hasSize(7)))
+                .andExpect(jsonPath("$.recorrencia.duracaoMinutos").value(60));
+
+        LocalDateTime agora = LocalDateTime.now();
+        long esperadas = LocalDate.now().datesUntil(LocalDate.now().plusWeeks(2))
+                .filter(dia -> dia.atTime(horaInicio).isAfter(agora))
+                .count();
+
+        mockMvc.perform(post("/turmas/{id}/aulas/geracao", turma.getId())
+                        .param("semanas", "2")
+                        .header("Authorization", "Bearer " + accessToken))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.aulasCriadas").value((int) esperadas));
+
+        mockMvc.perform(post("/turmas/{id}/aulas/geracao", turma.getId())
+                        .param("semanas", "2")
+                        .header("Authorization", "Bearer " + accessToken))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.aulasCriadas").value(0));
+
+        var aulas = aulaRepository.findAll();
+        assertEquals(esperadas, aulas.size());
+        assertTrue(aulas.stream().allMatch(a -> a.isRecorrente() && a.getLimiteAlunos() == 15 && a.getDuracaoMinutos() == 60));
+    }
+
+    @Test
+    void deveRetornar409_AoGerarAulas_QuandoTurmaSemRecorrencia() throws Exception {
+        mockMvc.perform(post("/turmas/{id}/aulas/geracao", turma.getId())
+                        .header("Authorization", "Bearer " + accessToken))
+                .andExpect(status().isConflict());
+    }
+
+    @Test
+    void deveRetornar400_AoDefinirRecorrencia_SemDiasDaSemana() throws Exception {
+        var request = new RecorrenciaTurmaRequest(Set.of(), LocalTime.of(19, 0), 60, 15);
+
+        mockMvc.perform(put("/turmas/{id}/recorrencia", turma.getId())
+                        .header("Authorization", "Bearer " + accessToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void deveListarTurmasComQuantidadeDeAlunos_SemConsultaPorTurma() {
+        Aluno aluno = buildAlunoValido(usuario.getEndereco());
+        turma.getAlunos().add(aluno);
+        for (int i = 0; i < 7; i++) {
+            Usuario usuarioProfessor = usuarioRepository.save(Usuario.builder()
+                    .nome("Professor " + i)
+                    .email("professor.lista" + i + "@email.com")
+                    .cpf(String.format("%011d", i))
+                    .role(Role.PROFESSOR)
+                    .ativo(true)
+                    .loginSocial(false)
+                    .build());
+            Professor outroProfessor = professorRepository.save(Professor.builder().usuario(usuarioProfessor).build());
+            turmaRepository.save(Turma.builder()
+                    .nome("Turma " + i)
+                    .horario("Terça 20:00")
+                    .professor(outroProfessor)
+                    .ativo(true)
+                    .alunos(new HashSet<>(Set.of(aluno)))
+                    .build());
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        Statistics statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        statistics.setStatisticsEnabled(true);
+        Page<TurmaResponse> pagina;
+        try {
+            pagina = turmaService.buscarTurmas(PageRequest.of(0, 5, Sort.by("nome")));
+            // Uma consulta para a página (com professor e quantidade de alunos) e outra para o total
+            assertEquals(2, statistics.getPrepareStatementCount());
+        } finally {
+            statistics.setStatisticsEnabled(false);
+        }
+
+        assertEquals(8, pagina.getTotalElements());
+        assertEquals(5, pagina.getContent().size());
+        assertTrue(pagina.getContent().stream().allMatch(t -> t.quantidadeAlunos() == 1 && t.professorNome() != null));
+    }
+}
@@ -5,15 +5,26 @@ import com.fighthub.dto.usuario.*;
 import com.fighthub.model.Endereco;
 import com.fighthub.model.Usuario;
 import com.fighthub.model.enums.Role;
+import com.fighthub.model.FotoPerfil;
+import com.fighthub.repository.FotoPerfilRepository;
 import com.fighthub.service.JwtService;
 import com.fighthub.service.TokenService;
 import com.fighthub.utils.IntegrationTestBase;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.http.HttpMethod;
 import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockMultipartFile;
 
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
 import java.util.UUID;
 
 import static org.hamcrest.Matchers.*;
@@ -25,6 +36,13 @@ public class UsuarioIntegrationTest extends IntegrationTestBase {
 
     @Autowired private JwtService jwtService;
     @SpyBean private TokenService tokenService;
+    @Autowired private FotoPerfilRepository fotoPerfilRepository;
+
+    @Value("${uploads.profile-dir}")
+    private String profileDir;
+
+    @PersistenceContext
+    private EntityManager entityManager;
 
     private Usuario admin;
     private Usuario aluno;
@@ -88,6 +106,106 @@ public class UsuarioIntegrationTest extends IntegrationTestBase {
                 .andExpect(jsonPath("$.totalElements", greaterThanOrEqualTo(2)));
     }
 
+    @Test
+    void deveRetornarSomenteCamposPedidos_QuandoListarUsuariosComFields() throws Exception {
+        mockMvc.perform(get("/usuarios")
+                        .header("Authorization", "Bearer " + tokenAdmin)
+                        .param("fields", "nome,role")
+                        .param("sort", "nome"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].id").value(admin.getId().toString()))
+                .andExpect(jsonPath("$.content[0].nome").value("Admin User"))
+                .andExpect(jsonPath("$.content[0].role").value("ADMIN"))
+                .andExpect(jsonPath("$.content[0].email").doesNotExist())
+                .andExpect(jsonPath("$.content[0].cpf").doesNotExist())
+                .andExpect(jsonPath("$.totalElements").value(2));
+    }
+
+    // --------------------- GET /usuarios/busca ---------------------
+
+    @Test
+    void deveBuscarUsuariosPorParteDoNome_OrdenandoPorRelevancia() throws Exception {
+        salvarUsuario("Mariana Souza", "mariana@email.com", "333.333.333-33", Role.ALUNO);
+        salvarUsuario("Ana Maria Lopes", "analopes@email.com", "444.444.444-44", Role.ALUNO);
+        salvarUsuario("Mariano Prof", "mariano@email.com", "555.555.555-55", Role.PROFESSOR);
+        usuarioRepository.flush();
+
+        mockMvc.perform(get("/usuarios/busca")
+                        .header("Authorization", "Bearer " + tokenAdmin)
+                        .param("q", "MARIA")
+                        .param("role", "ALUNO"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].nome").value("Mariana Souza"))
+                .andExpect(jsonPath("$[1].nome").value("Ana Maria Lopes"));
+    }
+
+    @Test
+    void deveBuscarUsuarioPorDigitosDoCpfEComLimite() throws Exception {
+        salvarUsuario("Cpf Um", "cpf1@email.com", "123.456.789-01", Role.ALUNO);
+        salvarUsuario("Cpf Dois", "cpf2@email.com", "123.456.789-02", Role.ALUNO);
+        usuarioRepository.flush();
+
+        mockMvc.perform(get("/usuarios/busca")
+                        .header("Authorization", "Bearer " + tokenAdmin)
+                        .param("q", "12345678"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2));
+
+        mockMvc.perform(get("/usuarios/busca")
+                        .header("Authorization", "Bearer " + tokenAdmin)
+                        .param("q", "123456")
+                        .param("limite", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1));
+    }
+
+    @Test
+    void deveTratarCuringasDoLikeComoTexto_AoBuscarUsuarios() throws Exception {
+        usuarioRepository.flush();
+
+        mockMvc.perform(get("/usuarios/busca")
+                        .header("Authorization", "Bearer " + tokenAdmin)
+                        .param("q", "%%"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(0));
+    }
+
+    @Test
+    void deveRetornar409_AoBuscarUsuarios_ComTermoCurto() throws Exception {
+        mockMvc.perform(get("/usuarios/busca")
+                        .header("Authorization", "Bearer " + tokenAdmin)
+                        .param("q", "a"))
+                .andExpect(status().isConflict());
+    }
+
+    @Test
+    void deveRetornar403_AoBuscarUsuarios_QuandoAluno() throws Exception {
+        mockMvc.perform(get("/usuarios/busca")
+                        .header("Authorization", "Bearer " + tokenAluno)
+                        .param("q", "admin"))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void deveRetornar403_AoBuscarUsuarios_QuandoProfessor() throws Exception {
+        Usuario professor = usuarioRepository.save(Usuario.builder()
+                .nome("Professor Busca")
+                .email("professor.busca@email.com")
+                .cpf("666.666.666-66")
+                .role(Role.PROFESSOR)
+                .ativo(true)
+                .senha("123456")
+                .build());
+        String tokenProfessor = jwtService.gerarToken(professor);
+        tokenService.salvarAccessToken(professor, tokenProfessor);
+
+        mockMvc.perform(get("/usuarios/busca")
+                        .header("Authorization", "Bearer " + tokenProfessor)
+                        .param("q", "admin"))
+                .andExpect(status().isForbidden());
+    }
+
     @Test
     void deveRetornar403_AoListarUsuarios_QuandoNaoForAdmin() throws Exception {
         mockMvc.perform(get("/usuarios")
@@ -396,4 +514,122 @@ public class UsuarioIntegrationTest extends IntegrationTestBase {
                         .content(objectMapper.writeValueAsString(request)))
                 .andExpect(status().isUnauthorized());
     }
-}
\ No newline at end of file
+
+    private void salvarUsuario(String nome, String email, String cpf, Role role) {
+        usuarioRepository.save(Usuario.builder()
+                .nome(nome)
+                .email(email)
+                .cpf(cpf)
+                .role(role)
+                .ativo(true)
+                .senha("123456")
+                .build());
+    }
+
+    // --------------------- PATCH /usuarios/me/foto ---------------------
+
+    @Test
+    void deveCompartilharArquivoEContarReferencias_QuandoUsuariosEnviamAMesmaFoto() throws Exception {
+        var foto = new MockMultipartFile("file", "avatar.png", "image/png", new byte[]{10, 20, 30, 40});
+
+        String respostaAdmin = mockMvc.perform(multipart(HttpMethod.PATCH, "/usuarios/me/foto")
+                        .file(foto)
+                        .header("Authorization", "Bearer " + tokenAdmin))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.profileImageUrl", matchesPattern("/files/profiles/[0-9a-f]{2}/[0-9a-f]{2}/[0-9a-f]{64}\\.png")))
+                .andExpect(jsonPath("$.miniaturas.64", endsWith("-64.jpg")))
+                .andReturn().getResponse().getContentAsString();
+
+        String respostaAluno = mockMvc.perform(multipart(HttpMethod.PATCH, "/usuarios/me/foto")
+                        .file(foto)
+                        .header("Authorization", "Bearer " + tokenAluno))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        String key = usuarioRepository.findById(admin.getId()).orElseThrow().getFoto();
+        assertEquals(respostaAdmin, respostaAluno);
+        assertEquals(key, usuarioRepository.findById(aluno.getId()).orElseThrow().getFoto());
+        assertEquals(2, referencias(key));
+
+        mockMvc.perform(delete("/usuarios/me/foto")
+                        .header("Authorization", "Bearer " + tokenAluno))
+                .andExpect(status().isOk());
+        assertEquals(1, referencias(key));
+
+        mockMvc.perform(delete("/usuarios/me/foto")
+                        .header("Authorization", "Bearer " + tokenAdmin))
+                .andExpect(status().isOk());
+        assertTrue(fotoPerfil(key).isEmpty());
+    }
+
+    // --------------------- GET /files/profiles/** ---------------------
+
+    @Test
+    void deveServirFotoSemAutenticacaoComCacheImutavelERevalidacao() throws Exception {
+        String hash = "0".repeat(64);
+        Path arquivo = Path.of(profileDir, "00", "00", hash + ".png");
+        Files.createDirectories(arquivo.getParent());
+        Files.write(arquivo, new byte[]{1, 2, 3, 4, 5});
+        try {
+            mockMvc.perform(get("/files/profiles/00/00/" + hash + ".png"))
+                    .andExpect(status().isOk())
+                    .andExpect(header().string("ETag", "\"" + hash + ".png\""))
+                    .andExpect(header().string("Cache-Control", containsString("immutable")))
+                    .andExpect(content().bytes(new byte[]{1, 2, 3, 4, 5}));
+
+            mockMvc.perform(get("/files/profiles/00/00/" + hash + ".png")
+                            .header("If-None-Match", "\"" + hash + ".png\""))
+                    .andExpect(status().isNotModified());
+
+            mockMvc.perform(get("/files/profiles/00/00/" + hash + ".png")
+                            .header("Range", "bytes=1-2"))
+                    .andExpect(status().isPartialContent())
+                    .andExpect(header().string("Content-Range", "bytes 1-2/5"))
+                    .andExpect(content().bytes(new byte[]{2, 3}));
+
+            mockMvc.perform(get("/admin/fotos/metricas")
+                            .header("Authorization", "Bearer " + tokenAdmin))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.entrega.respostasNaoModificadas", greaterThanOrEqualTo(1)));
+        } finally {
+            Files.deleteIfExists(arquivo);
+        }
+    }
+
+    @Test
+    void deveRetornar404_QuandoFotoNaoExistir() throws Exception {
+        mockMvc.perform(get("/files/profiles/00/00/inexistente.png"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void deveNegarMetricasDeFotos_QuandoNaoForAdmin() throws Exception {
+        mockMvc.perform(get("/admin/fotos/metricas")
+                        .header("Authorization", "Bearer " + tokenAluno))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void deveSimularColetaDeFotosOrfas_QuandoAdmin() throws Exception {
+        mockMvc.perform(post("/admin/fotos/coleta")
+                        .header("Authorization", "Bearer " + tokenAdmin))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.simulacao").value(true))
+                .andExpect(jsonPath("$.orfaosRemovidos").value(0));
+
+        mockMvc.perform(post("/admin/fotos/coleta")
+                        .header("Authorization", "Bearer " + tokenAluno))
+                .andExpect(status().isForbidden());
+    }
+
+    private int referencias(String key) {
+        return fotoPerfil(key).map(FotoPerfil::getReferencias).orElse(0);
+    }
+
+    // Os contadores mudam por updates nativos: relê do banco em vez do contexto de persistência
+    private Optional<FotoPerfil> fotoPerfil(String key) {
+        entityManager.flush();
+        entityManager.clear();
+        return fotoPerfilRepository.findById(key);
+    }
+}
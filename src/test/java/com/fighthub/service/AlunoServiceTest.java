@@ -10,6 +10,7 @@ import com.fighthub.model.enums.BeltGraduation;
 import com.fighthub.model.enums.GraduationLevel;
 import com.fighthub.model.enums.Role;
 import com.fighthub.repository.AlunoRepository;
+import com.fighthub.repository.ListagemCamposRepository;
 import com.fighthub.repository.ResponsavelRepository;
 import com.fighthub.repository.UsuarioRepository;
 import org.junit.jupiter.api.BeforeEach;
@@ -22,12 +23,10 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 
 import java.time.LocalDate;
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Optional;
-import java.util.UUID;
+import java.util.*;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -44,6 +43,9 @@ class AlunoServiceTest {
     @Mock private ResponsavelService responsavelService;
     @Mock private TokenService tokenService;
     @Mock private EmailService emailService;
+    @Mock private GraduacaoService graduacaoService;
+    @Mock private MenoresSemResponsavelService menoresSemResponsavelService;
+    @Mock private ListagemCamposRepository listagemCamposRepository;
 
     private CriarAlunoRequest criarAlunoRequest;
     private Usuario usuario;
@@ -178,15 +180,68 @@ class AlunoServiceTest {
     @Test
     void deveRetornarPaginaDeAlunos() {
         Pageable pageable = PageRequest.of(0, 10);
-        Page<Aluno> page = new PageImpl<>(List.of(aluno));
+        UUID turmaId = UUID.randomUUID();
+        AlunoRepository.AlunoResumo resumo = mock(AlunoRepository.AlunoResumo.class);
+        when(resumo.getId()).thenReturn(aluno.getId());
+        when(resumo.getNome()).thenReturn("Aluno");
+        when(resumo.getTurmaIds()).thenReturn(turmaId.toString());
 
-        when(alunoRepository.findAll(pageable)).thenReturn(page);
+        Pageable ordenada = PageRequest.of(0, 10, Sort.by("usuario.nome", "id"));
+        when(alunoRepository.findPaginaIds(ordenada)).thenReturn(new PageImpl<>(List.of(aluno.getId())));
+        when(alunoRepository.findResumosByIdIn(List.of(aluno.getId()))).thenReturn(List.of(resumo));
 
         Page<AlunoResponse> result = alunoService.obterTodos(pageable);
 
         assertNotNull(result);
         assertEquals(1, result.getTotalElements());
-        verify(alunoRepository).findAll(pageable);
+        assertEquals(aluno.getId(), result.getContent().get(0).id());
+        assertEquals(List.of(turmaId), result.getContent().get(0).turmaIds());
+        assertNull(result.getContent().get(0).graduacaoAluno());
+    }
+
+    @Test
+    void naoDeveBuscarResumos_QuandoPaginaDeIdsVazia() {
+        Pageable pageable = PageRequest.of(3, 10, Sort.by("nome"));
+        Pageable ordenada = PageRequest.of(3, 10, Sort.by("nome").and(Sort.by("id")));
+        when(alunoRepository.findPaginaIds(ordenada)).thenReturn(new PageImpl<>(List.of(), ordenada, 5));
+
+        Page<AlunoResponse> result = alunoService.obterTodos(pageable);
+
+        assertTrue(result.getContent().isEmpty());
+        assertEquals(5, result.getTotalElements());
+        verify(alunoRepository, never()).findResumosByIdIn(any());
+    }
+
+    @Test
+    void deveCarregarTurmasDosAlunos_QuandoFieldsPedeTurmaIds() {
+        Pageable pageable = PageRequest.of(0, 10);
+        Pageable ordenada = PageRequest.of(0, 10, Sort.by("usuario.nome", "id"));
+        UUID turmaId = UUID.randomUUID();
+        Map<String, Object> linha = new LinkedHashMap<>(Map.of("id", aluno.getId(), "nome", "Aluno"));
+        when(listagemCamposRepository.listar(eq(Aluno.class), any(), eq(ordenada))).thenReturn(new PageImpl<>(List.of(linha)));
+
+        AlunoRepository.AlunoTurma vinculo = mock(AlunoRepository.AlunoTurma.class);
+        when(vinculo.getAlunoId()).thenReturn(aluno.getId());
+        when(vinculo.getTurmaId()).thenReturn(turmaId);
+        when(alunoRepository.findTurmasByAlunoIdIn(List.of(aluno.getId()))).thenReturn(List.of(vinculo));
+
+        var result = alunoService.obterTodosComCampos(pageable, Set.of("nome", "turmaIds"));
+
+        assertEquals(List.of(turmaId), result.getContent().get(0).get("turmaIds"));
+        verify(listagemCamposRepository).listar(Aluno.class, Map.of("id", "id", "nome", "usuario.nome"), ordenada);
+        verify(alunoRepository, never()).findResumosByIdIn(any());
+    }
+
+    @Test
+    void naoDeveConsultarTurmas_QuandoFieldsNaoPedeTurmaIds() {
+        Pageable pageable = PageRequest.of(0, 10);
+        when(listagemCamposRepository.listar(eq(Aluno.class), any(), any())).thenReturn(new PageImpl<>(List.of(Map.of("id", aluno.getId()))));
+
+        var result = alunoService.obterTodosComCampos(pageable, Set.of("graduacaoAluno"));
+
+        assertFalse(result.getContent().get(0).containsKey("turmaIds"));
+        verify(listagemCamposRepository).listar(eq(Aluno.class), eq(Map.of("id", "id", "graduacaoAluno", "graduacao")), any());
+        verify(alunoRepository, never()).findTurmasByAlunoIdIn(any());
     }
 
     @Test
@@ -321,6 +376,7 @@ class AlunoServiceTest {
 
         verify(alunoRepository).findById(alunoId);
         verify(alunoRepository).save(argThat(a -> a.getGraduacao().getBelt() == BeltGraduation.AZUL));
+        verify(graduacaoService).registrarAlteracao(aluno, BeltGraduation.BRANCA, GraduationLevel.IV, true);
     }
 
     @Test
@@ -405,6 +461,7 @@ class AlunoServiceTest {
 
         verify(alunoRepository).findById(alunoId);
         verify(alunoRepository).save(argThat(a -> a.getGraduacao().getBelt() == BeltGraduation.BRANCA));
+        verify(graduacaoService).registrarAlteracao(aluno, BeltGraduation.AZUL, GraduationLevel.ZERO, false);
     }
 
     @Test
@@ -488,6 +545,7 @@ class AlunoServiceTest {
 
         verify(alunoRepository).findById(alunoId);
         verify(alunoRepository).save(argThat(a -> a.getGraduacao().getLevel() == GraduationLevel.I));
+        verify(graduacaoService).registrarAlteracao(aluno, BeltGraduation.BRANCA, GraduationLevel.ZERO, true);
     }
 
     @Test
@@ -5,6 +5,7 @@ import com.fighthub.dto.aula.AulaResponse;
 import com.fighthub.dto.aula.AulaUpdateCompletoRequest;
 import com.fighthub.dto.aula.AulaUpdateStatusRequest;
 import com.fighthub.exception.*;
+import com.fighthub.mapper.AulaMapper;
 import com.fighthub.model.*;
 import com.fighthub.model.enums.ClassStatus;
 import com.fighthub.model.enums.Role;
@@ -13,6 +14,7 @@ import jakarta.servlet.http.HttpServletRequest;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
@@ -25,12 +27,14 @@ import org.springframework.http.HttpHeaders;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -51,6 +55,15 @@ class AulaServiceTest {
     @Mock
     private ProfessorRepository professorRepository;
 
+    @Mock
+    private AlteracaoAulaRepository alteracaoAulaRepository;
+
+    @Mock
+    private ConflitoAgendaService conflitoAgendaService;
+
+    @Mock
+    private InscricaoService inscricaoService;
+
     @Mock
     private JwtService jwtService;
 
@@ -109,7 +122,7 @@ class AulaServiceTest {
                 .nome("Turma de Segunda")
                 .horario("Segunda 19:00")
                 .ativo(true)
-                .alunos(new ArrayList<>())
+                .alunos(new HashSet<>())
                 .build();
 
         aula = Aula.builder()
@@ -156,6 +169,19 @@ class AulaServiceTest {
         verify(aulaRepository).save(any());
     }
 
+    @Test
+    void deveLancarExcecao_QuandoProfessorJaPossuiAulaNoHorario() {
+        AulaRequest request = new AulaRequest("Aula", "Descricao", LocalDateTime.now().plusDays(1), turma.getId(), 10);
+        when(turmaRepository.findById(turma.getId())).thenReturn(Optional.of(turma));
+        doThrow(new ValidacaoException("Professor já possui aula neste horário."))
+                .when(conflitoAgendaService).verificarConflito(any());
+
+        assertThrows(ValidacaoException.class, () -> aulaService.criarAula(request));
+
+        verify(aulaRepository, never()).save(any());
+        verify(conflitoAgendaService, never()).registrar(any(Aula.class));
+    }
+
     @Test
     void deveRetornarPagePopulada_AoBuscarAulasComSucesso() {
         Pageable pageable = PageRequest.of(0, 10);
@@ -185,7 +211,7 @@ class AulaServiceTest {
     @Test
     void deveRetornarAulasDisponiveis_QuandoProfessorMinistraTurma() {
         Pageable pageable = PageRequest.of(0, 10);
-        Page<Aula> page = new PageImpl<>(List.of(aula));
+        Page<AulaResponse> page = new PageImpl<>(List.of(AulaMapper.toDTO(aula)));
         String jwt = "jwt-valido";
         String email = "email-valido";
 
@@ -193,8 +219,7 @@ class AulaServiceTest {
         when(jwtService.extrairEmail(jwt)).thenReturn(email);
         when(usuarioRepository.findByEmail(email)).thenReturn(Optional.of(usuario));
         when(professorRepository.findByUsuario(usuario)).thenReturn(Optional.of(professor));
-        when(turmaRepository.findAllByProfessor(professor)).thenReturn(List.of(turma));
-        when(aulaRepository.findByStatusAndTurmaIn(ClassStatus.DISPONIVEL, List.of(turma), pageable))
+        when(aulaRepository.findResumoByStatusAndProfessorId(ClassStatus.DISPONIVEL, professor.getId(), pageable))
                 .thenReturn(page);
 
         var result = aulaService.buscarAulasDisponiveisProfessor(pageable, httpServletRequest);
@@ -209,8 +234,8 @@ class AulaServiceTest {
         verify(jwtService).extrairEmail(jwt);
         verify(usuarioRepository).findByEmail(email);
         verify(professorRepository).findByUsuario(usuario);
-        verify(turmaRepository).findAllByProfessor(professor);
-        verify(aulaRepository).findByStatusAndTurmaIn(ClassStatus.DISPONIVEL, List.of(turma), pageable);
+        verify(aulaRepository).findResumoByStatusAndProfessorId(ClassStatus.DISPONIVEL, professor.getId(), pageable);
+        verifyNoInteractions(turmaRepository);
     }
 
     @Test
@@ -258,8 +283,7 @@ class AulaServiceTest {
         when(jwtService.extrairEmail(jwt)).thenReturn(email);
         when(usuarioRepository.findByEmail(email)).thenReturn(Optional.of(usuario));
         when(professorRepository.findByUsuario(usuario)).thenReturn(Optional.of(professor));
-        when(turmaRepository.findAllByProfessor(professor)).thenReturn(List.of());
-        when(aulaRepository.findByStatusAndTurmaIn(ClassStatus.DISPONIVEL, List.of(), pageable))
+        when(aulaRepository.findResumoByStatusAndProfessorId(ClassStatus.DISPONIVEL, professor.getId(), pageable))
                 .thenReturn(Page.empty());
 
         var result = aulaService.buscarAulasDisponiveisProfessor(pageable, httpServletRequest);
@@ -268,13 +292,13 @@ class AulaServiceTest {
         assertTrue(result.isEmpty());
         assertEquals(0, result.getTotalElements());
 
-        verify(aulaRepository).findByStatusAndTurmaIn(ClassStatus.DISPONIVEL, List.of(), pageable);
+        verify(aulaRepository).findResumoByStatusAndProfessorId(ClassStatus.DISPONIVEL, professor.getId(), pageable);
     }
 
     @Test
     void deveRetornarAulasDisponiveis_QuandoAlunoEstaMatriculado() {
         Pageable pageable = PageRequest.of(0, 10);
-        Page<Aula> page = new PageImpl<>(List.of(aula));
+        Page<AulaResponse> page = new PageImpl<>(List.of(AulaMapper.toDTO(aula)));
         String jwt = "jwt-valido";
         String email = "email-valido";
 
@@ -282,8 +306,7 @@ class AulaServiceTest {
         when(jwtService.extrairEmail(jwt)).thenReturn(email);
         when(usuarioRepository.findByEmail(email)).thenReturn(Optional.of(usuario));
         when(alunoRepository.findByUsuarioId(usuario.getId())).thenReturn(Optional.of(aluno));
-        when(turmaRepository.findAllByAlunos(aluno)).thenReturn(List.of(turma));
-        when(aulaRepository.findByStatusAndTurmaIn(ClassStatus.DISPONIVEL, List.of(turma), pageable))
+        when(aulaRepository.findResumoByStatusAndAlunoId(ClassStatus.DISPONIVEL, aluno.getId(), pageable))
                 .thenReturn(page);
 
         var result = aulaService.buscarAulasDisponiveisAluno(pageable, httpServletRequest);
@@ -298,8 +321,8 @@ class AulaServiceTest {
         verify(jwtService).extrairEmail(jwt);
         verify(usuarioRepository).findByEmail(email);
         verify(alunoRepository).findByUsuarioId(usuario.getId());
-        verify(turmaRepository).findAllByAlunos(aluno);
-        verify(aulaRepository).findByStatusAndTurmaIn(ClassStatus.DISPONIVEL, List.of(turma), pageable);
+        verify(aulaRepository).findResumoByStatusAndAlunoId(ClassStatus.DISPONIVEL, aluno.getId(), pageable);
+        verifyNoInteractions(turmaRepository);
     }
 
     @Test
@@ -347,8 +370,7 @@ class AulaServiceTest {
         when(jwtService.extrairEmail(jwt)).thenReturn(email);
         when(usuarioRepository.findByEmail(email)).thenReturn(Optional.of(usuario));
         when(alunoRepository.findByUsuarioId(usuario.getId())).thenReturn(Optional.of(aluno));
-        when(turmaRepository.findAllByAlunos(aluno)).thenReturn(List.of());
-        when(aulaRepository.findByStatusAndTurmaIn(ClassStatus.DISPONIVEL, List.of(), pageable))
+        when(aulaRepository.findResumoByStatusAndAlunoId(ClassStatus.DISPONIVEL, aluno.getId(), pageable))
                 .thenReturn(Page.empty());
 
         var result = aulaService.buscarAulasDisponiveisAluno(pageable, httpServletRequest);
@@ -357,7 +379,7 @@ class AulaServiceTest {
         assertTrue(result.isEmpty());
         assertEquals(0, result.getTotalElements());
 
-        verify(aulaRepository).findByStatusAndTurmaIn(ClassStatus.DISPONIVEL, List.of(), pageable);
+        verify(aulaRepository).findResumoByStatusAndAlunoId(ClassStatus.DISPONIVEL, aluno.getId(), pageable);
     }
 
     @Test
@@ -432,6 +454,32 @@ class AulaServiceTest {
         verify(aulaRepository).save(any());
     }
 
+    @Test
+    void deveVerificarConflito_QuandoAulaCanceladaForReaberta() {
+        aula.setStatus(ClassStatus.CANCELADA);
+        aula.setAtivo(false);
+        when(aulaRepository.findById(aula.getId())).thenReturn(Optional.of(aula));
+        doThrow(new ValidacaoException("Professor já possui aula neste horário."))
+                .when(conflitoAgendaService).verificarConflito(aula);
+
+        assertThrows(ValidacaoException.class, () -> aulaService.atualizarStatus(aula.getId(),
+                new AulaUpdateStatusRequest(ClassStatus.DISPONIVEL)));
+
+        verify(aulaRepository, never()).save(any());
+        verify(conflitoAgendaService, never()).registrar(any(Aula.class));
+    }
+
+    @Test
+    void naoDeveVerificarConflito_QuandoAulaJaOcupavaAAgenda() {
+        when(aulaRepository.findById(aula.getId())).thenReturn(Optional.of(aula));
+        when(aulaRepository.save(any())).thenReturn(aula);
+
+        aulaService.atualizarStatus(aula.getId(), new AulaUpdateStatusRequest(ClassStatus.AGENDADA));
+
+        verify(conflitoAgendaService, never()).verificarConflito(any());
+        verify(conflitoAgendaService).registrar(aula);
+    }
+
     @Test
     void deveLancarExcecao_QuandoAtualizarStatusDeAulaInexistente() {
         var request = new AulaUpdateStatusRequest(ClassStatus.CANCELADA);
@@ -473,6 +521,22 @@ class AulaServiceTest {
         aulaService.desvincularTurma(aula.getId(), turma.getId());
 
         verify(aulaRepository).save(any());
+        verify(alteracaoAulaRepository).save(argThat(alteracao ->
+                alteracao.getAulaId().equals(aula.getId()) && turma.getId().equals(alteracao.getTurmaId())));
+    }
+
+    @Test
+    void deveRegistrarAlteracaoNasDuasTurmas_QuandoAulaMudarDeTurma() {
+        Turma outraTurma = Turma.builder().id(UUID.randomUUID()).nome("Turma de Terça").build();
+        aula.setTurma(turma);
+
+        when(aulaRepository.findById(aula.getId())).thenReturn(Optional.of(aula));
+        when(turmaRepository.findById(outraTurma.getId())).thenReturn(Optional.of(outraTurma));
+
+        aulaService.vincularTurma(aula.getId(), outraTurma.getId());
+
+        verify(alteracaoAulaRepository).save(argThat(alteracao -> outraTurma.getId().equals(alteracao.getTurmaId())));
+        verify(alteracaoAulaRepository).save(argThat(alteracao -> turma.getId().equals(alteracao.getTurmaId())));
     }
 
     @Test
@@ -493,6 +557,19 @@ class AulaServiceTest {
         aulaService.excluirAula(aula.getId());
 
         verify(aulaRepository).deleteById(aula.getId());
+        verify(alteracaoAulaRepository).save(argThat(alteracao -> alteracao.getAulaId().equals(aula.getId())));
+    }
+
+    @Test
+    void deveTravarLogDeAlteracoesAntesDeLerAAula() {
+        when(aulaRepository.findById(aula.getId())).thenReturn(Optional.of(aula));
+
+        aulaService.excluirAula(aula.getId());
+
+        InOrder ordem = inOrder(alteracaoAulaRepository, aulaRepository);
+        ordem.verify(alteracaoAulaRepository).bloquearLog();
+        ordem.verify(aulaRepository).findById(aula.getId());
+        ordem.verify(alteracaoAulaRepository).save(any());
     }
 
     @Test
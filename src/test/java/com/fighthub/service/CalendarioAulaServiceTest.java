@@ -0,0 +1,177 @@
+package com.fighthub.service;
+
+import com.fighthub.exception.ValidacaoException;
+import com.fighthub.model.Aula;
+import com.fighthub.model.Turma;
+import com.fighthub.model.Usuario;
+import com.fighthub.model.enums.ClassStatus;
+import com.fighthub.model.enums.Role;
+import com.fighthub.repository.AlteracaoAulaRepository;
+import com.fighthub.repository.AulaRepository;
+import com.fighthub.repository.TurmaRepository;
+import com.fighthub.repository.UsuarioRepository;
+import jakarta.servlet.http.HttpServletRequest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CalendarioAulaServiceTest {
+
+    @Mock private AulaRepository aulaRepository;
+    @Mock private TurmaRepository turmaRepository;
+    @Mock private UsuarioRepository usuarioRepository;
+    @Mock private AlteracaoAulaRepository alteracaoAulaRepository;
+    @Mock private JwtService jwtService;
+    @Mock private HttpServletRequest httpServletRequest;
+
+    private CalendarioAulaService calendarioAulaService;
+
+    private Usuario usuario;
+    private Turma turma;
+    private Aula aula;
+
+    @BeforeEach
+    void setUp() {
+        calendarioAulaService = new CalendarioAulaService(aulaRepository, turmaRepository, usuarioRepository,
+                alteracaoAulaRepository, jwtService, 60);
+
+        usuario = Usuario.builder()
+                .id(UUID.randomUUID())
+                .email("aluno@teste.com")
+                .role(Role.ALUNO)
+                .build();
+
+        turma = Turma.builder().id(UUID.randomUUID()).nome("Turma de Segunda").build();
+
+        aula = Aula.builder()
+                .id(UUID.randomUUID())
+                .titulo("Aula Teste")
+                .data(LocalDateTime.now().plusDays(1))
+                .turma(turma)
+                .status(ClassStatus.DISPONIVEL)
+                .ativo(true)
+                .build();
+
+        when(httpServletRequest.getHeader(HttpHeaders.AUTHORIZATION)).thenReturn("Bearer jwt");
+        when(jwtService.extrairEmail("jwt")).thenReturn(usuario.getEmail());
+        when(usuarioRepository.findByEmail(usuario.getEmail())).thenReturn(Optional.of(usuario));
+        when(turmaRepository.findIdsByAlunoUsuarioId(usuario.getId())).thenReturn(List.of(turma.getId()));
+    }
+
+    @Test
+    void deveRetornarJanelaCompleta_QuandoSemToken() {
+        mockVersao(5L);
+        when(aulaRepository.findCalendario(eq(List.of(turma.getId())), any())).thenReturn(List.of(aula));
+
+        var escopo = calendarioAulaService.carregarEscopo(httpServletRequest);
+        var resposta = calendarioAulaService.buscarAlteracoes(escopo, null);
+
+        assertTrue(resposta.completo());
+        assertEquals(1, resposta.alteradas().size());
+        assertEquals(aula.getData().plusMinutes(60), resposta.alteradas().get(0).fim());
+        assertTrue(resposta.token().startsWith("5."));
+        verify(alteracaoAulaRepository, never()).findAulaIdsAlteradas(any(), anyLong(), anyLong());
+    }
+
+    @Test
+    void deveRetornarSomenteAlteracoes_QuandoTokenValido() {
+        mockVersao(5L);
+        UUID aulaExcluida = UUID.randomUUID();
+        Aula aulaMovida = Aula.builder()
+                .id(UUID.randomUUID())
+                .data(LocalDateTime.now().plusDays(2))
+                .turma(Turma.builder().id(UUID.randomUUID()).build())
+                .build();
+        aula.setStatus(ClassStatus.CANCELADA);
+
+        var escopo = calendarioAulaService.carregarEscopo(httpServletRequest);
+        String token = "3." + escopo.assinatura();
+
+        when(alteracaoAulaRepository.findAulaIdsAlteradas(List.of(turma.getId()), 3L, 5L))
+                .thenReturn(List.of(aula.getId(), aulaExcluida, aulaMovida.getId()));
+        when(aulaRepository.findAllById(anyList())).thenReturn(List.of(aula, aulaMovida));
+
+        var resposta = calendarioAulaService.buscarAlteracoes(escopo, token);
+
+        assertFalse(resposta.completo());
+        assertEquals(1, resposta.alteradas().size());
+        assertTrue(resposta.alteradas().get(0).cancelada());
+        assertEquals(List.of(aulaExcluida, aulaMovida.getId()), resposta.removidas());
+        assertEquals("5." + escopo.assinatura(), resposta.token());
+        verify(aulaRepository, never()).findCalendario(any(), any());
+    }
+
+    @Test
+    void deveRetornarJanelaCompleta_QuandoTurmasDoUsuarioMudaram() {
+        mockVersao(5L);
+        when(aulaRepository.findCalendario(any(), any())).thenReturn(List.of(aula));
+
+        var escopo = calendarioAulaService.carregarEscopo(httpServletRequest);
+        var resposta = calendarioAulaService.buscarAlteracoes(escopo, "3.000000000000");
+
+        assertTrue(resposta.completo());
+        assertEquals(1, resposta.alteradas().size());
+    }
+
+    @Test
+    void deveLancarExcecao_QuandoTokenInvalido() {
+        mockVersao(5L);
+        var escopo = calendarioAulaService.carregarEscopo(httpServletRequest);
+
+        var ex = assertThrows(ValidacaoException.class,
+                () -> calendarioAulaService.buscarAlteracoes(escopo, "abc"));
+
+        assertEquals("Token de sincronização inválido.", ex.getMessage());
+    }
+
+    @Test
+    void deveAlterarEtag_QuandoNovaAlteracaoForRegistrada() {
+        mockVersao(5L);
+        String etagAnterior = calendarioAulaService.etagIcs(calendarioAulaService.carregarEscopo(httpServletRequest));
+
+        mockVersao(6L);
+        String etagAtual = calendarioAulaService.etagIcs(calendarioAulaService.carregarEscopo(httpServletRequest));
+
+        assertNotEquals(etagAnterior, etagAtual);
+        assertTrue(etagAtual.startsWith("\"") && etagAtual.endsWith("\""));
+    }
+
+    @Test
+    void deveGerarCalendarioVazio_QuandoUsuarioSemTurmas() {
+        when(turmaRepository.findIdsByAlunoUsuarioId(usuario.getId())).thenReturn(List.of());
+
+        var escopo = calendarioAulaService.carregarEscopo(httpServletRequest);
+        String ics = calendarioAulaService.gerarIcs(escopo);
+
+        assertTrue(ics.startsWith("BEGIN:VCALENDAR\r\n"));
+        assertFalse(ics.contains("BEGIN:VEVENT"));
+        verifyNoInteractions(alteracaoAulaRepository, aulaRepository);
+    }
+
+    private void mockVersao(Long sequencia) {
+        when(alteracaoAulaRepository.buscarVersao(any())).thenReturn(new AlteracaoAulaRepository.VersaoCalendario() {
+            @Override
+            public Long getSequencia() {
+                return sequencia;
+            }
+
+            @Override
+            public LocalDateTime getAlteradoEm() {
+                return LocalDateTime.now();
+            }
+        });
+    }
+}
@@ -0,0 +1,63 @@
+package com.fighthub.service;
+
+import com.fighthub.repository.AulaRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CicloVidaAulaServiceTest {
+
+    @Mock
+    private AulaRepository aulaRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private CicloVidaAulaService cicloVidaAulaService;
+
+    @BeforeEach
+    void setUp() {
+        cicloVidaAulaService = new CicloVidaAulaService(aulaRepository, transactionManager, 2, 60);
+    }
+
+    @Test
+    void deveProcessarEmLotesAteEsgotarAulasVencidas() {
+        when(aulaRepository.finalizarEncerradasAte(any(), eq(60), eq(2))).thenReturn(2, 2, 1);
+        when(aulaRepository.encerrarInscricoesAte(any(), eq(2))).thenReturn(0);
+
+        cicloVidaAulaService.atualizarStatusAulas();
+
+        verify(aulaRepository, times(3)).finalizarEncerradasAte(any(), eq(60), eq(2));
+        verify(aulaRepository, times(1)).encerrarInscricoesAte(any(), eq(2));
+        verify(transactionManager, times(4)).commit(any());
+    }
+
+    @Test
+    void deveEncerrarInscricoesUmaHoraAntesDaAula() {
+        when(aulaRepository.finalizarEncerradasAte(any(), anyInt(), anyInt())).thenReturn(0);
+        when(aulaRepository.encerrarInscricoesAte(any(), anyInt())).thenReturn(1);
+
+        LocalDateTime antes = LocalDateTime.now();
+        cicloVidaAulaService.atualizarStatusAulas();
+
+        ArgumentCaptor<LocalDateTime> agora = ArgumentCaptor.forClass(LocalDateTime.class);
+        ArgumentCaptor<LocalDateTime> limite = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(aulaRepository).finalizarEncerradasAte(agora.capture(), anyInt(), anyInt());
+        verify(aulaRepository).encerrarInscricoesAte(limite.capture(), anyInt());
+
+        assertFalse(agora.getValue().isBefore(antes));
+        assertEquals(Duration.ofHours(1), Duration.between(agora.getValue(), limite.getValue()));
+    }
+}
@@ -0,0 +1,155 @@
+package com.fighthub.service;
+
+import com.fighthub.dto.foto.MetricasFotosResponse;
+import com.fighthub.dto.foto.ResultadoColetaResponse;
+import com.fighthub.repository.FotoPerfilRepository;
+import com.fighthub.repository.UsuarioRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ColetaFotosOrfasServiceTest {
+
+    private static final String REFERENCIADA = "aa/aa/" + "a".repeat(64) + ".png";
+    private static final String ORFA = "bb/bb/" + "b".repeat(64) + ".png";
+
+    @TempDir
+    Path diretorio;
+
+    @Mock
+    private UsuarioRepository usuarioRepository;
+
+    @Mock
+    private FotoPerfilRepository fotoPerfilRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private ColetaFotosOrfasService coletaFotosOrfasService;
+
+    @BeforeEach
+    void setup() {
+        StorageService storageService = new StorageService(fotoPerfilRepository);
+        ReflectionTestUtils.setField(storageService, "profileDir", diretorio.toString());
+        coletaFotosOrfasService = new ColetaFotosOrfasService(storageService, usuarioRepository,
+                fotoPerfilRepository, transactionManager, 24, false, 2);
+    }
+
+    @Test
+    void deveRemoverOrfaosAntigosComMiniaturas_MantendoReferenciadosERecentes() throws IOException {
+        criar(REFERENCIADA, true);
+        criar(StorageService.chaveVariante(REFERENCIADA, 64), true);
+        criar(ORFA, true);
+        criar(StorageService.chaveVariante(ORFA, 64), true);
+        criar("recente.png", false);
+        when(usuarioRepository.findFotosApos("", 2)).thenReturn(List.of(REFERENCIADA));
+
+        ResultadoColetaResponse resultado = coletaFotosOrfasService.coletar(false);
+
+        assertTrue(Files.exists(diretorio.resolve(REFERENCIADA)));
+        assertTrue(Files.exists(diretorio.resolve(StorageService.chaveVariante(REFERENCIADA, 64))));
+        assertTrue(Files.exists(diretorio.resolve("recente.png")));
+        assertFalse(Files.exists(diretorio.resolve(ORFA)));
+        assertFalse(Files.exists(diretorio.resolve(StorageService.chaveVariante(ORFA, 64))));
+        verify(fotoPerfilRepository).removerOrfa(ORFA);
+        verify(transactionManager).commit(any());
+
+        assertEquals(5, resultado.arquivosExaminados());
+        assertEquals(2, resultado.orfaosEncontrados());
+        assertEquals(2, resultado.orfaosRemovidos());
+        assertEquals(8, resultado.bytesLiberados());
+    }
+
+    @Test
+    void naoDeveRemoverNada_QuandoSimulacao() throws IOException {
+        criar(ORFA, true);
+
+        ResultadoColetaResponse resultado = coletaFotosOrfasService.coletar(true);
+
+        assertTrue(Files.exists(diretorio.resolve(ORFA)));
+        assertTrue(resultado.simulacao());
+        assertEquals(1, resultado.orfaosEncontrados());
+        assertEquals(0, resultado.orfaosRemovidos());
+        assertEquals(4, resultado.bytesLiberados());
+        verify(usuarioRepository, never()).existsByFotoStartingWith(any());
+        verifyNoInteractions(fotoPerfilRepository);
+    }
+
+    @Test
+    void naoDeveRemover_QuandoConteudoForReferenciadoDuranteAVarredura() throws IOException {
+        criar(ORFA, true);
+        when(usuarioRepository.existsByFotoStartingWith("bb/bb/" + "b".repeat(64) + ".")).thenReturn(true);
+
+        ResultadoColetaResponse resultado = coletaFotosOrfasService.coletar(false);
+
+        assertTrue(Files.exists(diretorio.resolve(ORFA)));
+        assertEquals(0, resultado.orfaosRemovidos());
+        verify(fotoPerfilRepository, never()).removerOrfa(any());
+    }
+
+    @Test
+    void deveRemoverTemporariosAbandonados_SemConsultarOBanco() throws IOException {
+        criar(StorageService.DIRETORIO_TEMPORARIO + "/upload-1.tmp", true);
+        criar(StorageService.DIRETORIO_TEMPORARIO + "/upload-2.tmp", false);
+
+        ResultadoColetaResponse resultado = coletaFotosOrfasService.coletar(false);
+
+        assertFalse(Files.exists(diretorio.resolve(StorageService.DIRETORIO_TEMPORARIO + "/upload-1.tmp")));
+        assertTrue(Files.exists(diretorio.resolve(StorageService.DIRETORIO_TEMPORARIO + "/upload-2.tmp")));
+        assertEquals(1, resultado.orfaosRemovidos());
+        verify(usuarioRepository, never()).existsByFotoStartingWith(any());
+    }
+
+    @Test
+    void deveCarregarChavesReferenciadasEmPaginas() throws IOException {
+        criar(REFERENCIADA, true);
+        when(usuarioRepository.findFotosApos("", 2)).thenReturn(List.of("a.png", "b.png"));
+        when(usuarioRepository.findFotosApos("b.png", 2)).thenReturn(List.of(REFERENCIADA));
+
+        ResultadoColetaResponse resultado = coletaFotosOrfasService.coletar(false);
+
+        assertTrue(Files.exists(diretorio.resolve(REFERENCIADA)));
+        assertEquals(0, resultado.orfaosEncontrados());
+        verify(usuarioRepository, times(2)).findFotosApos(anyString(), eq(2));
+    }
+
+    @Test
+    void deveAcumularMetricasEntreExecucoes() throws IOException {
+        criar(ORFA, true);
+
+        coletaFotosOrfasService.coletar(true);
+        coletaFotosOrfasService.coletar(false);
+
+        MetricasFotosResponse.Coleta metricas = coletaFotosOrfasService.metricas();
+        assertEquals(2, metricas.execucoes());
+        assertEquals(2, metricas.orfaosEncontrados());
+        assertEquals(1, metricas.orfaosRemovidos());
+        assertEquals(4, metricas.bytesLiberados());
+        assertNotNull(metricas.ultimaExecucao());
+    }
+
+    private void criar(String key, boolean antigo) throws IOException {
+        Path arquivo = diretorio.resolve(key);
+        Files.createDirectories(arquivo.getParent());
+        Files.writeString(arquivo, "foto");
+        if (antigo) Files.setLastModifiedTime(arquivo, FileTime.from(Instant.now().minus(Duration.ofDays(2))));
+    }
+}
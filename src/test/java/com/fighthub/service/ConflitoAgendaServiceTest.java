@@ -0,0 +1,268 @@
+package com.fighthub.service;
+
+import com.fighthub.exception.ValidacaoException;
+import com.fighthub.model.Aula;
+import com.fighthub.model.Professor;
+import com.fighthub.model.Turma;
+import com.fighthub.model.enums.ClassStatus;
+import com.fighthub.repository.AulaRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ConflitoAgendaServiceTest {
+
+    @Mock
+    private AulaRepository aulaRepository;
+
+    private ConflitoAgendaService conflitoAgendaService;
+
+    private Turma turma;
+    private LocalDateTime amanha;
+
+    @BeforeEach
+    void setUp() {
+        conflitoAgendaService = new ConflitoAgendaService(aulaRepository, 60);
+        turma = novaTurma(UUID.randomUUID());
+        amanha = LocalDateTime.now().plusDays(1).withHour(19).withMinute(0).withSecond(0).withNano(0);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void deveLancarExcecao_QuandoProfessorJaPossuiAulaNoHorario() {
+        conflitoAgendaService.registrar(novaAula(turma, amanha, 90));
+
+        Aula sobreposta = novaAula(turma, amanha.plusMinutes(60), null);
+        sobreposta.setId(null);
+
+        var ex = assertThrows(ValidacaoException.class, () -> conflitoAgendaService.verificarConflito(sobreposta));
+        assertEquals("Professor já possui aula neste horário.", ex.getMessage());
+    }
+
+    @Test
+    void devePermitirAula_QuandoHorariosApenasSeEncostam() {
+        conflitoAgendaService.registrar(novaAula(turma, amanha, 60));
+
+        assertDoesNotThrow(() -> conflitoAgendaService.verificarConflito(novaAula(turma, amanha.plusMinutes(60), 60)));
+        assertDoesNotThrow(() -> conflitoAgendaService.verificarConflito(novaAula(turma, amanha.minusMinutes(60), 60)));
+    }
+
+    @Test
+    void devePermitirAula_QuandoProfessorDiferenteOuMesmaAula() {
+        Aula existente = novaAula(turma, amanha, 60);
+        conflitoAgendaService.registrar(existente);
+
+        assertDoesNotThrow(() -> conflitoAgendaService.verificarConflito(novaAula(novaTurma(UUID.randomUUID()), amanha, 60)));
+        assertDoesNotThrow(() -> conflitoAgendaService.verificarConflito(existente));
+    }
+
+    @Test
+    void deveIgnorarAulasCanceladasERemovidas() {
+        Aula cancelada = novaAula(turma, amanha, 60);
+        conflitoAgendaService.registrar(cancelada);
+        cancelada.setStatus(ClassStatus.CANCELADA);
+        cancelada.setAtivo(false);
+        conflitoAgendaService.registrar(cancelada);
+
+        Aula excluida = novaAula(turma, amanha.plusHours(2), 60);
+        conflitoAgendaService.registrar(excluida);
+        conflitoAgendaService.remover(excluida.getId());
+
+        assertDoesNotThrow(() -> conflitoAgendaService.verificarConflito(novaAula(turma, amanha, 60)));
+        assertDoesNotThrow(() -> conflitoAgendaService.verificarConflito(novaAula(turma, amanha.plusHours(2), 60)));
+    }
+
+    @Test
+    void deveMoverAulas_QuandoProfessorDaTurmaMudar() {
+        conflitoAgendaService.registrar(novaAula(turma, amanha, 60));
+        Turma turmaNovoProfessor = novaTurma(UUID.randomUUID());
+
+        conflitoAgendaService.atualizarProfessorDaTurma(turma.getId(), turmaNovoProfessor.getProfessor().getId());
+
+        assertDoesNotThrow(() -> conflitoAgendaService.verificarConflito(novaAula(novaTurmaDoProfessor(turma.getProfessor()), amanha, 60)));
+        assertThrows(ValidacaoException.class,
+                () -> conflitoAgendaService.verificarConflito(novaAula(turmaNovoProfessor, amanha, 60)));
+    }
+
+    @Test
+    void deveReservarHorario_EnquantoTransacaoQueVerificouNaoTerminar() {
+        Aula primeira = novaAula(turma, amanha, 60);
+        primeira.setId(null);
+        TransactionSynchronizationManager.initSynchronization();
+        conflitoAgendaService.verificarConflito(primeira);
+        List<TransactionSynchronization> daPrimeira = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+
+        Aula concorrente = novaAula(turma, amanha.plusMinutes(30), 60);
+        concorrente.setId(null);
+        assertThrows(ValidacaoException.class, () -> conflitoAgendaService.verificarConflito(concorrente));
+
+        // rollback da primeira libera o horário
+        daPrimeira.forEach(s -> s.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+        assertDoesNotThrow(() -> conflitoAgendaService.verificarConflito(concorrente));
+    }
+
+    @Test
+    void deveLancarExcecao_QuandoNovoProfessorDaTurmaJaPossuiAulaNoHorario() {
+        conflitoAgendaService.registrar(novaAula(turma, amanha, 60));
+        Turma outraTurma = novaTurma(UUID.randomUUID());
+        conflitoAgendaService.registrar(novaAula(outraTurma, amanha.plusMinutes(30), 60));
+
+        assertThrows(ValidacaoException.class, () -> conflitoAgendaService
+                .verificarConflitoProfessorDaTurma(turma.getId(), outraTurma.getProfessor().getId()));
+        assertDoesNotThrow(() -> conflitoAgendaService
+                .verificarConflitoProfessorDaTurma(turma.getId(), UUID.randomUUID()));
+        assertDoesNotThrow(() -> conflitoAgendaService
+                .verificarConflitoProfessorDaTurma(turma.getId(), turma.getProfessor().getId()));
+    }
+
+    @Test
+    void deveListarCadaConflitoUmaUnicaVez() {
+        Aula primeira = novaAula(turma, amanha, 120);
+        Aula segunda = novaAula(turma, amanha.plusMinutes(30), 30);
+        Aula terceira = novaAula(turma, amanha.plusMinutes(90), 60);
+        Aula separada = novaAula(turma, amanha.plusHours(5), 60);
+        conflitoAgendaService.registrar(List.of(primeira, segunda, terceira, separada));
+
+        var conflitos = conflitoAgendaService.buscarConflitos(1);
+
+        assertEquals(2, conflitos.size());
+        assertEquals(primeira.getId(), conflitos.get(0).aulaId());
+        assertEquals(Set.of(segunda.getId(), terceira.getId()),
+                Set.of(conflitos.get(0).aulaConflitanteId(), conflitos.get(1).aulaConflitanteId()));
+        assertTrue(conflitos.stream().allMatch(c -> c.professorId().equals(turma.getProfessor().getId())));
+    }
+
+    @Test
+    void deveLancarExcecao_QuandoSemanasForaDoIntervalo() {
+        assertThrows(ValidacaoException.class, () -> conflitoAgendaService.buscarConflitos(0));
+        assertThrows(ValidacaoException.class, () -> conflitoAgendaService.buscarConflitos(53));
+    }
+
+    @Test
+    void deveReconstruirAgendaAPartirDoBanco() {
+        UUID aulaId = UUID.randomUUID();
+        AulaRepository.AgendaAula agenda = new AulaRepository.AgendaAula() {
+            public UUID getId() { return aulaId; }
+            public LocalDateTime getData() { return amanha; }
+            public Integer getDuracaoMinutos() { return null; }
+            public UUID getTurmaId() { return turma.getId(); }
+            public UUID getProfessorId() { return turma.getProfessor().getId(); }
+        };
+        when(aulaRepository.findAgendaAPartirDe(any(), any())).thenReturn(List.of(agenda));
+
+        conflitoAgendaService.reconstruir();
+
+        assertThrows(ValidacaoException.class,
+                () -> conflitoAgendaService.verificarConflito(novaAula(turma, amanha.plusMinutes(59), 30)));
+    }
+
+    @Test
+    void deveReaplicarAlteracoesConfirmadasDuranteAReconstrucao() {
+        Aula removida = novaAula(turma, amanha, 60);
+        Aula criada = novaAula(turma, amanha.plusHours(3), 60);
+        AulaRepository.AgendaAula agenda = new AulaRepository.AgendaAula() {
+            public UUID getId() { return removida.getId(); }
+            public LocalDateTime getData() { return amanha; }
+            public Integer getDuracaoMinutos() { return 60; }
+            public UUID getTurmaId() { return turma.getId(); }
+            public UUID getProfessorId() { return turma.getProfessor().getId(); }
+        };
+        // Commits que chegam enquanto a consulta roda e que o resultado dela não reflete
+        when(aulaRepository.findAgendaAPartirDe(any(), any())).thenAnswer(invocation -> {
+            conflitoAgendaService.registrar(criada);
+            conflitoAgendaService.remover(removida.getId());
+            return List.of(agenda);
+        });
+
+        Aula reservada = novaAula(turma, amanha.plusHours(6), 60);
+        reservada.setId(null);
+        TransactionSynchronizationManager.initSynchronization();
+        conflitoAgendaService.verificarConflito(reservada);
+        TransactionSynchronizationManager.clearSynchronization();
+
+        conflitoAgendaService.reconstruir();
+
+        assertDoesNotThrow(() -> conflitoAgendaService.verificarConflito(novaAula(turma, amanha, 60)));
+        assertThrows(ValidacaoException.class,
+                () -> conflitoAgendaService.verificarConflito(novaAula(turma, amanha.plusHours(3), 60)));
+        assertThrows(ValidacaoException.class,
+                () -> conflitoAgendaService.verificarConflito(novaAula(turma, amanha.plusHours(6), 60)));
+    }
+
+    @Test
+    void deveEncontrarOsMesmosSobrepostosQueABuscaLinear() {
+        Random random = new Random(42);
+        LocalDateTime base = LocalDateTime.of(2030, 1, 1, 0, 0);
+        ArvoreIntervalos arvore = new ArvoreIntervalos();
+        List<ArvoreIntervalos.Intervalo> presentes = new ArrayList<>();
+
+        for (int i = 0; i < 2000; i++) {
+            LocalDateTime inicio = base.plusMinutes(random.nextInt(60 * 24 * 60));
+            var intervalo = new ArvoreIntervalos.Intervalo(UUID.randomUUID(), inicio, inicio.plusMinutes(15 + random.nextInt(240)));
+            arvore.inserir(intervalo);
+            presentes.add(intervalo);
+        }
+
+        Collections.shuffle(presentes, random);
+        for (var removido : new ArrayList<>(presentes.subList(0, 1000))) {
+            arvore.remover(removido);
+            presentes.remove(removido);
+        }
+        assertEquals(presentes.size(), arvore.tamanho());
+
+        for (int i = 0; i < 300; i++) {
+            LocalDateTime inicio = base.plusMinutes(random.nextInt(60 * 24 * 60));
+            LocalDateTime fim = inicio.plusMinutes(1 + random.nextInt(600));
+
+            Set<ArvoreIntervalos.Intervalo> esperados = new HashSet<>();
+            presentes.stream().filter(p -> p.sobrepoe(inicio, fim)).forEach(esperados::add);
+
+            assertEquals(esperados, new HashSet<>(arvore.sobrepostos(inicio, fim)));
+        }
+    }
+
+    private Turma novaTurma(UUID professorId) {
+        return novaTurmaDoProfessor(Professor.builder().id(professorId).build());
+    }
+
+    private Turma novaTurmaDoProfessor(Professor professor) {
+        return Turma.builder()
+                .id(UUID.randomUUID())
+                .nome("Turma")
+                .ativo(true)
+                .professor(professor)
+                .build();
+    }
+
+    private Aula novaAula(Turma turma, LocalDateTime data, Integer duracaoMinutos) {
+        return Aula.builder()
+                .id(UUID.randomUUID())
+                .titulo("Aula")
+                .data(data)
+                .duracaoMinutos(duracaoMinutos)
+                .turma(turma)
+                .status(ClassStatus.DISPONIVEL)
+                .ativo(true)
+                .build();
+    }
+}
@@ -0,0 +1,188 @@
+package com.fighthub.service;
+
+import com.fighthub.dto.email.MetricasEmailResponse;
+import com.fighthub.model.EmailOutbox;
+import com.fighthub.model.enums.EmailStatus;
+import com.fighthub.repository.EmailOutboxRepository;
+import jakarta.mail.MessagingException;
+import jakarta.mail.Session;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mail.MailAuthenticationException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class DespachoEmailServiceTest {
+
+    @Mock
+    private EmailOutboxRepository emailOutboxRepository;
+
+    @Mock
+    private JavaMailSender mailSender;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private DespachoEmailService despachoEmailService;
+
+    private EmailOutbox primeiro;
+    private EmailOutbox segundo;
+
+    @BeforeEach
+    void setUp() {
+        despachoEmailService = novoDespacho(true);
+        primeiro = email("primeiro@email.com", 0);
+        segundo = email("segundo@email.com", 0);
+    }
+
+    @AfterEach
+    void encerrar() {
+        despachoEmailService.encerrar();
+    }
+
+    @Test
+    void deveEnviarLoteNumaUnicaConexaoEMarcarComoEnviados() {
+        prepararLote();
+        LocalDateTime antes = LocalDateTime.now();
+        doAnswer(invocation -> {
+            MimeMessage[] mensagens = (MimeMessage[]) invocation.getRawArguments()[0];
+            assertEquals(2, mensagens.length);
+            assertEquals("primeiro@email.com", mensagens[0].getAllRecipients()[0].toString());
+            // Lote reservado: a próxima tentativa foi adiada enquanto o envio acontece
+            assertTrue(primeiro.getProximaTentativa().isAfter(antes.plusSeconds(299)));
+            return null;
+        }).when(mailSender).send(any(MimeMessage[].class));
+
+        int despachados = despachoEmailService.despachar();
+
+        assertEquals(2, despachados);
+        verify(mailSender, times(1)).send(any(MimeMessage[].class));
+        assertEquals(EmailStatus.ENVIADO, primeiro.getStatus());
+        assertEquals(EmailStatus.ENVIADO, segundo.getStatus());
+        assertNotNull(primeiro.getEnviadoEm());
+
+        MetricasEmailResponse metricas = despachoEmailService.metricas();
+        assertEquals(2, metricas.enviados());
+        assertEquals(0, metricas.falhas());
+        assertEquals(1, metricas.lotes());
+        assertNotNull(metricas.ultimoDespacho());
+    }
+
+    @Test
+    void deveReagendarSomenteAsMensagensQueFalharam() {
+        prepararLote();
+        doAnswer(invocation -> {
+            MimeMessage[] mensagens = (MimeMessage[]) invocation.getRawArguments()[0];
+            throw new MailSendException(Map.of(mensagens[1], new MessagingException("caixa cheia")));
+        }).when(mailSender).send(any(MimeMessage[].class));
+        LocalDateTime antes = LocalDateTime.now();
+
+        despachoEmailService.despachar();
+
+        assertEquals(EmailStatus.ENVIADO, primeiro.getStatus());
+        assertEquals(EmailStatus.PENDENTE, segundo.getStatus());
+        assertEquals(1, segundo.getTentativas());
+        assertEquals("caixa cheia", segundo.getUltimoErro());
+        assertFalse(segundo.getProximaTentativa().isBefore(antes.plusSeconds(30)));
+        assertTrue(segundo.getProximaTentativa().isBefore(antes.plusSeconds(60)));
+        assertEquals(1, despachoEmailService.metricas().falhas());
+    }
+
+    @Test
+    void deveDescartarEmail_QuandoEsgotarTentativas() {
+        segundo.setTentativas(2);
+        prepararLote();
+        doThrow(new MailAuthenticationException("credenciais inválidas"))
+                .when(mailSender).send(any(MimeMessage[].class));
+
+        despachoEmailService.despachar();
+
+        assertEquals(EmailStatus.PENDENTE, primeiro.getStatus());
+        assertEquals(1, primeiro.getTentativas());
+        assertEquals(EmailStatus.FALHOU, segundo.getStatus());
+        assertEquals(3, segundo.getTentativas());
+        assertEquals("credenciais inválidas", segundo.getUltimoErro());
+    }
+
+    @Test
+    void deveDobrarEsperaAteOLimite() {
+        assertEquals(Duration.ofSeconds(30), despachoEmailService.espera(1));
+        assertEquals(Duration.ofSeconds(60), despachoEmailService.espera(2));
+        assertEquals(Duration.ofSeconds(240), despachoEmailService.espera(4));
+        assertEquals(Duration.ofHours(1), despachoEmailService.espera(20));
+    }
+
+    @Test
+    void deveDespacharForaDaThreadDoAgendador() throws Exception {
+        prepararLote();
+        CountDownLatch smtpLento = new CountDownLatch(1);
+        AtomicBoolean enviou = new AtomicBoolean();
+        doAnswer(invocation -> {
+            smtpLento.await(5, TimeUnit.SECONDS);
+            enviou.set(true);
+            return null;
+        }).when(mailSender).send(any(MimeMessage[].class));
+
+        // Retorna com o envio ainda bloqueado no SMTP
+        despachoEmailService.despacharAgendado();
+        assertFalse(enviou.get());
+        verify(mailSender, timeout(2000)).send(any(MimeMessage[].class));
+
+        smtpLento.countDown();
+        verify(emailOutboxRepository, timeout(2000).times(2)).reservarPendentes(any(), eq(2));
+    }
+
+    @Test
+    void naoDeveConsultarCaixaDeSaida_QuandoDespachoDesativado() {
+        despachoEmailService.encerrar();
+        despachoEmailService = novoDespacho(false);
+
+        assertEquals(0, despachoEmailService.despachar());
+        verifyNoInteractions(emailOutboxRepository, mailSender);
+    }
+
+    private void prepararLote() {
+        when(mailSender.createMimeMessage()).thenAnswer(invocation -> new MimeMessage((Session) null));
+        when(emailOutboxRepository.reservarPendentes(any(), eq(2))).thenReturn(List.of(primeiro, segundo), List.of());
+        when(emailOutboxRepository.findAllById(List.of(primeiro.getId(), segundo.getId()))).thenReturn(List.of(primeiro, segundo));
+    }
+
+    private DespachoEmailService novoDespacho(boolean ativo) {
+        return new DespachoEmailService(emailOutboxRepository, mailSender, transactionManager,
+                ativo, 2, 3, 30, 3600, 300, 7);
+    }
+
+    private static EmailOutbox email(String destinatario, int tentativas) {
+        LocalDateTime agora = LocalDateTime.now();
+        return EmailOutbox.builder()
+                .id(UUID.randomUUID())
+                .destinatario(destinatario)
+                .assunto("Assunto")
+                .corpoHtml("<p>corpo</p>")
+                .status(EmailStatus.PENDENTE)
+                .tentativas(tentativas)
+                .proximaTentativa(agora)
+                .criadoEm(agora)
+                .build();
+    }
+}
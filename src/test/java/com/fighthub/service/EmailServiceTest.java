@@ -1,12 +1,12 @@
 package com.fighthub.service;
 
-import com.fighthub.exception.EmailNaoEnviadoException;
+import com.fighthub.model.Aula;
+import com.fighthub.model.EmailOutbox;
 import com.fighthub.model.Endereco;
-import com.fighthub.model.Token;
 import com.fighthub.model.Usuario;
+import com.fighthub.model.enums.EmailStatus;
 import com.fighthub.model.enums.Role;
-import jakarta.mail.MessagingException;
-import jakarta.mail.internet.MimeMessage;
+import com.fighthub.repository.EmailOutboxRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -14,11 +14,10 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.mail.MailSendException;
-import org.springframework.mail.javamail.JavaMailSender;
 import org.thymeleaf.context.Context;
 import org.thymeleaf.spring6.SpringTemplateEngine;
 
+import java.time.LocalDateTime;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -29,13 +28,13 @@ import static org.mockito.Mockito.*;
 class EmailServiceTest {
 
     @Mock
-    private JavaMailSender javaMailSender;
+    private SpringTemplateEngine templateEngine;
 
     @Mock
-    private SpringTemplateEngine templateEngine;
+    private EmailOutboxRepository emailOutboxRepository;
 
     @Mock
-    private MimeMessage mimeMessage;
+    private DespachoEmailService despachoEmailService;
 
     @InjectMocks
     private EmailService emailService;
@@ -70,11 +69,10 @@ class EmailServiceTest {
     }
 
     @Test
-    void deveEnviarEmailAtivacao() throws Exception {
+    void deveEnfileirarEmailAtivacao() {
         String html = "<html><body>Email de ativação</body></html>";
 
         when(templateEngine.process(eq("email-ativacao"), any(Context.class))).thenReturn(html);
-        when(javaMailSender.createMimeMessage()).thenReturn(mimeMessage);
 
         emailService.enviarEmailAtivacao(usuario, token);
 
@@ -85,32 +83,21 @@ class EmailServiceTest {
         assertEquals(usuario.getNome(), contextUsado.getVariable("nome"));
         assertTrue(contextUsado.getVariable("link").toString().contains(token));
 
-        verify(javaMailSender).createMimeMessage();
-        verify(javaMailSender).send(mimeMessage);
+        EmailOutbox email = emailEnfileirado();
+        assertEquals("teste@gmail.com", email.getDestinatario());
+        assertEquals("Finalize seu cadastro no FightHub!", email.getAssunto());
+        assertEquals(html, email.getCorpoHtml());
+        assertEquals(EmailStatus.PENDENTE, email.getStatus());
+        assertEquals(0, email.getTentativas());
+        assertFalse(email.getProximaTentativa().isAfter(LocalDateTime.now()));
+        verify(despachoEmailService).acordarAposCommit();
     }
 
     @Test
-    void deveLancarExcecao_QuandoEmailAtivacaoNaoForEnviado() {
-        String html = "<html><body>Email de ativação</body></html>";
-
-        when(templateEngine.process(eq("email-ativacao"), any(Context.class))).thenReturn(html);
-        when(javaMailSender.createMimeMessage()).thenReturn(mimeMessage);
-
-        doThrow(new MailSendException("Falha ao enviar"))
-                .when(javaMailSender).send(mimeMessage);
-
-        var ex = assertThrows(EmailNaoEnviadoException.class,
-                () -> emailService.enviarEmailAtivacao(usuario, token));
-
-        assertEquals("Erro ao enviar e-mail", ex.getMessage());
-    }
-
-    @Test
-    void deveEnviarEmailConfirmacao() {
+    void deveEnfileirarEmailConfirmacao() {
         String html = "<html><body>Email de confirmação</body></html>";
 
         when(templateEngine.process(eq("email-confirmacao-cadastro"), any(Context.class))).thenReturn(html);
-        when(javaMailSender.createMimeMessage()).thenReturn(mimeMessage);
 
         emailService.enviarEmailConfirmacao(usuario);
 
@@ -120,33 +107,17 @@ class EmailServiceTest {
         Context contextUsado = contextCaptor.getValue();
         assertEquals(usuario.getNome(), contextUsado.getVariable("nome"));
 
-        verify(javaMailSender).createMimeMessage();
-        verify(javaMailSender).send(mimeMessage);
+        EmailOutbox email = emailEnfileirado();
+        assertEquals("Boas vindas ao FightHub!", email.getAssunto());
+        assertEquals(html, email.getCorpoHtml());
     }
 
     @Test
-    void deveLancarExcecao_QuandoEmailConfirmacaoNaoForEnviado() {
-        String html = "<html><body>Email de ativação</body></html>";
-
-        when(templateEngine.process(eq("email-confirmacao-cadastro"), any(Context.class))).thenReturn(html);
-        when(javaMailSender.createMimeMessage()).thenReturn(mimeMessage);
-
-        doThrow(new MailSendException("Falha ao enviar"))
-                .when(javaMailSender).send(mimeMessage);
-
-        var ex = assertThrows(EmailNaoEnviadoException.class,
-                () -> emailService.enviarEmailConfirmacao(usuario));
-
-        assertEquals("Erro ao enviar e-mail", ex.getMessage());
-    }
-
-    @Test
-    void deveEnviarEmailRecuperacaoSenha() {
+    void deveEnfileirarEmailRecuperacaoSenha() {
         String html = "<html><body>Email de recuperação de senha</body></html>";
         String codigoRecuperacao = "111222";
 
         when(templateEngine.process(eq("email-recuperacao-senha"), any(Context.class))).thenReturn(html);
-        when(javaMailSender.createMimeMessage()).thenReturn(mimeMessage);
 
         emailService.enviarEmailRecuperacaoSenha(usuario, codigoRecuperacao);
 
@@ -157,25 +128,35 @@ class EmailServiceTest {
         assertEquals(usuario.getNome(), contextUsado.getVariable("nome"));
         assertEquals(codigoRecuperacao, contextUsado.getVariable("codigo"));
 
-        verify(javaMailSender).createMimeMessage();
-        verify(javaMailSender).send(mimeMessage);
+        assertEquals("Recuperação de senha solicitada!", emailEnfileirado().getAssunto());
     }
 
     @Test
-    void deveLancarExcecao_QuandoEmailRecuperacaoSenhaNaoForEnviado() {
-        String html = "<html><body>Email de recuperação de senha</body></html>";
-        String codigoRecuperacao = "111222";
+    void deveEnfileirarEmailPromocaoListaEspera() {
+        String html = "<html><body>Vaga confirmada</body></html>";
+        Aula aula = Aula.builder()
+                .titulo("Jiu-Jitsu Avançado")
+                .data(LocalDateTime.of(2030, 5, 10, 19, 30))
+                .build();
 
-        when(templateEngine.process(eq("email-recuperacao-senha"), any(Context.class))).thenReturn(html);
-        when(javaMailSender.createMimeMessage()).thenReturn(mimeMessage);
+        when(templateEngine.process(eq("email-promocao-lista-espera"), any(Context.class))).thenReturn(html);
 
-        doThrow(new MailSendException("Falha ao enviar"))
-                .when(javaMailSender).send(mimeMessage);
+        emailService.enviarEmailPromocaoListaEspera(usuario, aula);
 
-        var ex = assertThrows(EmailNaoEnviadoException.class,
-                () -> emailService.enviarEmailRecuperacaoSenha(usuario, codigoRecuperacao));
+        ArgumentCaptor<Context> contextCaptor = ArgumentCaptor.forClass(Context.class);
+        verify(templateEngine).process(eq("email-promocao-lista-espera"), contextCaptor.capture());
 
-        assertEquals("Erro ao enviar e-mail", ex.getMessage());
+        Context contextUsado = contextCaptor.getValue();
+        assertEquals(usuario.getNome(), contextUsado.getVariable("nome"));
+        assertEquals(aula.getTitulo(), contextUsado.getVariable("aula"));
+        assertEquals("10/05/2030 às 19:30", contextUsado.getVariable("data"));
+
+        assertEquals("Sua vaga foi confirmada!", emailEnfileirado().getAssunto());
     }
 
-}
\ No newline at end of file
+    private EmailOutbox emailEnfileirado() {
+        ArgumentCaptor<EmailOutbox> captor = ArgumentCaptor.forClass(EmailOutbox.class);
+        verify(emailOutboxRepository).save(captor.capture());
+        return captor.getValue();
+    }
+}
@@ -0,0 +1,197 @@
+package com.fighthub.service;
+
+import com.fighthub.dto.foto.MetricasFotosResponse;
+import com.fighthub.repository.FotoPerfilRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+class EntregaFotoServiceTest {
+
+    private static final String HASH = "6187eb884a2243dbed3a648d69e5a1a538be022abc7d72d596fc0b1024fa3dab";
+    private static final String CHAVE = "61/87/" + HASH + ".png";
+
+    @TempDir
+    Path diretorio;
+
+    private EntregaFotoService entregaFotoService;
+
+    @BeforeEach
+    void setup() throws IOException {
+        StorageService storageService = new StorageService(mock(FotoPerfilRepository.class));
+        ReflectionTestUtils.setField(storageService, "profileDir", diretorio.toString());
+        entregaFotoService = new EntregaFotoService(storageService);
+
+        Files.createDirectories(diretorio.resolve("61/87"));
+        Files.writeString(diretorio.resolve(CHAVE), "0123456789");
+    }
+
+    @Test
+    void deveEntregarArquivoComEtagForteECacheImutavel_QuandoChavePorConteudo() throws IOException {
+        MockHttpServletResponse response = entregar(CHAVE, new MockHttpServletRequest("GET", "/"));
+
+        assertEquals(200, response.getStatus());
+        assertEquals("\"" + HASH + ".png\"", response.getHeader(HttpHeaders.ETAG));
+        assertEquals("public, max-age=31536000, immutable", response.getHeader(HttpHeaders.CACHE_CONTROL));
+        assertEquals("bytes", response.getHeader(HttpHeaders.ACCEPT_RANGES));
+        assertEquals("image/png", response.getContentType());
+        assertEquals(10, response.getContentLengthLong());
+        assertEquals("0123456789", response.getContentAsString());
+    }
+
+    @Test
+    void deveRevalidarCache_QuandoChaveAntiga() throws IOException {
+        Files.writeString(diretorio.resolve("usuario-foto.png"), "foto");
+
+        MockHttpServletResponse response = entregar("usuario-foto.png", new MockHttpServletRequest("GET", "/"));
+
+        assertEquals(200, response.getStatus());
+        assertEquals("public, no-cache", response.getHeader(HttpHeaders.CACHE_CONTROL));
+        assertEquals("foto", response.getContentAsString());
+    }
+
+    @Test
+    void deveResponder304SemCorpo_QuandoEtagCorresponder() throws IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/");
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, "\"outro\", W/\"" + HASH + ".png\"");
+
+        MockHttpServletResponse response = entregar(CHAVE, request);
+
+        assertEquals(304, response.getStatus());
+        assertEquals(0, response.getContentAsByteArray().length);
+        assertEquals(1, entregaFotoService.metricas().respostasNaoModificadas());
+    }
+
+    @Test
+    void deveEntregarIntervalo_QuandoRangeSolicitado() throws IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/");
+        request.addHeader(HttpHeaders.RANGE, "bytes=2-5");
+
+        MockHttpServletResponse response = entregar(CHAVE, request);
+
+        assertEquals(206, response.getStatus());
+        assertEquals("bytes 2-5/10", response.getHeader(HttpHeaders.CONTENT_RANGE));
+        assertEquals(4, response.getContentLengthLong());
+        assertEquals("2345", response.getContentAsString());
+    }
+
+    @Test
+    void deveEntregarFinalDoArquivo_QuandoRangeForSufixo() throws IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/");
+        request.addHeader(HttpHeaders.RANGE, "bytes=-3");
+
+        MockHttpServletResponse response = entregar(CHAVE, request);
+
+        assertEquals(206, response.getStatus());
+        assertEquals("bytes 7-9/10", response.getHeader(HttpHeaders.CONTENT_RANGE));
+        assertEquals("789", response.getContentAsString());
+    }
+
+    @Test
+    void deveResponder416_QuandoRangeForaDoArquivo() throws IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/");
+        request.addHeader(HttpHeaders.RANGE, "bytes=10-");
+
+        MockHttpServletResponse response = entregar(CHAVE, request);
+
+        assertEquals(416, response.getStatus());
+        assertEquals("bytes */10", response.getHeader(HttpHeaders.CONTENT_RANGE));
+    }
+
+    @Test
+    void deveEntregarArquivoInteiro_QuandoIfRangeNaoCorresponder() throws IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/");
+        request.addHeader(HttpHeaders.RANGE, "bytes=2-5");
+        request.addHeader(HttpHeaders.IF_RANGE, "\"versao-antiga.png\"");
+
+        MockHttpServletResponse response = entregar(CHAVE, request);
+
+        assertEquals(200, response.getStatus());
+        assertEquals("0123456789", response.getContentAsString());
+    }
+
+    @Test
+    void deveResponder404_QuandoChaveInexistenteOuFora() throws IOException {
+        Files.createDirectories(diretorio.resolve(StorageService.DIRETORIO_TEMPORARIO));
+        Files.writeString(diretorio.resolve(StorageService.DIRETORIO_TEMPORARIO).resolve("upload-1.tmp"), "x");
+
+        assertEquals(404, entregar("61/87/inexistente.png", new MockHttpServletRequest("GET", "/")).getStatus());
+        assertEquals(404, entregar("../fora.png", new MockHttpServletRequest("GET", "/")).getStatus());
+        assertEquals(404, entregar(".tmp/upload-1.tmp", new MockHttpServletRequest("GET", "/")).getStatus());
+        assertEquals(404, entregar("61/87", new MockHttpServletRequest("GET", "/")).getStatus());
+    }
+
+    @Test
+    void deveEntregarOriginalSemCacheImutavel_QuandoMiniaturaAindaNaoExistir() throws IOException {
+        MockHttpServletResponse response = entregar(StorageService.chaveVariante(CHAVE, 128), new MockHttpServletRequest("GET", "/"));
+
+        assertEquals(200, response.getStatus());
+        assertEquals("\"" + HASH + ".png\"", response.getHeader(HttpHeaders.ETAG));
+        assertEquals("public, no-cache", response.getHeader(HttpHeaders.CACHE_CONTROL));
+        assertEquals("image/png", response.getContentType());
+        assertEquals("0123456789", response.getContentAsString());
+        assertEquals(404, entregar("61/87/" + HASH + "-100.jpg", new MockHttpServletRequest("GET", "/")).getStatus());
+    }
+
+    @Test
+    void deveDelegarAoSendfile_QuandoConectorSuportarEArquivoForGrande() throws IOException {
+        byte[] grande = new byte[64 * 1024];
+        Files.write(diretorio.resolve(CHAVE), grande);
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/");
+        request.setAttribute("org.apache.tomcat.sendfile.support", Boolean.TRUE);
+
+        MockHttpServletResponse response = entregar(CHAVE, request);
+
+        assertEquals(200, response.getStatus());
+        assertEquals(0, response.getContentAsByteArray().length);
+        assertEquals(diretorio.resolve(CHAVE).toAbsolutePath().toString(),
+                request.getAttribute("org.apache.tomcat.sendfile.filename"));
+        assertEquals(0L, request.getAttribute("org.apache.tomcat.sendfile.start"));
+        assertEquals((long) grande.length, request.getAttribute("org.apache.tomcat.sendfile.end"));
+
+        MetricasFotosResponse.Entrega metricas = entregaFotoService.metricas();
+        assertEquals(1, metricas.enviosZeroCopia());
+        assertEquals(grande.length, metricas.bytesServidos());
+    }
+
+    @Test
+    void naoDeveEnviarCorpo_QuandoHead() throws IOException {
+        MockHttpServletResponse response = entregar(CHAVE, new MockHttpServletRequest("HEAD", "/"));
+
+        assertEquals(200, response.getStatus());
+        assertEquals(10, response.getContentLengthLong());
+        assertEquals(0, response.getContentAsByteArray().length);
+        assertEquals(0, entregaFotoService.metricas().bytesServidos());
+    }
+
+    @Test
+    void deveContabilizarBytesERespostas() throws IOException {
+        entregar(CHAVE, new MockHttpServletRequest("GET", "/"));
+        MockHttpServletRequest parcial = new MockHttpServletRequest("GET", "/");
+        parcial.addHeader(HttpHeaders.RANGE, "bytes=0-1");
+        entregar(CHAVE, parcial);
+
+        MetricasFotosResponse.Entrega metricas = entregaFotoService.metricas();
+        assertEquals(12, metricas.bytesServidos());
+        assertEquals(1, metricas.respostasCompletas());
+        assertEquals(1, metricas.respostasParciais());
+        assertEquals(0, metricas.enviosZeroCopia());
+    }
+
+    private MockHttpServletResponse entregar(String key, MockHttpServletRequest request) throws IOException {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        entregaFotoService.entregar(key, request, response);
+        return response;
+    }
+}
@@ -0,0 +1,159 @@
+package com.fighthub.service;
+
+import com.fighthub.dto.inscricao.TicketInscricaoResponse;
+import com.fighthub.exception.TicketInscricaoNaoEncontradoException;
+import com.fighthub.model.Aula;
+import com.fighthub.model.enums.AdmissionStatus;
+import com.fighthub.model.enums.ClassStatus;
+import com.fighthub.repository.AulaRepository;
+import com.fighthub.repository.InscricaoLoteRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class FilaAdmissaoServiceTest {
+
+    @Mock
+    private AulaRepository aulaRepository;
+
+    @Mock
+    private InscricaoLoteRepository inscricaoLoteRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private FilaAdmissaoService filaAdmissaoService;
+
+    private Aula aula;
+    private final UUID solicitanteId = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        filaAdmissaoService = new FilaAdmissaoService(aulaRepository, inscricaoLoteRepository, transactionManager, 1, 50, 5000, 10);
+
+        aula = Aula.builder()
+                .id(UUID.randomUUID())
+                .data(LocalDateTime.now().plusDays(1))
+                .status(ClassStatus.DISPONIVEL)
+                .limiteAlunos(1)
+                .build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        filaAdmissaoService.encerrar();
+    }
+
+    @Test
+    void deveConfirmarInscricao_QuandoHaVagas() {
+        UUID alunoId = UUID.randomUUID();
+        when(aulaRepository.findById(aula.getId())).thenReturn(Optional.of(aula));
+        when(aulaRepository.bloquearVagasOcupadas(aula.getId())).thenReturn(0);
+        when(inscricaoLoteRepository.inserirInscritos(eq(aula.getId()), eq(List.of(alunoId)), any())).thenReturn(new int[]{1});
+        when(aulaRepository.ocuparVagas(aula.getId(), 1)).thenReturn(1);
+
+        TicketInscricaoResponse ticket = filaAdmissaoService.enfileirar(aula.getId(), alunoId, solicitanteId);
+
+        assertEquals(AdmissionStatus.CONFIRMADA, ticket.status());
+        assertEquals(ticket.status(), filaAdmissaoService.consultar(aula.getId(), ticket.ticket(), solicitanteId).status());
+        verify(transactionManager).commit(any());
+    }
+
+    @Test
+    void deveRecusarSemGravar_QuandoAulaLotada() {
+        when(aulaRepository.findById(aula.getId())).thenReturn(Optional.of(aula));
+        when(aulaRepository.bloquearVagasOcupadas(aula.getId())).thenReturn(1);
+
+        TicketInscricaoResponse ticket = filaAdmissaoService.enfileirar(aula.getId(), UUID.randomUUID(), solicitanteId);
+
+        assertEquals(AdmissionStatus.RECUSADA, ticket.status());
+        assertEquals("Aula sem vagas disponíveis.", ticket.motivo());
+        verifyNoInteractions(inscricaoLoteRepository);
+        verify(aulaRepository, never()).ocuparVagas(any(), anyInt());
+    }
+
+    @Test
+    void deveRecusar_QuandoAlunoJaInscrito() {
+        UUID alunoId = UUID.randomUUID();
+        when(aulaRepository.findById(aula.getId())).thenReturn(Optional.of(aula));
+        when(aulaRepository.bloquearVagasOcupadas(aula.getId())).thenReturn(0);
+        when(inscricaoLoteRepository.inserirInscritos(eq(aula.getId()), eq(List.of(alunoId)), any())).thenReturn(new int[]{0});
+        when(inscricaoLoteRepository.reativarInscricoes(eq(aula.getId()), eq(List.of(alunoId)), any())).thenReturn(new int[]{0});
+
+        TicketInscricaoResponse ticket = filaAdmissaoService.enfileirar(aula.getId(), alunoId, solicitanteId);
+
+        assertEquals(AdmissionStatus.RECUSADA, ticket.status());
+        assertEquals("Aluno já inscrito na aula.", ticket.motivo());
+        verify(aulaRepository, never()).ocuparVagas(any(), anyInt());
+    }
+
+    @Test
+    void deveRecusar_QuandoInscricoesEncerradas() {
+        aula.setData(LocalDateTime.now().plusMinutes(30));
+        when(aulaRepository.findById(aula.getId())).thenReturn(Optional.of(aula));
+
+        TicketInscricaoResponse ticket = filaAdmissaoService.enfileirar(aula.getId(), UUID.randomUUID(), solicitanteId);
+
+        assertEquals(AdmissionStatus.RECUSADA, ticket.status());
+        assertEquals("Inscrições para esta aula estão encerradas.", ticket.motivo());
+        verify(aulaRepository, never()).bloquearVagasOcupadas(any());
+    }
+
+    @Test
+    void deveRecusarLote_QuandoGravacaoFalhar() {
+        when(aulaRepository.findById(aula.getId())).thenReturn(Optional.of(aula));
+        when(aulaRepository.bloquearVagasOcupadas(aula.getId())).thenThrow(new RuntimeException("falha"));
+
+        TicketInscricaoResponse ticket = filaAdmissaoService.enfileirar(aula.getId(), UUID.randomUUID(), solicitanteId);
+
+        assertEquals(AdmissionStatus.RECUSADA, ticket.status());
+        assertEquals("Não foi possível processar a inscrição.", ticket.motivo());
+        verify(transactionManager).rollback(any());
+    }
+
+    @Test
+    void deveLancarExcecao_QuandoTicketInexistente() {
+        assertThrows(TicketInscricaoNaoEncontradoException.class,
+                () -> filaAdmissaoService.consultar(aula.getId(), UUID.randomUUID(), solicitanteId));
+    }
+
+    @Test
+    void deveEsconderTicket_QuandoConsultadoPorOutroUsuario() {
+        when(aulaRepository.findById(aula.getId())).thenReturn(Optional.of(aula));
+        when(aulaRepository.bloquearVagasOcupadas(aula.getId())).thenReturn(1);
+
+        TicketInscricaoResponse ticket = filaAdmissaoService.enfileirar(aula.getId(), UUID.randomUUID(), solicitanteId);
+
+        assertThrows(TicketInscricaoNaoEncontradoException.class,
+                () -> filaAdmissaoService.consultar(aula.getId(), ticket.ticket(), UUID.randomUUID()));
+    }
+
+    @Test
+    void deveDescartarFilaDaAula_QuandoDrenadaEOciosa() throws InterruptedException {
+        when(aulaRepository.findById(aula.getId())).thenReturn(Optional.of(aula));
+        when(aulaRepository.bloquearVagasOcupadas(aula.getId())).thenReturn(1);
+
+        filaAdmissaoService.enfileirar(aula.getId(), UUID.randomUUID(), solicitanteId);
+
+        // A decisão do ticket sai antes do fim da drenagem
+        long limite = System.currentTimeMillis() + 2000;
+        while (filaAdmissaoService.filasEmMemoria() > 0 && System.currentTimeMillis() < limite) {
+            Thread.sleep(10);
+        }
+        assertEquals(0, filaAdmissaoService.filasEmMemoria());
+    }
+}
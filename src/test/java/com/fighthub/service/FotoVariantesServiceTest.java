@@ -0,0 +1,111 @@
+package com.fighthub.service;
+
+import com.fighthub.repository.FotoPerfilRepository;
+import com.fighthub.repository.UsuarioRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class FotoVariantesServiceTest {
+
+    @TempDir
+    Path diretorio;
+
+    private StorageService storageService;
+    private UsuarioRepository usuarioRepository;
+    private FotoVariantesService fotoVariantesService;
+
+    @BeforeEach
+    void setup() {
+        storageService = new StorageService(mock(FotoPerfilRepository.class));
+        ReflectionTestUtils.setField(storageService, "profileDir", diretorio.toString());
+        usuarioRepository = mock(UsuarioRepository.class);
+        fotoVariantesService = new FotoVariantesService(storageService, usuarioRepository, 1, 10, 0.8f);
+    }
+
+    @AfterEach
+    void encerrar() {
+        fotoVariantesService.encerrar();
+    }
+
+    @Test
+    void deveGerarMiniaturasQuadradasEmJpeg_APartirDeUmaUnicaLeitura() throws IOException {
+        BufferedImage imagem = new BufferedImage(1200, 800, BufferedImage.TYPE_INT_ARGB);
+        ImageIO.write(imagem, "png", diretorio.resolve("usuario-foto.png").toFile());
+
+        fotoVariantesService.gerar("usuario-foto.png");
+
+        for (int tamanho : StorageService.TAMANHOS_VARIANTES) {
+            Path variante = diretorio.resolve("usuario-foto-" + tamanho + ".jpg");
+            BufferedImage gerada = ImageIO.read(variante.toFile());
+            assertNotNull(gerada, "variante " + tamanho);
+            assertEquals(tamanho, gerada.getWidth());
+            assertEquals(tamanho, gerada.getHeight());
+        }
+        try (var arquivos = Files.list(diretorio)) {
+            assertTrue(arquivos.noneMatch(p -> p.getFileName().toString().endsWith(".tmp")));
+        }
+    }
+
+    @Test
+    void naoDeveAmpliarImagem_QuandoMenorQueAVariante() throws IOException {
+        ImageIO.write(new BufferedImage(100, 100, BufferedImage.TYPE_INT_RGB), "png", diretorio.resolve("pequena.png").toFile());
+
+        fotoVariantesService.gerar("pequena.png");
+
+        assertEquals(100, ImageIO.read(diretorio.resolve("pequena-512.jpg").toFile()).getWidth());
+        assertEquals(64, ImageIO.read(diretorio.resolve("pequena-64.jpg").toFile()).getWidth());
+    }
+
+    @Test
+    void naoDeveGerarMiniaturas_QuandoArquivoNaoForImagemDecodificavel() throws IOException {
+        Files.write(diretorio.resolve("foto.webp"), new byte[]{1, 2, 3});
+
+        fotoVariantesService.gerar("foto.webp");
+
+        assertFalse(Files.exists(diretorio.resolve("foto-64.jpg")));
+    }
+
+    @Test
+    void deveRemoverMiniaturasJuntoComOriginal() throws IOException {
+        ImageIO.write(new BufferedImage(300, 300, BufferedImage.TYPE_INT_RGB), "png", diretorio.resolve("foto.png").toFile());
+        fotoVariantesService.gerar("foto.png");
+
+        storageService.deleteIfExists("foto.png");
+
+        try (var arquivos = Files.list(diretorio)) {
+            assertEquals(0, arquivos.count());
+        }
+    }
+
+    @Test
+    void deveGerarMiniaturasDasFotosExistentes_QuandoAindaNaoTiverem() throws Exception {
+        ImageIO.write(new BufferedImage(300, 300, BufferedImage.TYPE_INT_RGB), "png", diretorio.resolve("antiga.png").toFile());
+        when(usuarioRepository.findFotosApos("", 1000)).thenReturn(List.of("antiga.png", "apagada.png", "foto.webp"));
+
+        fotoVariantesService.gerarFaltantes();
+
+        Path variante = diretorio.resolve("antiga-128.jpg");
+        for (int i = 0; i < 100 && !Files.exists(variante); i++) Thread.sleep(50);
+        assertTrue(Files.exists(variante));
+        assertFalse(Files.exists(diretorio.resolve("apagada-128.jpg")));
+    }
+
+    @Test
+    void deveRecusarChaveForaDoDiretorio() {
+        assertThrows(IllegalArgumentException.class, () -> storageService.deleteIfExists("../fora.png"));
+    }
+}
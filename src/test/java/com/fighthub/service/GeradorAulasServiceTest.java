@@ -0,0 +1,152 @@
+package com.fighthub.service;
+
+import com.fighthub.exception.TurmaNaoEncontradaException;
+import com.fighthub.exception.ValidacaoException;
+import com.fighthub.model.Aula;
+import com.fighthub.model.RecorrenciaTurma;
+import com.fighthub.model.Turma;
+import com.fighthub.repository.AulaLoteRepository;
+import com.fighthub.repository.AulaRepository;
+import com.fighthub.repository.TurmaRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class GeradorAulasServiceTest {
+
+    @Mock
+    private TurmaRepository turmaRepository;
+
+    @Mock
+    private AulaRepository aulaRepository;
+
+    @Mock
+    private AulaLoteRepository aulaLoteRepository;
+
+    @Mock
+    private ConflitoAgendaService conflitoAgendaService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private GeradorAulasService geradorAulasService;
+
+    private Turma turma;
+
+    @BeforeEach
+    void setUp() {
+        geradorAulasService = new GeradorAulasService(turmaRepository, aulaRepository, aulaLoteRepository, conflitoAgendaService, transactionManager, 4);
+
+        turma = Turma.builder()
+                .id(UUID.randomUUID())
+                .nome("Jiu-Jitsu Adulto")
+                .ativo(true)
+                .recorrencia(new RecorrenciaTurma(EnumSet.allOf(DayOfWeek.class), LocalTime.of(23, 0), 90, 20))
+                .build();
+    }
+
+    @Test
+    void deveGerarSomenteOcorrenciasAusentes() {
+        LocalDate amanha = LocalDate.now().plusDays(1);
+        LocalDateTime jaExistente = amanha.atTime(23, 0);
+
+        when(turmaRepository.findById(turma.getId())).thenReturn(Optional.of(turma));
+        when(aulaRepository.findDatasByTurmaIdBetween(eq(turma.getId()), any(), any())).thenReturn(List.of(jaExistente));
+        when(aulaLoteRepository.inserirOcorrencias(anyList())).thenAnswer(inv -> inv.getArgument(0));
+
+        var resultado = geradorAulasService.gerarAulasDaTurma(turma.getId(), 1);
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Aula>> captor = ArgumentCaptor.forClass(List.class);
+        verify(aulaLoteRepository).inserirOcorrencias(captor.capture());
+
+        List<Aula> geradas = captor.getValue();
+        assertEquals(geradas.size(), resultado.aulasCriadas());
+        verify(conflitoAgendaService).registrar(geradas);
+        assertFalse(geradas.stream().anyMatch(a -> a.getData().equals(jaExistente)));
+        assertTrue(geradas.stream().allMatch(a -> a.getId() != null && a.isRecorrente()
+                && a.getLimiteAlunos() == 20 && a.getDuracaoMinutos() == 90 && a.getData().isAfter(LocalDateTime.now())));
+        assertTrue(geradas.stream().allMatch(a -> a.getData().isBefore(LocalDate.now().plusWeeks(1).atStartOfDay())));
+    }
+
+    @Test
+    void deveGerarApenasNosDiasDaRecorrencia() {
+        turma.getRecorrencia().setDiasSemana(EnumSet.of(DayOfWeek.MONDAY, DayOfWeek.THURSDAY));
+
+        when(turmaRepository.findById(turma.getId())).thenReturn(Optional.of(turma));
+        when(aulaRepository.findDatasByTurmaIdBetween(eq(turma.getId()), any(), any())).thenReturn(List.of());
+        when(aulaLoteRepository.inserirOcorrencias(anyList())).thenAnswer(inv -> inv.getArgument(0));
+
+        var resultado = geradorAulasService.gerarAulasDaTurma(turma.getId(), 4);
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Aula>> captor = ArgumentCaptor.forClass(List.class);
+        verify(aulaLoteRepository).inserirOcorrencias(captor.capture());
+
+        assertTrue(resultado.aulasCriadas() >= 7 && resultado.aulasCriadas() <= 8);
+        assertTrue(captor.getValue().stream().allMatch(a ->
+                a.getData().getDayOfWeek() == DayOfWeek.MONDAY || a.getData().getDayOfWeek() == DayOfWeek.THURSDAY));
+    }
+
+    @Test
+    void deveLancarExcecao_QuandoTurmaSemRecorrencia() {
+        turma.setRecorrencia(null);
+        when(turmaRepository.findById(turma.getId())).thenReturn(Optional.of(turma));
+
+        var ex = assertThrows(ValidacaoException.class, () -> geradorAulasService.gerarAulasDaTurma(turma.getId(), 4));
+
+        assertEquals("Turma não possui recorrência definida.", ex.getMessage());
+        verifyNoInteractions(aulaLoteRepository);
+    }
+
+    @Test
+    void deveLancarExcecao_QuandoTurmaNaoEncontrada() {
+        UUID id = UUID.randomUUID();
+        when(turmaRepository.findById(id)).thenReturn(Optional.empty());
+
+        assertThrows(TurmaNaoEncontradaException.class, () -> geradorAulasService.gerarAulasDaTurma(id, 4));
+    }
+
+    @Test
+    void deveLancarExcecao_QuandoQuantidadeDeSemanasInvalida() {
+        assertThrows(ValidacaoException.class, () -> geradorAulasService.gerarAulasDaTurma(turma.getId(), 0));
+        verifyNoInteractions(turmaRepository);
+    }
+
+    @Test
+    void deveContinuarGeracaoAgendada_QuandoUmaTurmaFalhar() {
+        Turma outraTurma = Turma.builder()
+                .id(UUID.randomUUID())
+                .nome("Muay Thai")
+                .ativo(true)
+                .recorrencia(new RecorrenciaTurma(EnumSet.of(DayOfWeek.MONDAY), LocalTime.of(23, 0), 60, 10))
+                .build();
+
+        when(turmaRepository.findAllByAtivoTrueAndRecorrenciaHoraInicioIsNotNull()).thenReturn(List.of(turma, outraTurma));
+        when(aulaRepository.findDatasByTurmaIdBetween(eq(turma.getId()), any(), any())).thenThrow(new RuntimeException("falha"));
+        when(aulaRepository.findDatasByTurmaIdBetween(eq(outraTurma.getId()), any(), any())).thenReturn(List.of());
+
+        geradorAulasService.gerarAulasRecorrentes();
+
+        verify(aulaLoteRepository).inserirOcorrencias(argThat(aulas ->
+                aulas.stream().allMatch(a -> a.getTurma() == outraTurma)));
+    }
+}
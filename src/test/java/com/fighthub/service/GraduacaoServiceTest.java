@@ -0,0 +1,170 @@
+package com.fighthub.service;
+
+import com.fighthub.dto.aluno.AlunoElegivelGraduacaoResponse;
+import com.fighthub.dto.aluno.GraduacaoLoteRequest;
+import com.fighthub.model.Aluno;
+import com.fighthub.model.GraduacaoAluno;
+import com.fighthub.model.GraduacaoHistorico;
+import com.fighthub.model.enums.BeltGraduation;
+import com.fighthub.model.enums.GraduationAction;
+import com.fighthub.model.enums.GraduationLevel;
+import com.fighthub.repository.AlunoLoteRepository;
+import com.fighthub.repository.AlunoRepository;
+import com.fighthub.repository.GraduacaoHistoricoRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class GraduacaoServiceTest {
+
+    @Mock private AlunoRepository alunoRepository;
+    @Mock private GraduacaoHistoricoRepository graduacaoHistoricoRepository;
+    @Mock private AlunoLoteRepository alunoLoteRepository;
+
+    private GraduacaoService graduacaoService;
+
+    @BeforeEach
+    void setUp() {
+        graduacaoService = new GraduacaoService(alunoRepository, graduacaoHistoricoRepository, alunoLoteRepository, 30, 60);
+    }
+
+    @Test
+    void deveListarElegiveisComAulasNecessariasPorEtapa() {
+        var candidatoGrau = elegivel(BeltGraduation.AZUL, GraduationLevel.II, 45);
+        var candidatoFaixa = elegivel(BeltGraduation.AZUL, GraduationLevel.IV, 61);
+        when(alunoRepository.findElegiveisGraduacao(GraduationLevel.IV, BeltGraduation.PRETA, 30, 60, PageRequest.of(0, 10)))
+                .thenReturn(new PageImpl<>(List.of(candidatoFaixa, candidatoGrau)));
+
+        Page<AlunoElegivelGraduacaoResponse> resultado =
+                graduacaoService.listarElegiveis(PageRequest.of(0, 10, Sort.by("nome")));
+
+        assertEquals(2, resultado.getTotalElements());
+        assertTrue(resultado.getContent().get(0).promocaoDeFaixa());
+        assertEquals(60, resultado.getContent().get(0).aulasNecessarias());
+        assertFalse(resultado.getContent().get(1).promocaoDeFaixa());
+        assertEquals(30, resultado.getContent().get(1).aulasNecessarias());
+        assertEquals(45, resultado.getContent().get(1).aulasDesdeGraduacao());
+    }
+
+    @Test
+    void deveRegistrarHistoricoEReiniciarContador_QuandoPromocao() {
+        var aluno = Aluno.builder()
+                .id(UUID.randomUUID())
+                .graduacao(new GraduacaoAluno(BeltGraduation.AZUL, GraduationLevel.I))
+                .aulasDesdeGraduacao(34)
+                .build();
+
+        graduacaoService.registrarAlteracao(aluno, BeltGraduation.AZUL, GraduationLevel.ZERO, true);
+
+        verify(graduacaoHistoricoRepository).save(argThat((GraduacaoHistorico h) ->
+                h.getAlunoId().equals(aluno.getId())
+                        && h.getNivelAnterior() == GraduationLevel.ZERO
+                        && h.getNivel() == GraduationLevel.I
+                        && h.getFaixa() == BeltGraduation.AZUL
+                        && h.getAulasNoPeriodo() == 34));
+        verify(alunoRepository).reiniciarAulasDesdeGraduacao(eq(aluno.getId()), any(LocalDateTime.class));
+    }
+
+    @Test
+    void deveRegistrarHistoricoSemReiniciarContador_QuandoRebaixamento() {
+        var aluno = Aluno.builder()
+                .id(UUID.randomUUID())
+                .graduacao(new GraduacaoAluno(BeltGraduation.AZUL, GraduationLevel.ZERO))
+                .build();
+
+        graduacaoService.registrarAlteracao(aluno, BeltGraduation.AZUL, GraduationLevel.I, false);
+
+        verify(graduacaoHistoricoRepository).save(any(GraduacaoHistorico.class));
+        verify(alunoRepository, never()).reiniciarAulasDesdeGraduacao(any(), any());
+    }
+
+    @Test
+    void deveAjustarContador_QuandoPresencaRegistrada() {
+        UUID alunoId = UUID.randomUUID();
+        LocalDateTime dataAula = LocalDateTime.now();
+
+        graduacaoService.registrarPresenca(alunoId, 1, dataAula);
+        graduacaoService.registrarPresenca(alunoId, 0, dataAula);
+
+        verify(alunoRepository).ajustarAulasDesdeGraduacao(alunoId, 1, dataAula);
+        verifyNoMoreInteractions(alunoRepository);
+    }
+
+    @Test
+    void deveAplicarGraduacoesEmLote_ReportandoResultadoPorAluno() {
+        var promoverFaixa = graduacao(BeltGraduation.AZUL, GraduationLevel.IV, 70);
+        var semGraus = graduacao(BeltGraduation.AZUL, GraduationLevel.II, 10);
+        var alteradoPorOutro = graduacao(BeltGraduation.BRANCA, GraduationLevel.I, 5);
+        UUID inexistente = UUID.randomUUID();
+        when(alunoRepository.findGraduacoesByIdIn(anyCollection()))
+                .thenReturn(List.of(promoverFaixa, semGraus, alteradoPorOutro));
+        when(alunoLoteRepository.atualizarGraduacoes(anyList(), any(LocalDateTime.class))).thenReturn(new int[]{1, 0});
+
+        var resultado = graduacaoService.aplicarEmLote(new GraduacaoLoteRequest(List.of(
+                new GraduacaoLoteRequest.Item(promoverFaixa.getId(), GraduationAction.PROMOVER_FAIXA),
+                new GraduacaoLoteRequest.Item(semGraus.getId(), GraduationAction.PROMOVER_FAIXA),
+                new GraduacaoLoteRequest.Item(inexistente, GraduationAction.PROMOVER_GRAU),
+                new GraduacaoLoteRequest.Item(alteradoPorOutro.getId(), GraduationAction.PROMOVER_GRAU),
+                new GraduacaoLoteRequest.Item(promoverFaixa.getId(), GraduationAction.REBAIXAR_GRAU)
+        )));
+
+        assertEquals(1, resultado.aplicadas());
+        assertEquals(4, resultado.rejeitadas());
+
+        var resultados = resultado.resultados();
+        assertTrue(resultados.get(0).aplicada());
+        assertEquals(BeltGraduation.ROXA, resultados.get(0).faixa());
+        assertEquals(GraduationLevel.ZERO, resultados.get(0).nivel());
+        assertEquals("Não é possível promover faixa com menos de 4 graus.", resultados.get(1).mensagem());
+        assertEquals("Aluno não encontrado.", resultados.get(2).mensagem());
+        assertEquals("Graduação do aluno foi alterada por outra operação.", resultados.get(3).mensagem());
+        assertEquals("Aluno repetido no lote.", resultados.get(4).mensagem());
+
+        verify(alunoRepository, times(1)).findGraduacoesByIdIn(anyCollection());
+        verify(alunoLoteRepository).atualizarGraduacoes(argThat(lista -> lista.size() == 2
+                && lista.get(0).promocao()
+                && lista.get(1).nivel() == GraduationLevel.II), any(LocalDateTime.class));
+        verify(alunoLoteRepository).registrarHistoricoGraduacoes(argThat(lista -> lista.size() == 1
+                && lista.get(0).alunoId().equals(promoverFaixa.getId())
+                && lista.get(0).aulasNoPeriodo() == 70), any(LocalDateTime.class));
+    }
+
+    private static AlunoRepository.AlunoElegivel elegivel(BeltGraduation faixa, GraduationLevel nivel, int aulas) {
+        UUID id = UUID.randomUUID();
+        return new AlunoRepository.AlunoElegivel() {
+            public UUID getId() { return id; }
+            public String getNome() { return "Aluno " + aulas; }
+            public BeltGraduation getFaixa() { return faixa; }
+            public GraduationLevel getNivel() { return nivel; }
+            public int getAulasDesdeGraduacao() { return aulas; }
+            public LocalDateTime getDataUltimaGraduacao() { return null; }
+        };
+    }
+
+    private static AlunoRepository.AlunoGraduacao graduacao(BeltGraduation faixa, GraduationLevel nivel, int aulas) {
+        UUID id = UUID.randomUUID();
+        return new AlunoRepository.AlunoGraduacao() {
+            public UUID getId() { return id; }
+            public LocalDate getDataNascimento() { return LocalDate.of(1990, 1, 1); }
+            public BeltGraduation getFaixa() { return faixa; }
+            public GraduationLevel getNivel() { return nivel; }
+            public int getAulasDesdeGraduacao() { return aulas; }
+        };
+    }
+}
@@ -0,0 +1,199 @@
+package com.fighthub.service;
+
+import com.fighthub.dto.aluno.ImportacaoAlunosResponse;
+import com.fighthub.exception.ValidacaoException;
+import com.fighthub.model.Usuario;
+import com.fighthub.repository.AlunoLoteRepository;
+import com.fighthub.repository.ResponsavelRepository;
+import com.fighthub.repository.UsuarioRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.Validation;
+import org.hibernate.Session;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ImportacaoAlunoServiceTest {
+
+    @Mock private UsuarioRepository usuarioRepository;
+    @Mock private ResponsavelRepository responsavelRepository;
+    @Mock private AlunoLoteRepository alunoLoteRepository;
+    @Mock private JwtService jwtService;
+    @Mock private EmailService emailService;
+    @Mock private EntityManager entityManager;
+    @Mock private Session session;
+    @Mock private PlatformTransactionManager transactionManager;
+
+    private ImportacaoAlunoService importacaoAlunoService;
+
+    @BeforeEach
+    void setUp() {
+        importacaoAlunoService = new ImportacaoAlunoService(usuarioRepository, responsavelRepository, alunoLoteRepository,
+                jwtService, emailService, Validation.buildDefaultValidatorFactory().getValidator(),
+                entityManager, transactionManager, 2);
+    }
+
+    @Test
+    void deveImportarLinhasValidasEmLotes_EEnviarEmailsAposGravar() {
+        prepararPersistencia();
+        when(usuarioRepository.findAllEmails()).thenReturn(List.of());
+        when(usuarioRepository.findAllCpfs()).thenReturn(List.of());
+
+        var resultado = importacaoAlunoService.importar(csv("""
+                nome,email,cpf,dataNascimento
+                João,joao@email.com,390.533.447-05,2000-01-10
+                Maria,maria@email.com,529.982.247-25,15/03/1995
+                Pedro,pedro@email.com,111.444.777-35,1990-07-01
+                """));
+
+        assertEquals(3, resultado.linhasProcessadas());
+        assertEquals(3, resultado.importados());
+        assertTrue(resultado.erros().isEmpty());
+        verify(transactionManager, times(2)).commit(any());
+        verify(entityManager, times(9)).persist(any());
+        verify(emailService, times(3)).enviarEmailAtivacao(any(Usuario.class), eq("token-ativacao"));
+        verify(session, times(2)).setJdbcBatchSize(2);
+    }
+
+    @Test
+    void deveReportarErrosPorLinha_SemInterromperImportacao() {
+        prepararPersistencia();
+        when(usuarioRepository.findAllEmails()).thenReturn(List.of("Existente@Email.com"));
+        when(usuarioRepository.findAllCpfs()).thenReturn(List.of("529.982.247-25"));
+
+        var resultado = importacaoAlunoService.importar(csv("""
+                nome;email;cpf;dataNascimento
+                João;joao@email.com;390.533.447-05;2000-01-10
+                Outro;existente@email.com;111.444.777-35;2000-01-10
+                Maria;maria@email.com;52998224725;2000-01-10
+                Repetido;JOAO@email.com;111.444.777-35;2000-01-10
+                Menor;menor@email.com;111.444.777-35;%s
+                ;sem-nome;123;ontem
+                """.formatted(LocalDate.now().minusYears(10))));
+
+        assertEquals(6, resultado.linhasProcessadas());
+        assertEquals(1, resultado.importados());
+        assertEquals(List.of(3L, 4L, 5L, 6L, 7L),
+                resultado.erros().stream().map(ImportacaoAlunosResponse.ErroLinha::linha).toList());
+        assertEquals("E-mail já cadastrado", resultado.erros().get(0).mensagem());
+        assertEquals("Usuário já existente com este CPF", resultado.erros().get(1).mensagem());
+        assertEquals("E-mail já cadastrado", resultado.erros().get(2).mensagem());
+        assertEquals("Aluno menor de idade deve ter ao menos um responsável", resultado.erros().get(3).mensagem());
+        assertEquals("Data de nascimento inválida: ontem", resultado.erros().get(4).mensagem());
+        verify(emailService, times(1)).enviarEmailAtivacao(any(Usuario.class), anyString());
+    }
+
+    @Test
+    void deveReportarResponsavelInexistente() {
+        UUID responsavelId = UUID.randomUUID();
+        when(usuarioRepository.findAllEmails()).thenReturn(List.of());
+        when(usuarioRepository.findAllCpfs()).thenReturn(List.of());
+        when(responsavelRepository.findIdsExistentes(any())).thenReturn(List.of());
+
+        var resultado = importacaoAlunoService.importar(csv("""
+                nome,email,cpf,dataNascimento,responsaveis
+                João,joao@email.com,390.533.447-05,%s,%s
+                """.formatted(LocalDate.now().minusYears(10), responsavelId)));
+
+        assertEquals(0, resultado.importados());
+        assertEquals("Responsável não encontrado.", resultado.erros().get(0).mensagem());
+        verifyNoInteractions(transactionManager, emailService);
+    }
+
+    @Test
+    void deveLiberarEmailECpf_QuandoLinhaForRecusadaPorResponsavel() {
+        prepararPersistencia();
+        when(usuarioRepository.findAllEmails()).thenReturn(List.of());
+        when(usuarioRepository.findAllCpfs()).thenReturn(List.of());
+        when(responsavelRepository.findIdsExistentes(any())).thenReturn(List.of());
+
+        var resultado = importacaoAlunoService.importar(csv("""
+                nome,email,cpf,dataNascimento,responsaveis
+                João,joao@email.com,390.533.447-05,%s,%s
+                Maria,maria@email.com,529.982.247-25,1995-03-15,
+                João,joao@email.com,390.533.447-05,2000-01-10,
+                """.formatted(LocalDate.now().minusYears(10), UUID.randomUUID())));
+
+        assertEquals(2, resultado.importados());
+        assertEquals(1, resultado.erros().size());
+        assertEquals(2, resultado.erros().get(0).linha());
+        assertEquals("Responsável não encontrado.", resultado.erros().get(0).mensagem());
+    }
+
+    @Test
+    void naoDeveVincularResponsaveis_QuandoAlunoForMaiorDeIdade() {
+        prepararPersistencia();
+        when(usuarioRepository.findAllEmails()).thenReturn(List.of());
+        when(usuarioRepository.findAllCpfs()).thenReturn(List.of());
+
+        var resultado = importacaoAlunoService.importar(csv("""
+                nome,email,cpf,dataNascimento,responsaveis
+                João,joao@email.com,390.533.447-05,2000-01-10,%s
+                """.formatted(UUID.randomUUID())));
+
+        assertEquals(1, resultado.importados());
+        verifyNoInteractions(responsavelRepository);
+        verify(alunoLoteRepository).vincularResponsaveis(List.of());
+    }
+
+    @Test
+    void deveMarcarLoteComoFalho_QuandoGravacaoFalha() {
+        when(entityManager.unwrap(Session.class)).thenReturn(session);
+        doThrow(new IllegalStateException("falha")).when(entityManager).flush();
+        when(jwtService.gerarTokenAtivacao(any())).thenReturn("token-ativacao");
+        when(usuarioRepository.findAllEmails()).thenReturn(List.of());
+        when(usuarioRepository.findAllCpfs()).thenReturn(List.of());
+
+        var resultado = importacaoAlunoService.importar(csv("""
+                nome,email,cpf,dataNascimento
+                João,joao@email.com,390.533.447-05,2000-01-10
+                """));
+
+        assertEquals(0, resultado.importados());
+        assertEquals("Não foi possível gravar esta linha.", resultado.erros().get(0).mensagem());
+        verify(transactionManager).rollback(any());
+        verifyNoInteractions(emailService);
+    }
+
+    @Test
+    void deveLancarValidacao_QuandoColunasObrigatoriasAusentes() {
+        var ex = assertThrows(ValidacaoException.class,
+                () -> importacaoAlunoService.importar(csv("nome,email\nJoão,joao@email.com\n")));
+
+        assertEquals("Colunas obrigatórias ausentes no CSV: cpf, datanascimento", ex.getMessage());
+    }
+
+    @Test
+    void deveLancarValidacao_QuandoArquivoVazio() {
+        assertThrows(ValidacaoException.class, () -> importacaoAlunoService.importar(csv("")));
+    }
+
+    @Test
+    void deveDividirCamposEntreAspas() {
+        assertEquals(List.of("Silva, João", "diz \"oi\"", ""),
+                ImportacaoAlunoService.dividir("\"Silva, João\",\"diz \"\"oi\"\"\",", ','));
+    }
+
+    private void prepararPersistencia() {
+        when(entityManager.unwrap(Session.class)).thenReturn(session);
+        when(jwtService.gerarTokenAtivacao(any())).thenReturn("token-ativacao");
+    }
+
+    private static MockMultipartFile csv(String conteudo) {
+        return new MockMultipartFile("file", "alunos.csv", "text/csv", conteudo.getBytes(StandardCharsets.UTF_8));
+    }
+}
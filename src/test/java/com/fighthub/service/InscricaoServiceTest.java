@@ -1,15 +1,20 @@
 package com.fighthub.service;
 
 import com.fighthub.dto.inscricao.InscricaoResponse;
+import com.fighthub.dto.inscricao.InscricaoTurmaResponse;
+import com.fighthub.dto.inscricao.TicketInscricaoResponse;
 import com.fighthub.exception.AlunoNaoEncontradoException;
 import com.fighthub.exception.AulaNaoEncontradaException;
+import com.fighthub.exception.TicketInscricaoNaoEncontradoException;
 import com.fighthub.exception.UsuarioNaoEncontradoException;
 import com.fighthub.exception.ValidacaoException;
 import com.fighthub.mapper.InscricaoMapper;
 import com.fighthub.model.Aluno;
 import com.fighthub.model.Aula;
 import com.fighthub.model.Inscricao;
+import com.fighthub.model.Turma;
 import com.fighthub.model.Usuario;
+import com.fighthub.model.enums.AdmissionStatus;
 import com.fighthub.model.enums.ClassStatus;
 import com.fighthub.model.enums.SubscriptionStatus;
 import com.fighthub.repository.AlunoRepository;
@@ -56,6 +61,15 @@ class InscricaoServiceTest {
     @Mock
     private JwtService jwtService;
 
+    @Mock
+    private ReservaVagaService reservaVagaService;
+
+    @Mock
+    private EmailService emailService;
+
+    @Mock
+    private FilaAdmissaoService filaAdmissaoService;
+
     @InjectMocks
     private InscricaoService inscricaoService;
 
@@ -142,6 +156,7 @@ class InscricaoServiceTest {
         assertTrue(created.getInscritoEm().toLocalDate().isEqual(LocalDateTime.now().toLocalDate()));
         assertNotNull(created.getAluno());
         assertNotNull(created.getAula());
+        verify(reservaVagaService).reservarVaga(aula);
     }
 
     @Test
@@ -200,6 +215,24 @@ class InscricaoServiceTest {
         verify(inscricaoRepository).save(captor.capture());
         Inscricao saved = captor.getValue();
         assertEquals(SubscriptionStatus.CANCELADO, saved.getStatus());
+        verify(reservaVagaService).liberarVaga(aula);
+    }
+
+    @Test
+    void deveLancarExcecao_QuandoAulaSemVagas_AoInscrever() {
+        UUID aulaId = aula.getId();
+
+        when(aulaRepository.findById(aulaId)).thenReturn(Optional.of(aula));
+        when(alunoRepository.findById(aluno.getId())).thenReturn(Optional.of(aluno));
+        when(inscricaoRepository.findByAulaAndAluno(aula, aluno)).thenReturn(Optional.empty());
+        doThrow(new ValidacaoException("Aula sem vagas disponíveis.")).when(reservaVagaService).reservarVaga(aula);
+
+        HttpServletRequest request = authRequest();
+
+        ValidacaoException ex = assertThrows(ValidacaoException.class,
+                () -> inscricaoService.inscreverAluno(aulaId, aluno.getId(), request));
+        assertEquals("Aula sem vagas disponíveis.", ex.getMessage());
+        verify(inscricaoRepository, never()).save(any());
     }
 
     @Test
@@ -383,4 +416,225 @@ class InscricaoServiceTest {
         assertEquals("Inscrições para esta aula estão encerradas.", ex.getMessage());
     }
 
+
+    @Test
+    void deveEntrarListaEspera_QuandoAulaLotada() {
+        UUID aulaId = aula.getId();
+        aula.setLimiteAlunos(1);
+        aula.setVagasOcupadas(1);
+
+        when(aulaRepository.findById(aulaId)).thenReturn(Optional.of(aula));
+        when(aulaRepository.bloquearVagasOcupadas(aulaId)).thenReturn(1);
+        when(alunoRepository.findById(aluno.getId())).thenReturn(Optional.of(aluno));
+        when(inscricaoRepository.findByAulaAndAluno(aula, aluno)).thenReturn(Optional.empty());
+        when(inscricaoRepository.save(any(Inscricao.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        InscricaoResponse response = inscricaoService.entrarListaEspera(aulaId, aluno.getId(), authRequest());
+
+        assertEquals(SubscriptionStatus.EM_ESPERA, response.status());
+        verify(reservaVagaService, never()).reservarVaga(any());
+    }
+
+    @Test
+    void deveLancarExcecao_QuandoAulaPossuiVagas_AoEntrarListaEspera() {
+        UUID aulaId = aula.getId();
+        aula.setLimiteAlunos(10);
+        aula.setVagasOcupadas(3);
+
+        when(aulaRepository.findById(aulaId)).thenReturn(Optional.of(aula));
+        when(aulaRepository.bloquearVagasOcupadas(aulaId)).thenReturn(3);
+        when(alunoRepository.findById(aluno.getId())).thenReturn(Optional.of(aluno));
+
+        HttpServletRequest request = authRequest();
+
+        ValidacaoException ex = assertThrows(ValidacaoException.class,
+                () -> inscricaoService.entrarListaEspera(aulaId, aluno.getId(), request));
+        assertEquals("Aula possui vagas disponíveis.", ex.getMessage());
+        verify(inscricaoRepository, never()).save(any());
+    }
+
+    @Test
+    void deveLancarExcecao_QuandoAlunoJaEstaEmEspera_AoEntrarListaEspera() {
+        UUID aulaId = aula.getId();
+        aula.setLimiteAlunos(1);
+        aula.setVagasOcupadas(1);
+        Inscricao inscricao = new Inscricao(aluno, aula, SubscriptionStatus.EM_ESPERA, LocalDateTime.now());
+
+        when(aulaRepository.findById(aulaId)).thenReturn(Optional.of(aula));
+        when(aulaRepository.bloquearVagasOcupadas(aulaId)).thenReturn(1);
+        when(alunoRepository.findById(aluno.getId())).thenReturn(Optional.of(aluno));
+        when(inscricaoRepository.findByAulaAndAluno(aula, aluno)).thenReturn(Optional.of(inscricao));
+
+        HttpServletRequest request = authRequest();
+
+        ValidacaoException ex = assertThrows(ValidacaoException.class,
+                () -> inscricaoService.entrarListaEspera(aulaId, aluno.getId(), request));
+        assertEquals("Aluno já está na lista de espera.", ex.getMessage());
+        verify(inscricaoRepository, never()).save(any());
+    }
+
+    @Test
+    void deveRecusarListaEspera_QuandoVagaFoiLiberadaDepoisDeCarregarAAula() {
+        UUID aulaId = aula.getId();
+        aula.setLimiteAlunos(1);
+        aula.setVagasOcupadas(1);
+
+        when(aulaRepository.findById(aulaId)).thenReturn(Optional.of(aula));
+        when(aulaRepository.bloquearVagasOcupadas(aulaId)).thenReturn(0);
+        when(alunoRepository.findById(aluno.getId())).thenReturn(Optional.of(aluno));
+
+        HttpServletRequest request = authRequest();
+
+        ValidacaoException ex = assertThrows(ValidacaoException.class,
+                () -> inscricaoService.entrarListaEspera(aulaId, aluno.getId(), request));
+        assertEquals("Aula possui vagas disponíveis.", ex.getMessage());
+        verify(inscricaoRepository, never()).save(any());
+    }
+
+    @Test
+    void devePromoverListaEsperaAteOcuparVagasLivres() {
+        UUID aulaId = aula.getId();
+        aula.setLimiteAlunos(3);
+        Usuario usuarioEmEspera = Usuario.builder().id(UUID.randomUUID()).email("espera@example.com").build();
+        Aluno alunoEmEspera = Aluno.builder().id(UUID.randomUUID()).usuario(usuarioEmEspera).build();
+        Inscricao primeira = new Inscricao(alunoEmEspera, aula, SubscriptionStatus.EM_ESPERA, LocalDateTime.now());
+        Inscricao segunda = new Inscricao(aluno, aula, SubscriptionStatus.EM_ESPERA, LocalDateTime.now());
+
+        when(aulaRepository.bloquearVagasOcupadas(aulaId)).thenReturn(1);
+        when(inscricaoRepository.findProximaEmEspera(aulaId)).thenReturn(Optional.of(primeira), Optional.of(segunda));
+        when(aulaRepository.ocuparVagas(aulaId, 2)).thenReturn(1);
+
+        int promovidos = inscricaoService.promoverListaEspera(aula);
+
+        assertEquals(2, promovidos);
+        assertEquals(SubscriptionStatus.INSCRITO, primeira.getStatus());
+        assertEquals(SubscriptionStatus.INSCRITO, segunda.getStatus());
+        verify(inscricaoRepository, times(2)).findProximaEmEspera(aulaId);
+        verify(emailService).enviarEmailPromocaoListaEspera(usuarioEmEspera, aula);
+    }
+
+    @Test
+    void devePromoverProximoDaListaEspera_AoCancelarInscricao() {
+        UUID aulaId = aula.getId();
+        Inscricao inscricao = new Inscricao(aluno, aula, SubscriptionStatus.INSCRITO, LocalDateTime.now());
+        Usuario usuarioEmEspera = Usuario.builder().id(UUID.randomUUID()).email("espera@example.com").build();
+        Aluno alunoEmEspera = Aluno.builder().id(UUID.randomUUID()).usuario(usuarioEmEspera).build();
+        Inscricao emEspera = new Inscricao(alunoEmEspera, aula, SubscriptionStatus.EM_ESPERA, LocalDateTime.now());
+
+        when(aulaRepository.findById(aulaId)).thenReturn(Optional.of(aula));
+        when(alunoRepository.findById(aluno.getId())).thenReturn(Optional.of(aluno));
+        when(inscricaoRepository.findByAulaAndAluno(aula, aluno)).thenReturn(Optional.of(inscricao));
+        when(inscricaoRepository.findProximaEmEspera(aulaId)).thenReturn(Optional.of(emEspera));
+
+        inscricaoService.cancelarInscricao(aulaId, aluno.getId(), authRequest());
+
+        verify(aulaRepository).bloquearVagasOcupadas(aulaId);
+        assertEquals(SubscriptionStatus.CANCELADO, inscricao.getStatus());
+        assertEquals(SubscriptionStatus.INSCRITO, emEspera.getStatus());
+        verify(inscricaoRepository).save(argThat(i -> i == emEspera));
+        verify(emailService).enviarEmailPromocaoListaEspera(usuarioEmEspera, aula);
+        verify(reservaVagaService, never()).liberarVaga(any());
+    }
+
+    @Test
+    void deveLiberarVagaSemPromover_QuandoInscricoesEncerradas_AoCancelarInscricao() {
+        UUID aulaId = aula.getId();
+        aula.setData(LocalDateTime.now().plusMinutes(30));
+        Inscricao inscricao = new Inscricao(aluno, aula, SubscriptionStatus.INSCRITO, LocalDateTime.now());
+
+        when(aulaRepository.findById(aulaId)).thenReturn(Optional.of(aula));
+        when(alunoRepository.findById(aluno.getId())).thenReturn(Optional.of(aluno));
+        when(inscricaoRepository.findByAulaAndAluno(aula, aluno)).thenReturn(Optional.of(inscricao));
+
+        inscricaoService.cancelarInscricao(aulaId, aluno.getId(), authRequest());
+
+        verify(inscricaoRepository, never()).findProximaEmEspera(any());
+        verify(reservaVagaService).liberarVaga(aula);
+    }
+
+    @Test
+    void deveInscreverTurmaAteOLimiteDeVagas() {
+        UUID aulaId = aula.getId();
+        Turma turma = Turma.builder().id(UUID.randomUUID()).build();
+        aula.setTurma(turma);
+        aula.setLimiteAlunos(10);
+        InscricaoRepository.MembrosTurma membros = mock(InscricaoRepository.MembrosTurma.class);
+        when(membros.getTotal()).thenReturn(12L);
+        when(membros.getInscritos()).thenReturn(2L);
+
+        when(aulaRepository.findById(aulaId)).thenReturn(Optional.of(aula));
+        when(aulaRepository.bloquearVagasOcupadas(aulaId)).thenReturn(2);
+        when(inscricaoRepository.contarMembrosTurma(aulaId, turma.getId())).thenReturn(membros);
+        when(inscricaoRepository.reativarAlunosDaTurma(eq(aulaId), eq(turma.getId()), eq(8), any())).thenReturn(3);
+        when(inscricaoRepository.inscreverAlunosDaTurma(eq(aulaId), eq(turma.getId()), eq(5), any())).thenReturn(5);
+        when(aulaRepository.ocuparVagas(aulaId, 8)).thenReturn(1);
+
+        InscricaoTurmaResponse response = inscricaoService.inscreverTurma(aulaId);
+
+        assertEquals(12, response.totalAlunos());
+        assertEquals(8, response.inscritos());
+        assertEquals(2, response.jaPossuiamInscricao());
+        assertEquals(2, response.semVaga());
+    }
+
+    @Test
+    void naoDeveInserir_QuandoAulaLotada_AoInscreverTurma() {
+        UUID aulaId = aula.getId();
+        Turma turma = Turma.builder().id(UUID.randomUUID()).build();
+        aula.setTurma(turma);
+        aula.setLimiteAlunos(5);
+        InscricaoRepository.MembrosTurma membros = mock(InscricaoRepository.MembrosTurma.class);
+        when(membros.getTotal()).thenReturn(4L);
+        when(membros.getInscritos()).thenReturn(0L);
+
+        when(aulaRepository.findById(aulaId)).thenReturn(Optional.of(aula));
+        when(aulaRepository.bloquearVagasOcupadas(aulaId)).thenReturn(5);
+        when(inscricaoRepository.contarMembrosTurma(aulaId, turma.getId())).thenReturn(membros);
+
+        InscricaoTurmaResponse response = inscricaoService.inscreverTurma(aulaId);
+
+        assertEquals(0, response.inscritos());
+        assertEquals(4, response.semVaga());
+        verify(inscricaoRepository, never()).inscreverAlunosDaTurma(any(), any(), anyInt(), any());
+        verify(aulaRepository, never()).ocuparVagas(any(), anyInt());
+    }
+
+    @Test
+    void deveLancarExcecao_QuandoAulaSemTurma_AoInscreverTurma() {
+        UUID aulaId = aula.getId();
+        when(aulaRepository.findById(aulaId)).thenReturn(Optional.of(aula));
+
+        ValidacaoException ex = assertThrows(ValidacaoException.class, () -> inscricaoService.inscreverTurma(aulaId));
+        assertEquals("Aula não está vinculada a uma turma.", ex.getMessage());
+        verify(aulaRepository, never()).bloquearVagasOcupadas(any());
+    }
+
+    @Test
+    void deveEnfileirarPedidoDeInscricao_ParaAlunoInformado() {
+        UUID aulaId = aula.getId();
+        TicketInscricaoResponse ticket = new TicketInscricaoResponse(
+                UUID.randomUUID(), aulaId, aluno.getId(), AdmissionStatus.PENDENTE, null, LocalDateTime.now());
+
+        when(alunoRepository.findById(aluno.getId())).thenReturn(Optional.of(aluno));
+        when(jwtService.extrairEmail(anyString())).thenReturn(usuario.getEmail());
+        when(usuarioRepository.findByEmail(usuario.getEmail())).thenReturn(Optional.of(usuario));
+        when(filaAdmissaoService.enfileirar(aulaId, aluno.getId(), usuario.getId())).thenReturn(ticket);
+
+        TicketInscricaoResponse response = inscricaoService.solicitarInscricao(aulaId, aluno.getId(), authRequest());
+
+        assertSame(ticket, response);
+        verifyNoInteractions(aulaRepository, inscricaoRepository);
+    }
+
+    @Test
+    void deveConsultarPedidoDeInscricao_ComOUsuarioLogadoComoSolicitante() {
+        UUID aulaId = aula.getId();
+        UUID ticketId = UUID.randomUUID();
+        when(jwtService.extrairEmail(anyString())).thenReturn(usuario.getEmail());
+        when(usuarioRepository.findByEmail(usuario.getEmail())).thenReturn(Optional.of(usuario));
+        when(filaAdmissaoService.consultar(aulaId, ticketId, usuario.getId())).thenThrow(new TicketInscricaoNaoEncontradoException());
+
+        assertThrows(TicketInscricaoNaoEncontradoException.class,
+                () -> inscricaoService.consultarSolicitacao(aulaId, ticketId, authRequest()));
+    }
 }
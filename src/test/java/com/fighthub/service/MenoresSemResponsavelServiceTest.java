@@ -0,0 +1,78 @@
+package com.fighthub.service;
+
+import com.fighthub.repository.AlunoRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class MenoresSemResponsavelServiceTest {
+
+    @Mock private AlunoRepository alunoRepository;
+
+    private MenoresSemResponsavelService menoresSemResponsavelService;
+
+    @BeforeEach
+    void setUp() {
+        menoresSemResponsavelService = new MenoresSemResponsavelService(alunoRepository, 60);
+    }
+
+    @Test
+    void deveListarMenoresPelaProjecao() {
+        var menor = new AlunoRepository.AlunoMenorPendente() {
+            public UUID getId() { return UUID.fromString("00000000-0000-0000-0000-000000000001"); }
+            public String getNome() { return "Menor"; }
+            public String getEmail() { return "menor@email.com"; }
+            public LocalDate getDataNascimento() { return LocalDate.of(2015, 3, 10); }
+        };
+        when(alunoRepository.findMenoresSemResponsavel(LocalDate.now().minusYears(18))).thenReturn(List.of(menor));
+
+        var resultado = menoresSemResponsavelService.listar();
+
+        assertEquals(1, resultado.size());
+        assertEquals("Menor", resultado.get(0).nome());
+        assertEquals("2015-03-10", resultado.get(0).dataNascimento());
+    }
+
+    @Test
+    void deveReutilizarContagemEmCache_EnquantoNaoExpirar() {
+        when(alunoRepository.countMenoresSemResponsavel(any())).thenReturn(3L);
+
+        assertEquals(3, menoresSemResponsavelService.contar().total());
+        assertEquals(3, menoresSemResponsavelService.contar().total());
+
+        verify(alunoRepository, times(1)).countMenoresSemResponsavel(any());
+    }
+
+    @Test
+    void deveRecalcularContagem_QuandoInvalidada() {
+        when(alunoRepository.countMenoresSemResponsavel(any())).thenReturn(3L, 2L);
+
+        assertEquals(3, menoresSemResponsavelService.contar().total());
+        menoresSemResponsavelService.invalidar();
+        assertEquals(2, menoresSemResponsavelService.contar().total());
+
+        verify(alunoRepository, times(2)).countMenoresSemResponsavel(any());
+    }
+
+    @Test
+    void deveRecalcularContagem_QuandoTtlZero() {
+        var semCache = new MenoresSemResponsavelService(alunoRepository, 0);
+        when(alunoRepository.countMenoresSemResponsavel(any())).thenReturn(1L);
+
+        semCache.contar();
+        semCache.contar();
+
+        verify(alunoRepository, times(2)).countMenoresSemResponsavel(any());
+    }
+}
@@ -15,7 +15,6 @@ import jakarta.servlet.http.HttpServletRequest;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
@@ -60,6 +59,9 @@ class PresencaServiceTest {
     @Mock
     private JwtService jwtService;
 
+    @Mock
+    private GraduacaoService graduacaoService;
+
     @Mock
     private HttpServletRequest httpServletRequest;
 
@@ -119,15 +121,13 @@ class PresencaServiceTest {
         when(usuarioRepository.findByEmail(professorUsuario.getEmail())).thenReturn(Optional.of(professorUsuario));
         when(professorRepository.findByUsuario(professorUsuario)).thenReturn(Optional.of(professor));
         when(turmaRepository.findAllByProfessor(professor)).thenReturn(List.of(turma));
-        when(presencaRepository.findByInscricao(inscricao)).thenReturn(Optional.empty());
+        when(presencaRepository.inserirSeAusente(any(UUID.class), eq(inscricaoId), eq(true), any(LocalDate.class))).thenReturn(1);
 
         presencaService.atualizarStatusPresencaPorInscricao(aula.getId(), inscricaoId, request, httpServletRequest);
 
-        ArgumentCaptor<Presenca> captor = ArgumentCaptor.forClass(Presenca.class);
-        verify(presencaRepository).save(captor.capture());
-        Presenca saved = captor.getValue();
-        assertEquals(inscricao, saved.getInscricao());
-        assertTrue(saved.isPresente());
+        verify(presencaRepository).inserirSeAusente(any(UUID.class), eq(inscricaoId), eq(true), any(LocalDate.class));
+        verify(presencaRepository, never()).atualizarStatusSeDiferente(any(), anyBoolean());
+        verify(graduacaoService).registrarPresenca(aluno.getId(), 1, aula.getData());
     }
 
     @Test
@@ -135,7 +135,6 @@ class PresencaServiceTest {
         UUID inscricaoId = inscricao.getId();
         PresencaRequest request = new PresencaRequest(false);
         String token = "token-valido";
-        Presenca presencaExistente = Presenca.builder().id(UUID.randomUUID()).inscricao(inscricao).presente(true).build();
 
         when(httpServletRequest.getHeader(HttpHeaders.AUTHORIZATION)).thenReturn("Bearer " + token);
         when(aulaRepository.findById(aula.getId())).thenReturn(Optional.of(aula));
@@ -144,15 +143,13 @@ class PresencaServiceTest {
         when(usuarioRepository.findByEmail(professorUsuario.getEmail())).thenReturn(Optional.of(professorUsuario));
         when(professorRepository.findByUsuario(professorUsuario)).thenReturn(Optional.of(professor));
         when(turmaRepository.findAllByProfessor(professor)).thenReturn(List.of(turma));
-        when(presencaRepository.findByInscricao(inscricao)).thenReturn(Optional.of(presencaExistente));
+        when(presencaRepository.inserirSeAusente(any(UUID.class), eq(inscricaoId), eq(false), any(LocalDate.class))).thenReturn(0);
+        when(presencaRepository.atualizarStatusSeDiferente(inscricaoId, false)).thenReturn(1);
 
         presencaService.atualizarStatusPresencaPorInscricao(aula.getId(), inscricaoId, request, httpServletRequest);
 
-        ArgumentCaptor<Presenca> captor = ArgumentCaptor.forClass(Presenca.class);
-        verify(presencaRepository).save(captor.capture());
-        Presenca saved = captor.getValue();
-        assertEquals(inscricao, saved.getInscricao());
-        assertFalse(saved.isPresente());
+        verify(presencaRepository).atualizarStatusSeDiferente(inscricaoId, false);
+        verify(graduacaoService).registrarPresenca(aluno.getId(), -1, aula.getData());
     }
 
     @Test
@@ -172,7 +169,7 @@ class PresencaServiceTest {
 
         assertNotNull(result);
         assertEquals("Aula não encontrada.", result.getMessage());
-        verify(presencaRepository, never()).save(any());
+        verify(presencaRepository, never()).inserirSeAusente(any(), any(), anyBoolean(), any());
     }
 
     @Test
@@ -191,7 +188,7 @@ class PresencaServiceTest {
 
         assertNotNull(result);
         assertEquals("Inscrição não encontrada.", result.getMessage());
-        verify(presencaRepository, never()).save(any());
+        verify(presencaRepository, never()).inserirSeAusente(any(), any(), anyBoolean(), any());
     }
 
     @Test
@@ -209,7 +206,7 @@ class PresencaServiceTest {
 
         assertNotNull(result);
         assertEquals("Usuário não encontrado.", result.getMessage());
-        verify(presencaRepository, never()).save(any());
+        verify(presencaRepository, never()).inserirSeAusente(any(), any(), anyBoolean(), any());
     }
 
     @Test
@@ -231,7 +228,7 @@ class PresencaServiceTest {
 
         assertNotNull(result);
         assertEquals("Professor não autorizado a registrar/cancelar presença para esta aula.", result.getMessage());
-        verify(presencaRepository, never()).save(any());
+        verify(presencaRepository, never()).inserirSeAusente(any(), any(), anyBoolean(), any());
     }
 
     @Test
@@ -255,7 +252,7 @@ class PresencaServiceTest {
 
         assertNotNull(result);
         assertEquals("Inscrição não pertence a esta aula.", result.getMessage());
-        verify(presencaRepository, never()).save(any());
+        verify(presencaRepository, never()).inserirSeAusente(any(), any(), anyBoolean(), any());
     }
 
     @Test
@@ -263,7 +260,6 @@ class PresencaServiceTest {
         UUID inscricaoId = inscricao.getId();
         PresencaRequest request = new PresencaRequest(true);
         String token = "token-valido";
-        Presenca presencaExistente = Presenca.builder().id(UUID.randomUUID()).presente(true).inscricao(inscricao).build();
 
         when(httpServletRequest.getHeader(HttpHeaders.AUTHORIZATION)).thenReturn("Bearer " + token);
         when(aulaRepository.findById(aula.getId())).thenReturn(Optional.of(aula));
@@ -272,7 +268,8 @@ class PresencaServiceTest {
         when(usuarioRepository.findByEmail(professorUsuario.getEmail())).thenReturn(Optional.of(professorUsuario));
         when(professorRepository.findByUsuario(professorUsuario)).thenReturn(Optional.of(professor));
         when(turmaRepository.findAllByProfessor(professor)).thenReturn(List.of(turma));
-        when(presencaRepository.findByInscricao(inscricao)).thenReturn(Optional.of(presencaExistente));
+        when(presencaRepository.inserirSeAusente(any(UUID.class), eq(inscricaoId), eq(true), any(LocalDate.class))).thenReturn(0);
+        when(presencaRepository.atualizarStatusSeDiferente(inscricaoId, true)).thenReturn(0);
 
         var result = assertThrows(ValidacaoException.class,
                 () -> presencaService.atualizarStatusPresencaPorInscricao(aula.getId(), inscricaoId, request, httpServletRequest));
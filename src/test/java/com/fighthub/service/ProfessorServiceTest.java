@@ -8,6 +8,7 @@ import com.fighthub.model.Endereco;
 import com.fighthub.model.Professor;
 import com.fighthub.model.Usuario;
 import com.fighthub.model.enums.Role;
+import com.fighthub.repository.ListagemCamposRepository;
 import com.fighthub.repository.ProfessorRepository;
 import com.fighthub.repository.UsuarioRepository;
 import org.junit.jupiter.api.BeforeEach;
@@ -21,8 +22,11 @@ import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -36,6 +40,7 @@ class ProfessorServiceTest {
     @Mock private UsuarioRepository usuarioRepository;
     @Mock private TokenService tokenService;
     @Mock private EmailService emailService;
+    @Mock private ListagemCamposRepository listagemCamposRepository;
 
     @InjectMocks private ProfessorService professorService;
 
@@ -146,6 +151,21 @@ class ProfessorServiceTest {
         verify(professorRepository).findAll(pageable);
     }
 
+    @Test
+    void deveRetornarMiniaturaDaFoto_AoListarProfessores() {
+        Pageable pageable = PageRequest.of(0, 10);
+        usuario.setFoto("ab/cd/foto.png");
+        when(professorRepository.findAll(pageable)).thenReturn(new PageImpl<>(List.of(professor)));
+        Map<String, Object> linha = new HashMap<>(Map.of("id", professor.getId(), "foto", "ab/cd/foto.png"));
+        when(listagemCamposRepository.listar(eq(Professor.class), any(), eq(pageable))).thenReturn(new PageImpl<>(List.of(linha)));
+
+        var completa = professorService.buscarProfessores(pageable);
+        var comCampos = professorService.buscarProfessoresComCampos(pageable, Set.of("foto"));
+
+        assertEquals("/files/profiles/ab/cd/foto-128.jpg", completa.getContent().get(0).foto());
+        assertEquals("/files/profiles/ab/cd/foto-128.jpg", comCampos.getContent().get(0).get("foto"));
+    }
+
     @Test
     void deveRetornarPageVaziaDeProfessoresComSucesso() {
         Pageable pageable = PageRequest.of(0, 10);
@@ -159,6 +179,18 @@ class ProfessorServiceTest {
         verify(professorRepository).findAll(pageable);
     }
 
+    @Test
+    void deveListarCamposDoUsuarioPeloCaminhoDoProfessor_QuandoFieldsInformado() {
+        Pageable pageable = PageRequest.of(0, 10);
+        when(listagemCamposRepository.listar(eq(Professor.class), any(), eq(pageable))).thenReturn(new PageImpl<>(List.of()));
+
+        professorService.buscarProfessoresComCampos(pageable, Set.of("nome", "foto"));
+
+        verify(listagemCamposRepository).listar(Professor.class,
+                Map.of("id", "id", "nome", "usuario.nome", "foto", "usuario.foto"), pageable);
+        verify(professorRepository, never()).findAll(any(Pageable.class));
+    }
+
     @Test
     void deveRetornarProfessorBuscarPorId() {
         var id = UUID.randomUUID();
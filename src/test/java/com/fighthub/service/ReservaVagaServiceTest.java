@@ -0,0 +1,71 @@
+package com.fighthub.service;
+
+import com.fighthub.exception.ValidacaoException;
+import com.fighthub.model.Aula;
+import com.fighthub.repository.AulaRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReservaVagaServiceTest {
+
+    @Mock
+    private AulaRepository aulaRepository;
+
+    @InjectMocks
+    private ReservaVagaService reservaVagaService;
+
+    private Aula aula;
+
+    @BeforeEach
+    void setUp() {
+        aula = Aula.builder()
+                .id(UUID.randomUUID())
+                .limiteAlunos(2)
+                .vagasOcupadas(0)
+                .build();
+    }
+
+    @Test
+    void deveReservarVaga_QuandoHaVagasDisponiveis() {
+        when(aulaRepository.reservarVaga(aula.getId())).thenReturn(1);
+
+        reservaVagaService.reservarVaga(aula);
+
+        verify(aulaRepository).reservarVaga(aula.getId());
+    }
+
+    @Test
+    void deveReservarVaga_QuandoEntidadeCarregadaEstaDefasada() {
+        // Vaga liberada depois do carregamento: o banco é quem sabe
+        aula.setVagasOcupadas(2);
+        when(aulaRepository.reservarVaga(aula.getId())).thenReturn(1);
+
+        assertDoesNotThrow(() -> reservaVagaService.reservarVaga(aula));
+    }
+
+    @Test
+    void deveLancarExcecao_QuandoBancoRecusarReserva() {
+        when(aulaRepository.reservarVaga(aula.getId())).thenReturn(0);
+
+        var ex = assertThrows(ValidacaoException.class, () -> reservaVagaService.reservarVaga(aula));
+
+        assertEquals("Aula sem vagas disponíveis.", ex.getMessage());
+    }
+
+    @Test
+    void deveLiberarVaga_AoCancelar() {
+        reservaVagaService.liberarVaga(aula);
+
+        verify(aulaRepository).liberarVaga(aula.getId());
+    }
+}
@@ -1,5 +1,6 @@
 package com.fighthub.service;
 
+import com.fighthub.dto.inscricao.InscricaoResponse;
 import com.fighthub.dto.responsavel.CriarResponsavelRequest;
 import com.fighthub.exception.AlunoNaoEncontradoException;
 import com.fighthub.exception.CpfExistenteException;
@@ -10,9 +11,12 @@ import com.fighthub.model.Endereco;
 import com.fighthub.model.Responsavel;
 import com.fighthub.model.Usuario;
 import com.fighthub.model.enums.Role;
+import com.fighthub.model.enums.SubscriptionStatus;
 import com.fighthub.repository.AlunoRepository;
+import com.fighthub.repository.InscricaoRepository;
 import com.fighthub.repository.ResponsavelRepository;
 import com.fighthub.repository.UsuarioRepository;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -23,15 +27,18 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
-import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -46,12 +53,18 @@ class ResponsavelServiceTest {
     @Mock
     private AlunoRepository alunoRepository;
 
+    @Mock
+    private InscricaoRepository inscricaoRepository;
+
     @Mock
     private TokenService tokenService;
 
     @Mock
     private EmailService emailService;
 
+    @Mock
+    private MenoresSemResponsavelService menoresSemResponsavelService;
+
     @InjectMocks
     private ResponsavelService responsavelService;
 
@@ -225,6 +238,7 @@ class ResponsavelServiceTest {
         verify(responsavelRepository).findById(idResponsavel);
         verify(alunoRepository).findById(idAluno);
         verify(responsavelRepository).save(any());
+        verify(menoresSemResponsavelService).invalidar();
     }
 
     @Test
@@ -344,4 +358,79 @@ class ResponsavelServiceTest {
         verify(responsavelRepository, never()).save(any());
     }
 
-}
\ No newline at end of file
+    @Test
+    void deveRetornarPaginaComCursor_QuandoExistemMaisInscricoes() {
+        autenticarComoResponsavel();
+        var inscricoes = List.of(inscricaoResponse(2), inscricaoResponse(1), inscricaoResponse(0));
+        when(responsavelRepository.existsByUsuarioId(usuario.getId())).thenReturn(true);
+        when(responsavelRepository.findAlunosIdsByUsuarioId(usuario.getId())).thenReturn(List.of(aluno.getId()));
+        when(inscricaoRepository.findFeedByAlunoIdIn(eq(List.of(aluno.getId())), isNull(), isNull(), isNull(), any(), eq(PageRequest.ofSize(3))))
+                .thenReturn(inscricoes);
+
+        var feed = responsavelService.obterInscricoesDependentes(null, null, null, null, 2);
+
+        assertEquals(2, feed.inscricoes().size());
+        assertNotNull(feed.proximoCursor());
+
+        responsavelService.obterInscricoesDependentes(null, null, null, feed.proximoCursor(), 2);
+
+        verify(inscricaoRepository).findFeedByAlunoIdIn(any(), isNull(), isNull(),
+                eq(inscricoes.get(1).aulaData()), eq(inscricoes.get(1).id()), any());
+    }
+
+    @Test
+    void deveRetornarFeedVazioSemConsultarInscricoes_QuandoResponsavelSemDependentes() {
+        autenticarComoResponsavel();
+        when(responsavelRepository.existsByUsuarioId(usuario.getId())).thenReturn(true);
+        when(responsavelRepository.findAlunosIdsByUsuarioId(usuario.getId())).thenReturn(List.of());
+
+        var feed = responsavelService.obterInscricoesDependentes(null, null, null, null, 20);
+
+        assertTrue(feed.inscricoes().isEmpty());
+        assertNull(feed.proximoCursor());
+        verifyNoInteractions(inscricaoRepository);
+    }
+
+    @Test
+    void deveLancarExcecao_QuandoAlunoNaoForDependente_AoObterInscricoesDependentes() {
+        autenticarComoResponsavel();
+        when(responsavelRepository.existsByUsuarioId(usuario.getId())).thenReturn(true);
+        when(responsavelRepository.findAlunosIdsByUsuarioId(usuario.getId())).thenReturn(List.of(aluno.getId()));
+
+        UUID outroAluno = UUID.randomUUID();
+        var ex = assertThrows(ValidacaoException.class,
+                () -> responsavelService.obterInscricoesDependentes(outroAluno, null, null, null, 20));
+
+        assertEquals("Responsável não vinculado ao aluno.", ex.getMessage());
+        verifyNoInteractions(inscricaoRepository);
+    }
+
+    @Test
+    void deveLancarExcecao_QuandoCursorInvalido_AoObterInscricoesDependentes() {
+        autenticarComoResponsavel();
+        when(responsavelRepository.existsByUsuarioId(usuario.getId())).thenReturn(true);
+        when(responsavelRepository.findAlunosIdsByUsuarioId(usuario.getId())).thenReturn(List.of(aluno.getId()));
+
+        var ex = assertThrows(ValidacaoException.class,
+                () -> responsavelService.obterInscricoesDependentes(null, null, null, "invalido", 20));
+
+        assertEquals("Cursor inválido.", ex.getMessage());
+    }
+
+    @AfterEach
+    void limparContextoSeguranca() {
+        SecurityContextHolder.clearContext();
+    }
+
+    private void autenticarComoResponsavel() {
+        usuario.setRole(Role.RESPONSAVEL);
+        when(usuarioRepository.findByEmail(usuario.getEmail())).thenReturn(Optional.of(usuario));
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(usuario.getEmail(), null, List.of()));
+    }
+
+    private InscricaoResponse inscricaoResponse(int dias) {
+        return new InscricaoResponse(UUID.randomUUID(), aluno.getId(), UUID.randomUUID(), "Aula " + dias, null,
+                LocalDateTime.of(2030, 1, 1, 19, 0).plusDays(dias), null, 20, SubscriptionStatus.INSCRITO, LocalDateTime.now());
+    }
+}
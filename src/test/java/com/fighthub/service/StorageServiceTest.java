@@ -0,0 +1,161 @@
+package com.fighthub.service;
+
+import com.fighthub.repository.FotoPerfilRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class StorageServiceTest {
+
+    // SHA-256 de "foto"
+    private static final String HASH = "6187eb884a2243dbed3a648d69e5a1a538be022abc7d72d596fc0b1024fa3dab";
+
+    @TempDir
+    Path diretorio;
+
+    @Mock
+    private FotoPerfilRepository fotoPerfilRepository;
+
+    @InjectMocks
+    private StorageService storageService;
+
+    @BeforeEach
+    void setup() {
+        ReflectionTestUtils.setField(storageService, "profileDir", diretorio.toString());
+        lenient().when(fotoPerfilRepository.registrar(any(), anyLong(), any())).thenReturn(1);
+    }
+
+    @AfterEach
+    void limparSincronizacao() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void deveGravarPeloHashDoConteudoEmDiretoriosFragmentados_ReaproveitandoArquivoRepetido() throws IOException {
+        String esperada = HASH.substring(0, 2) + "/" + HASH.substring(2, 4) + "/" + HASH + ".png";
+        when(fotoPerfilRepository.incrementarReferencias(esperada)).thenReturn(0, 1);
+
+        String primeira = storageService.save(arquivo("foto"));
+        String segunda = storageService.save(arquivo("foto"));
+
+        assertEquals(esperada, primeira);
+        assertEquals(esperada, segunda);
+        assertTrue(StorageService.isEnderecadoPorConteudo(primeira));
+        assertEquals("foto", Files.readString(diretorio.resolve(esperada)));
+        verify(fotoPerfilRepository, times(1)).registrar(eq(esperada), eq(4L), any());
+        verify(fotoPerfilRepository, times(2)).incrementarReferencias(esperada);
+        try (var temporarios = Files.list(diretorio.resolve(StorageService.DIRETORIO_TEMPORARIO))) {
+            assertEquals(0, temporarios.count());
+        }
+    }
+
+    @Test
+    void deveTentarNovamente_QuandoLinhaSumirEntreIncrementoERegistro() throws IOException {
+        String esperada = HASH.substring(0, 2) + "/" + HASH.substring(2, 4) + "/" + HASH + ".png";
+        // Sem linha no incremento e já recriada por outro upload no registro: a referência vai para o incremento seguinte
+        when(fotoPerfilRepository.incrementarReferencias(esperada)).thenReturn(0, 1);
+        when(fotoPerfilRepository.registrar(eq(esperada), eq(4L), any())).thenReturn(0);
+
+        storageService.save(arquivo("foto"));
+
+        verify(fotoPerfilRepository, times(2)).incrementarReferencias(esperada);
+        verify(fotoPerfilRepository, times(1)).registrar(eq(esperada), eq(4L), any());
+    }
+
+    @Test
+    void naoDeveColocarArquivo_QuandoTransacaoForDesfeita() throws IOException {
+        TransactionSynchronizationManager.initSynchronization();
+
+        String key = storageService.save(arquivo("foto"));
+        assertFalse(Files.exists(diretorio.resolve(key)));
+
+        TransactionSynchronizationUtils.invokeAfterCompletion(
+                TransactionSynchronizationManager.getSynchronizations(), TransactionSynchronization.STATUS_ROLLED_BACK);
+
+        assertFalse(Files.exists(diretorio.resolve(key)));
+        try (var temporarios = Files.list(diretorio.resolve(StorageService.DIRETORIO_TEMPORARIO))) {
+            assertEquals(0, temporarios.count());
+        }
+    }
+
+    @Test
+    void naoDeveRemoverArquivo_QuandoAindaHouverReferencias() throws IOException {
+        String key = storageService.save(arquivo("foto"));
+        when(fotoPerfilRepository.removerSemReferencias(key)).thenReturn(0);
+
+        storageService.deleteIfExists(key);
+
+        verify(fotoPerfilRepository).decrementarReferencias(key);
+        assertTrue(Files.exists(diretorio.resolve(key)));
+    }
+
+    @Test
+    void deveRemoverArquivoEMiniaturas_QuandoUltimaReferenciaSair() throws IOException {
+        String key = storageService.save(arquivo("foto"));
+        storageService.gravarVariante(key, 64, new byte[]{1});
+        when(fotoPerfilRepository.removerSemReferencias(key)).thenReturn(1);
+        when(fotoPerfilRepository.existsById(key)).thenReturn(false);
+
+        storageService.deleteIfExists(key);
+
+        assertFalse(Files.exists(diretorio.resolve(key)));
+        assertFalse(Files.exists(diretorio.resolve(StorageService.chaveVariante(key, 64))));
+    }
+
+    @Test
+    void naoDeveRemoverArquivo_QuandoNovoUploadVoltarAReferenciarAntesDaRemocao() throws IOException {
+        String key = storageService.save(arquivo("foto"));
+        when(fotoPerfilRepository.removerSemReferencias(key)).thenReturn(1);
+        when(fotoPerfilRepository.existsById(key)).thenReturn(true);
+
+        storageService.deleteIfExists(key);
+
+        assertTrue(Files.exists(diretorio.resolve(key)));
+    }
+
+    @Test
+    void deveRemoverChaveAntigaDiretamente_SemContadorDeReferencias() throws IOException {
+        Files.writeString(diretorio.resolve("usuario-foto.png"), "foto");
+
+        storageService.deleteIfExists("usuario-foto.png");
+
+        assertFalse(Files.exists(diretorio.resolve("usuario-foto.png")));
+        verifyNoInteractions(fotoPerfilRepository);
+    }
+
+    @Test
+    void deveCalcularMesmaBaseParaOriginalEMiniaturas() {
+        String key = "61/87/" + HASH + ".png";
+
+        assertEquals("61/87/" + HASH, StorageService.chaveBase(key));
+        assertEquals("61/87/" + HASH, StorageService.chaveBase(StorageService.chaveVariante(key, 512)));
+        assertEquals("usuario-foto", StorageService.chaveBase("usuario-foto.png"));
+        assertEquals("usuario-foto-99", StorageService.chaveBase("usuario-foto-99.jpg"));
+    }
+
+    private MockMultipartFile arquivo(String conteudo) {
+        return new MockMultipartFile("file", "qualquer.nome", "image/png", conteudo.getBytes(StandardCharsets.UTF_8));
+    }
+}
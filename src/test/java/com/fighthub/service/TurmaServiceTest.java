@@ -1,11 +1,13 @@
 package com.fighthub.service;
 
+import com.fighthub.dto.turma.AlunosTurmaLoteRequest;
 import com.fighthub.dto.turma.TurmaRequest;
 import com.fighthub.dto.turma.TurmaUpdateCompletoRequest;
 import com.fighthub.dto.turma.TurmaUpdateStatusRequest;
 import com.fighthub.exception.*;
 import com.fighthub.model.*;
 import com.fighthub.model.enums.Role;
+import com.fighthub.model.enums.RosterOperation;
 import com.fighthub.repository.AlunoRepository;
 import com.fighthub.repository.ProfessorRepository;
 import com.fighthub.repository.TurmaRepository;
@@ -22,8 +24,10 @@ import org.springframework.data.domain.Pageable;
 
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -36,6 +40,7 @@ class TurmaServiceTest {
     @Mock private TurmaRepository turmaRepository;
     @Mock private ProfessorRepository professorRepository;
     @Mock private AlunoRepository alunoRepository;
+    @Mock private ConflitoAgendaService conflitoAgendaService;
 
     @InjectMocks private TurmaService turmaService;
 
@@ -88,7 +93,7 @@ class TurmaServiceTest {
                 .horario("Segunda 19:00")
                 .professor(professor)
                 .ativo(true)
-                .alunos(new ArrayList<>())
+                .alunos(new HashSet<>())
                 .build();
     }
 
@@ -121,27 +126,31 @@ class TurmaServiceTest {
     @Test
     void deveRetornarPagePopulada_AoBuscarTurmasComSucesso() {
         Pageable pageable = PageRequest.of(0, 10);
-        Page<Turma> page = new PageImpl<>(List.of(turma));
-        when(turmaRepository.findAll(pageable)).thenReturn(page);
+        TurmaRepository.TurmaComQuantidadeAlunos item = mock(TurmaRepository.TurmaComQuantidadeAlunos.class);
+        when(item.getTurma()).thenReturn(turma);
+        when(item.getQuantidadeAlunos()).thenReturn(3);
+        Page<TurmaRepository.TurmaComQuantidadeAlunos> page = new PageImpl<>(List.of(item));
+        when(turmaRepository.findAllComQuantidadeAlunos(pageable)).thenReturn(page);
 
         var result = turmaService.buscarTurmas(pageable);
 
         assertNotNull(result);
         assertEquals(1, result.getTotalElements());
-        verify(turmaRepository).findAll(pageable);
+        assertEquals(3, result.getContent().get(0).quantidadeAlunos());
+        verify(turmaRepository).findAllComQuantidadeAlunos(pageable);
     }
 
     @Test
     void deveRetornarPageVazia_AoBuscarTurmasComSucesso() {
         Pageable pageable = PageRequest.of(0, 10);
-        Page<Turma> page = new PageImpl<>(List.of());
-        when(turmaRepository.findAll(pageable)).thenReturn(page);
+        Page<TurmaRepository.TurmaComQuantidadeAlunos> page = new PageImpl<>(List.of());
+        when(turmaRepository.findAllComQuantidadeAlunos(pageable)).thenReturn(page);
 
         var result = turmaService.buscarTurmas(pageable);
 
         assertNotNull(result);
         assertEquals(0, result.getTotalElements());
-        verify(turmaRepository).findAll(pageable);
+        verify(turmaRepository).findAllComQuantidadeAlunos(pageable);
     }
 
     @Test
@@ -288,66 +297,60 @@ class TurmaServiceTest {
     void deveVincularAlunoATurmaComSucesso() {
         var idTurma = UUID.randomUUID();
         var idAluno = UUID.randomUUID();
-        when(turmaRepository.findById(idTurma)).thenReturn(Optional.of(turma));
-        when(alunoRepository.findById(idAluno)).thenReturn(Optional.of(aluno));
+        when(turmaRepository.existsById(idTurma)).thenReturn(true);
+        when(alunoRepository.existsById(idAluno)).thenReturn(true);
+        when(turmaRepository.adicionarAluno(idTurma, idAluno)).thenReturn(1);
 
         turmaService.vincularAluno(idTurma, idAluno);
 
-        assertTrue(turma.getAlunos().contains(aluno));
-        verify(turmaRepository).findById(idTurma);
-        verify(alunoRepository).findById(idAluno);
-        verify(turmaRepository).save(any());
+        verify(turmaRepository).adicionarAluno(idTurma, idAluno);
+        verify(turmaRepository, never()).findById(any());
+        verify(turmaRepository, never()).save(any());
     }
 
     @Test
     void deveLancarExcecao_QuandoTurmaNaoEncontrado_AoVincularAlunoATurma() {
         var idTurma = UUID.randomUUID();
         var idAluno = UUID.randomUUID();
-        when(turmaRepository.findById(idTurma)).thenReturn(Optional.empty());
+        when(turmaRepository.existsById(idTurma)).thenReturn(false);
 
         var ex = assertThrows(TurmaNaoEncontradaException.class,
                 () -> turmaService.vincularAluno(idTurma, idAluno));
 
         assertNotNull(ex);
         assertEquals("Turma não encontrada.", ex.getMessage());
-        verify(turmaRepository).findById(idTurma);
-        verify(alunoRepository, never()).findById(idAluno);
-        verify(turmaRepository, never()).save(any());
+        verify(alunoRepository, never()).existsById(any());
+        verify(turmaRepository, never()).adicionarAluno(any(), any());
     }
 
     @Test
     void deveLancarExcecao_QuandoAlunoNaoEncontrado_AoVincularAlunoATurma() {
         var idTurma = UUID.randomUUID();
         var idAluno = UUID.randomUUID();
-        when(turmaRepository.findById(idTurma)).thenReturn(Optional.of(turma));
-        when(alunoRepository.findById(idAluno)).thenReturn(Optional.empty());
+        when(turmaRepository.existsById(idTurma)).thenReturn(true);
+        when(alunoRepository.existsById(idAluno)).thenReturn(false);
 
         var ex = assertThrows(AlunoNaoEncontradoException.class,
                 () -> turmaService.vincularAluno(idTurma, idAluno));
 
         assertNotNull(ex);
         assertEquals("Aluno não encontrado.", ex.getMessage());
-        verify(turmaRepository).findById(idTurma);
-        verify(alunoRepository).findById(idAluno);
-        verify(turmaRepository, never()).save(any());
+        verify(turmaRepository, never()).adicionarAluno(any(), any());
     }
 
     @Test
     void deveLancarExcecao_QuandoAlunoJaEstiverVinculado_AoVincularAlunoATurma() {
         var idTurma = UUID.randomUUID();
         var idAluno = UUID.randomUUID();
-        turma.getAlunos().add(aluno);
-        when(turmaRepository.findById(idTurma)).thenReturn(Optional.of(turma));
-        when(alunoRepository.findById(idAluno)).thenReturn(Optional.of(aluno));
+        when(turmaRepository.existsById(idTurma)).thenReturn(true);
+        when(alunoRepository.existsById(idAluno)).thenReturn(true);
+        when(turmaRepository.adicionarAluno(idTurma, idAluno)).thenReturn(0);
 
         var ex = assertThrows(ValidacaoException.class,
                 () -> turmaService.vincularAluno(idTurma, idAluno));
 
         assertNotNull(ex);
         assertEquals("Aluno já está vinculado à turma.", ex.getMessage());
-        verify(turmaRepository).findById(idTurma);
-        verify(alunoRepository).findById(idAluno);
-        verify(turmaRepository, never()).save(any());
     }
 
     @Test
@@ -360,7 +363,7 @@ class TurmaServiceTest {
                 .horario("Segunda 19:00")
                 .professor(null)
                 .ativo(true)
-                .alunos(new ArrayList<>())
+                .alunos(new HashSet<>())
                 .build();
         when(turmaRepository.findById(idTurma)).thenReturn(Optional.of(turma));
         when(professorRepository.findById(idProfessor)).thenReturn(Optional.of(professor));
@@ -370,9 +373,27 @@ class TurmaServiceTest {
         assertEquals(turma.getProfessor(), professor);
         verify(turmaRepository).findById(idTurma);
         verify(professorRepository).findById(idProfessor);
+        verify(conflitoAgendaService).verificarConflitoProfessorDaTurma(idTurma, professor.getId());
         verify(turmaRepository).save(any());
     }
 
+    @Test
+    void deveLancarExcecao_QuandoProfessorTemAulaNoHorario_AoVincularProfessorATurma() {
+        var idTurma = UUID.randomUUID();
+        var idProfessor = professor.getId();
+        turma.setProfessor(null);
+        when(turmaRepository.findById(idTurma)).thenReturn(Optional.of(turma));
+        when(professorRepository.findById(idProfessor)).thenReturn(Optional.of(professor));
+        doThrow(new ValidacaoException("Professor já possui aula no horário de uma aula desta turma."))
+                .when(conflitoAgendaService).verificarConflitoProfessorDaTurma(idTurma, idProfessor);
+
+        assertThrows(ValidacaoException.class, () -> turmaService.vincularProfessor(idTurma, idProfessor));
+
+        assertNull(turma.getProfessor());
+        verify(turmaRepository, never()).save(any());
+        verify(conflitoAgendaService, never()).atualizarProfessorDaTurma(any(), any());
+    }
+
     @Test
     void deveLancarExcecao_QuandoTurmaNaoEncontrada_AoVincularProfessorATurma() {
         var idTurma = UUID.randomUUID();
@@ -510,65 +531,98 @@ class TurmaServiceTest {
     void deveDesvincularAlunoDaTurmaComSucesso() {
         var idTurma = UUID.randomUUID();
         var idAluno = aluno.getId();
-        turma.getAlunos().add(aluno);
-
-        when(turmaRepository.findById(idTurma)).thenReturn(Optional.of(turma));
-        when(alunoRepository.findById(idAluno)).thenReturn(Optional.of(aluno));
+        when(turmaRepository.existsById(idTurma)).thenReturn(true);
+        when(alunoRepository.existsById(idAluno)).thenReturn(true);
+        when(turmaRepository.removerAluno(idTurma, idAluno)).thenReturn(1);
 
         turmaService.desvincularAluno(idTurma, idAluno);
 
-        assertFalse(turma.getAlunos().contains(aluno));
-        verify(turmaRepository).findById(idTurma);
-        verify(alunoRepository).findById(idAluno);
-        verify(turmaRepository).save(any());
+        verify(turmaRepository).removerAluno(idTurma, idAluno);
+        verify(turmaRepository, never()).save(any());
     }
 
     @Test
     void deveLancarExcecao_QuandoTurmaNaoEncontrada_AoDesvincularAluno() {
         var idTurma = UUID.randomUUID();
         var idAluno = UUID.randomUUID();
-        when(turmaRepository.findById(idTurma)).thenReturn(Optional.empty());
+        when(turmaRepository.existsById(idTurma)).thenReturn(false);
 
         var ex = assertThrows(TurmaNaoEncontradaException.class,
                 () -> turmaService.desvincularAluno(idTurma, idAluno));
 
         assertEquals("Turma não encontrada.", ex.getMessage());
-        verify(turmaRepository).findById(idTurma);
-        verify(alunoRepository, never()).findById(idAluno);
-        verify(turmaRepository, never()).save(any());
+        verify(alunoRepository, never()).existsById(any());
+        verify(turmaRepository, never()).removerAluno(any(), any());
     }
 
     @Test
     void deveLancarExcecao_QuandoAlunoNaoEncontrado_AoDesvincularAluno() {
         var idTurma = UUID.randomUUID();
         var idAluno = UUID.randomUUID();
-        when(turmaRepository.findById(idTurma)).thenReturn(Optional.of(turma));
-        when(alunoRepository.findById(idAluno)).thenReturn(Optional.empty());
+        when(turmaRepository.existsById(idTurma)).thenReturn(true);
+        when(alunoRepository.existsById(idAluno)).thenReturn(false);
 
         var ex = assertThrows(AlunoNaoEncontradoException.class,
                 () -> turmaService.desvincularAluno(idTurma, idAluno));
 
         assertEquals("Aluno não encontrado.", ex.getMessage());
-        verify(turmaRepository).findById(idTurma);
-        verify(alunoRepository).findById(idAluno);
-        verify(turmaRepository, never()).save(any());
+        verify(turmaRepository, never()).removerAluno(any(), any());
     }
 
     @Test
     void deveLancarExcecao_QuandoAlunoNaoEstiverVinculado_AoDesvincularAluno() {
         var idTurma = UUID.randomUUID();
         var idAluno = UUID.randomUUID();
-
-        when(turmaRepository.findById(idTurma)).thenReturn(Optional.of(turma));
-        when(alunoRepository.findById(idAluno)).thenReturn(Optional.of(aluno));
+        when(turmaRepository.existsById(idTurma)).thenReturn(true);
+        when(alunoRepository.existsById(idAluno)).thenReturn(true);
+        when(turmaRepository.removerAluno(idTurma, idAluno)).thenReturn(0);
 
         var ex = assertThrows(ValidacaoException.class,
                 () -> turmaService.desvincularAluno(idTurma, idAluno));
 
         assertEquals("Aluno não está vinculado à turma.", ex.getMessage());
-        verify(turmaRepository).findById(idTurma);
-        verify(alunoRepository).findById(idAluno);
-        verify(turmaRepository, never()).save(any());
     }
 
-}
\ No newline at end of file
+    @Test
+    void deveAdicionarAlunosEmLote_ContandoIgnorados() {
+        var idTurma = UUID.randomUUID();
+        var ids = Set.of(UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID());
+        var request = new AlunosTurmaLoteRequest(RosterOperation.ADICIONAR, ids);
+        when(turmaRepository.existsById(idTurma)).thenReturn(true);
+        when(turmaRepository.adicionarAlunos(idTurma, ids)).thenReturn(2);
+
+        var resultado = turmaService.alterarAlunosEmLote(idTurma, request);
+
+        assertEquals(2, resultado.alterados());
+        assertEquals(1, resultado.ignorados());
+        verify(turmaRepository, never()).removerAlunos(any(), any());
+    }
+
+    @Test
+    void deveRemoverAlunosEmLote() {
+        var idTurma = UUID.randomUUID();
+        var ids = Set.of(UUID.randomUUID(), UUID.randomUUID());
+        var request = new AlunosTurmaLoteRequest(RosterOperation.REMOVER, ids);
+        when(turmaRepository.existsById(idTurma)).thenReturn(true);
+        when(turmaRepository.removerAlunos(idTurma, ids)).thenReturn(2);
+
+        var resultado = turmaService.alterarAlunosEmLote(idTurma, request);
+
+        assertEquals(2, resultado.alterados());
+        assertEquals(0, resultado.ignorados());
+        verify(turmaRepository, never()).adicionarAlunos(any(), any());
+    }
+
+    @Test
+    void deveLancarExcecao_QuandoTurmaNaoEncontrada_AoAlterarAlunosEmLote() {
+        var idTurma = UUID.randomUUID();
+        var request = new AlunosTurmaLoteRequest(RosterOperation.ADICIONAR, Set.of(UUID.randomUUID()));
+        when(turmaRepository.existsById(idTurma)).thenReturn(false);
+
+        assertThrows(TurmaNaoEncontradaException.class,
+                () -> turmaService.alterarAlunosEmLote(idTurma, request));
+
+        verify(turmaRepository, never()).adicionarAlunos(any(), any());
+    }
+
+}
@@ -7,6 +7,8 @@ import com.fighthub.exception.ValidacaoException;
 import com.fighthub.model.Endereco;
 import com.fighthub.model.Usuario;
 import com.fighthub.model.enums.Role;
+import com.fighthub.repository.ListagemCamposRepository;
+import com.fighthub.repository.UsuarioBuscaRepository;
 import com.fighthub.repository.UsuarioRepository;
 import jakarta.servlet.http.HttpServletRequest;
 import org.junit.jupiter.api.BeforeEach;
@@ -20,12 +22,14 @@ import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
 import java.lang.reflect.Field;
 import java.util.Map;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -37,6 +41,12 @@ class UsuarioServiceTest {
     @Mock
     private UsuarioRepository usuarioRepository;
 
+    @Mock
+    private UsuarioBuscaRepository usuarioBuscaRepository;
+
+    @Mock
+    private ListagemCamposRepository listagemCamposRepository;
+
     @Mock
     private HttpServletRequest request;
 
@@ -49,6 +59,9 @@ class UsuarioServiceTest {
     @Mock
     private StorageService storageService;
 
+    @Mock
+    private FotoVariantesService fotoVariantesService;
+
     @Mock
     private com.fighthub.utils.role.RoleEnterHandler enterHandlerMock;
 
@@ -124,6 +137,30 @@ class UsuarioServiceTest {
         verify(usuarioRepository).findAll(pageable);
     }
 
+    @Test
+    void deveListarSomenteCamposPedidos_QuandoFieldsInformado() {
+        Pageable pageable = PageRequest.of(0, 10);
+        Map<String, Object> linha = Map.of("id", UUID.randomUUID(), "email", "joao@email.com");
+        when(listagemCamposRepository.listar(eq(Usuario.class), any(), eq(pageable))).thenReturn(new PageImpl<>(List.of(linha)));
+
+        var result = usuarioService.obterUsuariosComCampos(pageable, Set.of(" email ", "id"));
+
+        assertEquals(List.of(linha), result.getContent());
+        verify(listagemCamposRepository).listar(Usuario.class, Map.of("id", "id", "email", "email"), pageable);
+        verify(usuarioRepository, never()).findAll(any(Pageable.class));
+    }
+
+    @Test
+    void deveLancarExcecao_QuandoFieldsTemCampoDesconhecido() {
+        Pageable pageable = PageRequest.of(0, 10);
+
+        var ex = assertThrows(ValidacaoException.class,
+                () -> usuarioService.obterUsuariosComCampos(pageable, Set.of("nome", "senha")));
+
+        assertTrue(ex.getMessage().contains("senha"));
+        verifyNoInteractions(listagemCamposRepository);
+    }
+
     @Test
     void deveRetornarUsuarioBuscado() {
         var userId = usuario.getId();
@@ -541,4 +578,67 @@ class UsuarioServiceTest {
         assertEquals("Usuário não encontrado.", ex.getMessage());
         verify(usuarioRepository, never()).save(usuario);
     }
+
+    @Test
+    void deveNormalizarTermoELimitarResultados_AoBuscarUsuarios() {
+        when(usuarioBuscaRepository.buscar("maria", "", Role.ALUNO, 50)).thenReturn(List.of());
+
+        var result = usuarioService.buscarUsuarios("  MARIA ", Role.ALUNO, 500);
+
+        assertTrue(result.isEmpty());
+        verify(usuarioBuscaRepository).buscar("maria", "", Role.ALUNO, 50);
+    }
+
+    @Test
+    void deveBuscarPorDigitosDoCpf_QuandoTermoPareceCpf() {
+        usuarioService.buscarUsuarios("111.111", null, null);
+
+        verify(usuarioBuscaRepository).buscar("111.111", "111111", null, 20);
+    }
+
+    @Test
+    void deveLancarExcecao_QuandoTermoDeBuscaMuitoCurto() {
+        var ex = assertThrows(ValidacaoException.class, () -> usuarioService.buscarUsuarios(" a ", null, null));
+
+        assertEquals("Informe ao menos 2 caracteres para a busca.", ex.getMessage());
+        verifyNoInteractions(usuarioBuscaRepository);
+    }
+
+    @Test
+    void deveAgendarMiniaturasERetornarSuasUrls_AoAtualizarFoto() {
+        String jwt = "token-valido";
+        usuario.setFoto("antiga.png");
+        var arquivo = new MockMultipartFile("file", "foto.png", "image/png", new byte[]{1, 2, 3});
+        when(request.getHeader(HttpHeaders.AUTHORIZATION)).thenReturn("Bearer " + jwt);
+        when(jwtService.extrairEmail(jwt)).thenReturn(usuario.getEmail());
+        when(usuarioRepository.bloquearPorEmail(usuario.getEmail())).thenReturn(Optional.of(usuario));
+        when(storageService.save(arquivo)).thenReturn("nova.png");
+
+        var result = usuarioService.uploadFotoDoUsuarioLogado(request, arquivo);
+
+        assertEquals("/files/profiles/nova.png", result.profileImageUrl());
+        assertEquals(Map.of(
+                64, "/files/profiles/nova-64.jpg",
+                128, "/files/profiles/nova-128.jpg",
+                512, "/files/profiles/nova-512.jpg"), result.miniaturas());
+        assertEquals("nova.png", usuario.getFoto());
+        verify(storageService).deleteIfExists("antiga.png");
+        verify(fotoVariantesService).agendar("nova.png");
+    }
+
+    @Test
+    void naoDeveAnunciarMiniaturas_QuandoFormatoNaoGeraVariantes() {
+        String jwt = "token-valido";
+        var arquivo = new MockMultipartFile("file", "foto.webp", "image/webp", new byte[]{1, 2, 3});
+        when(request.getHeader(HttpHeaders.AUTHORIZATION)).thenReturn("Bearer " + jwt);
+        when(jwtService.extrairEmail(jwt)).thenReturn(usuario.getEmail());
+        when(usuarioRepository.bloquearPorEmail(usuario.getEmail())).thenReturn(Optional.of(usuario));
+        when(storageService.save(arquivo)).thenReturn("nova.webp");
+
+        var result = usuarioService.uploadFotoDoUsuarioLogado(request, arquivo);
+
+        assertEquals("/files/profiles/nova.webp", result.profileImageUrl());
+        assertTrue(result.miniaturas().isEmpty());
+        assertEquals("/files/profiles/nova.webp", UsuarioService.montarUrl("nova.webp", 128));
+    }
 }